@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.benchmarks;
+
+/**
+ * Deterministic benchmark inputs: version literals shaped like a repository's tag history and the output of the
+ * version commands of the installed artifacts.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+final class Corpus {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    static final int SIZE = 4096;
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return a deterministic mix of dot and snapshot literals, with one, two and three dot components.
+     */
+    static String[] versionLiterals(int size) {
+
+        String[] literals = new String[size];
+
+        for(int i = 0; i < size; i ++) {
+
+            int major = i % 7;
+            int minor = (i / 7) % 23;
+            int patch = (i / 161) % 31;
+
+            switch (i % 5) {
+
+                case 0:
+                    literals[i] = major + "." + minor;
+                    break;
+                case 1:
+                case 2:
+                    literals[i] = major + "." + minor + "." + patch;
+                    break;
+                case 3:
+                    literals[i] = major + "." + minor + "." + patch + "-SNAPSHOT-" + (i % 13 + 1);
+                    break;
+                default:
+                    literals[i] = major + "-SNAPSHOT-" + (i % 3 + 1);
+            }
+        }
+
+        return literals;
+    }
+
+    /**
+     * @return version command outputs as parsed by VersionUtil.fromCommandStdout(): a bare version, or a "version ..."
+     * line followed by the release date and a few lines of build metadata.
+     */
+    static String[] versionCommandOutputs(int size) {
+
+        String[] literals = versionLiterals(size);
+        String[] outputs = new String[size];
+
+        for(int i = 0; i < size; i ++) {
+
+            if (i % 4 == 0) {
+
+                outputs[i] = literals[i] + "\n";
+            }
+            else {
+
+                outputs[i] =
+                        "version " + literals[i] + "\n" +
+                                "release date " + (i % 12 + 1) + "/" + (i % 28 + 1) + "/16\n" +
+                                "build " + Integer.toHexString(0x1f2e3d4c + 7919 * i) + "\n" +
+                                "java " + (i % 2 == 0 ? "1.8.0_112" : "1.8.0_121") + "\n";
+            }
+        }
+
+        return outputs;
+    }
+
+    /**
+     * @return version command outputs preceded by banner lines, which only the streaming
+     * VersionUtil.scanCommandStdout() accepts.
+     */
+    static String[] bannerCommandOutputs(int size) {
+
+        String[] outputs = versionCommandOutputs(size);
+
+        for(int i = 0; i < size; i ++) {
+
+            StringBuilder sb = new StringBuilder();
+
+            for(int j = 0; j < i % 4; j ++) {
+
+                sb.append("Picked up JAVA_TOOL_OPTIONS: -Dfile.encoding=UTF-8 -Xss").append(j + 1).append("m\n");
+            }
+
+            outputs[i] = sb.append(outputs[i]).toString();
+        }
+
+        return outputs;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private Corpus() {
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
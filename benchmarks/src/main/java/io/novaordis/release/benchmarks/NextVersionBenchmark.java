@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.benchmarks;
+
+import io.novaordis.release.ReleaseMode;
+import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version.nextVersion() over the literal corpus, for every increment release mode. info and audit are not increment
+ * modes, nextVersion() rejects them. The custom mode label is set above every version in the corpus, so the custom
+ * benchmark measures the successful path.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NextVersionBenchmark {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    @Param({"snapshot", "patch", "minor", "major", "custom"})
+    private String mode;
+
+    private ReleaseMode releaseMode;
+
+    private Version[] versions;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Setup
+    public void setUp() throws VersionFormatException {
+
+        releaseMode = ReleaseMode.valueOf(mode);
+
+        if (releaseMode.isCustom()) {
+
+            releaseMode.setCustomLabel("100.0");
+        }
+
+        String[] literals = Corpus.versionLiterals(Corpus.SIZE);
+
+        versions = new Version[Corpus.SIZE];
+
+        for(int i = 0; i < Corpus.SIZE; i ++) {
+
+            versions[i] = new Version(literals[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        releaseMode.reset();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void nextVersion(Blackhole blackhole) {
+
+        for(Version v: versions) {
+
+            blackhole.consume(Version.nextVersion(v, releaseMode));
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.benchmarks;
+
+import io.novaordis.release.version.VersionFormatException;
+import io.novaordis.release.version.VersionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Extracting the installed version from version command outputs: VersionUtil.fromCommandStdout() over whole,
+ * multi-line outputs, and the streaming VersionUtil.scanCommandStdout(), which stops at the first version line, over
+ * the same outputs and over outputs preceded by banner lines.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionCommandOutputBenchmark {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private String[] outputs;
+    private String[] bannerOutputs;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Setup
+    public void setUp() {
+
+        outputs = Corpus.versionCommandOutputs(Corpus.SIZE);
+        bannerOutputs = Corpus.bannerCommandOutputs(Corpus.SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void fromCommandStdout(Blackhole blackhole) throws VersionFormatException {
+
+        for(String s: outputs) {
+
+            blackhole.consume(VersionUtil.fromCommandStdout(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void scanCommandStdout(Blackhole blackhole) throws IOException, VersionFormatException {
+
+        for(String s: outputs) {
+
+            blackhole.consume(VersionUtil.scanCommandStdout(new StringReader(s)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void scanCommandStdoutAfterBanner(Blackhole blackhole) throws IOException, VersionFormatException {
+
+        for(String s: bannerOutputs) {
+
+            blackhole.consume(VersionUtil.scanCommandStdout(new StringReader(s)));
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.benchmarks;
+
+import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version.compareTo(), equals() and hashCode() over pairs of distinct instances drawn from the literal corpus, which
+ * is what sorting a tag history and using versions as map keys amounts to. Each pair is compared twice, in both
+ * directions, so a comparison is not biased towards one outcome. Run with -prof gc to check that none of these
+ * operations allocate.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionComparisonBenchmark {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private Version[] left;
+    private Version[] right;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Setup
+    public void setUp() throws VersionFormatException {
+
+        String[] literals = Corpus.versionLiterals(Corpus.SIZE);
+
+        left = new Version[Corpus.SIZE];
+        right = new Version[Corpus.SIZE];
+
+        for(int i = 0; i < Corpus.SIZE; i ++) {
+
+            //
+            // new instances, not valueOf(), so equals() cannot short-circuit on identity; every 8th pair is equal
+            //
+
+            left[i] = new Version(literals[i]);
+            right[i] = new Version(i % 8 == 0 ? literals[i] : literals[(i * 31 + 17) % Corpus.SIZE]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * Corpus.SIZE)
+    public void compareTo(Blackhole blackhole) {
+
+        for(int i = 0; i < left.length; i ++) {
+
+            blackhole.consume(left[i].compareTo(right[i]));
+            blackhole.consume(right[i].compareTo(left[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * Corpus.SIZE)
+    public void equals(Blackhole blackhole) {
+
+        for(int i = 0; i < left.length; i ++) {
+
+            blackhole.consume(left[i].equals(right[i]));
+            blackhole.consume(right[i].equals(left[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void hashCode(Blackhole blackhole) {
+
+        for(Version v: left) {
+
+            blackhole.consume(v.hashCode());
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
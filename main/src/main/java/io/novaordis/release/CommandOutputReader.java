@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * Exposes the stdout of a command as it is being produced, so large outputs (tag lists, for example) can be
+ * processed without being accumulated in memory first. The command's stderr goes to our stderr. Closing the reader
+ * waits for the command to exit, and fails if it did not exit successfully.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class CommandOutputReader extends BufferedReader {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(CommandOutputReader.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    public static CommandOutputReader start(String command) throws IOException {
+
+        if (command == null) {
+
+            throw new IllegalArgumentException("null command");
+        }
+
+        log.debug("executing \"" + command + "\" and streaming its output ...");
+
+        ProcessBuilder pb = newProcessBuilder(command);
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+        Process p = pb.start();
+
+        p.getOutputStream().close();
+
+        return new CommandOutputReader(command, p);
+    }
+
+    /**
+     * @return a process builder that executes the command line with the platform shell.
+     */
+    static ProcessBuilder newProcessBuilder(String command) {
+
+        return isWindows() ?
+                new ProcessBuilder("cmd", "/c", command) : new ProcessBuilder("/bin/sh", "-c", command);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String command;
+    private final Process process;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private CommandOutputReader(String command, Process process) {
+
+        super(new InputStreamReader(process.getInputStream(), Charset.defaultCharset()));
+
+        this.command = command;
+        this.process = process;
+    }
+
+    // BufferedReader overrides ----------------------------------------------------------------------------------------
+
+    /**
+     * @exception IOException if the command exited with a non-zero exit code, or we were interrupted while waiting
+     * for it to exit.
+     */
+    @Override
+    public void close() throws IOException {
+
+        super.close();
+
+        int exitCode;
+
+        try {
+
+            exitCode = process.waitFor();
+        }
+        catch(InterruptedException e) {
+
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for \"" + command + "\" to exit", e);
+        }
+
+        log.debug("\"" + command + "\" exited with " + exitCode);
+
+        if (exitCode != 0) {
+
+            throw new IOException("\"" + command + "\" failed with exit code " + exitCode);
+        }
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+
+        return command;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static boolean isWindows() {
+
+        return System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -20,19 +20,24 @@ import io.novaordis.clad.application.ApplicationRuntime;
 import io.novaordis.clad.command.CommandBase;
 import io.novaordis.clad.option.BooleanOption;
 import io.novaordis.clad.option.Option;
+import io.novaordis.release.audit.DependencyAudit;
 import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.clad.ReleaseApplicationRuntime;
 import io.novaordis.release.model.Project;
 import io.novaordis.release.model.ProjectBuilder;
+import io.novaordis.release.model.maven.MavenProject;
 import io.novaordis.release.model.maven.MavenProjectBuilder;
 import io.novaordis.release.sequences.BuildSequence;
 import io.novaordis.release.sequences.CompletionSequence;
 import io.novaordis.release.sequences.InstallSequence;
 import io.novaordis.release.sequences.PublishSequence;
 import io.novaordis.release.sequences.QualificationSequence;
+import io.novaordis.release.sequences.ReleaseCheckpoint;
 import io.novaordis.release.sequences.Sequence;
 import io.novaordis.release.sequences.SequenceController;
 import io.novaordis.release.sequences.SequenceExecutionContext;
+import io.novaordis.release.version.ReleaseHistory;
+import io.novaordis.release.version.ReleaseTagFormat;
 import io.novaordis.release.version.Version;
 import io.novaordis.release.version.VersionFormatException;
 import io.novaordis.utilities.Files;
@@ -41,6 +46,8 @@ import io.novaordis.utilities.expressions.Scope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -62,6 +69,8 @@ public class ReleaseCommand extends CommandBase {
     public static final String NO_TESTS_OPTION_LITERAL = "no-tests";
     public static final String NO_PUSH_OPTION_LITERAL = "no-push";
     public static final String NO_INSTALL_OPTION_LITERAL = "no-install";
+    public static final String HISTORY_OPTION_LITERAL = "history";
+    public static final String RESUME_OPTION_LITERAL = "resume";
 
     // Static ----------------------------------------------------------------------------------------------------------
 
@@ -107,6 +116,8 @@ public class ReleaseCommand extends CommandBase {
     private boolean noTests;
     private boolean noPush;
     private boolean noInstall;
+    private boolean history;
+    private boolean resume;
 
     private SequenceController controller;
 
@@ -130,6 +141,8 @@ public class ReleaseCommand extends CommandBase {
         result.add(new BooleanOption(NO_TESTS_OPTION_LITERAL));
         result.add(new BooleanOption(NO_PUSH_OPTION_LITERAL));
         result.add(new BooleanOption(NO_INSTALL_OPTION_LITERAL));
+        result.add(new BooleanOption(HISTORY_OPTION_LITERAL));
+        result.add(new BooleanOption(RESUME_OPTION_LITERAL));
         return result;
     }
 
@@ -158,6 +171,16 @@ public class ReleaseCommand extends CommandBase {
 
         log.debug("no install: " + noInstall);
 
+        o = (BooleanOption)getOption(new BooleanOption(HISTORY_OPTION_LITERAL));
+        history = o != null && o.getValue();
+
+        log.debug("history: " + history);
+
+        o = (BooleanOption)getOption(new BooleanOption(RESUME_OPTION_LITERAL));
+        resume = o != null && o.getValue();
+
+        log.debug("resume: " + resume);
+
         //
         // identifying release mode
         //
@@ -232,14 +255,27 @@ public class ReleaseCommand extends CommandBase {
     public void execute(ApplicationRuntime runtime) throws Exception {
 
         ReleaseApplicationRuntime r = (ReleaseApplicationRuntime)runtime;
-        Project p = projectBuilder.build(r.getCurrentDirectory());
+
+        //
+        // "info" only needs the project version, do not read more than it is necessary
+        //
+
+        Project p = projectBuilder.build(r.getCurrentDirectory(), ReleaseMode.info.equals(mode));
 
         insureInRightDirectory(p);
 
-        if (ReleaseMode.info.equals(mode)) {
+        if (resume) {
+
+            resumeReleaseSequence(r, p);
+        }
+        else if (ReleaseMode.info.equals(mode)) {
 
             info(r, p);
         }
+        else if (ReleaseMode.audit.equals(mode)) {
+
+            audit(r, p);
+        }
         else {
 
             executeReleaseSequence(r, p, mode);
@@ -301,6 +337,26 @@ public class ReleaseCommand extends CommandBase {
         this.noInstall = b;
     }
 
+    boolean isHistory() {
+
+        return history;
+    }
+
+    void setHistory(boolean b) {
+
+        this.history = b;
+    }
+
+    boolean isResume() {
+
+        return resume;
+    }
+
+    void setResume(boolean b) {
+
+        this.resume = b;
+    }
+
     /**
      * Use for testing only. May return null.
      */
@@ -311,7 +367,7 @@ public class ReleaseCommand extends CommandBase {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
-    private void info(ReleaseApplicationRuntime r, Project p) throws UserErrorException {
+    private void info(ReleaseApplicationRuntime r, Project p) throws Exception {
 
         try {
 
@@ -323,6 +379,89 @@ public class ReleaseCommand extends CommandBase {
             throw new UserErrorException(e.getMessage());
         }
 
+        if (isHistory()) {
+
+            history(r);
+        }
+    }
+
+    /**
+     * Recovers the release history from the source repository tags and reports the latest releases and the gaps in
+     * the release sequence.
+     */
+    private void history(ReleaseApplicationRuntime r) throws Exception {
+
+        ReleaseTagFormat format = PublishSequence.computeTagFormat(r.getConfiguration(), r.getRootScope());
+
+        String command = r.getConfiguration().get(ConfigurationLabels.OS_COMMAND_TO_LIST_TAGS);
+
+        if (command == null) {
+
+            throw new UserErrorException("no command to list tags configured");
+        }
+
+        ReleaseHistory h;
+
+        try (BufferedReader tags = r.executeAndStreamStdout(command)) {
+
+            h = ReleaseHistory.fromTags(tags, format);
+        }
+        catch(IOException e) {
+
+            throw new UserErrorException("failed to list the release tags: " + e.getMessage(), e);
+        }
+
+        //
+        // snapshot releases are not tagged, so the tags cannot tell which was the latest one
+        //
+
+        Version latestRelease = h.getLatestRelease();
+
+        r.info("releases:        " + h.getVersions().size());
+        r.info("latest release:  " + (latestRelease == null ? "none" : latestRelease.getLiteral()));
+
+        List<ReleaseHistory.Gap> gaps = h.getGaps();
+
+        if (gaps.isEmpty()) {
+
+            r.info("no gaps in the release sequence");
+        }
+        else {
+
+            for(ReleaseHistory.Gap g: gaps) {
+
+                r.info("gap " + g);
+            }
+        }
+    }
+
+    /**
+     * Checks the dependencies declared by the project POMs against the configured dependency rules, and as if the
+     * project was about to be dot-released, so snapshot dependencies are reported.
+     */
+    private void audit(ReleaseApplicationRuntime r, Project p) throws Exception {
+
+        if (!(p instanceof MavenProject)) {
+
+            throw new UserErrorException("dependency audit is only supported for Maven projects");
+        }
+
+        DependencyAudit audit = DependencyAudit.fromConfiguration(r.getConfiguration(), true);
+
+        List<DependencyAudit.Violation> violations = audit.audit((MavenProject)p);
+
+        if (violations.isEmpty()) {
+
+            r.info("no dependency audit violations");
+            return;
+        }
+
+        for(DependencyAudit.Violation v: violations) {
+
+            r.info(v.toString());
+        }
+
+        throw new UserErrorException(violations.size() + " dependency audit violation(s)");
     }
 
     private void executeReleaseSequence(ReleaseApplicationRuntime r, Project p, ReleaseMode rm) throws Exception {
@@ -351,13 +490,73 @@ public class ReleaseCommand extends CommandBase {
 
         controller = new SequenceController(rm, sequenceTypes);
 
+        //
+        // a new release discards the checkpoint of a previous one
+        //
+
+        ReleaseCheckpoint checkpoint = ReleaseCheckpoint.getInstance(p);
+
+        if (checkpoint != null) {
+
+            checkpoint.delete();
+        }
+
+        runReleaseSequence(r, p, checkpoint, false);
+    }
+
+    /**
+     * Resumes the release recorded in the project's checkpoint, from the sequence that failed, with the release mode
+     * and the options the release was started with.
+     */
+    private void resumeReleaseSequence(ReleaseApplicationRuntime r, Project p) throws Exception {
+
+        ReleaseCheckpoint checkpoint = ReleaseCheckpoint.getInstance(p);
+
+        if (checkpoint == null) {
+
+            throw new UserErrorException(
+                    "the release cannot be resumed, checkpoints are only supported for Maven projects");
+        }
+
+        checkpoint.load();
+
+        ReleaseMode rm = checkpoint.getReleaseMode();
+
+        if (mode != null && !mode.toString().equals(rm.toString())) {
+
+            throw new UserErrorException(
+                    "the release to resume is a " + rm + " release, it cannot be resumed as a " + mode + " release");
+        }
+
+        checkpoint.validate(p);
+
+        Scope s = r.getRootScope();
+
+        for(String o: ReleaseCheckpoint.OPTIONS) {
+
+            //noinspection unchecked
+            s.getVariable(o).set(checkpoint.getOption(o));
+        }
+
+        boolean noInstall = checkpoint.getOption(ConfigurationLabels.INSTALL_NO_INSTALL);
+
+        controller = new SequenceController(rm, getSequenceTypes(noInstall));
+
+        r.info("resuming " + rm + " release after " + checkpoint.getCompletedSequences());
+
+        runReleaseSequence(r, p, checkpoint, true);
+    }
+
+    private void runReleaseSequence(ReleaseApplicationRuntime r, Project p, ReleaseCheckpoint checkpoint,
+                                    boolean resume) throws Exception {
+
         boolean successfulRelease = false;
 
         SequenceExecutionContext ctx = null;
 
         try {
 
-            ctx = controller.execute(r, p);
+            ctx = resume ? controller.resume(r, p, checkpoint) : controller.execute(r, p, checkpoint);
             successfulRelease = true;
         }
         finally {
@@ -365,6 +564,15 @@ public class ReleaseCommand extends CommandBase {
             if (!successfulRelease) {
 
                 ctx = controller.undo(r, p);
+
+                if (checkpoint != null && checkpoint.exists()) {
+
+                    r.warn("the release can be resumed from where it failed with release --" + RESUME_OPTION_LITERAL);
+                }
+            }
+            else if (checkpoint != null) {
+
+                checkpoint.delete();
             }
 
             r.setLastExecutionContext(ctx);
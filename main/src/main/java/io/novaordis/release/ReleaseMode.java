@@ -26,6 +26,7 @@ import io.novaordis.release.version.VersionFormatException;
 public enum ReleaseMode {
 
     info,
+    audit,
     snapshot,
     minor,
     major,
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release;
+
+import io.novaordis.utilities.expressions.Scope;
+import io.novaordis.utilities.expressions.UndeclaredVariableException;
+import io.novaordis.utilities.expressions.Variable;
+import io.novaordis.utilities.expressions.VariableReferenceResolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A string with ${...} variable references, split once into literal and variable segments, so it can be rendered
+ * repeatedly without re-scanning.
+ *
+ * Rendering produces the same result as VariableReferenceResolver. The cases the template does not handle itself - an
+ * undeclared variable when the caller asks for failure, a variable with a null value, or a template with references
+ * that are not simple variable names or are preceded by '$' - are delegated to the resolver, so errors are reported
+ * the way they were before.
+ *
+ * Instances are immutable.
+ *
+ * @see VariableReferenceResolver
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VariableTemplate {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    public static final String REFERENCE_START = "${";
+    public static final char REFERENCE_END = '}';
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    public static VariableTemplate compile(String template) {
+
+        if (template == null) {
+
+            throw new IllegalArgumentException("null template");
+        }
+
+        List<String> segments = new ArrayList<>();
+
+        int literalStart = 0;
+        int i = template.indexOf(REFERENCE_START);
+
+        while(i != -1) {
+
+            int end = template.indexOf(REFERENCE_END, i + REFERENCE_START.length());
+
+            if (end == -1) {
+
+                //
+                // unterminated reference, rendered as is
+                //
+
+                break;
+            }
+
+            String name = template.substring(i + REFERENCE_START.length(), end);
+
+            if (!isSimpleName(name) || (i > 0 && template.charAt(i - 1) == '$')) {
+
+                //
+                // anything other than a plain reference is left to the resolver
+                //
+
+                return new VariableTemplate(template, null);
+            }
+
+            //
+            // even positions hold literals, odd positions hold variable names
+            //
+
+            segments.add(template.substring(literalStart, i));
+            segments.add(name);
+
+            literalStart = end + 1;
+            i = template.indexOf(REFERENCE_START, literalStart);
+        }
+
+        segments.add(template.substring(literalStart));
+
+        return new VariableTemplate(template, segments);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String template;
+
+    // literals on even positions, variable names on odd positions; null if the template is always delegated to the
+    // resolver
+    private final List<String> segments;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private VariableTemplate(String template, List<String> segments) {
+
+        this.template = template;
+        this.segments = segments == null ? null : Collections.unmodifiableList(segments);
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @see VariableReferenceResolver#resolve(String, boolean, Scope)
+     *
+     * @param failOnUndeclaredVariable if false, undeclared variable references are rendered as is.
+     *
+     * @exception UndeclaredVariableException if failOnUndeclaredVariable is true and a referenced variable is not
+     * declared in the scope.
+     */
+    public String render(Scope scope, boolean failOnUndeclaredVariable) throws UndeclaredVariableException {
+
+        if (scope == null) {
+
+            throw new IllegalArgumentException("null scope");
+        }
+
+        if (segments == null) {
+
+            return resolve(scope, failOnUndeclaredVariable);
+        }
+
+        if (segments.size() == 1) {
+
+            return template;
+        }
+
+        StringBuilder sb = new StringBuilder(template.length() + 16);
+
+        for(int i = 0; i < segments.size(); i ++) {
+
+            String segment = segments.get(i);
+
+            if (i % 2 == 0) {
+
+                sb.append(segment);
+                continue;
+            }
+
+            Variable v = scope.getVariable(segment);
+            Object value = v == null ? null : v.get();
+
+            if (value != null) {
+
+                sb.append(value);
+            }
+            else if (v == null && !failOnUndeclaredVariable) {
+
+                sb.append(REFERENCE_START).append(segment).append(REFERENCE_END);
+            }
+            else {
+
+                return resolve(scope, failOnUndeclaredVariable);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Renders the template against the given variables, instead of a scope.
+     *
+     * @see VariableReferenceResolver#resolve(String, boolean, String...)
+     *
+     * @param nameValuePairs variable names and values, alternating.
+     */
+    public String render(boolean failOnUndeclaredVariable, String... nameValuePairs)
+            throws UndeclaredVariableException {
+
+        if (segments == null || nameValuePairs.length % 2 != 0) {
+
+            return new VariableReferenceResolver().resolve(template, failOnUndeclaredVariable, nameValuePairs);
+        }
+
+        if (segments.size() == 1) {
+
+            return template;
+        }
+
+        StringBuilder sb = new StringBuilder(template.length() + 16);
+
+        for(int i = 0; i < segments.size(); i ++) {
+
+            String segment = segments.get(i);
+
+            if (i % 2 == 0) {
+
+                sb.append(segment);
+                continue;
+            }
+
+            String value = null;
+            boolean declared = false;
+
+            for(int j = 0; j < nameValuePairs.length; j += 2) {
+
+                if (segment.equals(nameValuePairs[j])) {
+
+                    value = nameValuePairs[j + 1];
+                    declared = true;
+                    break;
+                }
+            }
+
+            if (value != null) {
+
+                sb.append(value);
+            }
+            else if (!declared && !failOnUndeclaredVariable) {
+
+                sb.append(REFERENCE_START).append(segment).append(REFERENCE_END);
+            }
+            else {
+
+                return new VariableReferenceResolver().resolve(template, failOnUndeclaredVariable, nameValuePairs);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * @return the names of the referenced variables, in order of appearance. A variable referenced more than once
+     * appears more than once. Templates delegated to the resolver return an empty list.
+     */
+    public List<String> getVariableNames() {
+
+        if (segments == null) {
+
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>();
+
+        for(int i = 1; i < segments.size(); i += 2) {
+
+            result.add(segments.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return true if the template contains no variable references.
+     */
+    public boolean isLiteral() {
+
+        return segments != null && segments.size() == 1;
+    }
+
+    /**
+     * @return the template string, as compiled.
+     */
+    @Override
+    public String toString() {
+
+        return template;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return true if the template is rendered by the resolver.
+     */
+    boolean isDelegated() {
+
+        return segments == null;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Not delegated to Scope.evaluate(), as scopes may render through templates themselves.
+     */
+    private String resolve(Scope scope, boolean failOnUndeclaredVariable) throws UndeclaredVariableException {
+
+        return new VariableReferenceResolver().resolve(template, failOnUndeclaredVariable, scope);
+    }
+
+    private static boolean isSimpleName(String name) {
+
+        if (name.isEmpty()) {
+
+            return false;
+        }
+
+        for(int i = 0; i < name.length(); i ++) {
+
+            char c = name.charAt(i);
+
+            if (!Character.isLetterOrDigit(c) && c != '.' && c != '_' && c != '-') {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release;
+
+import io.novaordis.release.version.VersionUtil;
+import io.novaordis.utilities.os.NativeExecutionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the command that reports the version of an already installed release, reading its stdout only up to, and
+ * including, the first line that contains a version. Once the version line was read, the process is terminated:
+ * tools that print a banner and then keep streaming diagnostics, or that take a long time to exit, do not delay the
+ * qualification.
+ *
+ * @see VersionUtil#fromCommandStdoutLine(String)
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionCommandExecutor {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(VersionCommandExecutor.class);
+
+    // how long we wait for the stderr content after the process was terminated or exited
+    private static final long STDERR_DRAIN_TIMEOUT_MS = 1000L;
+
+    // how long a terminated process has to exit before it is killed
+    private static final long TERMINATION_TIMEOUT_MS = 2000L;
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the execution result. If a version line was found, the result is successful and its stdout contains the
+     * output up to, and including, the version line, regardless of how the terminated process would have exited.
+     * Otherwise, the result carries the process exit code and its output. A process that does not produce a version
+     * line within VersionUtil.MAX_VERSION_COMMAND_OUTPUT_LINES lines is terminated.
+     */
+    public static NativeExecutionResult execute(String command) throws IOException, InterruptedException {
+
+        if (command == null) {
+
+            throw new IllegalArgumentException("null command");
+        }
+
+        log.debug("executing \"" + command + "\" and reading until the first version line ...");
+
+        Process p = CommandOutputReader.newProcessBuilder(command).start();
+
+        p.getOutputStream().close();
+
+        StreamDrain stderr = new StreamDrain(p.getErrorStream());
+        stderr.start();
+
+        StringBuilder stdout = new StringBuilder();
+        boolean versionFound = false;
+
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(p.getInputStream(), Charset.defaultCharset()))) {
+
+            String line;
+            int lineCount = 0;
+            boolean gaveUp = false;
+
+            while((line = r.readLine()) != null) {
+
+                stdout.append(line).append('\n');
+
+                if (VersionUtil.fromCommandStdoutLine(line) != null) {
+
+                    versionFound = true;
+                    break;
+                }
+
+                if (++ lineCount >= VersionUtil.MAX_VERSION_COMMAND_OUTPUT_LINES) {
+
+                    gaveUp = true;
+                    break;
+                }
+            }
+
+            if (versionFound || gaveUp) {
+
+                log.debug((versionFound ? "version line found" : "no version line found in " + lineCount + " lines") +
+                        ", terminating \"" + command + "\"");
+                p.destroy();
+
+                //
+                // a command that ignores SIGTERM must not hang the release
+                //
+
+                if (!p.waitFor(TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+
+                    log.debug("\"" + command + "\" did not exit after termination, killing it");
+                    p.destroyForcibly();
+                    p.waitFor(TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            int exitCode = p.isAlive() ? -1 : p.exitValue();
+
+            if (!versionFound) {
+
+                //
+                // we only need the complete stderr content to report a failure; on success, whatever was collected
+                // so far is enough, and grandchildren of the terminated process may still hold the stream open
+                //
+
+                stderr.join(STDERR_DRAIN_TIMEOUT_MS);
+            }
+
+            return new NativeExecutionResult(
+                    versionFound ? 0 : exitCode, stdout.toString(), stderr.getContent(), false, false);
+        }
+        finally {
+
+            if (p.isAlive()) {
+
+                p.destroyForcibly();
+                p.waitFor(STDERR_DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private VersionCommandExecutor() {
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    /**
+     * Reads a stream to the end on a separate thread, so a process that writes a lot to stderr does not block.
+     */
+    private static class StreamDrain extends Thread {
+
+        private final InputStream is;
+        private final ByteArrayOutputStream content;
+
+        StreamDrain(InputStream is) {
+
+            super("version command stderr drain");
+            setDaemon(true);
+            this.is = is;
+            this.content = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public void run() {
+
+            byte[] buffer = new byte[4096];
+
+            try {
+
+                int n;
+
+                while((n = is.read(buffer)) != -1) {
+
+                    synchronized (content) {
+
+                        content.write(buffer, 0, n);
+                    }
+                }
+            }
+            catch(IOException e) {
+
+                //
+                // the process was terminated, what we have is all we get
+                //
+                log.debug("stderr drain stopped: " + e.getMessage());
+            }
+        }
+
+        String getContent() {
+
+            synchronized (content) {
+
+                return new String(content.toByteArray(), Charset.defaultCharset());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.audit;
+
+import io.novaordis.clad.configuration.Configuration;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.maven.MavenDependency;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.POM;
+import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
+import io.novaordis.utilities.UserErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the <dependency> versions declared by the root POM and the module POMs against the configured dependency
+ * rules and, for dot releases, against the "no snapshot dependencies" rule. The POMs are checked in parallel.
+ * Dependencies on the project's own modules are exempt, their versions change with the release.
+ *
+ * @see DependencyRule
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class DependencyAudit {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyAudit.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Builds the audit from the rules configured under ConfigurationLabels.AUDIT_DEPENDENCY_RULES, one per line.
+     *
+     * @param noSnapshots if true, snapshot dependencies are reported, as they are not allowed in a dot release.
+     *
+     * @exception UserErrorException on invalid rules.
+     */
+    public static DependencyAudit fromConfiguration(Configuration c, boolean noSnapshots) throws UserErrorException {
+
+        List<DependencyRule> rules = new ArrayList<>();
+
+        String s = c.get(ConfigurationLabels.AUDIT_DEPENDENCY_RULES);
+
+        if (s != null) {
+
+            for(String line: s.split("\n")) {
+
+                if (line.trim().isEmpty()) {
+
+                    continue;
+                }
+
+                try {
+
+                    rules.add(DependencyRule.parse(line));
+                }
+                catch(VersionFormatException e) {
+
+                    throw new UserErrorException(e.getMessage());
+                }
+            }
+        }
+
+        return new DependencyAudit(rules, noSnapshots);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final List<DependencyRule> rules;
+    private final boolean noSnapshots;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    public DependencyAudit(List<DependencyRule> rules, boolean noSnapshots) {
+
+        if (rules == null) {
+
+            throw new IllegalArgumentException("null rules");
+        }
+
+        this.rules = new ArrayList<>(rules);
+        this.noSnapshots = noSnapshots;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the violations, grouped by POM (root first, then the modules in declaration order) and in dependency
+     * declaration order within a POM, irrespective of the order in which the POMs were checked. May return an empty
+     * list, but never null.
+     *
+     * @exception IOException on failure to read a POM.
+     */
+    public List<Violation> audit(MavenProject p) throws IOException {
+
+        List<POM> poms = new ArrayList<>();
+        Set<String> ownCoordinates = new HashSet<>();
+
+        POM root = p.getPOM();
+
+        if (root != null) {
+
+            poms.add(root);
+        }
+
+        for(MavenModule m: p.getModules()) {
+
+            poms.add(m.getPOM());
+        }
+
+        for(POM pom: poms) {
+
+            ownCoordinates.add(pom.getGroupId() + ":" + pom.getArtifactId());
+        }
+
+        if (rules.isEmpty() && !noSnapshots) {
+
+            return Collections.emptyList();
+        }
+
+        try {
+
+            return poms.parallelStream().
+                    map(pom -> audit(pom, ownCoordinates)).
+                    flatMap(List::stream).
+                    collect(Collectors.toList());
+        }
+        catch(UncheckedIOException e) {
+
+            throw e.getCause();
+        }
+    }
+
+    public List<DependencyRule> getRules() {
+
+        return Collections.unmodifiableList(rules);
+    }
+
+    public boolean isNoSnapshots() {
+
+        return noSnapshots;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return the violations for a single dependency, in rule order.
+     */
+    List<String> check(MavenDependency d) {
+
+        String v = d.getVersion();
+
+        if (v == null) {
+
+            //
+            // the version comes from a <dependencyManagement> section, it is checked there
+            //
+
+            return Collections.emptyList();
+        }
+
+        List<String> result = null;
+
+        if (noSnapshots && v.contains("SNAPSHOT")) {
+
+            result = new ArrayList<>();
+            result.add("snapshot dependency not allowed in a dot release");
+        }
+
+        for(DependencyRule r: rules) {
+
+            if (!r.appliesTo(d)) {
+
+                continue;
+            }
+
+            String message = null;
+
+            if (v.contains("${")) {
+
+                message = "unresolved version \"" + v + "\", cannot check it against rule \"" + r + "\"";
+            }
+            else {
+
+                try {
+
+                    if (!r.getRange().contains(Version.valueOf(v))) {
+
+                        message = "version " + v + " does not satisfy rule \"" + r + "\"";
+                    }
+                }
+                catch(VersionFormatException e) {
+
+                    message = "version \"" + v + "\" cannot be checked against rule \"" + r + "\": " + e.getMessage();
+                }
+            }
+
+            if (message != null) {
+
+                if (result == null) {
+
+                    result = new ArrayList<>();
+                }
+
+                result.add(message);
+            }
+        }
+
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private List<Violation> audit(POM pom, Set<String> ownCoordinates) {
+
+        List<MavenDependency> dependencies;
+
+        try {
+
+            dependencies = pom.getDependencies();
+        }
+        catch(IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+
+        log.debug("auditing " + dependencies.size() + " dependencies declared in " + pom);
+
+        List<Violation> result = new ArrayList<>();
+
+        for(MavenDependency d: dependencies) {
+
+            if (ownCoordinates.contains(d.getGroupId() + ":" + d.getArtifactId())) {
+
+                continue;
+            }
+
+            for(String message: check(d)) {
+
+                result.add(new Violation(pom.getFile(), d, message));
+            }
+        }
+
+        return result;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    public static class Violation {
+
+        private final File pomFile;
+        private final MavenDependency dependency;
+        private final String message;
+
+        Violation(File pomFile, MavenDependency dependency, String message) {
+
+            this.pomFile = pomFile;
+            this.dependency = dependency;
+            this.message = message;
+        }
+
+        public File getPomFile() {
+
+            return pomFile;
+        }
+
+        public MavenDependency getDependency() {
+
+            return dependency;
+        }
+
+        public String getMessage() {
+
+            return message;
+        }
+
+        @Override
+        public String toString() {
+
+            return pomFile + ": " + dependency + ": " + message;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.audit;
+
+import io.novaordis.release.model.maven.MavenDependency;
+import io.novaordis.release.version.VersionFormatException;
+import io.novaordis.release.version.VersionRange;
+
+/**
+ * A constraint on the versions of the dependencies whose coordinates match a pattern. The syntax is
+ *
+ * <pre>
+ *     &lt;groupId-pattern&gt;:&lt;artifactId-pattern&gt; &lt;version-range&gt;
+ * </pre>
+ *
+ * where the patterns may contain '*' wildcards. Example: "io.novaordis:novaordis-* [4.7.14,)".
+ *
+ * @see VersionRange
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class DependencyRule {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @exception VersionFormatException on invalid rule syntax, including an invalid version range.
+     */
+    public static DependencyRule parse(String spec) throws VersionFormatException {
+
+        if (spec == null) {
+
+            throw new IllegalArgumentException("null dependency rule");
+        }
+
+        String s = spec.trim();
+
+        int i = 0;
+
+        while(i < s.length() && !Character.isWhitespace(s.charAt(i))) {
+
+            i ++;
+        }
+
+        String coordinates = s.substring(0, i);
+        String range = s.substring(i).trim();
+
+        int colon = coordinates.indexOf(':');
+
+        if (colon <= 0 || colon == coordinates.length() - 1 || coordinates.indexOf(':', colon + 1) != -1) {
+
+            throw new VersionFormatException(
+                    "invalid dependency rule \"" + spec + "\": expected <groupId>:<artifactId> <version-range>");
+        }
+
+        if (range.isEmpty()) {
+
+            throw new VersionFormatException("invalid dependency rule \"" + spec + "\": missing version range");
+        }
+
+        return new DependencyRule(
+                spec.trim(), coordinates.substring(0, colon), coordinates.substring(colon + 1),
+                VersionRange.parse(range));
+    }
+
+    /**
+     * Glob matching, '*' matches any sequence of characters, including the empty sequence.
+     */
+    static boolean matches(String pattern, String s) {
+
+        if (s == null) {
+
+            return false;
+        }
+
+        int p = 0;
+        int i = 0;
+        int star = -1;
+        int mark = 0;
+
+        while(i < s.length()) {
+
+            if (p < pattern.length() && pattern.charAt(p) != '*' && pattern.charAt(p) == s.charAt(i)) {
+
+                p ++;
+                i ++;
+            }
+            else if (p < pattern.length() && pattern.charAt(p) == '*') {
+
+                star = p ++;
+                mark = i;
+            }
+            else if (star != -1) {
+
+                p = star + 1;
+                i = ++ mark;
+            }
+            else {
+
+                return false;
+            }
+        }
+
+        while(p < pattern.length() && pattern.charAt(p) == '*') {
+
+            p ++;
+        }
+
+        return p == pattern.length();
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String spec;
+    private final String groupIdPattern;
+    private final String artifactIdPattern;
+    private final VersionRange range;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private DependencyRule(String spec, String groupIdPattern, String artifactIdPattern, VersionRange range) {
+
+        this.spec = spec;
+        this.groupIdPattern = groupIdPattern;
+        this.artifactIdPattern = artifactIdPattern;
+        this.range = range;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return true if the rule applies to the dependency.
+     */
+    public boolean appliesTo(MavenDependency d) {
+
+        return matches(groupIdPattern, d.getGroupId()) && matches(artifactIdPattern, d.getArtifactId());
+    }
+
+    public VersionRange getRange() {
+
+        return range;
+    }
+
+    @Override
+    public String toString() {
+
+        return spec;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -40,12 +40,48 @@ public class ConfigurationLabels {
 
     public static final String RELEASE_TAG = "release.tag";
 
+    public static final String OS_COMMAND_TO_LIST_TAGS = "os.command.to.list.tags";
+
+    // lists the files changed since ${tag}, relative to the project directory; used to detect the changed modules of
+    // projects with independently versioned modules
+    public static final String OS_COMMAND_TO_LIST_CHANGED_FILES = "os.command.to.list.changed.files";
+
+    // the number of modules tested and built in parallel, level by level in the module dependency graph, instead of
+    // executing the commands once for the whole reactor; a positive integer, or "auto" for all available processors
+    public static final String MODULE_PARALLELISM = "module.parallelism";
+
+    // the Maven executable: "mvn", "mvnd" or a path; by default, the Maven daemon is used if found on the PATH
+    public static final String MAVEN_EXECUTABLE = "maven.executable";
+
+    // the number of threads Maven builds the reactor with; a positive integer, or "auto" for as many threads as
+    // modules that can be built concurrently, up to the number of available processors. Not set by default: the
+    // reactor is built single-threaded, as plugins that are not thread-safe break multi-threaded builds
+    public static final String MAVEN_THREADS = "maven.threads";
+
+    // if "true", the tests are not executed by the qualification sequence, but by the build, in the same Maven
+    // invocation that packages the artifacts, so the classes are compiled once
+    public static final String FUSED_BUILD = "fused";
+
+    // the directory of the build output cache shared by all projects, usually ~/.nort/build-cache; the cache is not
+    // used if not configured
+    public static final String BUILD_CACHE_DIRECTORY = "cache.directory";
+
+    // the maximum size of the build output cache, in bytes, optionally followed by K, M or G
+    public static final String BUILD_CACHE_MAX_SIZE = "cache.max.size";
+
+    // the number of parallel Maven processes the qualification tests are split across, by test class; a positive
+    // integer, or "auto" for all available processors; the test command must not go past the "test" phase
+    public static final String TEST_SHARDS = "test.shards";
+
     public static final String OS_COMMAND_TO_GET_INSTALLED_VERSION = "os.command.to.get.installed.version";
 
     public static final String INSTALLATION_DIRECTORY = "installation.directory";
 
     public static final String TRUSTSTORE = "truststore";
 
+    // the dependency rules, one per line
+    public static final String AUDIT_DEPENDENCY_RULES = "dependency.rules";
+
     //
     // flattened configuration keys
     //
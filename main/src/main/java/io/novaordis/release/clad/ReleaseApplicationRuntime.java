@@ -17,10 +17,12 @@
 package io.novaordis.release.clad;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,13 +36,20 @@ import io.novaordis.clad.application.Console;
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.clad.option.Option;
 import io.novaordis.clad.option.StringOption;
+import io.novaordis.release.CommandOutputReader;
+import io.novaordis.release.VariableTemplate;
+import io.novaordis.release.VersionCommandExecutor;
 import io.novaordis.release.ZipHandler;
 import io.novaordis.release.clad.configuration.Truststore;
+import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenProjectBuilder;
+import io.novaordis.release.model.maven.VersionIndex;
 import io.novaordis.release.sequences.SequenceExecutionContext;
 import io.novaordis.utilities.Files;
 import io.novaordis.utilities.UserErrorException;
 import io.novaordis.utilities.expressions.Scope;
 import io.novaordis.utilities.expressions.UndeclaredVariableException;
+import io.novaordis.utilities.os.NativeExecutionResult;
 import io.novaordis.utilities.zip.ZipUtil;
 
 /**
@@ -131,6 +140,18 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
         configuration.set(label, "mvn -Dmaven.test.skip=true clean package");
         log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
 
+        //
+        // the Maven execution defaults do not override the configuration
+        //
+
+        label = ConfigurationLabels.MAVEN_EXECUTABLE;
+
+        if (configuration.get(label) == null) {
+
+            configuration.set(label, MavenCommandLine.findExecutable(System.getenv("PATH")));
+            log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
+        }
+
         label = ConfigurationLabels.OS_COMMAND_TO_ADD_TO_LOCAL_SOURCE_REPOSITORY;
         configuration.set(label, "git add .");
         log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
@@ -147,6 +168,14 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
         configuration.set(label, "git push --follow-tags");
         log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
 
+        label = ConfigurationLabels.OS_COMMAND_TO_LIST_TAGS;
+        configuration.set(label, "git tag");
+        log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
+
+        label = ConfigurationLabels.OS_COMMAND_TO_LIST_CHANGED_FILES;
+        configuration.set(label, "git diff --name-only --relative ${tag}");
+        log.debug("set '" + label + "' to \"" + configuration.get(label) + "\"");
+
         //
         // declare the variables we need
         //
@@ -271,6 +300,55 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
         extractString(qualificationMap, ConfigurationLabels.OS_COMMAND_TO_GET_INSTALLED_VERSION,
                 scope, configuration, true);
 
+        Object shards = qualificationMap == null ? null : qualificationMap.get(ConfigurationLabels.TEST_SHARDS);
+
+        if (shards != null) {
+
+            configuration.set(ConfigurationLabels.TEST_SHARDS, shards.toString());
+        }
+
+        //
+        // Build Configuration
+        //
+
+        Map buildMap = (Map) yamlFileConfiguration.get("build");
+
+        Object parallelism = buildMap == null ? null : buildMap.get(ConfigurationLabels.MODULE_PARALLELISM);
+
+        if (parallelism != null) {
+
+            //
+            // YAML delivers integers as such, the value is validated by the layer that uses it
+            //
+
+            configuration.set(ConfigurationLabels.MODULE_PARALLELISM, parallelism.toString());
+        }
+
+        extractString(buildMap, ConfigurationLabels.MAVEN_EXECUTABLE, scope, configuration, true);
+
+        Object threads = buildMap == null ? null : buildMap.get(ConfigurationLabels.MAVEN_THREADS);
+
+        if (threads != null) {
+
+            configuration.set(ConfigurationLabels.MAVEN_THREADS, threads.toString());
+        }
+
+        Object fused = buildMap == null ? null : buildMap.get(ConfigurationLabels.FUSED_BUILD);
+
+        if (fused != null) {
+
+            configuration.set(ConfigurationLabels.FUSED_BUILD, fused.toString());
+        }
+
+        extractString(buildMap, ConfigurationLabels.BUILD_CACHE_DIRECTORY, scope, configuration, true);
+
+        Object cacheMaxSize = buildMap == null ? null : buildMap.get(ConfigurationLabels.BUILD_CACHE_MAX_SIZE);
+
+        if (cacheMaxSize != null) {
+
+            configuration.set(ConfigurationLabels.BUILD_CACHE_MAX_SIZE, cacheMaxSize.toString());
+        }
+
         //
         // Publish Sequence Configuration
         //
@@ -302,6 +380,13 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
 
         Map installMap = (Map)yamlFileConfiguration.get("install");
         extractDirectory(installMap, ConfigurationLabels.INSTALLATION_DIRECTORY, scope, configuration);
+
+        //
+        // Audit Configuration
+        //
+
+        Map auditMap = (Map)yamlFileConfiguration.get("audit");
+        extractStringList(auditMap, ConfigurationLabels.AUDIT_DEPENDENCY_RULES, scope, configuration);
     }
 
     /**
@@ -337,7 +422,7 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
 
         try {
 
-            s =  scope.evaluate(unresolvedVariableString, failOnUnresolvedVariable);
+            s = VariableTemplate.compile(unresolvedVariableString).render(scope, failOnUnresolvedVariable);
         }
         catch(UndeclaredVariableException e) {
 
@@ -347,6 +432,51 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
         c.set(configKey, s);
     }
 
+    /**
+     * Attempts to extract a list of strings (or a single string), and if not null, resolves variables and then installs
+     * the result into the configuration, one element per line.
+     *
+     * @param map the corresponding configuration map. If null,the whole method is a noop.
+     */
+    static void extractStringList(Map map, String configKey, Scope scope, Configuration c) throws UserErrorException {
+
+        if (map == null) {
+
+            return;
+        }
+
+        Object o = map.get(configKey);
+
+        if (o == null) {
+
+            log.debug("'" + configKey + "' not defined");
+            return;
+        }
+
+        List<?> elements = o instanceof List ? (List<?>)o : Collections.singletonList(o);
+
+        StringBuilder sb = new StringBuilder();
+
+        for(Object e: elements) {
+
+            if (e == null) {
+
+                continue;
+            }
+
+            try {
+
+                sb.append(VariableTemplate.compile(e.toString()).render(scope, true)).append('\n');
+            }
+            catch(UndeclaredVariableException ex) {
+
+                throw new UserErrorException("variable '" + ex.getUndeclaredVariableName() + "' cannot be resolved");
+            }
+        }
+
+        c.set(configKey, sb.toString());
+    }
+
     /**
      * Attempts to extract a directory, and if not null, resolves variables, validates and then installs the result into
      * the configuration.
@@ -370,7 +500,7 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
 
         try {
 
-            s = scope.evaluate(s, true);
+            s = VariableTemplate.compile(s).render(scope, true);
         }
         catch(UndeclaredVariableException e) {
 
@@ -399,6 +529,8 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
 
     private SequenceExecutionContext lastExecutionContext;
 
+    private VersionIndex versionIndex;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     // ApplicationRuntimeBase overrides --------------------------------------------------------------------------------
@@ -451,6 +583,78 @@ public class ReleaseApplicationRuntime extends ApplicationRuntimeBase {
         return new File(".");
     }
 
+    /**
+     * @return the directory nort keeps per-user state in, outside of any project work tree, so the state is never
+     * committed with a release. Null if per-user state should not be persisted.
+     */
+    public File getUserDirectory() {
+
+        return new File(System.getProperty("user.home"), MavenProjectBuilder.NORT_DIRECTORY_NAME);
+    }
+
+    /**
+     * The version index of the local artifact repository, refreshed on first access and shared afterwards. The index
+     * is persisted in the user directory.
+     *
+     * @see ReleaseApplicationRuntime#getUserDirectory()
+     *
+     * @return null if the local artifact repository root is not configured or it is not a directory.
+     *
+     * @exception IOException on failure to walk the repository.
+     */
+    public synchronized VersionIndex getVersionIndex() throws IOException {
+
+        if (versionIndex != null) {
+
+            return versionIndex;
+        }
+
+        String s = getConfiguration().get(ConfigurationLabels.LOCAL_ARTIFACT_REPOSITORY_ROOT);
+
+        if (s == null) {
+
+            return null;
+        }
+
+        File repositoryRoot = new File(s);
+
+        if (!repositoryRoot.isDirectory()) {
+
+            return null;
+        }
+
+        File userDirectory = getUserDirectory();
+
+        File indexFile = userDirectory == null ? null : VersionIndex.getUserIndexFile(userDirectory, repositoryRoot);
+
+        VersionIndex i = new VersionIndex(repositoryRoot, indexFile);
+        i.refresh();
+        versionIndex = i;
+        return versionIndex;
+    }
+
+    /**
+     * Executes the command that reports the version of the already installed release. Only the output up to the
+     * first version line is read, then the process is terminated. It is pluggable to make tests portable.
+     *
+     * @see VersionCommandExecutor
+     */
+    public NativeExecutionResult executeVersionCommand(String command) throws Exception {
+
+        return VersionCommandExecutor.execute(command);
+    }
+
+    /**
+     * Executes the command and exposes its stdout as it is being produced. Closing the reader waits for the command to
+     * exit, and throws an IOException if the command failed. It is pluggable to make tests portable.
+     *
+     * @see CommandOutputReader
+     */
+    public BufferedReader executeAndStreamStdout(String command) throws Exception {
+
+        return CommandOutputReader.start(command);
+    }
+
     /**
      * Pluggable logic that handles zips. It is pluggable to make tests portable.
      */
@@ -34,4 +34,10 @@ public interface ProjectBuilder {
 
     Project build(File currentDirectory) throws Exception;
 
+    /**
+     * @param lazy if true, the parts of the project model that are not needed to answer read-only queries, such as
+     *             the project name and version, are loaded on first access.
+     */
+    Project build(File currentDirectory, boolean lazy) throws Exception;
+
 }
@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.clad.configuration.Configuration;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.utilities.UserErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A local, content-addressed cache of module build outputs, shared by all the projects, checkouts and nort processes
+ * of a user. An entry is keyed by a fingerprint of everything the module build depends on, including the
+ * fingerprints of the modules it depends on, and contains the files the build left directly under the module's target
+ * directory: the artifacts. The compiled classes and the other intermediate outputs are not cached.
+ *
+ * The layout is:
+ *
+ * <cache-directory>/entries/<key>/... - one directory per entry, whose modification time is the time of last use
+ * <cache-directory>/tmp/...           - entries being written
+ * <cache-directory>/lock              - the lock file
+ *
+ * An entry is written under tmp and atomically renamed in place, so readers never see a partial entry, and concurrent
+ * writers of the same entry do not interfere - the first rename wins. The files are copied in and out of the cache,
+ * not hard-linked: Maven may rewrite an artifact in place, which would corrupt a linked entry. Processes hold a shared
+ * lock on the lock file while reading or writing entries, and the exclusive lock while evicting, so an entry is never
+ * removed while it is being restored.
+ *
+ * The total size is bounded: after an entry is written, the least recently used entries are evicted until the cache
+ * fits in its maximum size.
+ *
+ * @see ModuleFingerprint#withDependencies(List)
+ * @see ConfigurationLabels#BUILD_CACHE_DIRECTORY
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class BuildCache {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(BuildCache.class);
+
+    public static final long DEFAULT_MAX_SIZE = 2L * 1024 * 1024 * 1024;
+
+    static final String ENTRIES_DIRECTORY_NAME = "entries";
+    static final String TEMPORARY_DIRECTORY_NAME = "tmp";
+    static final String LOCK_FILE_NAME = "lock";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the cache configured for the project, or null if no cache directory was configured. A leading "~" in
+     * the directory name designates the user's home directory.
+     *
+     * @exception UserErrorException on an invalid maximum size.
+     */
+    public static BuildCache getInstance(Configuration c) throws UserErrorException {
+
+        String s = c.get(ConfigurationLabels.BUILD_CACHE_DIRECTORY);
+
+        if (s == null) {
+
+            return null;
+        }
+
+        s = s.trim();
+
+        if (s.equals("~") || s.startsWith("~/")) {
+
+            s = System.getProperty("user.home") + s.substring(1);
+        }
+
+        String maxSize = c.get(ConfigurationLabels.BUILD_CACHE_MAX_SIZE);
+
+        return new BuildCache(new File(s), maxSize == null ? DEFAULT_MAX_SIZE : parseSize(maxSize));
+    }
+
+    /**
+     * @param s a number of bytes, optionally followed by one of the K, M or G multipliers (powers of 1024).
+     *
+     * @exception UserErrorException if the value cannot be parsed.
+     */
+    static long parseSize(String s) throws UserErrorException {
+
+        String t = s.trim().toUpperCase();
+        long multiplier = 1;
+
+        if (t.endsWith("K") || t.endsWith("M") || t.endsWith("G")) {
+
+            multiplier = 1L << (10 * ("KMG".indexOf(t.charAt(t.length() - 1)) + 1));
+            t = t.substring(0, t.length() - 1).trim();
+        }
+
+        try {
+
+            long l = Long.parseLong(t);
+
+            if (l > 0) {
+
+                return l * multiplier;
+            }
+        }
+        catch(NumberFormatException e) {
+
+            // fall through
+        }
+
+        throw new UserErrorException(
+                "invalid " + ConfigurationLabels.BUILD_CACHE_MAX_SIZE + " \"" + s +
+                        "\", use a positive number of bytes, optionally followed by K, M or G");
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final File directory;
+    private final long maxSize;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param directory the cache directory. It is created on first write, if it does not exist.
+     *
+     * @param maxSize the maximum total size of the entries, in bytes.
+     */
+    public BuildCache(File directory, long maxSize) {
+
+        if (directory == null) {
+            throw new IllegalArgumentException("null cache directory");
+        }
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("invalid maximum size " + maxSize);
+        }
+
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Copies the files of the entry into the target directory, replacing the files with the same name, and marks the
+     * entry as recently used.
+     *
+     * @return false if there is no entry for the key, or the entry could not be restored. Failures are not fatal: they
+     * are logged, and the module is built.
+     */
+    public synchronized boolean restore(String key, File targetDirectory) {
+
+        if (!contains(key)) {
+
+            return false;
+        }
+
+        try (FileChannel lockFile = openLockFile(); FileLock ignored = lockFile.lock(0L, Long.MAX_VALUE, true)) {
+
+            File entry = getEntryDirectory(key);
+
+            File[] files = entry.listFiles();
+
+            if (files == null) {
+
+                return false;
+            }
+
+            mkdirs(targetDirectory);
+
+            for(File f: files) {
+
+                //
+                // a concurrent build of the same module never sees a partially restored artifact
+                //
+
+                File tmp = File.createTempFile(f.getName(), ".tmp", targetDirectory);
+
+                try {
+
+                    copy(f, tmp);
+
+                    Files.move(
+                            tmp.toPath(), new File(targetDirectory, f.getName()).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                finally {
+
+                    //noinspection ResultOfMethodCallIgnored
+                    tmp.delete();
+                }
+            }
+
+            //noinspection ResultOfMethodCallIgnored
+            entry.setLastModified(System.currentTimeMillis());
+
+            log.debug("restored " + files.length + " file(s) from " + entry + " into " + targetDirectory);
+
+            return true;
+        }
+        catch(Exception e) {
+
+            log.warn("failed to restore build cache entry " + key + " into " + targetDirectory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Stores the regular files found directly under the target directory, with the exception of the given files, as
+     * the entry for the key, unless the entry exists already, then evicts the least recently used entries if the
+     * cache grew over its maximum size. Failures are not fatal: they are logged, and the entry is not stored.
+     *
+     * @param excluded the names of the files not to store, such as the files that are not build outputs.
+     */
+    public synchronized void store(String key, File targetDirectory, String... excluded) {
+
+        File tmp = null;
+
+        try {
+
+            try (FileChannel lockFile = openLockFile(); FileLock ignored = lockFile.lock(0L, Long.MAX_VALUE, true)) {
+
+                File entry = getEntryDirectory(key);
+
+                if (entry.isDirectory()) {
+
+                    log.debug(entry + " already exists");
+                    return;
+                }
+
+                File[] files = targetDirectory.listFiles();
+
+                if (files == null) {
+
+                    throw new IOException(targetDirectory + " is not a directory");
+                }
+
+                File tmpDirectory = new File(directory, TEMPORARY_DIRECTORY_NAME);
+                mkdirs(tmpDirectory);
+                tmp = Files.createTempDirectory(tmpDirectory.toPath(), key).toFile();
+
+                List<String> excludedNames = Arrays.asList(excluded);
+
+                for(File f: files) {
+
+                    if (f.isFile() && !excludedNames.contains(f.getName())) {
+
+                        copy(f, new File(tmp, f.getName()));
+                    }
+                }
+
+                mkdirs(entry.getParentFile());
+
+                try {
+
+                    Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    tmp = null;
+                    log.debug("stored " + targetDirectory + " as " + entry);
+                }
+                catch(IOException e) {
+
+                    if (!entry.isDirectory()) {
+
+                        throw e;
+                    }
+
+                    log.debug(entry + " was stored concurrently");
+                }
+            }
+
+            evict();
+        }
+        catch(Exception e) {
+
+            log.warn("failed to store " + targetDirectory + " as build cache entry " + key, e);
+        }
+        finally {
+
+            if (tmp != null) {
+
+                delete(tmp);
+            }
+        }
+    }
+
+    public boolean contains(String key) {
+
+        return getEntryDirectory(key).isDirectory();
+    }
+
+    public File getDirectory() {
+
+        return directory;
+    }
+
+    public long getMaxSize() {
+
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+
+        return "BuildCache[" + directory + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    File getEntryDirectory(String key) {
+
+        if (key == null || key.isEmpty() || key.contains("/") || key.contains(File.separator) || key.startsWith(".")) {
+            throw new IllegalArgumentException("invalid key \"" + key + "\"");
+        }
+
+        return new File(new File(directory, ENTRIES_DIRECTORY_NAME), key);
+    }
+
+    /**
+     * Removes the least recently used entries until the total size of the entries is within the maximum size.
+     */
+    void evict() throws IOException {
+
+        if (size(getEntries()) <= maxSize) {
+
+            return;
+        }
+
+        try (FileChannel lockFile = openLockFile(); FileLock ignored = lockFile.lock(0L, Long.MAX_VALUE, false)) {
+
+            //
+            // list again under the lock, entries may have been added or used while we were waiting for it
+            //
+
+            List<File> entries = getEntries();
+            entries.sort(Comparator.comparingLong(File::lastModified));
+
+            long total = size(entries);
+
+            for(File e: entries) {
+
+                if (total <= maxSize) {
+
+                    break;
+                }
+
+                long size = size(e);
+
+                log.debug("evicting " + e + " (" + size + " bytes)");
+
+                delete(e);
+                total -= size;
+            }
+        }
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * The cache is locked across processes by locking the lock file. Closing the channel releases the lock.
+     */
+    private FileChannel openLockFile() throws IOException {
+
+        mkdirs(directory);
+
+        return FileChannel.open(
+                new File(directory, LOCK_FILE_NAME).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private List<File> getEntries() {
+
+        File[] entries = new File(directory, ENTRIES_DIRECTORY_NAME).listFiles(File::isDirectory);
+
+        return entries == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(entries));
+    }
+
+    private static long size(List<File> entries) {
+
+        long size = 0;
+
+        for(File e: entries) {
+
+            size += size(e);
+        }
+
+        return size;
+    }
+
+    private static void copy(File source, File destination) throws IOException {
+
+        try (FileChannel in = new FileInputStream(source).getChannel();
+             FileChannel out = new FileOutputStream(destination).getChannel()) {
+
+            long size = in.size();
+            long position = 0;
+
+            while(position < size) {
+
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static long size(File entry) {
+
+        long size = 0;
+
+        File[] files = entry.listFiles();
+
+        if (files != null) {
+
+            for(File f: files) {
+
+                size += f.length();
+            }
+        }
+
+        return size;
+    }
+
+    private static void mkdirs(File d) throws IOException {
+
+        if (!d.isDirectory() && !d.mkdirs() && !d.isDirectory()) {
+
+            throw new IOException("failed to create " + d);
+        }
+    }
+
+    private static void delete(File d) {
+
+        File[] files = d.listFiles();
+
+        if (files != null) {
+
+            for(File f: files) {
+
+                //noinspection ResultOfMethodCallIgnored
+                f.delete();
+            }
+        }
+
+        if (!d.delete()) {
+
+            log.warn("failed to delete " + d);
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
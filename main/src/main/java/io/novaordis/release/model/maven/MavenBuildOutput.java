@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The information extracted from the console output of a Maven build: the plugin goals that were executed, the goal
+ * that failed, if any, and the test counts reported by the test runner for each module.
+ *
+ * It is used to tell a test failure from a packaging failure when the tests and the packaging are executed by the
+ * same Maven invocation. A failure of a goal bound to one of the lifecycle phases up to "test" (the compilation, for
+ * example) is a test failure, as it would have failed a "mvn test" as well.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class MavenBuildOutput {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    /**
+     * The goals of the default lifecycle bindings up to, and including, the "test" phase.
+     */
+    static final List<String> GOALS_UP_TO_TEST = Arrays.asList(
+            "resources", "compile", "testResources", "testCompile", "test");
+
+    // [INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ module ---
+    private static final Pattern GOAL_EXECUTION = Pattern.compile("^\\[INFO\\] --- (\\S+) .*@ (\\S+) ---$");
+
+    // [ERROR] Failed to execute goal org.apache.maven.plugins:maven-surefire-plugin:2.12.4:test (default-test) ...
+    private static final Pattern GOAL_FAILURE = Pattern.compile("^\\[ERROR\\] Failed to execute goal (\\S+)");
+
+    // Tests run: 10, Failures: 1, Errors: 0, Skipped: 2
+    private static final Pattern TEST_COUNTS = Pattern.compile(
+            "^(?:\\[\\w+\\] )?Tests run: (\\d+), Failures: (\\d+), Errors: (\\d+), Skipped: (\\d+)$");
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param output the console output. May be null, it is then handled as an empty output.
+     */
+    public static MavenBuildOutput parse(String output) {
+
+        MavenBuildOutput o = new MavenBuildOutput();
+
+        if (output == null) {
+
+            return o;
+        }
+
+        try (BufferedReader r = new BufferedReader(new StringReader(output))) {
+
+            String line;
+
+            while((line = r.readLine()) != null) {
+
+                line = line.trim();
+
+                Matcher m = GOAL_EXECUTION.matcher(line);
+
+                if (m.matches()) {
+
+                    o.executedGoals.add(m.group(1));
+                    continue;
+                }
+
+                m = GOAL_FAILURE.matcher(line);
+
+                if (m.find()) {
+
+                    if (o.failedGoal == null) {
+
+                        o.failedGoal = m.group(1);
+                    }
+
+                    continue;
+                }
+
+                m = TEST_COUNTS.matcher(line);
+
+                if (m.matches()) {
+
+                    //
+                    // the per-module summary; the per-class counts also report the elapsed time, so they do not match
+                    //
+
+                    o.testsRun += Integer.parseInt(m.group(1));
+                    o.testFailures += Integer.parseInt(m.group(2)) + Integer.parseInt(m.group(3));
+                    o.testCountsReported = true;
+                }
+            }
+        }
+        catch(IOException e) {
+
+            //
+            // reading from a string does not fail
+            //
+
+            throw new IllegalStateException(e);
+        }
+
+        return o;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private List<String> executedGoals;
+    private String failedGoal;
+
+    private boolean testCountsReported;
+    private int testsRun;
+    private int testFailures;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private MavenBuildOutput() {
+
+        this.executedGoals = new ArrayList<>();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the executed goals, in execution order, as "plugin:version:goal". Empty if Maven was run in quiet mode.
+     */
+    public List<String> getExecutedGoals() {
+
+        return Collections.unmodifiableList(executedGoals);
+    }
+
+    /**
+     * @return the goal that failed the build, as "[group:]plugin:version:goal", or null if no goal failed.
+     */
+    public String getFailedGoal() {
+
+        return failedGoal;
+    }
+
+    /**
+     * @return true if a goal failed, and it is bound to a lifecycle phase that comes after "test" - the tests, if any,
+     * passed. False if no goal failed, or the failed goal cannot be placed after "test".
+     */
+    public boolean failedAfterTests() {
+
+        if (failedGoal == null) {
+
+            return false;
+        }
+
+        String goal = failedGoal.substring(failedGoal.lastIndexOf(':') + 1);
+
+        return !GOALS_UP_TO_TEST.contains(goal);
+    }
+
+    /**
+     * @return the number of tests run by all modules, or -1 if no module reported test results.
+     */
+    public int getTestsRun() {
+
+        return testCountsReported ? testsRun : -1;
+    }
+
+    /**
+     * @return the number of failed tests and of tests in error, for all modules, or -1 if no module reported test
+     * results.
+     */
+    public int getTestFailures() {
+
+        return testCountsReported ? testFailures : -1;
+    }
+
+    @Override
+    public String toString() {
+
+        return "MavenBuildOutput[" + executedGoals.size() + " goal(s)" +
+                (failedGoal == null ? "" : ", failed " + failedGoal) + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -16,18 +16,26 @@
 
 package io.novaordis.release.model.maven;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.Project;
+import io.novaordis.utilities.UserErrorException;
 
 /**
  * Represents a maven command line. Example:
  *
  * "mvn clean install"
  *
+ * The command line may target the Maven daemon ("mvnd") instead of "mvn", and it may build the reactor with several
+ * threads ("-T"). configureExecution() makes these choices based on the configuration and on the width of the reactor
+ * being built. All the Maven commands nort executes go through configureExecution(), right before being executed.
+ *
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
  * @since 1/20/18
  */
@@ -35,10 +43,190 @@ public class MavenCommandLine {
 
     // Constants -------------------------------------------------------------------------------------------------------
 
+    public static final String MAVEN_EXECUTABLE = "mvn";
+    public static final String MAVEN_DAEMON_EXECUTABLE = "mvnd";
+
+    /**
+     * The thread count value that derives the number of threads from the available processors and the reactor width.
+     */
+    public static final String AUTO_THREADS = "auto";
+
+    private static final List<String> PHASES_BEFORE_INSTALL = Arrays.asList(
+            "validate", "compile", "test-compile", "test", "package", "verify");
+
     // Static ----------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return the command line, or null if the command is not a Maven command - it does not start with "mvn" or
+     * "mvnd".
+     */
+    public static MavenCommandLine parse(String command) {
+
+        if (command == null) {
+
+            return null;
+        }
+
+        String[] tokens = command.trim().split(" +");
+
+        if (!MAVEN_EXECUTABLE.equals(tokens[0]) && !MAVEN_DAEMON_EXECUTABLE.equals(tokens[0])) {
+
+            return null;
+        }
+
+        MavenCommandLine cl = new MavenCommandLine(Arrays.copyOfRange(tokens, 1, tokens.length));
+        cl.setExecutable(tokens[0]);
+        return cl;
+    }
+
+    /**
+     * Configures the executable and the number of threads of a Maven command, as described by configureExecution().
+     *
+     * @return the configured command, or the command unchanged if it is not a Maven command.
+     *
+     * @exception UserErrorException on invalid configuration.
+     */
+    public static String configureExecution(String command, Configuration c, int reactorWidth)
+            throws UserErrorException {
+
+        MavenCommandLine cl = parse(command);
+
+        if (cl == null) {
+
+            return command;
+        }
+
+        cl.configureExecution(c, reactorWidth);
+        return cl.getCommandLine();
+    }
+
+    /**
+     * @param modules the modules to be built, together with the modules they depend on. Null for all modules.
+     *
+     * @return the largest number of modules that can be built concurrently: the size of the widest level of the
+     * module dependency graph. 1 for a single-module project, or a project that is not a Maven project.
+     *
+     * @exception Exception on failure to read the module metadata.
+     */
+    public static int getReactorWidth(Project p, Collection<MavenModule> modules) throws Exception {
+
+        if (!(p instanceof MavenProject) || ((MavenProject)p).getModules().isEmpty()) {
+
+            return 1;
+        }
+
+        ModuleGraph g = ((MavenProject)p).getModuleGraph();
+
+        int width = 1;
+
+        for(List<MavenModule> level: modules == null ? g.getLevels() : g.getLevels(modules)) {
+
+            width = Math.max(width, level.size());
+        }
+
+        return width;
+    }
+
+    /**
+     * @param path the executable search path, as a PATH environment variable value. May be null.
+     *
+     * @return the Maven daemon executable name if the daemon is found on the path, or the Maven executable name
+     * otherwise.
+     */
+    public static String findExecutable(String path) {
+
+        if (path != null) {
+
+            for(String d: path.split(File.pathSeparator)) {
+
+                if (d.isEmpty()) {
+
+                    continue;
+                }
+
+                File f = new File(d, MAVEN_DAEMON_EXECUTABLE);
+
+                if (f.isFile() && f.canExecute()) {
+
+                    return MAVEN_DAEMON_EXECUTABLE;
+                }
+            }
+        }
+
+        return MAVEN_EXECUTABLE;
+    }
+
+    /**
+     * @return the number of threads that builds the reactor as fast as the processors allow: there is no point in
+     * having more threads than modules that can be built concurrently, or than processors.
+     */
+    static int computeThreads(int availableProcessors, int reactorWidth) {
+
+        return Math.max(1, Math.min(availableProcessors, reactorWidth));
+    }
+
+    /**
+     * Restricts a configured Maven command to the given modules, and the modules they depend on.
+     *
+     * @param command the command, as configured. Only commands that start with "mvn" or "mvnd" can be restricted.
+     *
+     * @return the restricted command, or the command unchanged if it is not a Maven command.
+     */
+    public static String restrictToModules(String command, List<String> moduleNames) {
+
+        MavenCommandLine cl = parse(command);
+
+        if (cl == null || moduleNames.isEmpty()) {
+
+            return command;
+        }
+
+        cl.arguments.addAll(0, Arrays.asList("-pl", String.join(",", moduleNames), "-am"));
+        return cl.getCommandLine();
+    }
+
+    /**
+     * Restricts a configured Maven command to a single module, without the modules it depends on: their artifacts
+     * are resolved from the local repository.
+     *
+     * @param install if true, the last lifecycle phase of the command, if earlier than "install", is replaced with
+     *                "install", so the module's artifacts become available to the modules that depend on it and are
+     *                built by separate invocations. The phase is replaced, not added, so the tests are not executed
+     *                twice.
+     *
+     * @return the restricted command, or the command unchanged if it is not a Maven command.
+     */
+    public static String restrictToModule(String command, String moduleName, boolean install) {
+
+        MavenCommandLine cl = parse(command);
+
+        if (cl == null) {
+
+            return command;
+        }
+
+        List<String> tokens = cl.arguments;
+
+        if (install) {
+
+            for(int i = tokens.size() - 1; i >= 0; i --) {
+
+                if (PHASES_BEFORE_INSTALL.contains(tokens.get(i))) {
+
+                    tokens.set(i, "install");
+                    break;
+                }
+            }
+        }
+
+        tokens.addAll(0, Arrays.asList("-pl", moduleName));
+        return cl.getCommandLine();
+    }
+
     // Attributes ------------------------------------------------------------------------------------------------------
 
+    private String executable;
+    private int threads;
     private List<SystemProperty> systemProperties;
     private List<String> arguments;
 
@@ -46,6 +234,8 @@ public class MavenCommandLine {
 
     public MavenCommandLine(String... commandLineArguments) {
 
+        this.executable = MAVEN_EXECUTABLE;
+        this.threads = 1;
         this.arguments = new ArrayList<>();
         this.systemProperties = new ArrayList<>();
         arguments.addAll(Arrays.asList(commandLineArguments));
@@ -63,9 +253,32 @@ public class MavenCommandLine {
         arguments.add(commandLineFragment.trim());
     }
 
+    /**
+     * Removes all occurrences of the argument - a lifecycle phase, for example.
+     *
+     * @return true if the argument was present.
+     */
+    public boolean remove(String argument) {
+
+        return arguments.removeIf(a -> a.equals(argument));
+    }
+
+    /**
+     * @return true if the argument - a lifecycle phase, for example - is present.
+     */
+    public boolean contains(String argument) {
+
+        return arguments.contains(argument);
+    }
+
     public String getCommandLine() {
 
-        String s = "mvn";
+        String s = executable;
+
+        if (threads > 1) {
+
+            s += " -T " + threads;
+        }
 
         for (SystemProperty systemProperty : systemProperties) {
 
@@ -82,6 +295,102 @@ public class MavenCommandLine {
         return s;
     }
 
+    public String getExecutable() {
+
+        return executable;
+    }
+
+    public void setExecutable(String executable) {
+
+        if (executable == null) {
+
+            throw new IllegalArgumentException("null executable");
+        }
+
+        this.executable = executable;
+    }
+
+    public int getThreads() {
+
+        return threads;
+    }
+
+    /**
+     * @param threads the number of threads the reactor is built with. 1 does not add "-T" to the command line.
+     */
+    public void setThreads(int threads) {
+
+        if (threads < 1) {
+
+            throw new IllegalArgumentException("invalid thread count " + threads);
+        }
+
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the executable and the number of threads according to the configuration. The number of threads is only
+     * set if the command line does not specify it already.
+     *
+     * @param reactorWidth the largest number of modules that can be built concurrently.
+     *
+     * @exception UserErrorException on invalid configuration.
+     *
+     * @see ConfigurationLabels#MAVEN_EXECUTABLE
+     * @see ConfigurationLabels#MAVEN_THREADS
+     */
+    public void configureExecution(Configuration c, int reactorWidth) throws UserErrorException {
+
+        String s = c.get(ConfigurationLabels.MAVEN_EXECUTABLE);
+
+        if (s != null) {
+
+            setExecutable(s.trim());
+        }
+
+        for(String a: arguments) {
+
+            if (a.startsWith("-T") || a.startsWith("--threads")) {
+
+                return;
+            }
+        }
+
+        s = c.get(ConfigurationLabels.MAVEN_THREADS);
+
+        if (s == null) {
+
+            return;
+        }
+
+        s = s.trim();
+
+        if (AUTO_THREADS.equals(s)) {
+
+            setThreads(computeThreads(Runtime.getRuntime().availableProcessors(), reactorWidth));
+            return;
+        }
+
+        try {
+
+            int i = Integer.parseInt(s);
+
+            if (i > 0) {
+
+                setThreads(i);
+                return;
+            }
+        }
+        catch(NumberFormatException e) {
+
+            // fall through
+        }
+
+        throw new UserErrorException(
+                "invalid " + ConfigurationLabels.MAVEN_THREADS + " \"" + s + "\", use a positive integer or \"" +
+                        AUTO_THREADS + "\"");
+    }
+
     /**
      * Deploying externally may require setting a local truststore on command line if the remote repository has a
      * self-signed certificate. It only does that if the configuration contains truststore information.
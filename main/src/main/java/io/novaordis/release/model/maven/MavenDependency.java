@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+/**
+ * A <dependency> declared by a POM, either directly under <dependencies> or under <dependencyManagement>. Variable
+ * references are resolved in the scope of the declaring POM.
+ *
+ * Instances are immutable.
+ *
+ * @see POM#getDependencies()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class MavenDependency {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final boolean managed;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param version the version string, as declared. May be null, when the version is inherited from a
+     *                <dependencyManagement> section. May be a range.
+     * @param managed true if the dependency was declared in a <dependencyManagement> section.
+     */
+    public MavenDependency(String groupId, String artifactId, String version, boolean managed) {
+
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.managed = managed;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public String getGroupId() {
+
+        return groupId;
+    }
+
+    public String getArtifactId() {
+
+        return artifactId;
+    }
+
+    /**
+     * @return the version string, as declared, with variable references resolved. May be null.
+     */
+    public String getVersion() {
+
+        return version;
+    }
+
+    public boolean isManaged() {
+
+        return managed;
+    }
+
+    @Override
+    public String toString() {
+
+        return groupId + ":" + artifactId + ":" + version;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -50,7 +50,7 @@ public class MavenModule {
 
     public MavenModule(MavenProject p, File pomFile) throws Exception {
 
-        this(p, new POM(p.getPOM(), pomFile));
+        this(p, new POM(p.getPOM(), pomFile, p.getPOMCache()));
     }
 
     /**
@@ -148,7 +148,8 @@ public class MavenModule {
 
     /**
      * If the project is in lockstep versioning mode, it is not allowed to set version independently on modules,
-     * so the invocation will throw an UnsupportedOperationException.
+     * so the invocation will throw an UnsupportedOperationException. The same happens in independent versioning mode,
+     * if the module does not declare its own version, but inherits it from the parent.
      */
     public boolean setVersion(Version v) throws UnsupportedOperationException {
 
@@ -157,9 +158,35 @@ public class MavenModule {
                     ProjectVersioningModel.MULTIPLE_MODULE_LOCKSTEP + " versioning mode");
         }
 
+        if (!isIndependentlyVersioned()) {
+            throw new UnsupportedOperationException(
+                    "cannot independently set version on module " + getName() + ", it inherits its version");
+        }
+
         return pom.setVersion(v);
     }
 
+    /**
+     * @return true if the project is in independent versioning mode and the module declares its own version, so it
+     * is released independently of the other modules.
+     */
+    public boolean isIndependentlyVersioned() {
+
+        if (!ProjectVersioningModel.MULTIPLE_MODULE_INDEPENDENT.equals(project.getVersioningModel())) {
+
+            return false;
+        }
+
+        try {
+
+            return pom.getLocalVersion() != null;
+        }
+        catch(VersionFormatException e) {
+
+            throw new IllegalStateException("invalid version in " + pom.getFile(), e);
+        }
+    }
+
     public POM getPOM() {
         return pom;
     }
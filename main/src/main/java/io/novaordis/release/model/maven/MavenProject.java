@@ -29,15 +29,22 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * An in-memory representation of a Maven project, which may include one or multiple POM files.
  *
  * Version upgrade operations must be applied to the project, not to individual modules (unless the project is
- * in "independent" versioning model.
+ * in "independent" versioning model, selected by declaring the "nort.versioning.model" property with the value
+ * "independent" in the root POM. In that model, the modules that declare their own version are released
+ * independently).
  *
  * @see Project#setVersion(Version)
  *
@@ -50,6 +57,20 @@ public class MavenProject implements Project {
 
     private static final Logger log = LoggerFactory.getLogger(MavenProject.class);
 
+    /**
+     * The maximum number of threads used to load the module POMs.
+     */
+    public static final int MAX_MODULE_LOADING_THREADS = 8;
+
+    /**
+     * The root POM property that selects the versioning model of a multi-module project. The only value recognized is
+     * INDEPENDENT_VERSIONING_MODEL; in its absence, the modules are versioned in lockstep.
+     */
+    public static final String VERSIONING_MODEL_PROPERTY = "nort.versioning.model";
+
+    public static final String INDEPENDENT_VERSIONING_MODEL = "independent";
+    public static final String LOCKSTEP_VERSIONING_MODEL = "lockstep";
+
     // Static ----------------------------------------------------------------------------------------------------------
 
     // Attributes ------------------------------------------------------------------------------------------------------
@@ -60,8 +81,20 @@ public class MavenProject implements Project {
 
     private List<MavenModule> modules;
 
+    // the names of the modules declared by the root POM, as long as the modules were not loaded; null afterwards
+    private List<String> unloadedModuleNames;
+
     private ProjectVersioningModel versioningModel;
 
+    // may be null
+    private POMCache pomCache;
+
+    // created on first use
+    private POMJournal journal;
+
+    // created on first use
+    private ModuleGraph moduleGraph;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     /**
@@ -83,6 +116,44 @@ public class MavenProject implements Project {
      */
     public MavenProject(File rootPomFile) throws Exception {
 
+        this(rootPomFile, false);
+    }
+
+    /**
+     * @param rootPomFile the top level pom.xml file. The file may contain sub-module references.
+     *
+     * @param lazy if true, only the root POM is read. The module POMs (and the assembly descriptors of the release
+     *             modules) are read on first access to the modules or the artifacts, or when the project is saved, so
+     *             read-only queries such as the project version parse exactly one file. Invalid module metadata is
+     *             reported on first access instead of by the constructor.
+     *
+     * @exception Exception all exceptions thrown by this constructor should have a descriptive, human-understandable
+     * error message.
+     *
+     * @exception io.novaordis.utilities.UserErrorException on invalid Maven metadata.
+     */
+    public MavenProject(File rootPomFile, boolean lazy) throws Exception {
+
+        this(rootPomFile, lazy, null);
+    }
+
+    /**
+     * @param rootPomFile the top level pom.xml file. The file may contain sub-module references.
+     *
+     * @param lazy if true, the modules are loaded on first access.
+     *
+     * @param pomCache may be null. If not null, the root and the module POMs are read through the cache.
+     *
+     * @see MavenProject#MavenProject(File, boolean)
+     *
+     * @exception Exception all exceptions thrown by this constructor should have a descriptive, human-understandable
+     * error message.
+     *
+     * @exception io.novaordis.utilities.UserErrorException on invalid Maven metadata.
+     */
+    public MavenProject(File rootPomFile, boolean lazy, POMCache pomCache) throws Exception {
+
+        this.pomCache = pomCache;
         this.modules = new ArrayList<>();
         this.versioningModel = ProjectVersioningModel.SINGLE_MODULE;
 
@@ -90,7 +161,7 @@ public class MavenProject implements Project {
             return;
         }
 
-        root = new POM(rootPomFile);
+        root = new POM(null, rootPomFile, pomCache);
 
         //
         // link to modules, if any
@@ -103,22 +174,17 @@ public class MavenProject implements Project {
         }
 
         //
-        // we have modules, for the time being we assume the lockstep versioning model; if, in the future, we need
-        // support for independent versions, we'll add it then.
+        // we have modules; the versioning model is lockstep unless the root POM declares otherwise. The model must be
+        // set before the modules are loaded, as they verify their versions against it.
         //
 
-        this.versioningModel = ProjectVersioningModel.MULTIPLE_MODULE_LOCKSTEP;
+        this.versioningModel = readVersioningModel(root);
 
-        for(String moduleName: moduleNames) {
+        this.unloadedModuleNames = moduleNames;
 
-            File moduleDir = new File(rootPomFile.getParentFile(), moduleName);
+        if (!lazy) {
 
-            if (!moduleDir.isDirectory()) {
-                throw new UserErrorException("no module directory " + moduleDir.getAbsolutePath());
-            }
-
-            MavenModule m = new MavenModule(this, new File(moduleDir, "pom.xml"));
-            addModule(m);
+            loadModules();
         }
 
         log.debug(this + " created");
@@ -151,6 +217,8 @@ public class MavenProject implements Project {
 
         boolean changed = false;
 
+        insureModulesLoaded();
+
         //noinspection ConstantConditions
         changed |= root.setVersion(version);
 
@@ -187,47 +255,79 @@ public class MavenProject implements Project {
     }
 
     /**
+     * Writes the modified root and module POMs as one journaled transaction: either all files are written, or none is.
+     *
      * Also see:
      *
-     * @see MavenModule#save()
+     * @see POMJournal#save(List)
      * @see POM#save()
      * @see InLineXMLEditor#save()
      */
     @Override
     public boolean save() throws IOException {
 
-        boolean changed = false;
-
         if (root == null) {
             throw new IOException("attempt to save an uninitialized project instance");
         }
 
-        //noinspection ConstantConditions
-        changed |= root.save();
+        try {
 
-        for(MavenModule m: modules) {
+            loadModules();
+        }
+        catch(IOException e) {
 
-            changed |= m.save();
+            throw e;
         }
+        catch(Exception e) {
 
-        return changed;
+            throw new IOException("failed to load the modules of " + this + ": " + e.getMessage(), e);
+        }
+
+        return getJournal().save(getPOMs());
     }
 
     /**
+     * Restores all the POMs written by the last save(), the root and the modules, and discards the modifications that
+     * were not saved.
+     *
      * Also see:
      *
+     * @see POMJournal#undo()
      * @see POM#undo()
      * @see InLineXMLEditor#undo()
      */
     @Override
     public boolean undo() throws IOException {
 
-        return root != null && root.undo();
+        if (root == null) {
+
+            return false;
+        }
+
+        Set<File> restored = new HashSet<>(getJournal().undo());
+
+        boolean undone = !restored.isEmpty();
+
+        for(POM p: getPOMs()) {
+
+            if (restored.contains(p.getFile().getAbsoluteFile())) {
+
+                p.reload();
+            }
+            else {
+
+                undone = p.undo() || undone;
+            }
+        }
+
+        return undone;
     }
 
     @Override
     public Set<ArtifactType> getArtifactTypes() {
 
+        insureModulesLoaded();
+
         Set<ArtifactType> result = new HashSet<>();
 
         //noinspection Convert2streamapi
@@ -263,6 +363,8 @@ public class MavenProject implements Project {
     @Override
     public List<Artifact> getArtifacts(ArtifactType artifactType) {
 
+        insureModulesLoaded();
+
         List<Artifact> result = new ArrayList<>();
 
         //noinspection Convert2streamapi
@@ -305,6 +407,8 @@ public class MavenProject implements Project {
      */
     public MavenModule getModule(String moduleName) {
 
+        insureModulesLoaded();
+
         for(MavenModule m: modules) {
             if (m.getName().equals(moduleName)) {
                 return m;
@@ -319,8 +423,59 @@ public class MavenProject implements Project {
         return versioningModel;
     }
 
+    /**
+     * @return the modules, in the order in which they were declared in the root POM. May return an empty list, but
+     * never null.
+     */
+    public List<MavenModule> getModules() {
+
+        insureModulesLoaded();
+
+        return Collections.unmodifiableList(modules);
+    }
+
+    /**
+     * @return the dependency graph of the modules. For a single-module project, the graph is empty.
+     *
+     * @exception IOException on failure to read the module dependencies.
+     * @exception UserErrorException if the modules form a dependency cycle.
+     */
+    public synchronized ModuleGraph getModuleGraph() throws IOException, UserErrorException {
+
+        if (moduleGraph == null) {
+
+            moduleGraph = new ModuleGraph(getModules());
+        }
+
+        return moduleGraph;
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
+    /**
+     * @return the journal the POMs are saved through, under the .nort directory of the project. Null on an
+     * uninitialized instance.
+     */
+    synchronized POMJournal getJournal() {
+
+        if (journal == null && root != null) {
+
+            File baseDirectory = root.getFile().getAbsoluteFile().getParentFile();
+            File nortDirectory = new File(baseDirectory, MavenProjectBuilder.NORT_DIRECTORY_NAME);
+            journal = new POMJournal(new File(nortDirectory, POMJournal.DIRECTORY_NAME));
+        }
+
+        return journal;
+    }
+
+    /**
+     * @return may return null.
+     */
+    POMCache getPOMCache() {
+
+        return pomCache;
+    }
+
     void addModule(MavenModule m) {
 
         modules.add(m);
@@ -335,6 +490,190 @@ public class MavenProject implements Project {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * Loads the modules declared by the root POM, if they were not loaded already. A failed attempt leaves the
+     * project without modules, and the next invocation tries again.
+     */
+    private synchronized void loadModules() throws Exception {
+
+        if (unloadedModuleNames == null) {
+
+            return;
+        }
+
+        //
+        // validate the module directories up front, in declaration order, so a missing module is reported before any
+        // POM is parsed, and always the same one
+        //
+
+        List<File> modulePomFiles = new ArrayList<>();
+
+        for(String moduleName: unloadedModuleNames) {
+
+            File moduleDir = new File(root.getFile().getParentFile(), moduleName);
+
+            if (!moduleDir.isDirectory()) {
+                throw new UserErrorException("no module directory " + moduleDir.getAbsolutePath());
+            }
+
+            modulePomFiles.add(new File(moduleDir, "pom.xml"));
+        }
+
+        for(MavenModule m: loadModules(modulePomFiles)) {
+
+            addModule(m);
+        }
+
+        unloadedModuleNames = null;
+    }
+
+    /**
+     * @exception UserErrorException if the root POM declares an unknown versioning model.
+     *
+     * @see MavenProject#VERSIONING_MODEL_PROPERTY
+     */
+    private static ProjectVersioningModel readVersioningModel(POM root) throws UserErrorException {
+
+        String s = root.getProperty(VERSIONING_MODEL_PROPERTY);
+
+        if (s == null || LOCKSTEP_VERSIONING_MODEL.equals(s.trim())) {
+
+            return ProjectVersioningModel.MULTIPLE_MODULE_LOCKSTEP;
+        }
+
+        if (INDEPENDENT_VERSIONING_MODEL.equals(s.trim())) {
+
+            return ProjectVersioningModel.MULTIPLE_MODULE_INDEPENDENT;
+        }
+
+        throw new UserErrorException(
+                "unknown " + VERSIONING_MODEL_PROPERTY + " \"" + s + "\", use \"" + LOCKSTEP_VERSIONING_MODEL +
+                        "\" or \"" + INDEPENDENT_VERSIONING_MODEL + "\"");
+    }
+
+    /**
+     * @return the root POM followed by the POMs of the loaded modules.
+     */
+    private List<POM> getPOMs() {
+
+        List<POM> result = new ArrayList<>();
+
+        result.add(root);
+
+        for(MavenModule m: modules) {
+
+            POM p = m.getPOM();
+
+            if (p != null) {
+
+                result.add(p);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Used by the accessors that cannot throw checked exceptions.
+     *
+     * @exception IllegalStateException if the modules cannot be loaded.
+     */
+    private void insureModulesLoaded() {
+
+        try {
+
+            loadModules();
+        }
+        catch(RuntimeException e) {
+
+            throw e;
+        }
+        catch(Exception e) {
+
+            throw new IllegalStateException("failed to load the modules of " + this + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the module POMs concurrently, on a bounded pool. The modules are returned in the order of the POM files,
+     * and if more than one module fails to load, the exception thrown is the one of the module declared first,
+     * irrespective of the order in which the failures occurred.
+     */
+    private List<MavenModule> loadModules(List<File> modulePomFiles) throws Exception {
+
+        List<MavenModule> result = new ArrayList<>(modulePomFiles.size());
+
+        int threads = Math.min(
+                modulePomFiles.size(), Math.min(MAX_MODULE_LOADING_THREADS, Runtime.getRuntime().availableProcessors()));
+
+        if (threads <= 1) {
+
+            for(File f: modulePomFiles) {
+
+                result.add(new MavenModule(this, f));
+            }
+
+            return result;
+        }
+
+        //
+        // the module POMs read the root POM while they are being built, make sure its state is fully initialized
+        // before it is shared between threads
+        //
+
+        try {
+
+            root.getVersion();
+        }
+        catch(VersionFormatException e) {
+
+            //
+            // not our concern here, it will be reported to whoever needs the version
+            //
+
+            log.debug("invalid root POM version: " + e.getMessage());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+
+            List<Future<MavenModule>> futures = new ArrayList<>(modulePomFiles.size());
+
+            for(File f: modulePomFiles) {
+
+                futures.add(executor.submit(() -> new MavenModule(this, f)));
+            }
+
+            for(Future<MavenModule> f: futures) {
+
+                try {
+
+                    result.add(f.get());
+                }
+                catch(ExecutionException e) {
+
+                    Throwable cause = e.getCause();
+
+                    if (cause instanceof Error) {
+
+                        throw (Error)cause;
+                    }
+
+                    throw (Exception)cause;
+                }
+            }
+        }
+        finally {
+
+            executor.shutdownNow();
+        }
+
+        log.debug(result.size() + " modules loaded on " + threads + " threads");
+
+        return result;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -21,6 +21,7 @@ import io.novaordis.release.model.ProjectBuilder;
 import io.novaordis.utilities.UserErrorException;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
@@ -32,6 +33,12 @@ public class MavenProjectBuilder implements ProjectBuilder {
 
     public static final String POM_FILE_NAME = "pom.xml";
 
+    /**
+     * The POMs are read through a POMCache maintained under this directory, relative to the current directory, if
+     * the directory exists.
+     */
+    public static final String NORT_DIRECTORY_NAME = ".nort";
+
     // Static ----------------------------------------------------------------------------------------------------------
 
     // Attributes ------------------------------------------------------------------------------------------------------
@@ -43,6 +50,15 @@ public class MavenProjectBuilder implements ProjectBuilder {
     @Override
     public Project build(File currentDirectory) throws Exception {
 
+        return build(currentDirectory, false);
+    }
+
+    /**
+     * @see MavenProject#MavenProject(File, boolean)
+     */
+    @Override
+    public Project build(File currentDirectory, boolean lazy) throws Exception {
+
         //
         // figure out the release information source
         //
@@ -54,11 +70,13 @@ public class MavenProjectBuilder implements ProjectBuilder {
             throw new UserErrorException(POM_FILE_NAME + " not found in the current directory");
         }
 
+        recover(currentDirectory);
+
         MavenProject mp;
 
         try {
 
-            mp = new MavenProject(pomFile);
+            mp = new MavenProject(pomFile, lazy, getPOMCache(currentDirectory));
         }
         catch(Exception e) {
 
@@ -77,6 +95,47 @@ public class MavenProjectBuilder implements ProjectBuilder {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * Completes a POM save interrupted by a crash, before the POMs are read.
+     *
+     * @see POMJournal#recover()
+     */
+    private static void recover(File currentDirectory) throws UserErrorException {
+
+        File journalDirectory = new File(new File(currentDirectory, NORT_DIRECTORY_NAME), POMJournal.DIRECTORY_NAME);
+
+        if (!journalDirectory.isDirectory()) {
+
+            return;
+        }
+
+        try {
+
+            new POMJournal(journalDirectory).recover();
+        }
+        catch(IOException e) {
+
+            throw new UserErrorException(
+                    "failed to recover the interrupted POM save journaled in " + journalDirectory.getAbsolutePath() +
+                            ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return null if the current directory has no .nort directory.
+     */
+    private static POMCache getPOMCache(File currentDirectory) {
+
+        File nortDirectory = new File(currentDirectory, NORT_DIRECTORY_NAME);
+
+        if (!nortDirectory.isDirectory()) {
+
+            return null;
+        }
+
+        return new POMCache(new File(nortDirectory, POMCache.DIRECTORY_NAME));
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
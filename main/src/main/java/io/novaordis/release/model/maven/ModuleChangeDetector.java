@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.version.ReleaseTagFormat;
+import io.novaordis.release.version.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Establishes which independently versioned modules of a project changed since their last release, so only those are
+ * qualified, built, published and versioned.
+ *
+ * The last release of a module is the most recent dot release tag in the module tag format. A module that was never
+ * released is considered changed. A module changed if at least one file under its directory changed since its last
+ * release tag. The changed files are listed once per distinct tag, not once per module: modules released together
+ * share the listing.
+ *
+ * Modules that inherit their version from the root are not released independently, and are never reported as changed.
+ *
+ * @see ReleaseTagFormat#forModule(String)
+ * @see MavenModule#isIndependentlyVersioned()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleChangeDetector {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleChangeDetector.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private ReleaseTagFormat tagFormat;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param tagFormat the project release tag format. The module tag formats are derived from it.
+     */
+    public ModuleChangeDetector(ReleaseTagFormat tagFormat) {
+
+        if (tagFormat == null) {
+            throw new IllegalArgumentException("null tag format");
+        }
+
+        this.tagFormat = tagFormat;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param tags all the tags of the source repository.
+     *
+     * @param changedFiles lists the files changed since a tag.
+     *
+     * @return the independently versioned modules that changed since their last release, in declaration order. May
+     * return an empty list, but never null.
+     *
+     * @exception Exception if the changed files cannot be listed.
+     */
+    public List<MavenModule> getChangedModules(MavenProject p, Iterable<String> tags, ChangedFiles changedFiles)
+            throws Exception {
+
+        List<MavenModule> candidates = new ArrayList<>();
+
+        for(MavenModule m: p.getModules()) {
+
+            if (m.isIndependentlyVersioned()) {
+
+                candidates.add(m);
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+
+        for(MavenModule m: candidates) {
+
+            names.add(m.getName());
+        }
+
+        Map<String, String> lastReleaseTags = getLastReleaseTags(names, tags);
+
+        //
+        // list the changed files once per distinct tag
+        //
+
+        Map<String, Set<String>> changedModulesByTag = new HashMap<>();
+
+        for(String tag: new HashSet<>(lastReleaseTags.values())) {
+
+            Set<String> changed = new HashSet<>();
+
+            for(String path: changedFiles.since(tag)) {
+
+                String module = getTopLevelDirectory(path);
+
+                if (module != null) {
+
+                    changed.add(module);
+                }
+            }
+
+            changedModulesByTag.put(tag, changed);
+        }
+
+        List<MavenModule> result = new ArrayList<>();
+
+        for(MavenModule m: candidates) {
+
+            String tag = lastReleaseTags.get(m.getName());
+
+            if (tag == null) {
+
+                log.debug(m + " was never released");
+                result.add(m);
+            }
+            else if (changedModulesByTag.get(tag).contains(m.getName())) {
+
+                log.debug(m + " changed since " + tag);
+                result.add(m);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @param moduleNames the names of the modules we are interested in.
+     *
+     * @param tags all the tags of the source repository. Tags that are not module release tags are ignored.
+     *
+     * @return the tag of the most recent dot release of each module, by module name. Modules that were never released
+     * are not present in the map.
+     */
+    public Map<String, String> getLastReleaseTags(Collection<String> moduleNames, Iterable<String> tags) {
+
+        Map<String, ReleaseTagFormat> formats = new HashMap<>();
+
+        for(String name: moduleNames) {
+
+            formats.put(name, tagFormat.forModule(name));
+        }
+
+        Map<String, Version> lastReleases = new HashMap<>();
+        Map<String, String> result = new LinkedHashMap<>();
+
+        String separator = ReleaseTagFormat.MODULE_SEPARATOR + tagFormat.getPrefix();
+
+        for(String tag: tags) {
+
+            tag = tag.trim();
+
+            //
+            // the module name may contain the separator, so try all the positions it occurs in
+            //
+
+            for(int i = tag.indexOf(separator); i > 0; i = tag.indexOf(separator, i + 1)) {
+
+                String name = tag.substring(0, i);
+                ReleaseTagFormat f = formats.get(name);
+
+                if (f == null) {
+
+                    continue;
+                }
+
+                Version v = f.toVersion(tag);
+
+                if (v == null || !v.isDot()) {
+
+                    continue;
+                }
+
+                Version last = lastReleases.get(name);
+
+                if (last == null || v.compareTo(last) > 0) {
+
+                    lastReleases.put(name, v);
+                    result.put(name, tag);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+
+        return "ModuleChangeDetector[" + tagFormat + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @param path a path relative to the project directory, as listed by the source repository.
+     *
+     * @return the top level directory, or null if the path designates a file in the project directory.
+     */
+    static String getTopLevelDirectory(String path) {
+
+        path = path.trim().replace('\\', '/');
+
+        while(path.startsWith("./")) {
+
+            path = path.substring(2);
+        }
+
+        int i = path.indexOf('/');
+
+        return i <= 0 ? null : path.substring(0, i);
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    /**
+     * Lists the files changed since a tag.
+     */
+    public interface ChangedFiles {
+
+        /**
+         * @return the paths of the files changed since the tag, relative to the project directory, including the
+         * changes that were not committed.
+         */
+        List<String> since(String tag) throws Exception;
+    }
+
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A hash of everything a module build depends on: the content of the files under the module's src directory, its
+ * pom.xml and its parents' pom.xml files, the effective values of its POM scope (the version, and the properties
+ * declared by the module and by its parents) and the build command.
+ *
+ * The fingerprint of the last successful build is stored next to the build output, in target/nort.fingerprint, so it
+ * is discarded together with the output by "mvn clean". If the stored fingerprint matches the current one, and the
+ * module artifact is present, the module does not need to be rebuilt.
+ *
+ * The source files are hashed in parallel. Instances are immutable.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleFingerprint {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    public static final String FILE_NAME = "nort.fingerprint";
+
+    public static final String SOURCE_DIRECTORY_NAME = "src";
+    public static final String TARGET_DIRECTORY_NAME = "target";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param command the command the module is built with. Different commands (with and without tests, for example)
+     *                yield different fingerprints.
+     *
+     * @exception IOException on failure to read the module files.
+     */
+    public static ModuleFingerprint compute(POM pom, String command) throws IOException {
+
+        if (pom == null) {
+            throw new IllegalArgumentException("null pom");
+        }
+
+        File pomFile = pom.getFile();
+        File moduleDirectory = pomFile.getAbsoluteFile().getParentFile();
+        Path sourceDirectory = new File(moduleDirectory, SOURCE_DIRECTORY_NAME).toPath();
+
+        List<Path> sources;
+
+        if (!Files.isDirectory(sourceDirectory)) {
+
+            sources = Collections.emptyList();
+        }
+        else {
+
+            try (Stream<Path> s = Files.walk(sourceDirectory)) {
+
+                sources = s.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+
+        //
+        // the files are hashed in parallel, the hashes are combined in path order
+        //
+
+        List<String> hashes;
+
+        try {
+
+            hashes = sources.parallelStream().map(p -> {
+
+                try {
+
+                    return hash(p.toFile());
+                }
+                catch(IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+        }
+        catch(UncheckedIOException e) {
+
+            throw e.getCause();
+        }
+
+        MessageDigest md = newDigest();
+
+        update(md, "command", command == null ? "" : command);
+        update(md, "pom", hash(pomFile));
+
+        //
+        // the parents contribute more than properties - dependency and plugin management, for example
+        //
+
+        for(POM parent = pom.getParent(); parent != null && parent.getFile() != null; parent = parent.getParent()) {
+
+            update(md, "parent pom", hash(parent.getFile()));
+        }
+
+        for(Map.Entry<String, String> e: pom.getScope().getEffectiveProperties().entrySet()) {
+
+            update(md, "property " + e.getKey(), e.getValue());
+        }
+
+        for(int i = 0; i < sources.size(); i ++) {
+
+            String path = sourceDirectory.relativize(sources.get(i)).toString().replace(File.separatorChar, '/');
+            update(md, "source " + path, hashes.get(i));
+        }
+
+        return new ModuleFingerprint(moduleDirectory, hex(md.digest()));
+    }
+
+    /**
+     * @return the fingerprint of a whole project tree: the fingerprint of the root POM and of the sources next to it,
+     * combined with the fingerprints of all modules, in declaration order.
+     *
+     * @exception IOException on failure to read the project files.
+     */
+    public static ModuleFingerprint computeTree(MavenProject p, String command) throws IOException {
+
+        if (p == null || p.getPOM() == null) {
+            throw new IllegalArgumentException("null project or project POM");
+        }
+
+        List<ModuleFingerprint> modules = new ArrayList<>();
+
+        for(MavenModule m: p.getModules()) {
+
+            modules.add(compute(m.getPOM(), command));
+        }
+
+        return compute(p.getPOM(), command).withDependencies(modules);
+    }
+
+    /**
+     * @return the hex-encoded SHA-256 hash of the file content.
+     *
+     * @exception IOException on failure to read the file.
+     */
+    public static String hash(File f) throws IOException {
+
+        MessageDigest md = newDigest();
+
+        byte[] buffer = new byte[8192];
+
+        try (InputStream is = new FileInputStream(f)) {
+
+            int n;
+
+            while((n = is.read(buffer)) != -1) {
+
+                md.update(buffer, 0, n);
+            }
+        }
+
+        return hex(md.digest());
+    }
+
+    /**
+     * @return the fingerprint of the module's last successful build, or null if there is none.
+     *
+     * @exception IOException on failure to read the fingerprint file.
+     */
+    public static String readStored(File moduleDirectory) throws IOException {
+
+        File f = getFile(moduleDirectory);
+
+        if (!f.isFile()) {
+
+            return null;
+        }
+
+        return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * @return the file the fingerprint of the module's last successful build is stored in. It may not exist.
+     */
+    public static File getFile(File moduleDirectory) {
+
+        return new File(new File(moduleDirectory, TARGET_DIRECTORY_NAME), FILE_NAME);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final File moduleDirectory;
+    private final String value;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    ModuleFingerprint(File moduleDirectory, String value) {
+
+        this.moduleDirectory = moduleDirectory;
+        this.value = value;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public File getModuleDirectory() {
+
+        return moduleDirectory;
+    }
+
+    public String getValue() {
+
+        return value;
+    }
+
+    /**
+     * @return a fingerprint of the same module that also covers the given fingerprints, which are usually the
+     * fingerprints of the modules this module depends on, so it changes when they change. The order of the
+     * dependencies matters.
+     */
+    public ModuleFingerprint withDependencies(List<ModuleFingerprint> dependencies) {
+
+        if (dependencies.isEmpty()) {
+
+            return this;
+        }
+
+        MessageDigest md = newDigest();
+
+        update(md, "module", value);
+
+        for(ModuleFingerprint d: dependencies) {
+
+            update(md, "dependency", d.getValue());
+        }
+
+        return new ModuleFingerprint(moduleDirectory, hex(md.digest()));
+    }
+
+    /**
+     * @return true if this fingerprint is the fingerprint of the module's last successful build.
+     *
+     * @exception IOException on failure to read the fingerprint file.
+     */
+    public boolean matchesStored() throws IOException {
+
+        return value.equals(readStored(moduleDirectory));
+    }
+
+    /**
+     * Records this fingerprint as the fingerprint of the module's last successful build.
+     *
+     * @exception IOException on failure to write the fingerprint file.
+     */
+    public void store() throws IOException {
+
+        File f = getFile(moduleDirectory);
+
+        if (!f.getParentFile().isDirectory() && !f.getParentFile().mkdirs()) {
+
+            throw new IOException("failed to create " + f.getParentFile());
+        }
+
+        Files.write(f.toPath(), (value + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+
+            return true;
+        }
+
+        if (!(o instanceof ModuleFingerprint)) {
+
+            return false;
+        }
+
+        ModuleFingerprint that = (ModuleFingerprint)o;
+
+        return value.equals(that.value) && moduleDirectory.equals(that.moduleDirectory);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return value;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Length-prefixes the fields, so different inputs cannot produce the same byte sequence.
+     */
+    private static void update(MessageDigest md, String name, String value) {
+
+        for(String s: new String[] { name, value }) {
+
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            md.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+            md.update(bytes);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+
+        try {
+
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch(NoSuchAlgorithmException e) {
+
+            //
+            // every Java platform is required to support SHA-256
+            //
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+
+        StringBuilder sb = new StringBuilder(2 * bytes.length);
+
+        for(byte b: bytes) {
+
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+
+        return sb.toString();
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.utilities.UserErrorException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependency graph of the modules of a Maven project. A module depends on another module of the same project if
+ * it declares a direct (not managed) dependency on it, or if it declares it as its <parent>. Dependencies on artifacts
+ * that are not produced by the project are ignored.
+ *
+ * The graph is a DAG - Maven rejects cyclic reactors. The modules are partitioned in topological levels: level 0
+ * contains the modules that do not depend on other modules, level n contains the modules whose deepest dependency
+ * is on level n - 1. The modules of a level can be built in parallel, once all the previous levels were built. The
+ * critical path is the longest dependency chain, and its length, in modules, is the number of levels: no schedule
+ * can build the project in fewer sequential steps.
+ *
+ * Instances are immutable.
+ *
+ * @see MavenProject#getModuleGraph()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleGraph {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    static final String PROJECT_GROUP_ID_REFERENCE = "${project.groupId}";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // in declaration order
+    private final List<MavenModule> modules;
+
+    // the modules each module depends on, in declaration order
+    private final Map<MavenModule, List<MavenModule>> dependencies;
+
+    // the modules that depend on each module, in module declaration order
+    private final Map<MavenModule, List<MavenModule>> dependents;
+
+    private final Map<MavenModule, Integer> levelIndex;
+    private final List<List<MavenModule>> levels;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param modules the modules of the project, in declaration order.
+     *
+     * @exception IOException on failure to read the dependencies.
+     * @exception UserErrorException if the modules form a dependency cycle.
+     */
+    ModuleGraph(List<MavenModule> modules) throws IOException, UserErrorException {
+
+        if (modules == null) {
+            throw new IllegalArgumentException("null module list");
+        }
+
+        this.modules = Collections.unmodifiableList(new ArrayList<>(modules));
+        this.dependencies = new HashMap<>();
+        this.dependents = new HashMap<>();
+
+        Map<String, MavenModule> byCoordinates = new HashMap<>();
+
+        for(MavenModule m: modules) {
+
+            POM pom = m.getPOM();
+            byCoordinates.put(pom.getGroupId() + ":" + pom.getArtifactId(), m);
+            dependencies.put(m, new ArrayList<>());
+            dependents.put(m, new ArrayList<>());
+        }
+
+        for(MavenModule m: modules) {
+
+            Set<MavenModule> ds = new LinkedHashSet<>();
+
+            POM pom = m.getPOM();
+
+            MavenModule parent = byCoordinates.get(
+                    coordinates(pom.getParentGroupId(), pom.getParentArtifactId(), pom.getGroupId()));
+
+            if (parent != null) {
+
+                ds.add(parent);
+            }
+
+            for(MavenDependency d: pom.getDependencies()) {
+
+                if (d.isManaged()) {
+
+                    continue;
+                }
+
+                MavenModule dm = byCoordinates.get(coordinates(d.getGroupId(), d.getArtifactId(), pom.getGroupId()));
+
+                if (dm != null && dm != m) {
+
+                    ds.add(dm);
+                }
+            }
+
+            dependencies.get(m).addAll(ds);
+        }
+
+        for(MavenModule m: modules) {
+
+            for(MavenModule d: dependencies.get(m)) {
+
+                dependents.get(d).add(m);
+            }
+        }
+
+        this.levelIndex = new HashMap<>();
+        this.levels = computeLevels();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the modules, in declaration order.
+     */
+    public List<MavenModule> getModules() {
+
+        return modules;
+    }
+
+    /**
+     * @return the modules of the same project the given module depends on. May return an empty list, but never null.
+     *
+     * @exception IllegalArgumentException if the module does not belong to this graph.
+     */
+    public List<MavenModule> getDependencies(MavenModule m) {
+
+        return Collections.unmodifiableList(check(dependencies, m));
+    }
+
+    /**
+     * @return the modules of the same project that depend on the given module. May return an empty list, but never
+     * null.
+     *
+     * @exception IllegalArgumentException if the module does not belong to this graph.
+     */
+    public List<MavenModule> getDependents(MavenModule m) {
+
+        return Collections.unmodifiableList(check(dependents, m));
+    }
+
+    /**
+     * @return the topological levels, starting with the modules that do not depend on other modules. Within a level,
+     * the modules are in declaration order.
+     */
+    public List<List<MavenModule>> getLevels() {
+
+        return levels;
+    }
+
+    /**
+     * @return the topological levels of the given modules and of all the modules they transitively depend on - the
+     * modules Maven would build with "-pl ... -am". The levels are numbered relative to the subset, empty levels
+     * are not included.
+     *
+     * @exception IllegalArgumentException if one of the modules does not belong to this graph.
+     */
+    public List<List<MavenModule>> getLevels(Collection<MavenModule> subset) {
+
+        Set<MavenModule> closure = new LinkedHashSet<>();
+        List<MavenModule> stack = new ArrayList<>(subset);
+
+        while(!stack.isEmpty()) {
+
+            MavenModule m = stack.remove(stack.size() - 1);
+
+            if (closure.add(m)) {
+
+                stack.addAll(check(dependencies, m));
+            }
+        }
+
+        List<List<MavenModule>> result = new ArrayList<>();
+
+        for(List<MavenModule> level: levels) {
+
+            List<MavenModule> l = new ArrayList<>();
+
+            for(MavenModule m: level) {
+
+                if (closure.contains(m)) {
+
+                    l.add(m);
+                }
+            }
+
+            if (!l.isEmpty()) {
+
+                result.add(Collections.unmodifiableList(l));
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return the index of the module's topological level.
+     *
+     * @exception IllegalArgumentException if the module does not belong to this graph.
+     */
+    public int getLevel(MavenModule m) {
+
+        return check(levelIndex, m);
+    }
+
+    /**
+     * @return the longest dependency chain, starting with a module that does not depend on other modules. If there
+     * are several chains of the same length, the one whose modules were declared first is returned. Empty if the
+     * project has no modules.
+     */
+    public List<MavenModule> getCriticalPath() {
+
+        List<MavenModule> path = new ArrayList<>();
+
+        if (levels.isEmpty()) {
+
+            return path;
+        }
+
+        //
+        // walk back from the first module of the last level, always through a dependency on the previous level - one
+        // always exists, otherwise the module would be on a lower level
+        //
+
+        MavenModule m = levels.get(levels.size() - 1).get(0);
+        path.add(m);
+
+        for(int level = levels.size() - 2; level >= 0; level --) {
+
+            for(MavenModule d: dependencies.get(m)) {
+
+                if (levelIndex.get(d) == level) {
+
+                    m = d;
+                    break;
+                }
+            }
+
+            path.add(0, m);
+        }
+
+        return path;
+    }
+
+    /**
+     * @return the number of modules on the critical path, which is also the number of topological levels.
+     */
+    public int getCriticalPathLength() {
+
+        return levels.size();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("ModuleGraph[");
+
+        for(int i = 0; i < levels.size(); i ++) {
+
+            if (i > 0) {
+
+                sb.append(" < ");
+            }
+
+            List<String> names = new ArrayList<>();
+
+            for(MavenModule m: levels.get(i)) {
+
+                names.add(m.getName());
+            }
+
+            sb.append(names);
+        }
+
+        return sb.append("]").toString();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Kahn's algorithm, one level at a time.
+     */
+    private List<List<MavenModule>> computeLevels() throws UserErrorException {
+
+        Map<MavenModule, Integer> unbuiltDependencies = new HashMap<>();
+        List<MavenModule> current = new ArrayList<>();
+
+        for(MavenModule m: modules) {
+
+            int n = dependencies.get(m).size();
+            unbuiltDependencies.put(m, n);
+
+            if (n == 0) {
+
+                current.add(m);
+            }
+        }
+
+        List<List<MavenModule>> result = new ArrayList<>();
+        int placed = 0;
+
+        while(!current.isEmpty()) {
+
+            Set<MavenModule> next = new LinkedHashSet<>();
+
+            for(MavenModule m: current) {
+
+                levelIndex.put(m, result.size());
+
+                for(MavenModule d: dependents.get(m)) {
+
+                    if (unbuiltDependencies.merge(d, -1, Integer::sum) == 0) {
+
+                        next.add(d);
+                    }
+                }
+            }
+
+            result.add(Collections.unmodifiableList(current));
+            placed += current.size();
+
+            //
+            // keep the declaration order within the level
+            //
+
+            current = new ArrayList<>();
+
+            for(MavenModule m: modules) {
+
+                if (next.contains(m)) {
+
+                    current.add(m);
+                }
+            }
+        }
+
+        if (placed < modules.size()) {
+
+            List<String> names = new ArrayList<>();
+
+            for(MavenModule m: modules) {
+
+                if (!levelIndex.containsKey(m)) {
+
+                    names.add(m.getName());
+                }
+            }
+
+            throw new UserErrorException("the modules " + names + " form a dependency cycle");
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <T> T check(Map<MavenModule, T> map, MavenModule m) {
+
+        T value = map.get(m);
+
+        if (value == null) {
+
+            throw new IllegalArgumentException(m + " does not belong to the module graph");
+        }
+
+        return value;
+    }
+
+    /**
+     * @param defaultGroupId used when the group ID is not declared, or it is a reference to the project's group ID.
+     */
+    private static String coordinates(String groupId, String artifactId, String defaultGroupId) {
+
+        if (artifactId == null) {
+
+            return null;
+        }
+
+        if (groupId == null || PROJECT_GROUP_ID_REFERENCE.equals(groupId)) {
+
+            groupId = defaultGroupId;
+        }
+
+        return groupId + ":" + artifactId;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.clad.ReleaseApplicationRuntime;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * The machine-local state nort keeps in the project's .nort directory - the POM cache and journal, the test timings,
+ * the qualification record, the release checkpoint - must never be part of the release commit, which adds the working
+ * tree with "git add .". Every writer calls ignore() before writing its state, and the .nort directory ignores all its
+ * content with "*", its own .gitignore included. The project configuration file, which lives in the same directory
+ * and is meant to be committed, is the only exception.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class NortState {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    public static final String GITIGNORE_FILE_NAME = ".gitignore";
+
+    public static final String IGNORE_ALL = "*";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Makes the .nort directory the state file or directory lives in ignore all its content except the project
+     * configuration file, unless its .gitignore already does. The .gitignore is created if it does not exist; an
+     * existing .gitignore is preserved, after the "*" rule, so its own rules still apply.
+     *
+     * @param stateFile a file or directory directly under the .nort directory.
+     *
+     * @exception IOException on failure to read or update the .gitignore.
+     */
+    public static synchronized void ignore(File stateFile) throws IOException {
+
+        if (stateFile == null) {
+
+            throw new IllegalArgumentException("null state file");
+        }
+
+        File directory = stateFile.getAbsoluteFile().getParentFile();
+        File gitignore = new File(directory, GITIGNORE_FILE_NAME);
+
+        String content = "";
+
+        if (gitignore.isFile()) {
+
+            List<String> lines = Files.readAllLines(gitignore.toPath(), StandardCharsets.UTF_8);
+
+            if (!lines.isEmpty() && lines.get(0).trim().equals(IGNORE_ALL)) {
+
+                return;
+            }
+
+            content = new String(Files.readAllBytes(gitignore.toPath()), StandardCharsets.UTF_8);
+        }
+        else if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+
+            throw new IOException("failed to create " + directory);
+        }
+
+        Files.write(gitignore.toPath(), (getGitignoreContent() + content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the rules nort places at the top of .nort/.gitignore: ignore everything, except the configuration file.
+     */
+    public static String getGitignoreContent() {
+
+        StringBuilder sb = new StringBuilder(IGNORE_ALL).append('\n');
+
+        for(String extension: ReleaseApplicationRuntime.DEFAULT_EXTENSIONS) {
+
+            sb.append('!').append(ReleaseApplicationRuntime.DEFAULT_CONFIGURATION_FILE_NAME).append('.').
+                    append(extension).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private NortState() {
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
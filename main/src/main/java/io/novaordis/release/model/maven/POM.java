@@ -21,21 +21,38 @@ import io.novaordis.release.model.Project;
 import io.novaordis.release.version.Version;
 import io.novaordis.release.version.VersionFormatException;
 import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.expressions.Variable;
 import io.novaordis.utilities.xml.editor.BasicInLineXMLEditor;
 import io.novaordis.utilities.xml.editor.InLineXMLEditor;
 import io.novaordis.utilities.xml.editor.VariableAwareInLineXMLEditor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A wrapper around read-only metadata from a pom file and an editor capable of writing read-write information, such
  * as version.
  *
+ * The read-only metadata is extracted in a single streaming pass over the file, without retaining a document model.
+ * Version changes are applied by patching the bytes of the <version> element text in place. The editor, which holds
+ * the full file content, is only created when a modification that cannot be patched is requested.
+ *
+ * @see POMSummary
+ * @see POMPatcher
+ *
  * It <tt>only</tt> contains metadata pertaining to the project root or module the corresponding pom file is associated
  * with. The recursive module information is maintained outside this class, by MavenProject.
  *
@@ -55,6 +72,18 @@ public class POM {
 
     // Static ----------------------------------------------------------------------------------------------------------
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+
+        //
+        // POMs do not need DTDs or external entities
+        //
+
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
     // Attributes ------------------------------------------------------------------------------------------------------
 
     //
@@ -64,7 +93,22 @@ public class POM {
 
     private POMScope pomScope;
 
-    private VariableAwareInLineXMLEditor pomEditor;
+    //
+    // created when the first modification that cannot be patched is requested. When the editor exists, it is the
+    // source of all information
+    //
+    private volatile VariableAwareInLineXMLEditor pomEditor;
+
+    //
+    // created when the first modification is requested. Until the editor is created, it is the source of the
+    // information it patches
+    //
+    private volatile POMPatcher patcher;
+
+    // null only for test instances
+    private POMSummary summary;
+
+    private File pomFile;
 
     // may be null
     private POM parent;
@@ -115,13 +159,30 @@ public class POM {
      */
     public POM(POM parent, File pomFile) throws Exception {
 
+        this(parent, pomFile, null);
+    }
+
+    /**
+     * @param pomFile the associated pom.xml file.
+     *
+     * @param parent may be null. Provided in case of a module POM, that has a parent.
+     *
+     * @param cache may be null. If not null, the read-only information is obtained from the cache, and the file is
+     *              only read if the cache entry is missing or stale.
+     *
+     * @exception Exception all exceptions thrown by this constructor should have a descriptive, human-understandable
+     * error message.
+     */
+    public POM(POM parent, File pomFile, POMCache cache) throws Exception {
+
         this.moduleNames = Collections.emptyList();
 
         this.parent = parent;
 
-        this.pomEditor = new VariableAwareInLineXMLEditor(pomFile);
+        this.pomFile = pomFile;
 
-        this.pomScope = new POMScope(this, pomEditor);
+        this.summary = cache == null ? POMSummary.read(pomFile) : cache.getSummary(pomFile);
+        this.pomScope = new POMScope(this, summary.getProperties());
 
         //
         // establish the scope hierarchy
@@ -137,15 +198,13 @@ public class POM {
             }
         }
 
-        pomEditor.setScope(pomScope);
-
         //
         // cache the read-only information
         //
 
-        this.groupId = resolveGroupId(pomEditor);
-        this.artifactId = pomEditor.get("/project/artifactId");
-        this.packaging = pomEditor.get("/project/packaging");
+        this.groupId = resolveGroupId();
+        this.artifactId = get(POMSummary.ARTIFACT_ID);
+        this.packaging = get(POMSummary.PACKAGING);
 
         if (packaging == null) {
 
@@ -162,15 +221,15 @@ public class POM {
         this.extension = artifactType == null ? null : artifactType.getExtension();
 
         //
-        // do NOT cache anything that may have variable references, such as finalName; read them from the editor
-        // every time they're needed, the variables will be resolved; in the case of "finalName" it can be read
-        // from different file locations, so record the path
+        // do NOT cache anything that may have variable references, such as finalName; read them every time
+        // they're needed, the variables will be resolved; in the case of "finalName" it can be read from different
+        // file locations, so record the path
         //
 
-        this.finalNamePath = "/project/build/finalName";
+        this.finalNamePath = POMSummary.FINAL_NAME;
 
         if ("pom".equals(packaging)) {
-            handlePomPackaging(parent, pomEditor);
+            handlePomPackaging(parent);
         }
     }
 
@@ -187,12 +246,7 @@ public class POM {
      */
     public File getFile() {
 
-        if (pomEditor == null) {
-
-            return null;
-        }
-
-        return pomEditor.getFile();
+        return pomFile;
     }
 
     public String getArtifactId() {
@@ -235,19 +289,14 @@ public class POM {
      */
     public Version getLocalVersion() throws VersionFormatException {
 
-        if (pomEditor == null) {
-
-            return null;
-        }
-
-        String s = pomEditor.get("/project/version");
+        String s = get(POMSummary.VERSION);
 
         if (s == null) {
 
             return null;
         }
 
-        return new Version(s);
+        return Version.valueOf(s);
     }
 
     /**
@@ -263,9 +312,15 @@ public class POM {
      */
     public boolean setVersion(Version version) {
 
-        boolean changed = pomEditor.set("/project/version", version.getLiteral());
+        boolean changed = set(POMSummary.VERSION, version.getLiteral());
 
         if (changed) {
+
+            //
+            // ${version} and ${project.version} change, in this scope and in the enclosed scopes
+            //
+
+            pomScope.invalidate();
             log.debug("modified in-memory version to " + version);
         }
 
@@ -277,19 +332,30 @@ public class POM {
      */
     public Version getParentVersion() throws VersionFormatException {
 
-        if (pomEditor == null) {
+        String s = get(POMSummary.PARENT_VERSION);
+
+        if (s == null) {
 
             return null;
         }
 
-        String s = pomEditor.get("/project/parent/version");
+        return Version.valueOf(s);
+    }
 
-        if (s == null) {
+    /**
+     * @return the groupId declared in <parent>, with variable references resolved. May return null.
+     */
+    public String getParentGroupId() {
 
-            return null;
-        }
+        return get(POMSummary.PARENT_GROUP_ID);
+    }
 
-        return new Version(s);
+    /**
+     * @return the artifactId declared in <parent>, with variable references resolved. May return null.
+     */
+    public String getParentArtifactId() {
+
+        return get(POMSummary.PARENT_ARTIFACT_ID);
     }
 
     /**
@@ -297,7 +363,7 @@ public class POM {
      */
     public boolean setParentVersion(Version version) {
 
-        boolean changed = pomEditor.set("/project/parent/version", version.getLiteral());
+        boolean changed = set(POMSummary.PARENT_VERSION, version.getLiteral());
 
         if (changed) {
             log.debug("modified in-memory parent version to " + version);
@@ -350,6 +416,104 @@ public class POM {
         return moduleNames;
     }
 
+    /**
+     * Reads the <dependency> declarations, both direct and managed, from the file. Variable references in the
+     * coordinates are resolved in this POM's scope; unresolvable references are left in place.
+     *
+     * @return the dependencies, in the order in which they were declared. May return an empty list, but never null.
+     *
+     * @exception IOException on failure to read or parse the file.
+     */
+    public List<MavenDependency> getDependencies() throws IOException {
+
+        File file = getFile();
+
+        if (file == null) {
+
+            return Collections.emptyList();
+        }
+
+        List<MavenDependency> result = new ArrayList<>();
+
+        XMLStreamReader reader = null;
+
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+
+            reader = createXMLStreamReader(is);
+
+            //
+            // element path, relative to the document root
+            //
+
+            List<String> path = new ArrayList<>();
+            String groupId = null;
+            String artifactId = null;
+            String version = null;
+
+            while(reader.hasNext()) {
+
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+
+                    path.add(reader.getLocalName());
+
+                    if (isDependencyPath(path)) {
+
+                        groupId = null;
+                        artifactId = null;
+                        version = null;
+                    }
+                    else if (path.size() > 1 && isDependencyPath(path.subList(0, path.size() - 1))) {
+
+                        String name = reader.getLocalName();
+
+                        if ("groupId".equals(name)) {
+
+                            groupId = pomScope.evaluate(reader.getElementText().trim());
+                        }
+                        else if ("artifactId".equals(name)) {
+
+                            artifactId = pomScope.evaluate(reader.getElementText().trim());
+                        }
+                        else if ("version".equals(name)) {
+
+                            version = pomScope.evaluate(reader.getElementText().trim());
+                        }
+
+                        if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) {
+
+                            //
+                            // getElementText() consumed the element
+                            //
+
+                            path.remove(path.size() - 1);
+                        }
+                    }
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                    if (isDependencyPath(path)) {
+
+                        result.add(new MavenDependency(groupId, artifactId, version, path.size() == 4));
+                    }
+
+                    path.remove(path.size() - 1);
+                }
+            }
+        }
+        catch(XMLStreamException e) {
+
+            throw new IOException("failed to parse " + file + ": " + e.getMessage(), e);
+        }
+        finally {
+
+            close(reader);
+        }
+
+        return result;
+    }
+
     /**
      * @return may return null
      */
@@ -365,17 +529,11 @@ public class POM {
      */
     public String getFinalName() {
 
-        if (pomEditor == null) {
-            return null;
-        }
-
         //
         // get() will resolve variables, if any
         //
 
-        //noinspection UnnecessaryLocalVariable
-        String s = pomEditor.get(finalNamePath);
-        return s;
+        return get(finalNamePath);
     }
 
     /**
@@ -413,17 +571,38 @@ public class POM {
     /**
      * @see InLineXMLEditor#save()
      */
-    public boolean save() throws IOException {
+    public synchronized boolean save() throws IOException {
+
+        //
+        // no patcher and no editor means no modification was requested
+        //
+
+        boolean saved = patcher != null && patcher.save();
 
-        return pomEditor.save();
+        saved = pomEditor != null && pomEditor.save() || saved;
+
+        return saved;
     }
 
     /**
      * @see InLineXMLEditor#undo()
      */
-    public boolean undo() throws IOException {
+    public synchronized boolean undo() throws IOException {
+
+        //
+        // the editor was created after the patched values were saved, if at all, so it is undone first
+        //
 
-        return pomEditor.undo();
+        boolean undone = pomEditor != null && pomEditor.undo();
+
+        undone = patcher != null && patcher.undo() || undone;
+
+        if (undone) {
+
+            pomScope.invalidate();
+        }
+
+        return undone;
     }
 
     @Override
@@ -440,6 +619,95 @@ public class POM {
 
     // Package protected -----------------------------------------------------------------------------------------------
 
+    /**
+     * @return true if the editable representation of the file was created, which happens on the first modification
+     * that cannot be patched.
+     */
+    boolean isEditable() {
+
+        return pomEditor != null;
+    }
+
+    /**
+     * @return the value of a property declared by this POM or by its parents, with the variable references resolved,
+     * or null if the property is not declared.
+     */
+    String getProperty(String name) {
+
+        Variable v = pomScope.getVariable(name);
+
+        if (v == null || v.get() == null) {
+
+            return null;
+        }
+
+        return pomScope.evaluate(v.get().toString());
+    }
+
+    /**
+     * @return true if the instance holds modifications that were not saved.
+     */
+    synchronized boolean isModified() {
+
+        if (pomEditor != null) {
+
+            return pomEditor.isDirty();
+        }
+
+        return patcher != null && !patcher.getPending().isEmpty();
+    }
+
+    /**
+     * Applies the unsaved modifications to the given file content, without writing the file. Once the rendered content
+     * was written by the caller, rendered() must be called.
+     *
+     * @param content the current content of the file.
+     *
+     * @return the modified content, or null if there are no modifications, or if the modifications are held by the
+     * editable representation and must be written with save().
+     *
+     * @exception IOException if the file was modified since it was read.
+     *
+     * @see POMJournal
+     */
+    synchronized byte[] render(byte[] content) throws IOException {
+
+        if (pomEditor != null || patcher == null) {
+
+            return null;
+        }
+
+        return patcher.render(content);
+    }
+
+    /**
+     * @see POM#render(byte[])
+     */
+    synchronized void rendered() {
+
+        if (patcher != null) {
+
+            patcher.rendered();
+        }
+    }
+
+    /**
+     * Re-reads the file after it was modified on disk by someone else than this instance - for example, restored by a
+     * journal. The modifications that were not saved are discarded. Only the information that may change during a
+     * release is refreshed.
+     *
+     * @exception IOException on failure to read the file.
+     */
+    synchronized void reload() throws IOException {
+
+        summary = POMSummary.read(pomFile);
+        patcher = null;
+        pomEditor = null;
+        pomScope.setProperties(summary.getProperties());
+
+        log.debug(this + " reloaded");
+    }
+
     /**
      * Access to the associated variable scope.
      */
@@ -448,17 +716,188 @@ public class POM {
         return pomScope;
     }
 
+    /**
+     * The XML input factory is not guaranteed to be thread safe, the readers it creates are independent.
+     */
+    static XMLStreamReader createXMLStreamReader(InputStream is) throws XMLStreamException {
+
+        synchronized (XML_INPUT_FACTORY) {
+
+            return XML_INPUT_FACTORY.createXMLStreamReader(is);
+        }
+    }
+
+    /**
+     * Null-tolerant, failures are logged.
+     */
+    static void close(XMLStreamReader reader) {
+
+        if (reader == null) {
+
+            return;
+        }
+
+        try {
+
+            reader.close();
+        }
+        catch(XMLStreamException e) {
+
+            log.warn("failed to close XML reader", e);
+        }
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return the value of the first element with the given path, with the variable references resolved, or null.
+     */
+    private String get(String path) {
+
+        if (pomEditor != null) {
+
+            return pomEditor.get(path);
+        }
+
+        POMPatcher p = patcher;
+
+        if (p != null && p.isPatchable(path)) {
+
+            return pomScope.evaluate(p.get(path));
+        }
+
+        if (summary == null) {
+
+            return null;
+        }
+
+        String s = summary.get(path);
+
+        return s == null ? null : pomScope.evaluate(s);
+    }
+
+    /**
+     * @return the values of all elements with the given path. May return an empty list or null.
+     */
+    private List<String> getList(String path) {
+
+        if (pomEditor != null) {
+
+            return pomEditor.getList(path);
+        }
+
+        if (summary == null) {
+
+            return null;
+        }
+
+        List<String> result = new ArrayList<>();
+
+        for(String s: summary.getList(path)) {
+
+            result.add(pomScope.evaluate(s));
+        }
+
+        return result;
+    }
+
+    /**
+     * Patches the element text in place if possible, otherwise modifies the editable representation.
+     *
+     * @return true if the value was changed in memory as result of the call.
+     */
+    private synchronized boolean set(String path, String value) {
+
+        if (pomEditor == null) {
+
+            if (patcher == null) {
+
+                try {
+
+                    patcher = POMPatcher.create(pomFile);
+                }
+                catch(IOException e) {
+
+                    throw new IllegalStateException("failed to read " + pomFile + ": " + e.getMessage(), e);
+                }
+            }
+
+            if (patcher.isPatchable(path)) {
+
+                return patcher.set(path, value);
+            }
+        }
+
+        return getEditor().set(path, value);
+    }
+
+    /**
+     * Creates the editable representation on first use. The modifications set on the patcher and not yet saved are
+     * transferred to the editor.
+     */
+    private synchronized VariableAwareInLineXMLEditor getEditor() {
+
+        if (pomEditor == null) {
+
+            try {
+
+                VariableAwareInLineXMLEditor e = new VariableAwareInLineXMLEditor(pomFile);
+                e.setScope(pomScope);
+
+                if (patcher != null) {
+
+                    for(Map.Entry<String, String> pending: patcher.getPending().entrySet()) {
+
+                        e.set(pending.getKey(), pending.getValue());
+                    }
+
+                    patcher.discardPending();
+                }
+
+                pomEditor = e;
+            }
+            catch(Exception e) {
+
+                throw new IllegalStateException("failed to read " + pomFile + ": " + e.getMessage(), e);
+            }
+
+            log.debug(this + "'s editable representation created");
+        }
+
+        return pomEditor;
+    }
+
+    /**
+     * @return true for /project/dependencies/dependency and /project/dependencyManagement/dependencies/dependency.
+     */
+    private static boolean isDependencyPath(List<String> path) {
+
+        int size = path.size();
+
+        if (size == 3) {
+
+            return "project".equals(path.get(0)) && "dependencies".equals(path.get(1)) &&
+                    "dependency".equals(path.get(2));
+        }
+
+        if (size == 4) {
+
+            return "project".equals(path.get(0)) && "dependencyManagement".equals(path.get(1)) &&
+                    "dependencies".equals(path.get(2)) && "dependency".equals(path.get(3));
+        }
+
+        return false;
+    }
+
     /**
      * Resolves the groupId to a non-null string - from the current pom or the parent. If not able to find a groupId,
      * throws a UserErrorException.
      */
-    private String resolveGroupId(InLineXMLEditor editor) throws Exception {
+    private String resolveGroupId() throws Exception {
 
-        String gid = editor.get("/project/groupId");
+        String gid = get(POMSummary.GROUP_ID);
 
         if (gid != null) {
 
@@ -470,7 +909,7 @@ public class POM {
         // attempt get the groupId from the parent, if exists
         //
 
-        gid = editor.get("/project/parent/groupId");
+        gid = get(POMSummary.PARENT_GROUP_ID);
 
         if (gid != null) {
             return gid;
@@ -485,9 +924,9 @@ public class POM {
      * (https://kb.novaordis.com/index.php/Building_a_Maven_Complex_Release_Artifact#Dedicated_Release_Module), which
      * builds a binary distribution.
      */
-    private void handlePomPackaging(POM parentPom, InLineXMLEditor editor) throws Exception {
+    private void handlePomPackaging(POM parentPom) throws Exception {
 
-        List<String> mns = editor.getList("/project/modules/module");
+        List<String> mns = getList(POMSummary.MODULE);
 
         if (mns != null && !mns.isEmpty()) {
 
@@ -502,7 +941,7 @@ public class POM {
             // we did not find module names, so the only option at this point is this is a "release" module
             //
 
-            processReleaseModulePom(parentPom, editor);
+            processReleaseModulePom(parentPom);
         }
     }
 
@@ -512,12 +951,12 @@ public class POM {
      * https://kb.novaordis.com/index.php/Building_a_Maven_Complex_Release_Artifact#Dedicated_Release_Module.
      * A release module builds a binary distribution.
      */
-    private void processReleaseModulePom(POM parentPom, InLineXMLEditor editor) throws Exception {
+    private void processReleaseModulePom(POM parentPom) throws Exception {
 
         if (parentPom == null) {
 
             throw new UserErrorException(
-                    "invalid 'pom' packaging POM file, no modules and no parent " + editor.getFile().getAbsolutePath());
+                    "invalid 'pom' packaging POM file, no modules and no parent " + getFile().getAbsolutePath());
         }
 
         //
@@ -532,7 +971,7 @@ public class POM {
         // insure we have an assembly plugin
         //
 
-        List<String> plugins = editor.getList("/project/build/plugins/plugin/artifactId");
+        List<String> plugins = getList(POMSummary.PLUGIN_ARTIFACT_ID);
 
         if (!plugins.contains("maven-assembly-plugin")) {
             throw new UserErrorException(
@@ -544,14 +983,13 @@ public class POM {
         // those variables resolved every time we read the value
         //
 
-        this.finalNamePath = "/project/build/plugins/plugin/configuration/finalName";
+        this.finalNamePath = POMSummary.PLUGIN_FINAL_NAME;
 
         //
         // resolve extension - we read the assembly and extract the format from there
         //
 
-        String assemblyFileRelativePath = editor.get(
-                "/project/build/plugins/plugin/configuration/descriptors/descriptor");
+        String assemblyFileRelativePath = get(POMSummary.PLUGIN_DESCRIPTOR);
         File assemblyFile = new File(getFile().getParentFile(), assemblyFileRelativePath);
 
         if (!assemblyFile.isFile() || !assemblyFile.canRead()) {
@@ -560,9 +998,18 @@ public class POM {
                     "assembly descriptor " + assemblyFile.getAbsolutePath() + " not available or cannot be read");
         }
 
-        InLineXMLEditor assemblyEditor = new BasicInLineXMLEditor(assemblyFile);
+        List<String> formats;
+
+        if (summary != null && assemblyFile.equals(summary.getAssemblyDescriptor())) {
+
+            formats = summary.getAssemblyFormats();
+        }
+        else {
+
+            InLineXMLEditor assemblyEditor = new BasicInLineXMLEditor(assemblyFile);
 
-        List<String> formats = assemblyEditor.getList("/assembly/formats/format");
+            formats = assemblyEditor.getList(POMSummary.ASSEMBLY_FORMAT);
+        }
 
         if (formats.size() > 1) {
             throw new RuntimeException("NOT YET IMPLEMENTED: don't know how to handle more than one formats");
@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An on-disk cache of POM summaries, one file per POM, so an unchanged pom.xml is served without any XML parsing.
+ *
+ * An entry is keyed by the absolute path of the POM and records the size, the modification time and the SHA-1 of the
+ * content of the POM (and of the assembly descriptor, for release modules). An entry is used if the sizes match and
+ * the modification times match; if the modification times differ, or if the file was modified too close to the moment
+ * the entry was written for its modification time to be trusted, the content is hashed and compared. Stale entries
+ * are replaced.
+ *
+ * The cache is safe to use concurrently. Failures to read or write the cache are not fatal: they are logged, and the
+ * POM is read from disk.
+ *
+ * @see POMSummary
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMCache {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(POMCache.class);
+
+    /**
+     * The name of the cache directory, relative to the .nort directory.
+     */
+    public static final String DIRECTORY_NAME = "cache";
+
+    //
+    // must change when the paths extracted in a POMSummary change, so entries written by older versions are ignored
+    //
+    static final String FORMAT_HEADER = "# nort pom cache 2";
+
+    static final String ENTRY_FILE_EXTENSION = ".pom";
+
+    //
+    // files modified less than this interval before the entry was written may still change within the same timestamp
+    // granularity, so their modification time is not trusted
+    //
+    static final long MODIFICATION_TIME_GRANULARITY_MS = 2000L;
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final File directory;
+
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+
+    // whether the cache directory is known to be ignored by .nort/.gitignore
+    private volatile boolean ignored;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param directory the cache directory. It is created on first write, if it does not exist.
+     */
+    public POMCache(File directory) {
+
+        if (directory == null) {
+            throw new IllegalArgumentException("null cache directory");
+        }
+
+        this.directory = directory;
+        this.hits = new AtomicInteger();
+        this.misses = new AtomicInteger();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the summary of the given POM, from the cache if the cache entry is current, or freshly read from the
+     * file, in which case the cache entry is updated.
+     *
+     * @exception IOException on failure to read the POM.
+     */
+    public POMSummary getSummary(File pomFile) throws IOException {
+
+        File entryFile = getEntryFile(pomFile);
+
+        POMSummary s = load(pomFile, entryFile);
+
+        if (s != null) {
+
+            hits.incrementAndGet();
+            log.debug(pomFile + " served from cache");
+            return s;
+        }
+
+        misses.incrementAndGet();
+
+        //
+        // fingerprint before reading, so a concurrent modification makes the entry stale rather than wrong
+        //
+
+        String pomFileLine = fileLine(pomFile);
+
+        s = POMSummary.read(pomFile);
+
+        save(pomFile, pomFileLine, s, entryFile);
+
+        return s;
+    }
+
+    public File getDirectory() {
+
+        return directory;
+    }
+
+    @Override
+    public String toString() {
+
+        return "POMCache[" + directory + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    int getHits() {
+
+        return hits.get();
+    }
+
+    int getMisses() {
+
+        return misses.get();
+    }
+
+    File getEntryFile(File pomFile) {
+
+        return new File(directory, sha1(pomFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8)) +
+                ENTRY_FILE_EXTENSION);
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the cached summary, or null if there is no entry, or the entry is stale or unreadable.
+     */
+    private POMSummary load(File pomFile, File entryFile) {
+
+        if (!entryFile.isFile()) {
+
+            return null;
+        }
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        List<String> assemblyFormats = null;
+        File assemblyDescriptor = null;
+
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(new FileInputStream(entryFile), StandardCharsets.UTF_8))) {
+
+            if (!FORMAT_HEADER.equals(r.readLine())) {
+
+                log.debug(entryFile + " has an unknown format, ignoring it");
+                return null;
+            }
+
+            String line;
+            boolean first = true;
+
+            while((line = r.readLine()) != null) {
+
+                String[] fields = line.split("\t", -1);
+
+                switch (fields[0]) {
+
+                    case "file":
+
+                        //
+                        // file <size> <mtime> <trusted-mtime> <sha1> <path>
+                        //
+
+                        File f = new File(unescape(fields[5]));
+
+                        if (first && !f.equals(pomFile.getAbsoluteFile())) {
+
+                            log.debug(entryFile + " belongs to a different file");
+                            return null;
+                        }
+
+                        first = false;
+
+                        if (!isCurrent(f, fields)) {
+
+                            log.debug(entryFile + " is stale");
+                            return null;
+                        }
+
+                        break;
+
+                    case "value":
+                        values.computeIfAbsent(fields[1], k -> new ArrayList<>()).add(unescape(fields[2]));
+                        break;
+
+                    case "property":
+                        properties.put(unescape(fields[1]), unescape(fields[2]));
+                        break;
+
+                    case "assembly":
+                        assemblyDescriptor = new File(unescape(fields[1]));
+                        assemblyFormats = new ArrayList<>();
+                        break;
+
+                    case "format":
+
+                        if (assemblyFormats == null) {
+
+                            throw new IOException("format without assembly");
+                        }
+
+                        assemblyFormats.add(unescape(fields[1]));
+                        break;
+
+                    default:
+                        throw new IOException("invalid line \"" + line + "\"");
+                }
+            }
+        }
+        catch(Exception e) {
+
+            log.warn("failed to read POM cache entry " + entryFile + " for " + pomFile + ", ignoring it", e);
+            return null;
+        }
+
+        return new POMSummary(values, properties, assemblyFormats, assemblyDescriptor);
+    }
+
+    /**
+     * @param fields the fields of a "file" line.
+     */
+    private boolean isCurrent(File f, String[] fields) throws IOException {
+
+        if (!f.isFile() || f.length() != Long.parseLong(fields[1])) {
+
+            return false;
+        }
+
+        if (f.lastModified() == Long.parseLong(fields[2]) && "1".equals(fields[3])) {
+
+            return true;
+        }
+
+        return sha1(f).equals(fields[4]);
+    }
+
+    private void save(File pomFile, String pomFileLine, POMSummary s, File entryFile) {
+
+        File tmp = null;
+
+        try {
+
+            if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+
+                throw new IOException("failed to create " + directory);
+            }
+
+            if (!ignored) {
+
+                //
+                // the entries hold absolute, machine-local paths, keep them out of the release commit
+                //
+
+                NortState.ignore(directory);
+                ignored = true;
+            }
+
+            //
+            // concurrent writers of the same entry do not interfere, each writes its own temporary file
+            //
+
+            tmp = File.createTempFile(entryFile.getName(), ".tmp", directory);
+
+            try (BufferedWriter w = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+
+                w.write(FORMAT_HEADER);
+                w.newLine();
+
+                w.write(pomFileLine);
+                w.newLine();
+
+                if (s.getAssemblyDescriptor() != null) {
+
+                    w.write(fileLine(s.getAssemblyDescriptor()));
+                    w.newLine();
+                }
+
+                for(Map.Entry<String, List<String>> e: s.getValues().entrySet()) {
+
+                    for(String v: e.getValue()) {
+
+                        w.write("value\t" + e.getKey() + "\t" + escape(v));
+                        w.newLine();
+                    }
+                }
+
+                for(Map.Entry<String, String> e: s.getProperties().entrySet()) {
+
+                    w.write("property\t" + escape(e.getKey()) + "\t" + escape(e.getValue()));
+                    w.newLine();
+                }
+
+                if (s.getAssemblyFormats() != null) {
+
+                    w.write("assembly\t" + escape(s.getAssemblyDescriptor().getPath()));
+                    w.newLine();
+
+                    for(String f: s.getAssemblyFormats()) {
+
+                        w.write("format\t" + escape(f));
+                        w.newLine();
+                    }
+                }
+            }
+
+            //
+            // readers never see a partially written entry
+            //
+
+            Files.move(
+                    tmp.toPath(), entryFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(Exception e) {
+
+            log.warn("failed to write POM cache entry " + entryFile + " for " + pomFile, e);
+
+            if (tmp != null) {
+
+                //noinspection ResultOfMethodCallIgnored
+                tmp.delete();
+            }
+        }
+    }
+
+    /**
+     * @return the "file" line: size, modification time, whether the modification time can be trusted, content hash
+     * and absolute path.
+     */
+    private static String fileLine(File f) throws IOException {
+
+        long size = f.length();
+        long lastModified = f.lastModified();
+        boolean trusted = System.currentTimeMillis() - lastModified >= MODIFICATION_TIME_GRANULARITY_MS;
+
+        return "file\t" + size + "\t" + lastModified + "\t" + (trusted ? "1" : "0") + "\t" + sha1(f) + "\t" +
+                escape(f.getAbsolutePath());
+    }
+
+    private static String sha1(File f) throws IOException {
+
+        MessageDigest md = newSha1();
+
+        byte[] buffer = new byte[8192];
+
+        try (InputStream is = new FileInputStream(f)) {
+
+            int n;
+
+            while((n = is.read(buffer)) != -1) {
+
+                md.update(buffer, 0, n);
+            }
+        }
+
+        return hex(md.digest());
+    }
+
+    private static String sha1(byte[] content) {
+
+        return hex(newSha1().digest(content));
+    }
+
+    private static MessageDigest newSha1() {
+
+        try {
+
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch(NoSuchAlgorithmException e) {
+
+            //
+            // every Java platform is required to support SHA-1
+            //
+
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+
+        StringBuilder sb = new StringBuilder(2 * bytes.length);
+
+        for(byte b: bytes) {
+
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+
+        return sb.toString();
+    }
+
+    private static String escape(String s) {
+
+        StringBuilder sb = null;
+
+        for(int i = 0; i < s.length(); i ++) {
+
+            char c = s.charAt(i);
+            String replacement;
+
+            switch (c) {
+                case '\\': replacement = "\\\\"; break;
+                case '\t': replacement = "\\t"; break;
+                case '\n': replacement = "\\n"; break;
+                case '\r': replacement = "\\r"; break;
+                default: replacement = null;
+            }
+
+            if (replacement != null && sb == null) {
+
+                sb = new StringBuilder(s.length() + 8);
+                sb.append(s, 0, i);
+            }
+
+            if (sb != null) {
+
+                if (replacement != null) {
+
+                    sb.append(replacement);
+                }
+                else {
+
+                    sb.append(c);
+                }
+            }
+        }
+
+        return sb == null ? s : sb.toString();
+    }
+
+    private static String unescape(String s) throws IOException {
+
+        if (s.indexOf('\\') == -1) {
+
+            return s;
+        }
+
+        StringBuilder sb = new StringBuilder(s.length());
+
+        for(int i = 0; i < s.length(); i ++) {
+
+            char c = s.charAt(i);
+
+            if (c != '\\') {
+
+                sb.append(c);
+                continue;
+            }
+
+            if (++i == s.length()) {
+
+                throw new IOException("invalid escape sequence in \"" + s + "\"");
+            }
+
+            switch (s.charAt(i)) {
+                case '\\': sb.append('\\'); break;
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                default: throw new IOException("invalid escape sequence in \"" + s + "\"");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Saves a set of modified POMs as one transaction: either all files are written, or none is, including when the
+ * process dies half way through. The transaction is recorded in a directory under the journal directory
+ * (.nort/journal), and it is used to undo the save.
+ *
+ * A save goes through the following steps:
+ *
+ * 1. The index, listing the POM files, is written into a new transaction directory.
+ * 2. In parallel, for each POM, the current content is backed up in the transaction directory, and the modified
+ *    content is written into a temporary file next to the POM. All files are fsync-ed.
+ * 3. The "prepared" marker is written.
+ * 4. The temporary files are atomically renamed over the POMs.
+ * 5. The "committed" marker is written.
+ *
+ * A transaction found without the "prepared" marker is discarded, the POMs were not touched. A transaction found with
+ * the "prepared" marker but without the "committed" marker is rolled back, by restoring the backups. A committed
+ * transaction is kept until the next save, so the instance that saved it can undo it; on recovery, it is discarded.
+ *
+ * POMs whose modifications are held by their editable representation cannot be rendered into a temporary file; they
+ * are written by their editor during step 4. They are still backed up, so they are restored like the others.
+ *
+ * @see POM#render(byte[])
+ * @see MavenProject#save()
+ * @see MavenProject#undo()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMJournal {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(POMJournal.class);
+
+    /**
+     * The journal directory name, relative to the .nort directory.
+     */
+    public static final String DIRECTORY_NAME = "journal";
+
+    static final String INDEX_FILE_NAME = "index";
+    static final String PREPARED_FILE_NAME = "prepared";
+    static final String COMMITTED_FILE_NAME = "committed";
+    static final String BACKUP_FILE_EXTENSION = ".pom";
+    static final String TEMPORARY_FILE_SUFFIX = ".nort-tmp";
+
+    static final String INDEX_HEADER = "# nort journal 1";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger(0);
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File directory;
+
+    // the directory of the transaction committed by this instance, which can be undone; null if there is none
+    private File last;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param directory the journal directory. It does not have to exist, it is created on the first save.
+     */
+    public POMJournal(File directory) {
+
+        if (directory == null) {
+
+            throw new IllegalArgumentException("null journal directory");
+        }
+
+        this.directory = directory;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public File getDirectory() {
+
+        return directory;
+    }
+
+    /**
+     * Writes the modified POMs as one transaction. The POMs that are not modified are ignored. If the save fails, the
+     * files that were already written are restored, and the corresponding POMs are re-read from disk.
+     *
+     * @return true if at least one file was written.
+     *
+     * @exception IOException on failure to write the files, or if a file was modified since it was read.
+     */
+    public synchronized boolean save(List<POM> poms) throws IOException {
+
+        List<POM> modified = poms.stream().filter(POM::isModified).collect(Collectors.toList());
+
+        if (modified.isEmpty()) {
+
+            return false;
+        }
+
+        List<File> files = new ArrayList<>();
+
+        for(POM p: modified) {
+
+            files.add(p.getFile().getAbsoluteFile());
+        }
+
+        File tx = createTransaction(files);
+
+        //
+        // backups and modified content, in parallel; null content means the POM is written by its editor
+        //
+
+        byte[][] rendered = new byte[modified.size()][];
+
+        try {
+
+            IntStream.range(0, modified.size()).parallel().forEach(i -> {
+
+                try {
+
+                    byte[] content = Files.readAllBytes(files.get(i).toPath());
+
+                    write(getBackupFile(tx, i), content);
+
+                    rendered[i] = modified.get(i).render(content);
+
+                    if (rendered[i] != null) {
+
+                        write(getTemporaryFile(files.get(i)), rendered[i]);
+                    }
+                }
+                catch(IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            write(new File(tx, PREPARED_FILE_NAME), new byte[0]);
+            sync(tx);
+        }
+        catch(IOException | UncheckedIOException e) {
+
+            discard(tx, files);
+            throw e instanceof UncheckedIOException ? ((UncheckedIOException)e).getCause() : (IOException)e;
+        }
+
+        //
+        // commit
+        //
+
+        List<POM> written = new ArrayList<>();
+
+        try {
+
+            for(int i = 0; i < modified.size(); i ++) {
+
+                POM p = modified.get(i);
+
+                written.add(p);
+
+                if (rendered[i] == null) {
+
+                    p.save();
+                }
+                else {
+
+                    replace(getTemporaryFile(files.get(i)), files.get(i));
+                    p.rendered();
+                }
+            }
+
+            write(new File(tx, COMMITTED_FILE_NAME), new byte[0]);
+            sync(tx);
+        }
+        catch(IOException e) {
+
+            log.warn("failed to save " + files + ", rolling back: " + e.getMessage());
+
+            rollback(tx);
+
+            for(POM p: written) {
+
+                p.reload();
+            }
+
+            throw e;
+        }
+
+        //
+        // only the latest transaction is kept
+        //
+
+        if (last != null) {
+
+            delete(last);
+        }
+
+        last = tx;
+
+        log.debug("saved " + files.size() + " POM(s), transaction " + tx.getName());
+
+        return true;
+    }
+
+    /**
+     * Restores the POM files to the content they had before the last save performed by this instance.
+     *
+     * @return the restored files. Empty if there is nothing to undo, but never null.
+     *
+     * @exception IOException on failure to restore the files.
+     */
+    public synchronized List<File> undo() throws IOException {
+
+        if (last == null) {
+
+            return Collections.emptyList();
+        }
+
+        List<File> restored = rollback(last);
+
+        last = null;
+
+        return restored;
+    }
+
+    /**
+     * Completes the transactions left behind by a process that did not finish saving: the transactions that were
+     * prepared but not committed are rolled back, the others are discarded. Committed transactions are left behind
+     * by processes that exited normally; they are discarded too, as there is no one to undo them anymore.
+     *
+     * Must be called before the POMs are read.
+     *
+     * @return the restored files. May return an empty list, but never null.
+     *
+     * @exception IOException on failure to restore the files.
+     */
+    public synchronized List<File> recover() throws IOException {
+
+        File[] transactions = directory.listFiles(File::isDirectory);
+
+        if (transactions == null || transactions.length == 0) {
+
+            return Collections.emptyList();
+        }
+
+        Arrays.sort(transactions);
+
+        List<File> restored = new ArrayList<>();
+
+        for(File tx: transactions) {
+
+            if (tx.equals(last)) {
+
+                continue;
+            }
+
+            if (new File(tx, COMMITTED_FILE_NAME).isFile()) {
+
+                delete(tx);
+            }
+            else if (new File(tx, PREPARED_FILE_NAME).isFile()) {
+
+                log.warn("incomplete POM save found in " + tx + ", restoring the previous content");
+                restored.addAll(rollback(tx));
+            }
+            else {
+
+                discard(tx, readIndex(tx));
+            }
+        }
+
+        return restored;
+    }
+
+    @Override
+    public String toString() {
+
+        return "POMJournal[" + directory + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return the POM files listed by the transaction index, in order. If the index is missing or incomplete, only
+     * the complete entries are returned.
+     */
+    static List<File> readIndex(File tx) throws IOException {
+
+        File index = new File(tx, INDEX_FILE_NAME);
+
+        if (!index.isFile()) {
+
+            return Collections.emptyList();
+        }
+
+        List<File> result = new ArrayList<>();
+
+        for(String line: Files.readAllLines(index.toPath(), StandardCharsets.UTF_8)) {
+
+            if (line.isEmpty() || line.startsWith("#")) {
+
+                continue;
+            }
+
+            int i = line.indexOf('\t');
+
+            if (i == -1) {
+
+                throw new IOException("invalid journal index " + index + ": " + line);
+            }
+
+            result.add(new File(line.substring(i + 1)));
+        }
+
+        return result;
+    }
+
+    static File getTemporaryFile(File pomFile) {
+
+        return new File(pomFile.getParentFile(), pomFile.getName() + TEMPORARY_FILE_SUFFIX);
+    }
+
+    static File getBackupFile(File tx, int i) {
+
+        return new File(tx, i + BACKUP_FILE_EXTENSION);
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the transaction directory and writes the index.
+     */
+    private File createTransaction(List<File> files) throws IOException {
+
+        //
+        // the release commits the working tree with "git add .", keep the journal out of it
+        //
+
+        NortState.ignore(directory);
+
+        if (!directory.isDirectory()) {
+
+            Files.createDirectories(directory.toPath());
+        }
+
+        String name = String.format("%013d-%04d", System.currentTimeMillis(), SEQUENCE.incrementAndGet());
+
+        File tx = new File(directory, name);
+
+        Files.createDirectory(tx.toPath());
+
+        StringBuilder sb = new StringBuilder(INDEX_HEADER).append('\n');
+
+        for(int i = 0; i < files.size(); i ++) {
+
+            sb.append(i).append('\t').append(files.get(i).getPath()).append('\n');
+        }
+
+        write(new File(tx, INDEX_FILE_NAME), sb.toString().getBytes(StandardCharsets.UTF_8));
+        sync(tx);
+        sync(directory);
+
+        return tx;
+    }
+
+    /**
+     * Restores the backups of the transaction, then deletes the transaction.
+     *
+     * @return the restored files.
+     */
+    private List<File> rollback(File tx) throws IOException {
+
+        List<File> files = readIndex(tx);
+
+        List<File> restored = new ArrayList<>();
+
+        for(int i = 0; i < files.size(); i ++) {
+
+            File backup = getBackupFile(tx, i);
+            File file = files.get(i);
+
+            if (!backup.isFile()) {
+
+                //
+                // the transaction was prepared, so all backups were written
+                //
+
+                throw new IOException("missing backup " + backup + " for " + file);
+            }
+
+            File tmp = getTemporaryFile(file);
+            write(tmp, Files.readAllBytes(backup.toPath()));
+            replace(tmp, file);
+            restored.add(file);
+        }
+
+        delete(tx);
+
+        log.debug("restored " + restored + " from transaction " + tx.getName());
+
+        return restored;
+    }
+
+    /**
+     * Discards a transaction that was not prepared: the POMs were not touched.
+     */
+    private void discard(File tx, List<File> files) throws IOException {
+
+        for(File f: files) {
+
+            Files.deleteIfExists(getTemporaryFile(f).toPath());
+        }
+
+        delete(tx);
+    }
+
+    /**
+     * Writes the content and forces it to the storage device.
+     */
+    private static void write(File file, byte[] content) throws IOException {
+
+        try (FileChannel c = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+
+            while(buffer.hasRemaining()) {
+
+                c.write(buffer);
+            }
+
+            c.force(true);
+        }
+    }
+
+    private static void replace(File source, File target) throws IOException {
+
+        Files.move(source.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        sync(target.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Forces the directory entries to the storage device. Not supported on all platforms, so failures are ignored.
+     */
+    private static void sync(File directory) {
+
+        try (FileChannel c = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+
+            c.force(true);
+        }
+        catch(IOException e) {
+
+            log.debug("failed to sync directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the transaction directory. The directory is flat.
+     */
+    private static void delete(File tx) throws IOException {
+
+        File[] files = tx.listFiles();
+
+        if (files != null) {
+
+            for(File f: files) {
+
+                Files.deleteIfExists(f.toPath());
+            }
+        }
+
+        Files.deleteIfExists(tx.toPath());
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,969 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modifies the text of the single-valued POM elements nort changes during a release - /project/version and
+ * /project/parent/version - by rewriting only the bytes of the element text. Every other byte of the file is
+ * preserved.
+ *
+ * The byte ranges of the element texts are located when the patcher is created. On save(), the content of the ranges
+ * is checked against the expected values, so a file modified by someone else in the mean time is not overwritten. If
+ * the file length does not change, the ranges are written in place with a FileChannel. Otherwise the file is copied
+ * into a temporary file, range by range, and the temporary file atomically replaces the original.
+ *
+ * An element is patchable if its text is plain character data, without child elements, comments, CDATA sections or
+ * entity references, and the file is encoded with an ASCII-compatible charset. Modifications of elements that are not
+ * patchable must go through the editor.
+ *
+ * Instances are not thread safe, access must be synchronized externally.
+ *
+ * @see POM
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class POMPatcher {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(POMPatcher.class);
+
+    static final Set<String> PATCHABLE_PATHS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(POMSummary.VERSION, POMSummary.PARENT_VERSION)));
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Reads the file and locates the patchable element texts.
+     *
+     * @exception IOException on failure to read the file.
+     */
+    static POMPatcher create(File file) throws IOException {
+
+        if (file == null) {
+
+            throw new IllegalArgumentException("null file");
+        }
+
+        byte[] content = Files.readAllBytes(file.toPath());
+
+        Charset charset = getCharset(content);
+
+        Map<String, Range> ranges = charset == null ? Collections.emptyMap() : locate(content, charset);
+
+        return new POMPatcher(file, content.length, charset, ranges);
+    }
+
+    /**
+     * @return the charset, if the content is encoded with a charset in which the markup is represented by single ASCII
+     * bytes, or null otherwise.
+     */
+    static Charset getCharset(byte[] content) {
+
+        if (content.length >= 2 &&
+                ((content[0] == (byte)0xFE && content[1] == (byte)0xFF) ||
+                        (content[0] == (byte)0xFF && content[1] == (byte)0xFE) ||
+                        content[0] == 0 || content[1] == 0)) {
+
+            //
+            // UTF-16 or UTF-32
+            //
+
+            return null;
+        }
+
+        int start = 0;
+
+        if (content.length >= 3 &&
+                content[0] == (byte)0xEF && content[1] == (byte)0xBB && content[2] == (byte)0xBF) {
+
+            //
+            // UTF-8 byte order mark
+            //
+
+            start = 3;
+        }
+
+        if (!startsWith(content, start, "<?xml")) {
+
+            return StandardCharsets.UTF_8;
+        }
+
+        int end = indexOf(content, "?>", start);
+
+        if (end == -1) {
+
+            return null;
+        }
+
+        String declaration = new String(content, start, end - start, StandardCharsets.US_ASCII);
+
+        int i = declaration.indexOf("encoding");
+
+        if (i == -1) {
+
+            return StandardCharsets.UTF_8;
+        }
+
+        i = declaration.indexOf('=', i);
+        int q = i == -1 ? -1 : indexOfQuote(declaration, i + 1);
+
+        if (q == -1) {
+
+            return null;
+        }
+
+        int q2 = declaration.indexOf(declaration.charAt(q), q + 1);
+
+        if (q2 == -1) {
+
+            return null;
+        }
+
+        String encoding = declaration.substring(q + 1, q2).trim();
+
+        if ("UTF-8".equalsIgnoreCase(encoding)) {
+
+            return StandardCharsets.UTF_8;
+        }
+
+        if ("US-ASCII".equalsIgnoreCase(encoding) || "ASCII".equalsIgnoreCase(encoding)) {
+
+            return StandardCharsets.US_ASCII;
+        }
+
+        if ("ISO-8859-1".equalsIgnoreCase(encoding) || "Latin1".equalsIgnoreCase(encoding)) {
+
+            return StandardCharsets.ISO_8859_1;
+        }
+
+        return null;
+    }
+
+    /**
+     * A single forward pass over the bytes of the document, tracking the element path. The element texts are trimmed,
+     * the whitespace around the value is preserved on patching. If an element occurs more than once, the first one
+     * is located.
+     *
+     * @return the ranges of the patchable element texts, by path.
+     */
+    static Map<String, Range> locate(byte[] b, Charset charset) {
+
+        Map<String, Range> ranges = new LinkedHashMap<>();
+
+        List<String> path = new ArrayList<>();
+
+        int i = 0;
+
+        while(i < b.length && ranges.size() < PATCHABLE_PATHS.size()) {
+
+            if (b[i] != '<') {
+
+                i ++;
+                continue;
+            }
+
+            if (startsWith(b, i, "<!--")) {
+
+                i = skipPast(b, "-->", i);
+            }
+            else if (startsWith(b, i, "<![CDATA[")) {
+
+                i = skipPast(b, "]]>", i);
+            }
+            else if (startsWith(b, i, "<?")) {
+
+                i = skipPast(b, "?>", i);
+            }
+            else if (startsWith(b, i, "<!")) {
+
+                //
+                // DOCTYPE; POMs do not declare internal subsets
+                //
+
+                i = skipPast(b, ">", i);
+            }
+            else if (startsWith(b, i, "</")) {
+
+                if (!path.isEmpty()) {
+
+                    path.remove(path.size() - 1);
+                }
+
+                i = skipPast(b, ">", i);
+            }
+            else {
+
+                int nameEnd = i + 1;
+
+                while(nameEnd < b.length && !isNameTerminator(b[nameEnd])) {
+
+                    nameEnd ++;
+                }
+
+                String name = new String(b, i + 1, nameEnd - i - 1, StandardCharsets.US_ASCII);
+
+                //
+                // the end of the start tag, attribute values may contain '>'
+                //
+
+                int j = nameEnd;
+                byte quote = 0;
+
+                while(j < b.length && (quote != 0 || b[j] != '>')) {
+
+                    if (quote == 0 && (b[j] == '"' || b[j] == '\'')) {
+
+                        quote = b[j];
+                    }
+                    else if (quote != 0 && b[j] == quote) {
+
+                        quote = 0;
+                    }
+
+                    j ++;
+                }
+
+                if (j >= b.length) {
+
+                    break;
+                }
+
+                i = j + 1;
+
+                if (b[j - 1] == '/') {
+
+                    //
+                    // empty element
+                    //
+
+                    continue;
+                }
+
+                path.add(name);
+
+                String p = toPath(path);
+
+                if (PATCHABLE_PATHS.contains(p) && !ranges.containsKey(p)) {
+
+                    Range r = textRange(b, i, p, name, charset);
+
+                    if (r != null) {
+
+                        ranges.put(p, r);
+                    }
+                    else {
+
+                        log.debug(p + " is not patchable");
+                    }
+                }
+            }
+        }
+
+        return ranges;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final File file;
+
+    private final Charset charset;
+
+    // the expected file length, updated on save
+    private long length;
+
+    // the ranges of the patchable element texts, updated on save
+    private final Map<String, Range> ranges;
+
+    // path to the values set but not yet saved
+    private final Map<String, String> pending;
+
+    // path to the values in the file when the patcher was created, for the paths that were saved since
+    private final Map<String, String> originals;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private POMPatcher(File file, long length, Charset charset, Map<String, Range> ranges) {
+
+        this.file = file;
+        this.length = length;
+        this.charset = charset;
+        this.ranges = new LinkedHashMap<>(ranges);
+        this.pending = new LinkedHashMap<>();
+        this.originals = new LinkedHashMap<>();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+
+        return "POMPatcher[" + file + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return true if the element text with the given path was located and can be patched.
+     */
+    boolean isPatchable(String path) {
+
+        return ranges.containsKey(path);
+    }
+
+    /**
+     * @return the raw value of the element, as set, saved or located in the file. Null if the element is not
+     * patchable.
+     */
+    String get(String path) {
+
+        String s = pending.get(path);
+
+        if (s != null) {
+
+            return s;
+        }
+
+        Range r = ranges.get(path);
+
+        return r == null ? null : r.value;
+    }
+
+    /**
+     * @return true if the value was changed in memory as result of the call, false if the value was already set.
+     *
+     * @exception IllegalArgumentException if the element is not patchable.
+     */
+    boolean set(String path, String value) {
+
+        if (!isPatchable(path)) {
+
+            throw new IllegalArgumentException(path + " is not patchable in " + file);
+        }
+
+        if (value == null) {
+
+            throw new IllegalArgumentException("null value");
+        }
+
+        if (value.equals(get(path))) {
+
+            return false;
+        }
+
+        if (value.equals(ranges.get(path).value)) {
+
+            pending.remove(path);
+        }
+        else {
+
+            pending.put(path, value);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the values set but not yet saved, by path.
+     */
+    Map<String, String> getPending() {
+
+        return Collections.unmodifiableMap(pending);
+    }
+
+    /**
+     * Drops the values set but not yet saved.
+     */
+    void discardPending() {
+
+        pending.clear();
+    }
+
+    /**
+     * Writes the values set since the last save.
+     *
+     * @return true if the file was written.
+     *
+     * @exception IOException on failure to write the file, or if the file was modified since it was read.
+     */
+    boolean save() throws IOException {
+
+        if (pending.isEmpty()) {
+
+            return false;
+        }
+
+        for(String path: pending.keySet()) {
+
+            originals.putIfAbsent(path, ranges.get(path).value);
+        }
+
+        write(pending);
+
+        pending.clear();
+
+        return true;
+    }
+
+    /**
+     * Applies the values set since the last save to the given file content, without writing the file. Used when the
+     * file is written by the caller, as part of a POMJournal transaction. Once the rendered content was written,
+     * rendered() must be called.
+     *
+     * @param content the current content of the file.
+     *
+     * @return the patched content, or null if there are no values to write.
+     *
+     * @exception IOException if the content is not what the patcher expects, meaning the file was modified since it
+     * was read.
+     *
+     * @see POMPatcher#rendered()
+     */
+    byte[] render(byte[] content) throws IOException {
+
+        if (pending.isEmpty()) {
+
+            return null;
+        }
+
+        verify(content);
+
+        List<Patch> patches = toPatches(pending);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length + 64);
+
+        int position = 0;
+
+        for(Patch p: patches) {
+
+            baos.write(content, position, (int)p.range.start - position);
+            baos.write(p.bytes, 0, p.bytes.length);
+            position = (int)p.range.end;
+        }
+
+        baos.write(content, position, content.length - position);
+
+        return baos.toByteArray();
+    }
+
+    /**
+     * Records the values set since the last save as saved, after the content produced by render() was written by the
+     * caller.
+     *
+     * @see POMPatcher#render(byte[])
+     */
+    void rendered() {
+
+        if (pending.isEmpty()) {
+
+            return;
+        }
+
+        for(String path: pending.keySet()) {
+
+            originals.putIfAbsent(path, ranges.get(path).value);
+        }
+
+        update(toPatches(pending));
+
+        log.debug("patched " + pending.keySet() + " in " + file);
+
+        pending.clear();
+    }
+
+    /**
+     * Restores the values the file had when the patcher was created, and drops the values set but not yet saved.
+     *
+     * @return true if the file or the values held in memory were changed as result of the call.
+     *
+     * @exception IOException on failure to write the file, or if the file was modified since it was last written.
+     */
+    boolean undo() throws IOException {
+
+        boolean changed = !pending.isEmpty();
+
+        pending.clear();
+
+        Map<String, String> restore = new LinkedHashMap<>();
+
+        for(Map.Entry<String, String> e: originals.entrySet()) {
+
+            if (!e.getValue().equals(ranges.get(e.getKey()).value)) {
+
+                restore.put(e.getKey(), e.getValue());
+            }
+        }
+
+        if (!restore.isEmpty()) {
+
+            write(restore);
+            changed = true;
+        }
+
+        originals.clear();
+
+        return changed;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the values and updates the ranges.
+     */
+    private void write(Map<String, String> values) throws IOException {
+
+        List<Patch> patches = toPatches(values);
+
+        boolean sameLength = true;
+
+        for(Patch p: patches) {
+
+            sameLength &= p.delta == 0;
+        }
+
+        File tmp = null;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+
+            FileChannel channel = raf.getChannel();
+
+            verify(channel);
+
+            if (sameLength) {
+
+                for(Patch p: patches) {
+
+                    writeFully(channel, ByteBuffer.wrap(p.bytes), p.range.start);
+                }
+
+                channel.force(false);
+            }
+            else {
+
+                tmp = copy(channel, patches);
+            }
+        }
+
+        if (tmp != null) {
+
+            try {
+
+                Files.move(tmp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(IOException e) {
+
+                //noinspection ResultOfMethodCallIgnored
+                tmp.delete();
+                throw e;
+            }
+        }
+
+        update(patches);
+
+        log.debug("patched " + values.keySet() + " in " + file + (sameLength ? " in place" : ""));
+    }
+
+    /**
+     * @return the patches for the given values, in file order.
+     */
+    private List<Patch> toPatches(Map<String, String> values) {
+
+        List<Patch> patches = new ArrayList<>();
+
+        for(Map.Entry<String, String> e: values.entrySet()) {
+
+            patches.add(new Patch(ranges.get(e.getKey()), e.getValue(), e.getValue().getBytes(charset)));
+        }
+
+        patches.sort((p1, p2) -> Long.compare(p1.range.start, p2.range.start));
+
+        return patches;
+    }
+
+    /**
+     * Updates the ranges and the expected file length after the patches were written.
+     */
+    private void update(List<Patch> patches) {
+
+        //
+        // the ranges that follow a patched range shift with the length variation of the patched range
+        //
+
+        for(Range r: ranges.values()) {
+
+            long shift = 0;
+
+            for(Patch p: patches) {
+
+                if (p.range != r && p.originalStart < r.start) {
+
+                    shift += p.delta;
+                }
+            }
+
+            for(Patch p: patches) {
+
+                if (p.range == r) {
+
+                    r.end = r.start + p.bytes.length;
+                    r.value = p.value;
+                }
+            }
+
+            r.start += shift;
+            r.end += shift;
+        }
+
+        for(Patch p: patches) {
+
+            length += p.delta;
+        }
+    }
+
+    /**
+     * Makes sure the file still contains the expected values at the expected positions.
+     */
+    private void verify(FileChannel channel) throws IOException {
+
+        if (channel.size() != length) {
+
+            throw new IOException(file + " was modified since it was read");
+        }
+
+        for(Range r: ranges.values()) {
+
+            ByteBuffer buffer = ByteBuffer.allocate((int)(r.end - r.start));
+
+            while(buffer.hasRemaining()) {
+
+                if (channel.read(buffer, r.start + buffer.position()) == -1) {
+
+                    throw new IOException(file + " was modified since it was read");
+                }
+            }
+
+            if (!Arrays.equals(buffer.array(), r.value.getBytes(charset))) {
+
+                throw new IOException(file + " was modified since it was read");
+            }
+        }
+    }
+
+    /**
+     * Makes sure the content contains the expected values at the expected positions.
+     */
+    private void verify(byte[] content) throws IOException {
+
+        if (content.length != length) {
+
+            throw new IOException(file + " was modified since it was read");
+        }
+
+        for(Range r: ranges.values()) {
+
+            byte[] expected = r.value.getBytes(charset);
+
+            if (r.end - r.start != expected.length ||
+                    !Arrays.equals(Arrays.copyOfRange(content, (int)r.start, (int)r.end), expected)) {
+
+                throw new IOException(file + " was modified since it was read");
+            }
+        }
+    }
+
+    /**
+     * Copies the file into a temporary file in the same directory, substituting the ranges.
+     *
+     * @return the temporary file.
+     */
+    private File copy(FileChannel source, List<Patch> patches) throws IOException {
+
+        File tmp = File.createTempFile(file.getName() + ".", ".tmp", file.getAbsoluteFile().getParentFile());
+
+        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+
+            FileChannel target = raf.getChannel();
+
+            long position = 0;
+
+            for(Patch p: patches) {
+
+                transferFully(source, position, p.range.start - position, target);
+                writeFully(target, ByteBuffer.wrap(p.bytes), target.position());
+                position = p.range.end;
+            }
+
+            transferFully(source, position, source.size() - position, target);
+
+            target.force(false);
+
+            return tmp;
+        }
+        catch(IOException e) {
+
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+            throw e;
+        }
+    }
+
+    private static void transferFully(FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+
+        long transferred = 0;
+
+        while(transferred < count) {
+
+            long n = source.transferTo(position + transferred, count - transferred, target);
+
+            if (n <= 0) {
+
+                throw new IOException("failed to copy " + count + " bytes");
+            }
+
+            transferred += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+
+        long p = position;
+
+        while(buffer.hasRemaining()) {
+
+            p += channel.write(buffer, p);
+        }
+
+        channel.position(p);
+    }
+
+    /**
+     * @return the trimmed range of the text that starts at 'start' if it is immediately followed by the end tag of
+     * the element, and contains no entity references; null otherwise.
+     */
+    private static Range textRange(byte[] b, int start, String path, String name, Charset charset) {
+
+        int end = start;
+
+        while(end < b.length && b[end] != '<') {
+
+            if (b[end] == '&') {
+
+                return null;
+            }
+
+            end ++;
+        }
+
+        if (!startsWith(b, end, "</" + name)) {
+
+            return null;
+        }
+
+        int s = start;
+        int e = end;
+
+        while(s < e && isWhitespace(b[s])) {
+
+            s ++;
+        }
+
+        while(e > s && isWhitespace(b[e - 1])) {
+
+            e --;
+        }
+
+        if (s == e) {
+
+            return null;
+        }
+
+        return new Range(path, s, e, new String(b, s, e - s, charset));
+    }
+
+    private static String toPath(List<String> elements) {
+
+        StringBuilder sb = new StringBuilder();
+
+        for(String e: elements) {
+
+            sb.append('/').append(e);
+        }
+
+        return sb.toString();
+    }
+
+    private static boolean isNameTerminator(byte c) {
+
+        return isWhitespace(c) || c == '/' || c == '>';
+    }
+
+    private static boolean isWhitespace(byte c) {
+
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    /**
+     * @param s ASCII, or characters in the 0-255 range that stand for single bytes.
+     */
+    private static boolean startsWith(byte[] b, int offset, String s) {
+
+        if (offset + s.length() > b.length) {
+
+            return false;
+        }
+
+        for(int i = 0; i < s.length(); i ++) {
+
+            if (b[offset + i] != (byte)s.charAt(i)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int indexOf(byte[] b, String s, int from) {
+
+        for(int i = from; i <= b.length - s.length(); i ++) {
+
+            if (startsWith(b, i, s)) {
+
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the position after the first occurrence of s, or the length of the array if there is none.
+     */
+    private static int skipPast(byte[] b, String s, int from) {
+
+        int i = indexOf(b, s, from);
+
+        return i == -1 ? b.length : i + s.length();
+    }
+
+    private static int indexOfQuote(String s, int from) {
+
+        for(int i = from; i < s.length(); i ++) {
+
+            char c = s.charAt(i);
+
+            if (c == '"' || c == '\'') {
+
+                return i;
+            }
+
+            if (!Character.isWhitespace(c)) {
+
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    static class Range {
+
+        private String path;
+        private long start;
+        private long end;
+        private String value;
+
+        Range(String path, long start, long end, String value) {
+
+            this.path = path;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+        }
+
+        long getStart() {
+
+            return start;
+        }
+
+        long getEnd() {
+
+            return end;
+        }
+
+        String getValue() {
+
+            return value;
+        }
+
+        @Override
+        public String toString() {
+
+            return path + "[" + start + ", " + end + ")=" + value;
+        }
+    }
+
+    private static class Patch {
+
+        private final Range range;
+        private final long originalStart;
+        private final String value;
+        private final byte[] bytes;
+
+        // the file length variation caused by the patch
+        private final long delta;
+
+        Patch(Range range, String value, byte[] bytes) {
+
+            this.range = range;
+            this.originalStart = range.start;
+            this.value = value;
+            this.bytes = bytes;
+            this.delta = bytes.length - (range.end - range.start);
+        }
+    }
+
+}
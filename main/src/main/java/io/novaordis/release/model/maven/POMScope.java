@@ -16,24 +16,34 @@
 
 package io.novaordis.release.model.maven;
 
+import io.novaordis.release.VariableTemplate;
 import io.novaordis.release.version.Version;
 import io.novaordis.release.version.VersionFormatException;
 import io.novaordis.utilities.expressions.EncloseableScope;
 import io.novaordis.utilities.expressions.Scope;
 import io.novaordis.utilities.expressions.UndeclaredVariableException;
 import io.novaordis.utilities.expressions.Variable;
-import io.novaordis.utilities.expressions.VariableReferenceResolver;
 import io.novaordis.utilities.xml.editor.InLineXMLEditor;
 import io.novaordis.utilities.xml.editor.XMLElement;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A variable scope associated with a POM. It does not maintain local variables but instead it reads them in-line from
  * the POM and from its parents. We cannot use it to set property values - Variable.set() will will throw
  * UnsupportedOperationException.
  *
+ * The properties are indexed by name on first access, and the values resolved across the enclosing scope chain are
+ * memoized. Both are discarded by invalidate(), which must be called when the associated POM is modified. The
+ * invalidation propagates to the enclosed POM scopes, whose memoized values may come from this scope.
+ *
  * TODO: this is a quick "bolt-on" solution after the introduction of the generic variable and expressions system
  * https://kb.novaordis.com/index.php/Nova_Ordis_Generic_Variable_and_Expression_System. A better implementation can be
  * written, by taking advantage of variable and expression features introduced by the generic variable and expressions
@@ -57,12 +67,27 @@ public class POMScope implements EncloseableScope {
     // the associated POM. Through that instance it has access to the higher level of the hierarchy
     //
     private POM pom;
+
+    // the property source: either the editor or, for POMs read from a summary, the properties map
     private InLineXMLEditor editor;
+    private Map<String, String> properties;
 
-    private VariableReferenceResolver variableReferenceResolver;
+    // the strings evaluated in this scope, compiled on first evaluation. They do not depend on variable values, so they
+    // survive invalidation
+    private final Map<String, VariableTemplate> templates;
 
     private Scope parent;
 
+    // property name to value, built on first access; null if not built or invalidated
+    private volatile Map<String, String> index;
+
+    // variable name to the variable resolved in this scope or the enclosing scopes; empty if the variable is not
+    // declared anywhere in the chain
+    private final Map<String, Optional<Variable>> resolved;
+
+    // the POM scopes that declared this scope as parent
+    private final List<POMScope> enclosed;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     /**
@@ -86,8 +111,36 @@ public class POMScope implements EncloseableScope {
 
         this.pom = pom;
         this.editor = editor;
-        this.variableReferenceResolver = new VariableReferenceResolver();
+        this.templates = new ConcurrentHashMap<>();
+        this.resolved = new ConcurrentHashMap<>();
+        this.enclosed = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * This constructor DOES not establishes the scope hierarchy. The caller must do it.
+     *
+     * @param pom can never be null.
+     * @param properties the properties declared by the POM, in declaration order, as extracted into a POMSummary.
+     *
+     * @see POMSummary#getProperties()
+     */
+    public POMScope(POM pom, Map<String, String> properties) {
+
+        if (pom == null) {
+
+            throw new IllegalArgumentException("null pom");
+        }
+
+        if (properties == null) {
+
+            throw new IllegalArgumentException("null properties");
+        }
 
+        this.pom = pom;
+        this.properties = properties;
+        this.templates = new ConcurrentHashMap<>();
+        this.resolved = new ConcurrentHashMap<>();
+        this.enclosed = new CopyOnWriteArrayList<>();
     }
 
     // Scope overrides -------------------------------------------------------------------------------------------------
@@ -133,15 +186,9 @@ public class POMScope implements EncloseableScope {
         // expose properties declared in the associated XML file as variables
         //
 
-        List<XMLElement> propertyElements = editor.getElements("/project/properties");
-
-        if (!propertyElements.isEmpty()) {
-
-            //noinspection Convert2streamapi
-            for(XMLElement p: propertyElements) {
+        for(Map.Entry<String, String> e: getIndex().entrySet()) {
 
-                result.add(new POMVariable(p.getName(), p.getValue()));
-            }
+            result.add(new POMVariable(e.getKey(), e.getValue()));
         }
 
         return result;
@@ -150,45 +197,36 @@ public class POMScope implements EncloseableScope {
     @Override
     public Variable getVariable(String name) {
 
-        if (VERSION_VARIABLE_NAME.equals(name) || PROJECT_VERSION_VARIABLE_NAME.equals(name)) {
+        if (name == null) {
 
-            try {
+            return null;
+        }
 
-                Version v = pom.getVersion();
+        Optional<Variable> v = resolved.get(name);
 
-                //
-                // version may be null
-                //
+        if (v == null) {
 
-                if (v != null) {
-
-                    String s = v.getLiteral();
+            Variable variable = getLocalVariable(name);
 
-                    return new POMVariable(name, s);
-                }
-            }
-            catch(VersionFormatException e) {
+            if (variable == null && parent != null) {
 
-                throw new IllegalStateException(e);
-            }
-        }
+                variable = parent.getVariable(name);
 
-        List<XMLElement> propertyElements = editor.getElements("/project/properties");
+                if (!isChainOfPOMScopes()) {
 
-        for(XMLElement p: propertyElements) {
+                    //
+                    // we don't know when an arbitrary enclosing scope changes, so we don't memoize its variables
+                    //
 
-            if (p.getName().equals(name)) {
-
-                return new POMVariable(p.getName(), p.getValue());
+                    return variable;
+                }
             }
-        }
 
-        if (parent != null) {
-
-            return parent.getVariable(name);
+            v = Optional.ofNullable(variable);
+            resolved.put(name, v);
         }
 
-        return null;
+        return v.orElse(null);
     }
 
     @Override
@@ -222,7 +260,14 @@ public class POMScope implements EncloseableScope {
     public String evaluate(String stringWithVariableReferences, boolean failOnUndeclaredVariable)
             throws UndeclaredVariableException {
 
-        return variableReferenceResolver.resolve(stringWithVariableReferences, failOnUndeclaredVariable, this);
+        if (stringWithVariableReferences == null) {
+
+            return null;
+        }
+
+        VariableTemplate t = templates.computeIfAbsent(stringWithVariableReferences, VariableTemplate::compile);
+
+        return t.render(this, failOnUndeclaredVariable);
     }
 
     @Override
@@ -234,7 +279,19 @@ public class POMScope implements EncloseableScope {
     @Override
     public void setParent(Scope parent) {
 
+        if (this.parent instanceof POMScope) {
+
+            ((POMScope)this.parent).enclosed.remove(this);
+        }
+
         this.parent = parent;
+
+        if (parent instanceof POMScope) {
+
+            ((POMScope)parent).enclosed.add(this);
+        }
+
+        invalidate(false);
     }
 
     // Public ----------------------------------------------------------------------------------------------------------
@@ -246,10 +303,175 @@ public class POMScope implements EncloseableScope {
 
     // Package protected -----------------------------------------------------------------------------------------------
 
+    /**
+     * Discards the property index and the memoized variables of this scope and of all the POM scopes it encloses,
+     * directly or indirectly. Must be called after the associated POM is modified.
+     */
+    void invalidate() {
+
+        invalidate(true);
+    }
+
+    /**
+     * @return the values visible in this scope: the version and the properties declared by this POM and by all the
+     * enclosing POMs, a property declared closer to this POM overriding the one declared further up the chain, sorted
+     * by name. Variables declared by enclosing scopes that are not POM scopes are not included.
+     */
+    Map<String, String> getEffectiveProperties() {
+
+        List<POMScope> chain = new ArrayList<>();
+
+        for(Scope s = this; s instanceof POMScope; s = ((POMScope)s).parent) {
+
+            chain.add(0, (POMScope)s);
+        }
+
+        Map<String, String> result = new TreeMap<>();
+
+        for(POMScope s: chain) {
+
+            result.putAll(s.getIndex());
+        }
+
+        Version v;
+
+        try {
+
+            v = pom.getVersion();
+        }
+        catch(VersionFormatException e) {
+
+            throw new IllegalStateException(e);
+        }
+
+        if (v != null) {
+
+            result.put(PROJECT_VERSION_VARIABLE_NAME, v.getLiteral());
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the property source after the associated POM was re-read from disk, and invalidates the scope.
+     *
+     * @param properties the properties declared by the POM, in declaration order, as extracted into a POMSummary.
+     */
+    void setProperties(Map<String, String> properties) {
+
+        if (properties == null) {
+
+            throw new IllegalArgumentException("null properties");
+        }
+
+        this.editor = null;
+        this.properties = properties;
+
+        invalidate();
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * @param local if true, the property index is discarded as well. The index only needs to be discarded if the
+     *              associated POM changed, not if an enclosing scope did.
+     */
+    private void invalidate(boolean local) {
+
+        if (local) {
+
+            index = null;
+        }
+
+        resolved.clear();
+
+        for(POMScope s: enclosed) {
+
+            s.invalidate(false);
+        }
+    }
+
+    /**
+     * @return true if all the enclosing scopes are POM scopes, so we are notified when they change.
+     */
+    private boolean isChainOfPOMScopes() {
+
+        for(Scope s = parent; s != null; s = ((POMScope)s).parent) {
+
+            if (!(s instanceof POMScope)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the variable declared in this scope, or null.
+     */
+    private Variable getLocalVariable(String name) {
+
+        if (VERSION_VARIABLE_NAME.equals(name) || PROJECT_VERSION_VARIABLE_NAME.equals(name)) {
+
+            try {
+
+                Version v = pom.getVersion();
+
+                //
+                // version may be null
+                //
+
+                if (v != null) {
+
+                    String s = v.getLiteral();
+
+                    return new POMVariable(name, s);
+                }
+            }
+            catch(VersionFormatException e) {
+
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String value = getIndex().get(name);
+
+        return value == null ? null : new POMVariable(name, value);
+    }
+
+    /**
+     * @return the properties declared by the POM, by name, in declaration order. If a property is declared more than
+     * once, the first declaration wins.
+     */
+    private Map<String, String> getIndex() {
+
+        Map<String, String> i = index;
+
+        if (i == null) {
+
+            if (properties != null) {
+
+                i = properties;
+            }
+            else {
+
+                i = new LinkedHashMap<>();
+
+                for(XMLElement p: editor.getElements("/project/properties")) {
+
+                    i.putIfAbsent(p.getName(), p.getValue());
+                }
+            }
+
+            index = i;
+        }
+
+        return i;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
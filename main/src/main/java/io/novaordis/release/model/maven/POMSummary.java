@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The read-only information nort uses from a pom.xml file, extracted in a single forward pass over the file, without
+ * building a document model. The values are raw, as written in the file: variable references are not resolved, this
+ * is done by the POM in its own scope.
+ *
+ * For release modules, the formats declared by the assembly descriptor are also extracted, if the descriptor path does
+ * not contain variable references.
+ *
+ * Instances are immutable.
+ *
+ * @see POM
+ * @see POMCache
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMSummary {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    public static final String GROUP_ID = "/project/groupId";
+    public static final String ARTIFACT_ID = "/project/artifactId";
+    public static final String VERSION = "/project/version";
+    public static final String PACKAGING = "/project/packaging";
+    public static final String PARENT_GROUP_ID = "/project/parent/groupId";
+    public static final String PARENT_ARTIFACT_ID = "/project/parent/artifactId";
+    public static final String PARENT_VERSION = "/project/parent/version";
+    public static final String MODULE = "/project/modules/module";
+    public static final String FINAL_NAME = "/project/build/finalName";
+    public static final String PLUGIN_ARTIFACT_ID = "/project/build/plugins/plugin/artifactId";
+    public static final String PLUGIN_FINAL_NAME = "/project/build/plugins/plugin/configuration/finalName";
+    public static final String PLUGIN_DESCRIPTOR =
+            "/project/build/plugins/plugin/configuration/descriptors/descriptor";
+
+    public static final String PROPERTIES = "/project/properties";
+
+    static final String ASSEMBLY_FORMAT = "/assembly/formats/format";
+
+    private static final Set<String> PATHS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            GROUP_ID, ARTIFACT_ID, VERSION, PACKAGING, PARENT_GROUP_ID, PARENT_ARTIFACT_ID, PARENT_VERSION, MODULE,
+            FINAL_NAME, PLUGIN_ARTIFACT_ID, PLUGIN_FINAL_NAME, PLUGIN_DESCRIPTOR)));
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @exception IOException on failure to read or parse the file, or the assembly descriptor.
+     */
+    public static POMSummary read(File pomFile) throws IOException {
+
+        if (pomFile == null) {
+
+            throw new IllegalArgumentException("null pom file");
+        }
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+
+        extract(pomFile, PATHS, values, properties);
+
+        List<String> assemblyFormats = null;
+        File assemblyDescriptor = null;
+
+        String descriptor = first(values, PLUGIN_DESCRIPTOR);
+
+        if (descriptor != null && !descriptor.contains("${")) {
+
+            File f = new File(pomFile.getParentFile(), descriptor);
+
+            if (f.isFile()) {
+
+                Map<String, List<String>> assemblyValues = new LinkedHashMap<>();
+
+                extract(f, Collections.singleton(ASSEMBLY_FORMAT), assemblyValues, null);
+
+                List<String> formats = assemblyValues.get(ASSEMBLY_FORMAT);
+                assemblyFormats = formats == null ? Collections.emptyList() : formats;
+                assemblyDescriptor = f;
+            }
+        }
+
+        return new POMSummary(values, properties, assemblyFormats, assemblyDescriptor);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // path to the element values, in document order
+    private final Map<String, List<String>> values;
+
+    // name to value, in declaration order
+    private final Map<String, String> properties;
+
+    // null if the assembly descriptor was not read
+    private final List<String> assemblyFormats;
+    private final File assemblyDescriptor;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param assemblyFormats null if the assembly descriptor was not read.
+     * @param assemblyDescriptor the assembly descriptor file the formats were read from. Null if the assembly
+     *                           descriptor was not read.
+     */
+    POMSummary(Map<String, List<String>> values, Map<String, String> properties, List<String> assemblyFormats,
+               File assemblyDescriptor) {
+
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+
+        for(Map.Entry<String, List<String>> e: values.entrySet()) {
+
+            copy.put(e.getKey(), Collections.unmodifiableList(new ArrayList<>(e.getValue())));
+        }
+
+        this.values = Collections.unmodifiableMap(copy);
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+        this.assemblyFormats = assemblyFormats == null ?
+                null : Collections.unmodifiableList(new ArrayList<>(assemblyFormats));
+        this.assemblyDescriptor = assemblyDescriptor;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param path one of the path constants declared by this class, except PROPERTIES.
+     *
+     * @return the raw value of the first element with the given path, or null if there is no such element.
+     *
+     * @exception IllegalArgumentException if the path is not one of the extracted paths.
+     */
+    public String get(String path) {
+
+        checkPath(path);
+
+        return first(values, path);
+    }
+
+    /**
+     * @param path one of the path constants declared by this class, except PROPERTIES.
+     *
+     * @return the raw values of all elements with the given path, in document order. May return an empty list, but
+     * never null.
+     *
+     * @exception IllegalArgumentException if the path is not one of the extracted paths.
+     */
+    public List<String> getList(String path) {
+
+        checkPath(path);
+
+        List<String> l = values.get(path);
+        return l == null ? Collections.emptyList() : l;
+    }
+
+    /**
+     * @return the properties declared in <properties>, raw, in declaration order. If a property is declared more than
+     * once, the first declaration wins.
+     */
+    public Map<String, String> getProperties() {
+
+        return properties;
+    }
+
+    /**
+     * @return the formats declared by the assembly descriptor, or null if the descriptor was not read.
+     */
+    public List<String> getAssemblyFormats() {
+
+        return assemblyFormats;
+    }
+
+    /**
+     * @return the assembly descriptor file the formats were read from, or null if the descriptor was not read.
+     */
+    public File getAssemblyDescriptor() {
+
+        return assemblyDescriptor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+
+            return true;
+        }
+
+        if (!(o instanceof POMSummary)) {
+
+            return false;
+        }
+
+        POMSummary that = (POMSummary)o;
+
+        return values.equals(that.values) &&
+                properties.equals(that.properties) &&
+                Objects.equals(assemblyFormats, that.assemblyFormats) &&
+                Objects.equals(assemblyDescriptor, that.assemblyDescriptor);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return 31 * values.hashCode() + properties.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        return "POMSummary" + values;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return the extracted element values, by path. Used for serialization.
+     */
+    Map<String, List<String>> getValues() {
+
+        return values;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static void checkPath(String path) {
+
+        if (!PATHS.contains(path)) {
+
+            throw new IllegalArgumentException("path " + path + " is not available in a POM summary");
+        }
+    }
+
+    private static String first(Map<String, List<String>> values, String path) {
+
+        List<String> l = values.get(path);
+        return l == null || l.isEmpty() ? null : l.get(0);
+    }
+
+    /**
+     * Collects the trimmed text of the elements whose paths are in 'paths' and, if 'properties' is not null, the
+     * children of /project/properties.
+     */
+    private static void extract(
+            File file, Set<String> paths, Map<String, List<String>> values, Map<String, String> properties)
+            throws IOException {
+
+        XMLStreamReader reader = null;
+
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+
+            reader = POM.createXMLStreamReader(is);
+
+            StringBuilder path = new StringBuilder();
+            List<Integer> lengths = new ArrayList<>();
+
+            while(reader.hasNext()) {
+
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+
+                    lengths.add(path.length());
+                    path.append('/').append(reader.getLocalName());
+
+                    boolean property = properties != null &&
+                            lengths.size() == 3 && lengths.get(2) == PROPERTIES.length() &&
+                            path.indexOf(PROPERTIES) == 0;
+
+                    if (property || paths.contains(path.toString())) {
+
+                        String name = reader.getLocalName();
+
+                        //
+                        // consumes the element, including the end tag
+                        //
+
+                        String text = reader.getElementText().trim();
+
+                        if (property) {
+
+                            properties.putIfAbsent(name, text);
+                        }
+                        else {
+
+                            values.computeIfAbsent(path.toString(), k -> new ArrayList<>()).add(text);
+                        }
+
+                        path.setLength(lengths.remove(lengths.size() - 1));
+                    }
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                    path.setLength(lengths.remove(lengths.size() - 1));
+                }
+            }
+        }
+        catch(XMLStreamException e) {
+
+            throw new IOException("failed to parse " + file + ": " + e.getMessage(), e);
+        }
+        finally {
+
+            POM.close(reader);
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The durations of the test classes of a project, as recorded by earlier test runs. They are read from the surefire
+ * reports (target/surefire-reports/TEST-*.xml) and are stored in the project's .nort directory, one class per line:
+ *
+ * <fully qualified class name> <milliseconds>
+ *
+ * A newer measurement replaces the older one. The file is an optimization hint: a missing or unreadable file yields
+ * no timings, not a failure.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class TestTimings {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(TestTimings.class);
+
+    /**
+     * The timings file name, relative to the .nort directory.
+     */
+    public static final String FILE_NAME = "test-timings";
+
+    public static final String SUREFIRE_REPORTS_DIRECTORY_NAME = "surefire-reports";
+
+    private static final Pattern TESTSUITE = Pattern.compile("<testsuite\\s[^>]*>");
+    private static final Pattern NAME = Pattern.compile("\\sname=\"([^\"]*)\"");
+    private static final Pattern TIME = Pattern.compile("\\stime=\"([^\"]*)\"");
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the timings of the given project, stored under its .nort directory. The file does not have to exist.
+     */
+    public static TestTimings load(MavenProject p) {
+
+        File nortDirectory = new File(p.getBaseDirectory().getAbsoluteFile(), MavenProjectBuilder.NORT_DIRECTORY_NAME);
+        return load(new File(nortDirectory, FILE_NAME));
+    }
+
+    /**
+     * @param file the timings file. It does not have to exist.
+     */
+    public static TestTimings load(File file) {
+
+        TestTimings t = new TestTimings(file);
+
+        if (!file.isFile()) {
+
+            return t;
+        }
+
+        try {
+
+            for(String line: Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+
+                String[] tokens = line.trim().split("\\s+");
+
+                if (tokens.length != 2) {
+
+                    continue;
+                }
+
+                try {
+
+                    t.timings.put(tokens[0], Long.parseLong(tokens[1]));
+                }
+                catch(NumberFormatException e) {
+
+                    log.debug("ignoring invalid timing line \"" + line + "\"");
+                }
+            }
+        }
+        catch(IOException e) {
+
+            log.warn("failed to read test timings from " + file + ": " + e.getMessage());
+        }
+
+        return t;
+    }
+
+    /**
+     * @return the duration, in milliseconds, of the test suite described by the surefire XML report, or -1 if it
+     * cannot be established. Surefire formats the time with the platform locale, so both "1,234.5" and "1,5" occur.
+     */
+    static long parseReportTime(String time) {
+
+        if (time == null) {
+
+            return -1;
+        }
+
+        String s = time.trim();
+
+        if (s.contains(",") && s.contains(".")) {
+
+            s = s.replace(",", "");
+        }
+        else {
+
+            s = s.replace(',', '.');
+        }
+
+        try {
+
+            return Math.round(Double.parseDouble(s) * 1000);
+        }
+        catch(NumberFormatException e) {
+
+            return -1;
+        }
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File file;
+
+    private Map<String, Long> timings;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private TestTimings(File file) {
+
+        this.file = file;
+        this.timings = new TreeMap<>();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public File getFile() {
+
+        return file;
+    }
+
+    /**
+     * @return the recorded duration of the test class, in milliseconds, or null if it was never recorded.
+     */
+    public Long get(String className) {
+
+        return timings.get(className);
+    }
+
+    /**
+     * @return the average of the recorded durations, in milliseconds, or -1 if there are none.
+     */
+    public long getAverage() {
+
+        if (timings.isEmpty()) {
+
+            return -1;
+        }
+
+        long total = 0;
+
+        for(long t: timings.values()) {
+
+            total += t;
+        }
+
+        return total / timings.size();
+    }
+
+    public int size() {
+
+        return timings.size();
+    }
+
+    public void record(String className, long millis) {
+
+        if (className == null) {
+
+            throw new IllegalArgumentException("null class name");
+        }
+
+        if (millis < 0) {
+
+            throw new IllegalArgumentException("invalid duration " + millis);
+        }
+
+        timings.put(className, millis);
+    }
+
+    /**
+     * Records the durations found in the surefire XML reports of a module.
+     *
+     * @param moduleDirectory the directory of the module, whose target/surefire-reports directory may not exist.
+     *
+     * @return the number of test classes recorded.
+     *
+     * @exception IOException on failure to read a report.
+     */
+    public int recordReports(File moduleDirectory) throws IOException {
+
+        File reportsDirectory = new File(
+                new File(moduleDirectory, ModuleFingerprint.TARGET_DIRECTORY_NAME), SUREFIRE_REPORTS_DIRECTORY_NAME);
+
+        File[] reports = reportsDirectory.listFiles((d, n) -> n.startsWith("TEST-") && n.endsWith(".xml"));
+
+        if (reports == null) {
+
+            return 0;
+        }
+
+        int recorded = 0;
+
+        for(File f: reports) {
+
+            String content = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+
+            Matcher m = TESTSUITE.matcher(content);
+
+            if (!m.find()) {
+
+                log.debug("no testsuite element in " + f);
+                continue;
+            }
+
+            Matcher name = NAME.matcher(m.group());
+            Matcher time = TIME.matcher(m.group());
+
+            long millis;
+
+            if (!name.find() || !time.find() || (millis = parseReportTime(time.group(1))) < 0) {
+
+                log.debug("no test suite name or time in " + f);
+                continue;
+            }
+
+            record(name.group(1), millis);
+            recorded ++;
+        }
+
+        return recorded;
+    }
+
+    /**
+     * Writes the timings into a temporary file, which is then renamed over the timings file, so concurrent readers
+     * never see a partial file. The timings are machine-local, so the file is kept out of the release commit.
+     *
+     * @exception IOException on failure to write the file.
+     */
+    public void save() throws IOException {
+
+        File directory = file.getAbsoluteFile().getParentFile();
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+
+            throw new IOException("failed to create " + directory);
+        }
+
+        NortState.ignore(file);
+
+        StringBuilder sb = new StringBuilder();
+
+        for(Map.Entry<String, Long> e: timings.entrySet()) {
+
+            sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n');
+        }
+
+        File tmp = new File(directory, file.getName() + ".tmp");
+        Files.write(tmp.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+
+        return file + " (" + timings.size() + " test class(es))";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
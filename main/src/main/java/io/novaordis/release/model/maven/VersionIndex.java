@@ -0,0 +1,645 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.model.Artifact;
+import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
+import io.novaordis.release.version.VersionSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A sorted index of the versions present in a Maven-layout artifact repository (groupId path / artifactId / version).
+ *
+ * refresh() walks the repository directory tree, in parallel, and records, for each directory, its modification time,
+ * the versions it contains (child directories whose names are valid versions) and its other subdirectories. The
+ * versions are kept as sorted packed longs. Directories whose names start with a digit are considered version
+ * directories and are never descended into.
+ *
+ * If an index file is specified, the index is persisted there and reloaded by the next instance. A subsequent refresh
+ * only lists the directories whose modification time changed since the last walk - adding or removing a version
+ * directory changes the modification time of the artifact directory - so a refresh over an unchanged repository
+ * only stats directories, without listing or parsing anything.
+ *
+ * Queries are thread safe, and see the state produced by the last completed refresh. Versions that cannot be packed
+ * are not indexed.
+ *
+ * @see VersionSet
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionIndex {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(VersionIndex.class);
+
+    public static final String INDEX_FILE_NAME = "version-index";
+
+    static final String FORMAT_HEADER = "# nort version index 1";
+
+    //
+    // directories modified less than this interval before a refresh started may still change within the same
+    // timestamp granularity, so their modification time is not trusted and they will be listed again on next refresh
+    //
+    static final long MODIFICATION_TIME_GRANULARITY_MS = 2000L;
+
+    private static final long UNKNOWN_MODIFICATION_TIME = 0L;
+
+    private static final String ROOT_PATH = ".";
+
+    private static final long[] NO_VERSIONS = new long[0];
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the file the index of the given repository is kept in, under the user's nort state directory. The index
+     * describes the machine's repository, not a project, so it is kept per user and outside any work tree; each
+     * repository root gets its own file.
+     */
+    public static File getUserIndexFile(File userDirectory, File repositoryRoot) {
+
+        String root = repositoryRoot.getAbsolutePath();
+        return new File(userDirectory, INDEX_FILE_NAME + "-" + Integer.toHexString(root.hashCode()));
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final File repositoryRoot;
+    private final File indexFile;
+    private final int parallelism;
+
+    // relative directory path ('/'-separated, the root is ".") to directory state; replaced on each refresh
+    private volatile Map<String, DirectoryState> directories;
+
+    private boolean loaded;
+
+    private int directoriesListedDuringLastRefresh;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param indexFile the file the index is persisted in. May be null, in which case the index is not persisted.
+     */
+    public VersionIndex(File repositoryRoot, File indexFile) {
+
+        this(repositoryRoot, indexFile, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism the maximum number of threads used to walk the repository.
+     */
+    public VersionIndex(File repositoryRoot, File indexFile, int parallelism) {
+
+        if (repositoryRoot == null) {
+            throw new IllegalArgumentException("null repository root");
+        }
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("invalid parallelism " + parallelism);
+        }
+
+        this.repositoryRoot = repositoryRoot;
+        this.indexFile = indexFile;
+        this.parallelism = parallelism;
+        this.directories = Collections.emptyMap();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Brings the index up to date with the repository. On first invocation, the persisted state (if any) is loaded
+     * and used as the starting point. If anything changed, the new state is persisted.
+     *
+     * @exception IOException if the repository root is not a directory. Failures to read or write the index file are
+     * not fatal: they are logged and the index is rebuilt, or not persisted, respectively.
+     */
+    public synchronized void refresh() throws IOException {
+
+        if (!repositoryRoot.isDirectory()) {
+
+            throw new IOException(repositoryRoot + " is not a directory");
+        }
+
+        if (!loaded) {
+
+            loaded = true;
+            load();
+        }
+
+        Map<String, DirectoryState> previous = directories;
+        Map<String, List<String>> previousSubdirectories = subdirectories(previous);
+
+        long refreshStart = System.currentTimeMillis();
+
+        Map<String, DirectoryState> current = new ConcurrentHashMap<>();
+        AtomicInteger listed = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+
+            pool.invoke(new DirectoryWalk(
+                    ROOT_PATH, repositoryRoot, previous, previousSubdirectories, current, listed, refreshStart));
+        }
+        finally {
+
+            pool.shutdown();
+        }
+
+        this.directories = current;
+        this.directoriesListedDuringLastRefresh = listed.get();
+
+        log.debug(this + " refreshed, " + listed.get() + " of " + current.size() + " directories listed");
+
+        if (listed.get() > 0 || current.size() != previous.size()) {
+
+            save();
+        }
+    }
+
+    public File getRepositoryRoot() {
+
+        return repositoryRoot;
+    }
+
+    /**
+     * May return null.
+     */
+    public File getIndexFile() {
+
+        return indexFile;
+    }
+
+    /**
+     * @return the versions of the given artifact. Never null, but it may be empty.
+     */
+    public VersionSet getVersions(String groupId, String artifactId) {
+
+        return getVersions(groupId.replace('.', '/') + "/" + artifactId);
+    }
+
+    /**
+     * @return the versions present in the repository for the given artifact's groupId and artifactId. Never null,
+     * but it may be empty.
+     */
+    public VersionSet getVersions(Artifact a) {
+
+        //
+        // the repository file is <groupId path>/<artifactId>/<version>/<file>
+        //
+
+        File artifactDirectory = a.getRepositoryFile().getParentFile().getParentFile();
+
+        return getVersions(artifactDirectory.getPath().replace(File.separatorChar, '/'));
+    }
+
+    /**
+     * @return the greatest version of the artifact less than or equal to the given version, or null.
+     */
+    public Version floor(String groupId, String artifactId, Version v) {
+
+        return getVersions(groupId, artifactId).floor(v);
+    }
+
+    /**
+     * @return the least version of the artifact greater than or equal to the given version, or null.
+     */
+    public Version ceiling(String groupId, String artifactId, Version v) {
+
+        return getVersions(groupId, artifactId).ceiling(v);
+    }
+
+    /**
+     * @return the highest dot version of the artifact, or null.
+     */
+    public Version getLatestRelease(String groupId, String artifactId) {
+
+        return getVersions(groupId, artifactId).lastRelease();
+    }
+
+    /**
+     * @return the highest snapshot version of the artifact, or null.
+     */
+    public Version getLatestSnapshot(String groupId, String artifactId) {
+
+        return getVersions(groupId, artifactId).lastSnapshot();
+    }
+
+    /**
+     * @return the sorted relative paths ('/'-separated groupId path and artifactId) of the directories that contain
+     * at least one version.
+     */
+    public List<String> getArtifactPaths() {
+
+        List<String> result = new ArrayList<>();
+
+        for(Map.Entry<String, DirectoryState> e: directories.entrySet()) {
+
+            if (e.getValue().versions.length > 0) {
+
+                result.add(e.getKey());
+            }
+        }
+
+        Collections.sort(result);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+
+        return "VersionIndex[" + repositoryRoot + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @param artifactPath '/'-separated, relative to the repository root.
+     */
+    VersionSet getVersions(String artifactPath) {
+
+        DirectoryState s = directories.get(artifactPath);
+
+        return s == null ? new VersionSet() : VersionSet.fromPackedLongs(s.versions);
+    }
+
+    /**
+     * @return the number of directories that were listed (as opposed to only stat-ed) during the last refresh.
+     */
+    int getDirectoriesListedDuringLastRefresh() {
+
+        return directoriesListedDuringLastRefresh;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static Map<String, List<String>> subdirectories(Map<String, DirectoryState> directories) {
+
+        Map<String, List<String>> result = new HashMap<>();
+
+        for(String path: directories.keySet()) {
+
+            if (ROOT_PATH.equals(path)) {
+
+                continue;
+            }
+
+            int i = path.lastIndexOf('/');
+            String parent = i == -1 ? ROOT_PATH : path.substring(0, i);
+
+            List<String> children = result.get(parent);
+
+            if (children == null) {
+
+                children = new ArrayList<>();
+                result.put(parent, children);
+            }
+
+            children.add(path.substring(i + 1));
+        }
+
+        return result;
+    }
+
+    /**
+     * Format: a header line, a "root" line and one line per directory: modification time, comma-separated hex packed
+     * versions (or "-") and the relative path, tab-separated.
+     */
+    private void load() {
+
+        if (indexFile == null || !indexFile.isFile()) {
+
+            return;
+        }
+
+        Map<String, DirectoryState> state = new HashMap<>();
+
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8))) {
+
+            if (!FORMAT_HEADER.equals(r.readLine())) {
+
+                log.debug(indexFile + " has an unknown format, ignoring it");
+                return;
+            }
+
+            if (!("root\t" + repositoryRoot.getAbsolutePath()).equals(r.readLine())) {
+
+                log.debug(indexFile + " indexes a different repository, ignoring it");
+                return;
+            }
+
+            String line;
+
+            while((line = r.readLine()) != null) {
+
+                String[] fields = line.split("\t", 3);
+
+                if (fields.length != 3) {
+
+                    throw new IOException("invalid line \"" + line + "\"");
+                }
+
+                long[] versions = NO_VERSIONS;
+
+                if (!"-".equals(fields[1])) {
+
+                    String[] packed = fields[1].split(",");
+                    versions = new long[packed.length];
+
+                    for(int i = 0; i < packed.length; i ++) {
+
+                        versions[i] = Long.parseLong(packed[i], 16);
+                    }
+                }
+
+                state.put(fields[2], new DirectoryState(Long.parseLong(fields[0]), versions));
+            }
+        }
+        catch(Exception e) {
+
+            log.warn("failed to read the version index " + indexFile + ", the index will be rebuilt", e);
+            return;
+        }
+
+        this.directories = state;
+    }
+
+    private void save() {
+
+        if (indexFile == null) {
+
+            return;
+        }
+
+        List<String> paths = new ArrayList<>(directories.keySet());
+        Collections.sort(paths);
+
+        File tmp = new File(indexFile.getPath() + ".tmp");
+
+        try {
+
+            File parent = indexFile.getAbsoluteFile().getParentFile();
+
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+
+                throw new IOException("failed to create " + parent);
+            }
+
+            try (BufferedWriter w = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+
+                w.write(FORMAT_HEADER);
+                w.newLine();
+                w.write("root\t" + repositoryRoot.getAbsolutePath());
+                w.newLine();
+
+                for(String path: paths) {
+
+                    DirectoryState s = directories.get(path);
+
+                    w.write(Long.toString(s.lastModified));
+                    w.write('\t');
+
+                    if (s.versions.length == 0) {
+
+                        w.write('-');
+                    }
+                    else {
+
+                        for(int i = 0; i < s.versions.length; i ++) {
+
+                            if (i > 0) {
+
+                                w.write(',');
+                            }
+
+                            w.write(Long.toHexString(s.versions[i]));
+                        }
+                    }
+
+                    w.write('\t');
+                    w.write(path);
+                    w.newLine();
+                }
+            }
+
+            //
+            // readers never see a partially written index
+            //
+
+            Files.move(
+                    tmp.toPath(), indexFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(Exception e) {
+
+            log.warn("failed to save the version index " + indexFile, e);
+
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    private static class DirectoryState {
+
+        // UNKNOWN_MODIFICATION_TIME if not trusted
+        final long lastModified;
+
+        // sorted packed versions
+        final long[] versions;
+
+        DirectoryState(long lastModified, long[] versions) {
+
+            this.lastModified = lastModified;
+            this.versions = versions;
+        }
+    }
+
+    private static class DirectoryWalk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+        private final File directory;
+        private final Map<String, DirectoryState> previous;
+        private final Map<String, List<String>> previousSubdirectories;
+        private final Map<String, DirectoryState> current;
+        private final AtomicInteger listed;
+        private final long refreshStart;
+
+        DirectoryWalk(String path, File directory,
+                      Map<String, DirectoryState> previous, Map<String, List<String>> previousSubdirectories,
+                      Map<String, DirectoryState> current, AtomicInteger listed, long refreshStart) {
+
+            this.path = path;
+            this.directory = directory;
+            this.previous = previous;
+            this.previousSubdirectories = previousSubdirectories;
+            this.current = current;
+            this.listed = listed;
+            this.refreshStart = refreshStart;
+        }
+
+        @Override
+        protected void compute() {
+
+            long lastModified = directory.lastModified();
+
+            if (lastModified >= refreshStart - MODIFICATION_TIME_GRANULARITY_MS) {
+
+                lastModified = UNKNOWN_MODIFICATION_TIME;
+            }
+
+            DirectoryState known = previous.get(path);
+
+            long[] versions;
+            List<String> subdirectories;
+
+            if (known != null &&
+                    known.lastModified != UNKNOWN_MODIFICATION_TIME && known.lastModified == lastModified) {
+
+                //
+                // unchanged since the last walk
+                //
+
+                versions = known.versions;
+                subdirectories = previousSubdirectories.get(path);
+            }
+            else {
+
+                listed.incrementAndGet();
+
+                versions = NO_VERSIONS;
+                subdirectories = new ArrayList<>();
+
+                String[] names = directory.list();
+
+                if (names != null) {
+
+                    long[] found = new long[names.length];
+                    int count = 0;
+
+                    for(String name: names) {
+
+                        if (name.isEmpty()) {
+
+                            continue;
+                        }
+
+                        if (Character.isDigit(name.charAt(0))) {
+
+                            long p = toPackedVersion(name);
+
+                            if (p >= 0 && new File(directory, name).isDirectory()) {
+
+                                found[count ++] = p;
+                            }
+                        }
+                        else if (new File(directory, name).isDirectory()) {
+
+                            subdirectories.add(name);
+                        }
+                    }
+
+                    //
+                    // distinct directory names always pack into distinct values, except for equivalent versions
+                    // such as 1.0 and 1.0.0, which are collapsed by VersionSet
+                    //
+
+                    versions = VersionSet.fromPackedLongs(Arrays.copyOf(found, count)).toPackedLongs();
+                }
+            }
+
+            current.put(path, new DirectoryState(lastModified, versions));
+
+            if (subdirectories == null || subdirectories.isEmpty()) {
+
+                return;
+            }
+
+            List<DirectoryWalk> walks = new ArrayList<>(subdirectories.size());
+
+            for(String name: subdirectories) {
+
+                File d = new File(directory, name);
+
+                if (d.isDirectory()) {
+
+                    String p = ROOT_PATH.equals(path) ? name : path + "/" + name;
+                    walks.add(new DirectoryWalk(p, d, previous, previousSubdirectories, current, listed, refreshStart));
+                }
+            }
+
+            invokeAll(walks);
+        }
+
+        /**
+         * @return the packed version, or -1 if the name is not a packable version.
+         */
+        private static long toPackedVersion(String name) {
+
+            try {
+
+                Version v = new Version(name);
+
+                if (v.isPackable()) {
+
+                    return v.toPackedLong();
+                }
+
+                log.debug("version " + name + " cannot be indexed, it is not packable");
+            }
+            catch(VersionFormatException e) {
+
+                log.debug("ignoring " + name + ": " + e.getMessage());
+            }
+
+            return -1L;
+        }
+    }
+
+}
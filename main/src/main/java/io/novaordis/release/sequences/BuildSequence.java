@@ -20,6 +20,10 @@ import io.novaordis.clad.application.ApplicationRuntime;
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.BuildCache;
+import io.novaordis.release.model.maven.MavenBuildOutput;
+import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenModule;
 import io.novaordis.release.version.Version;
 import io.novaordis.utilities.UserErrorException;
 import io.novaordis.utilities.os.NativeExecutionResult;
@@ -27,6 +31,9 @@ import io.novaordis.utilities.os.OS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
  * @since 11/17/16
@@ -85,6 +92,13 @@ public class BuildSequence implements Sequence {
             executeTests = false;
         }
 
+        //
+        // in fused mode, the qualification sequence left the tests to us, and we tell their failure from a build
+        // failure by looking at the output
+        //
+
+        boolean fused = executeTests && isFused(c);
+
         String osBuildCommand;
 
         if (executeTests) {
@@ -106,19 +120,120 @@ public class BuildSequence implements Sequence {
 
         log.debug("building artifacts for release " + currentVersion + " ...");
 
-        log.debug("building with \"" + osBuildCommand + "\" ...");
+        List<MavenModule> modules = context.getReleasedModules();
+
+        //
+        // do not rebuild what was already built from the same inputs, here or, if cached, elsewhere
+        //
+
+        IncrementalBuild incrementalBuild =
+                IncrementalBuild.compute(m, modules, osBuildCommand, BuildCache.getInstance(c));
+
+        if (incrementalBuild != null) {
+
+            if (incrementalBuild.getRestoredCount() > 0) {
+
+                r.info(incrementalBuild.getRestoredCount() + " module(s) restored from the build cache");
+            }
+
+            if (incrementalBuild.isUpToDate()) {
+
+                r.info(currentVersion + " build up to date");
+                return executeChangedState;
+            }
+
+            List<MavenModule> staleModules = incrementalBuild.getStaleModules();
+
+            if (staleModules != null) {
+
+                log.debug("only building the stale modules " + staleModules);
+                modules = staleModules;
+            }
+        }
+
+        ModuleLevelExecutor levelExecutor = ModuleLevelExecutor.getInstance(m, c);
+
+        if (levelExecutor != null) {
+
+            log.debug("building module by module with \"" + osBuildCommand + "\", " +
+                    levelExecutor.getParallelism() + " modules at a time ...");
+
+            List<MavenModule> failed = levelExecutor.execute(modules, osBuildCommand, r, c);
+
+            if (fused) {
+
+                context.setTestsExecuted(true);
+            }
+
+            if (!failed.isEmpty()) {
+
+                if (fused && !failedAfterTests(failed, levelExecutor)) {
+
+                    throw new UserErrorException("tests failed for " + failed);
+                }
+
+                throw new UserErrorException("build failed for " + failed);
+            }
+        }
+        else {
+
+            if (modules != null) {
+
+                //
+                // only the changed or stale modules are built, together with the modules they depend on
+                //
+
+                List<String> moduleNames = new ArrayList<>();
+
+                for(MavenModule mm: modules) {
+
+                    moduleNames.add(mm.getName());
+                }
+
+                osBuildCommand = MavenCommandLine.restrictToModules(osBuildCommand, moduleNames);
+            }
+
+            osBuildCommand = MavenCommandLine.configureExecution(
+                    osBuildCommand, c, MavenCommandLine.getReactorWidth(m, modules));
+
+            log.debug("building with \"" + osBuildCommand + "\" ...");
 
-        NativeExecutionResult executionResult = OS.getInstance().execute(osBuildCommand);
+            NativeExecutionResult executionResult = OS.getInstance().execute(osBuildCommand);
 
-        if (!executionResult.isSuccess()) {
+            if (fused) {
 
-            throw new UserErrorException("build failed");
+                //
+                // tests do not need to pass in order to set this flag
+                //
+
+                context.setTestsExecuted(true);
+            }
+
+            if (!executionResult.isSuccess()) {
+
+                if (fused && !MavenBuildOutput.parse(executionResult.getStdout()).failedAfterTests()) {
+
+                    throw new UserErrorException("tests failed");
+                }
+
+                throw new UserErrorException("build failed");
+            }
+
+            if (c.isVerbose()) {
+                r.info(executionResult.getStdout());
+            }
         }
 
         executeChangedState = true;
 
-        if (c.isVerbose()) {
-            r.info(executionResult.getStdout());
+        if (incrementalBuild != null) {
+
+            incrementalBuild.recordBuild();
+        }
+
+        if (fused) {
+
+            r.info(currentVersion + " tests ok");
         }
 
         r.info(currentVersion + " build ok");
@@ -154,10 +269,41 @@ public class BuildSequence implements Sequence {
 
     // Package protected -----------------------------------------------------------------------------------------------
 
+    /**
+     * @return true if the project is configured to execute the tests and build the artifacts with a single
+     * invocation of the build command.
+     *
+     * @see ConfigurationLabels#FUSED_BUILD
+     */
+    static boolean isFused(Configuration c) {
+
+        String s = c.get(ConfigurationLabels.FUSED_BUILD);
+
+        return s != null && Boolean.parseBoolean(s.trim());
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return true if all the failed modules failed after their tests passed.
+     */
+    private static boolean failedAfterTests(List<MavenModule> failed, ModuleLevelExecutor levelExecutor) {
+
+        for(MavenModule m: failed) {
+
+            NativeExecutionResult er = levelExecutor.getFailure(m);
+
+            if (er == null || !MavenBuildOutput.parse(er.getStdout()).failedAfterTests()) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.MavenProjectBuilder;
+import io.novaordis.release.model.maven.ModuleFingerprint;
+import io.novaordis.release.model.maven.NortState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The fingerprint of the last tree that passed the qualification tests: the content of the root POM and of all
+ * modules, as hashed by ModuleFingerprint, and the test command. It is recorded in the project's .nort directory after
+ * a successful test run. If the current tree has the same fingerprint, the tests passed on identical sources, so the
+ * qualification sequence does not execute them again.
+ *
+ * The case this serves is a snapshot release that is run again after it failed past the qualification sequence - a
+ * failed build, publish or push: a snapshot release does not change the tree before the completion sequence, which
+ * increments the version, so the second run qualifies the same tree. A dot or custom release writes the new version
+ * into the POMs before the tests and the qualification undo does not restore it, so a second run starts from a
+ * different tree and the tests are executed.
+ *
+ * Deleting the record forces the tests to be executed.
+ *
+ * @see ModuleFingerprint
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class CachedQualification {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(CachedQualification.class);
+
+    /**
+     * The record file name, relative to the .nort directory.
+     */
+    static final String FILE_NAME = "qualified";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param command the command the tests are executed with, as it will be executed. It is part of the fingerprint.
+     *
+     * @return null if the project is not a Maven project backed by files, so its tree cannot be fingerprinted.
+     *
+     * @exception Exception on failure to read the project files.
+     */
+    static CachedQualification compute(Project p, String command) throws Exception {
+
+        if (!(p instanceof MavenProject)) {
+
+            return null;
+        }
+
+        MavenProject mp = (MavenProject)p;
+
+        if (mp.getPOM() == null || mp.getPOM().getFile() == null) {
+
+            return null;
+        }
+
+        ModuleFingerprint f = ModuleFingerprint.computeTree(mp, command);
+
+        File nortDirectory = new File(mp.getBaseDirectory().getAbsoluteFile(), MavenProjectBuilder.NORT_DIRECTORY_NAME);
+
+        return new CachedQualification(new File(nortDirectory, FILE_NAME), f.getValue());
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File file;
+    private String fingerprint;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    CachedQualification(File file, String fingerprint) {
+
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    File getFile() {
+
+        return file;
+    }
+
+    String getFingerprint() {
+
+        return fingerprint;
+    }
+
+    /**
+     * @return true if the tree passed the qualification tests before. An unreadable record means no.
+     */
+    boolean isQualified() {
+
+        if (!file.isFile()) {
+
+            return false;
+        }
+
+        try {
+
+            String recorded = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+            return fingerprint.equals(recorded);
+        }
+        catch(IOException e) {
+
+            log.warn("failed to read " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Records the tree as qualified. Failures are not fatal, they only cost a test run next time.
+     */
+    void record() {
+
+        try {
+
+            File directory = file.getAbsoluteFile().getParentFile();
+
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+
+                throw new IOException("failed to create " + directory);
+            }
+
+            Files.write(file.toPath(), (fingerprint + "\n").getBytes(StandardCharsets.UTF_8));
+
+            NortState.ignore(file);
+
+            log.debug("recorded qualified fingerprint " + fingerprint + " in " + file);
+        }
+        catch(IOException e) {
+
+            log.warn("failed to record the qualified fingerprint: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return fingerprint;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
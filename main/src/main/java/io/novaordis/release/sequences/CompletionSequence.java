@@ -18,11 +18,14 @@ package io.novaordis.release.sequences;
 
 import io.novaordis.release.ReleaseMode;
 import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenModule;
 import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
@@ -89,17 +92,20 @@ public class CompletionSequence implements Sequence {
     void insureCurrentVersionConsistentWithReleaseMode(SequenceExecutionContext context) throws IllegalStateException {
 
         ReleaseMode releaseMode = context.getReleaseMode();
-        Version currentVersion = context.getCurrentVersion();
 
-        if ((releaseMode.isSnapshot() && currentVersion.isDot()) ||
-                (releaseMode.isDot() && currentVersion.isSnapshot())) {
+        List<MavenModule> modules = context.getReleasedModules();
 
-            throw new IllegalStateException(
-                    "current version cannot be a " + (currentVersion.isSnapshot() ? "snapshot" : "dot") +
-                            " version (" + currentVersion + ") for a " +
-                            (releaseMode.isSnapshot() ? "snapshot" : "dot") +
-                            " release");
+        if (modules != null) {
+
+            for(MavenModule m: modules) {
+
+                insureVersionConsistentWithReleaseMode(releaseMode, getVersion(m));
+            }
+
+            return;
         }
+
+        insureVersionConsistentWithReleaseMode(releaseMode, context.getCurrentVersion());
     }
 
     /**
@@ -118,6 +124,14 @@ public class CompletionSequence implements Sequence {
         Version currentVersion = context.getCurrentVersion();
         Project p = context.getProject();
 
+        List<MavenModule> modules = context.getReleasedModules();
+
+        if (modules != null) {
+
+            incrementModuleVersions(p, modules);
+            return;
+        }
+
         //
         // we always increment to the next snapshot
         //
@@ -139,6 +153,54 @@ public class CompletionSequence implements Sequence {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    private static void insureVersionConsistentWithReleaseMode(ReleaseMode releaseMode, Version currentVersion)
+            throws IllegalStateException {
+
+        if ((releaseMode.isSnapshot() && currentVersion.isDot()) ||
+                (releaseMode.isDot() && currentVersion.isSnapshot())) {
+
+            throw new IllegalStateException(
+                    "current version cannot be a " + (currentVersion.isSnapshot() ? "snapshot" : "dot") +
+                            " version (" + currentVersion + ") for a " +
+                            (releaseMode.isSnapshot() ? "snapshot" : "dot") +
+                            " release");
+        }
+    }
+
+    /**
+     * Increments the released modules to their next snapshot version. The project version is not changed.
+     */
+    private void incrementModuleVersions(Project p, List<MavenModule> modules) throws IOException {
+
+        boolean changed = false;
+
+        for(MavenModule m: modules) {
+
+            Version nextVersion = Version.nextVersion(getVersion(m), ReleaseMode.snapshot);
+
+            log.debug("incrementing module " + m + " to the next snapshot version " + nextVersion);
+
+            changed = m.setVersion(nextVersion) || changed;
+        }
+
+        if (changed) {
+
+            executeChangedState = p.save() || executeChangedState;
+        }
+    }
+
+    private static Version getVersion(MavenModule m) {
+
+        try {
+
+            return m.getVersion();
+        }
+        catch(VersionFormatException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.BuildCache;
+import io.novaordis.release.model.maven.MavenArtifact;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.ModuleFingerprint;
+import io.novaordis.release.model.maven.ModuleGraph;
+import io.novaordis.release.model.maven.POM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which modules of a Maven project need to be built, by comparing their current fingerprints with the
+ * fingerprints of their last successful build. A module is stale if its fingerprint changed, if it was never built or
+ * its artifact is missing, or if it depends on a stale module. A single-module project is treated as one module.
+ *
+ * If a build cache is configured, the outputs of the stale modules that were built from the same inputs before, by
+ * any project or checkout, are restored from the cache, and those modules are no longer stale. A module's cache key
+ * covers the fingerprints of the modules it depends on, as their content is part of the module build.
+ *
+ * Running a snapshot release again after a late failure (a failed push, for example) rebuilds nothing, as a snapshot
+ * release does not change the tree before the completion sequence. A dot or custom release writes the new version
+ * into the POMs, which the undo does not restore, so its modules are stale on the second run.
+ *
+ * @see ModuleFingerprint
+ * @see BuildCache
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class IncrementalBuild {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalBuild.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param modules the modules that are about to be built. Null for all modules.
+     *
+     * @param command the build command. It is part of the fingerprint.
+     *
+     * @param cache the build cache. May be null.
+     *
+     * @return null if the project is not a Maven project backed by files, so its build state cannot be established.
+     *
+     * @exception Exception on failure to read the project files.
+     */
+    static IncrementalBuild compute(Project p, List<MavenModule> modules, String command, BuildCache cache)
+            throws Exception {
+
+        if (!(p instanceof MavenProject)) {
+
+            return null;
+        }
+
+        MavenProject mp = (MavenProject)p;
+
+        if (mp.getPOM() == null || mp.getPOM().getFile() == null) {
+
+            return null;
+        }
+
+        List<MavenModule> candidates = modules != null ? modules : mp.getModules();
+
+        IncrementalBuild b;
+
+        if (candidates.isEmpty()) {
+
+            //
+            // single-module project
+            //
+
+            POM root = mp.getPOM();
+            ModuleFingerprint f = ModuleFingerprint.compute(root, command);
+            boolean upToDate = isUpToDate(root, f);
+
+            log.debug(mp + " fingerprint " + f + (upToDate ? " matches" : " does not match") + " the last build");
+
+            b = new IncrementalBuild(mp, null, cache, command);
+            b.fingerprints.put(null, f);
+
+            if (!upToDate) {
+
+                b.stale.add(null);
+            }
+        }
+        else {
+
+            b = new IncrementalBuild(mp, candidates, cache, command);
+
+            for(MavenModule m: candidates) {
+
+                ModuleFingerprint f = ModuleFingerprint.compute(m.getPOM(), command);
+                b.fingerprints.put(m, f);
+
+                if (!isUpToDate(m.getPOM(), f)) {
+
+                    log.debug(m + " is stale");
+                    b.stale.add(m);
+                }
+            }
+
+            //
+            // the modules that depend on stale modules are stale as well
+            //
+
+            ModuleGraph g = mp.getModuleGraph();
+            List<MavenModule> toVisit = new ArrayList<>(b.stale);
+
+            while(!toVisit.isEmpty()) {
+
+                for(MavenModule d: g.getDependents(toVisit.remove(toVisit.size() - 1))) {
+
+                    if (b.fingerprints.containsKey(d) && b.stale.add(d)) {
+
+                        log.debug(d + " is stale because it depends on a stale module");
+                        toVisit.add(d);
+                    }
+                }
+            }
+        }
+
+        b.restoreFromCache();
+
+        return b;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private MavenProject project;
+
+    // null for single-module projects
+    private List<MavenModule> candidates;
+
+    private BuildCache cache;
+    private String command;
+
+    // the candidates' fingerprints; a single-module project's fingerprint is mapped to null
+    private Map<MavenModule, ModuleFingerprint> fingerprints;
+
+    // the cache keys computed so far, for the candidates and the modules they depend on
+    private Map<MavenModule, ModuleFingerprint> cacheKeys;
+
+    private Set<MavenModule> stale;
+    private Set<MavenModule> restored;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private IncrementalBuild(MavenProject project, List<MavenModule> candidates, BuildCache cache, String command) {
+
+        this.project = project;
+        this.candidates = candidates;
+        this.cache = cache;
+        this.command = command;
+        this.fingerprints = new LinkedHashMap<>();
+        this.cacheKeys = new HashMap<>();
+        this.stale = new LinkedHashSet<>();
+        this.restored = new LinkedHashSet<>();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return true if nothing needs to be built.
+     */
+    boolean isUpToDate() {
+
+        return stale.isEmpty();
+    }
+
+    /**
+     * @return the modules that need to be built, in declaration order, or null if all candidate modules need to be
+     * built, or the project is a single-module project.
+     */
+    List<MavenModule> getStaleModules() {
+
+        if (candidates == null || stale.size() == candidates.size()) {
+
+            return null;
+        }
+
+        List<MavenModule> result = new ArrayList<>();
+
+        for(MavenModule m: candidates) {
+
+            if (stale.contains(m)) {
+
+                result.add(m);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of modules (1 for a single-module project) whose outputs were restored from the build cache.
+     */
+    int getRestoredCount() {
+
+        return restored.size();
+    }
+
+    /**
+     * Records a successful build: stores the fingerprints and the build outputs of the modules that were built. The
+     * fingerprints of the modules that were not stale are recorded as well: Maven may have rebuilt them, as
+     * dependencies of the stale modules, and "clean" discarded their fingerprint files.
+     *
+     * @exception Exception on failure to write the fingerprint files. Failures to write the build cache are not fatal.
+     */
+    void recordBuild() throws Exception {
+
+        for(Map.Entry<MavenModule, ModuleFingerprint> e: fingerprints.entrySet()) {
+
+            ModuleFingerprint f = e.getValue();
+
+            f.store();
+
+            if (cache != null && !restored.contains(e.getKey())) {
+
+                cache.store(
+                        getCacheKey(e.getKey()).getValue(),
+                        new File(f.getModuleDirectory(), ModuleFingerprint.TARGET_DIRECTORY_NAME),
+                        ModuleFingerprint.FILE_NAME);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return project + (isUpToDate() ? " up to date" : " stale " + (candidates == null ? "" : stale));
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private void restoreFromCache() throws Exception {
+
+        if (cache == null) {
+
+            return;
+        }
+
+        for(MavenModule m: new ArrayList<>(stale)) {
+
+            ModuleFingerprint f = fingerprints.get(m);
+            File target = new File(f.getModuleDirectory(), ModuleFingerprint.TARGET_DIRECTORY_NAME);
+
+            if (cache.restore(getCacheKey(m).getValue(), target)) {
+
+                log.debug((m == null ? project : m) + " restored from " + cache);
+
+                f.store();
+                stale.remove(m);
+                restored.add(m);
+            }
+        }
+    }
+
+    /**
+     * @param m null for a single-module project.
+     */
+    private ModuleFingerprint getCacheKey(MavenModule m) throws Exception {
+
+        ModuleFingerprint key = cacheKeys.get(m);
+
+        if (key != null) {
+
+            return key;
+        }
+
+        ModuleFingerprint f = fingerprints.get(m);
+
+        if (f == null) {
+
+            //
+            // a module the candidates depend on
+            //
+
+            f = ModuleFingerprint.compute(m.getPOM(), command);
+        }
+
+        if (m == null) {
+
+            key = f;
+        }
+        else {
+
+            List<ModuleFingerprint> dependencyKeys = new ArrayList<>();
+
+            for(MavenModule d: project.getModuleGraph().getDependencies(m)) {
+
+                dependencyKeys.add(getCacheKey(d));
+            }
+
+            key = f.withDependencies(dependencyKeys);
+        }
+
+        cacheKeys.put(m, key);
+
+        return key;
+    }
+
+    private static boolean isUpToDate(POM pom, ModuleFingerprint f) throws IOException {
+
+        if (!f.matchesStored()) {
+
+            return false;
+        }
+
+        MavenArtifact a = pom.getArtifact();
+
+        if (a == null) {
+
+            //
+            // nothing to look for, the fingerprint is all we have
+            //
+
+            return true;
+        }
+
+        File artifact = new File(
+                new File(f.getModuleDirectory(), ModuleFingerprint.TARGET_DIRECTORY_NAME), a.getLocalFile().getName());
+
+        return artifact.isFile();
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.clad.application.ApplicationRuntime;
+import io.novaordis.clad.configuration.Configuration;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.ModuleGraph;
+import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.os.NativeExecutionResult;
+import io.novaordis.utilities.os.OS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes a Maven command for each module of a project, instead of once for the whole reactor, level by level in
+ * the module dependency graph: the modules of a level run in parallel, on a bounded pool, and a level starts only
+ * after the previous level completed successfully.
+ *
+ * Each per-module invocation only builds its module, and resolves the artifacts of the modules it depends on from the
+ * local repository, so the modules other modules depend on are built up to "install", and so is the root POM
+ * ("-pl ."), before the first level.
+ *
+ * The mode is enabled by configuring a module parallelism larger than 1.
+ *
+ * @see ModuleGraph
+ * @see ConfigurationLabels#MODULE_PARALLELISM
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class ModuleLevelExecutor {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleLevelExecutor.class);
+
+    /**
+     * The module parallelism value that uses all available processors.
+     */
+    static final String AUTO_PARALLELISM = "auto";
+
+    static final String ROOT_PROJECT_SELECTOR = ".";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the configured module parallelism, or 1 if not configured.
+     *
+     * @exception UserErrorException if the configured value is not a positive integer or "auto".
+     */
+    static int getParallelism(Configuration c) throws UserErrorException {
+
+        String s = c.get(ConfigurationLabels.MODULE_PARALLELISM);
+
+        if (s == null) {
+
+            return 1;
+        }
+
+        s = s.trim();
+
+        if (AUTO_PARALLELISM.equals(s)) {
+
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        try {
+
+            int i = Integer.parseInt(s);
+
+            if (i > 0) {
+
+                return i;
+            }
+        }
+        catch(NumberFormatException e) {
+
+            // fall through
+        }
+
+        throw new UserErrorException(
+                "invalid " + ConfigurationLabels.MODULE_PARALLELISM + " \"" + s + "\", use a positive integer or \"" +
+                        AUTO_PARALLELISM + "\"");
+    }
+
+    /**
+     * @return an executor if the project is a multi-module Maven project and the configured module parallelism is
+     * larger than 1, or null if the project should be built with a single reactor invocation.
+     *
+     * @exception UserErrorException on invalid configuration.
+     */
+    static ModuleLevelExecutor getInstance(Project p, Configuration c) throws UserErrorException {
+
+        int parallelism = getParallelism(c);
+
+        if (parallelism <= 1 || !(p instanceof MavenProject) || ((MavenProject)p).getModules().isEmpty()) {
+
+            return null;
+        }
+
+        return new ModuleLevelExecutor((MavenProject)p, parallelism);
+    }
+
+    /**
+     * Executes the tasks concurrently, on a pool no larger than the parallelism. The first task failure is rethrown.
+     *
+     * @return the results, in the order of the tasks.
+     */
+    static <T> List<T> executeConcurrently(List<Callable<T>> tasks, int parallelism) throws Exception {
+
+        List<T> results = new ArrayList<>(tasks.size());
+
+        int threads = Math.min(tasks.size(), parallelism);
+
+        if (threads <= 1) {
+
+            for(Callable<T> task: tasks) {
+
+                results.add(task.call());
+            }
+
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+
+            for(Callable<T> task: tasks) {
+
+                futures.add(executor.submit(task));
+            }
+
+            for(Future<T> f: futures) {
+
+                try {
+
+                    results.add(f.get());
+                }
+                catch(ExecutionException e) {
+
+                    Throwable cause = e.getCause();
+
+                    if (cause instanceof Error) {
+
+                        throw (Error)cause;
+                    }
+
+                    throw (Exception)cause;
+                }
+            }
+        }
+        finally {
+
+            executor.shutdownNow();
+        }
+
+        return results;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private MavenProject project;
+    private int parallelism;
+
+    // the results of the failed executions of the last execute() invocation
+    private Map<MavenModule, NativeExecutionResult> failures;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    ModuleLevelExecutor(MavenProject project, int parallelism) {
+
+        if (project == null) {
+            throw new IllegalArgumentException("null project");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("invalid parallelism " + parallelism);
+        }
+
+        this.project = project;
+        this.parallelism = parallelism;
+        this.failures = new HashMap<>();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @param modules the modules to execute the command for, together with the modules they depend on. Null for all
+     *                modules.
+     *
+     * @param command the command, as configured for the whole reactor.
+     *
+     * @return the modules the command failed for. Empty if the command succeeded for all modules. The modules on the
+     * levels after the one that failed are not executed, and not reported.
+     *
+     * @exception UserErrorException on invalid module metadata.
+     * @exception Exception on native execution failures.
+     */
+    List<MavenModule> execute(List<MavenModule> modules, String command, ApplicationRuntime r, Configuration c)
+            throws Exception {
+
+        if (MavenCommandLine.parse(command) == null) {
+
+            throw new UserErrorException(
+                    "\"" + command + "\" cannot be executed module by module, it is not a Maven command");
+        }
+
+        failures.clear();
+
+        ModuleGraph g = project.getModuleGraph();
+
+        List<List<MavenModule>> levels = modules == null ? g.getLevels() : g.getLevels(modules);
+
+        log.debug("executing \"" + command + "\" on " + levels.size() + " level(s), " + parallelism + " at a time");
+
+        if (levels.size() > 1) {
+
+            //
+            // the modules that depend on other modules resolve them, and their parent, from the local repository
+            //
+
+            String rootCommand = MavenCommandLine.configureExecution(
+                    MavenCommandLine.restrictToModule(command, ROOT_PROJECT_SELECTOR, true), c, 1);
+
+            NativeExecutionResult er = OS.getInstance().execute(rootCommand);
+
+            if (c.isVerbose()) {
+
+                r.info(er.getStdout());
+            }
+
+            if (!er.isSuccess()) {
+
+                throw new UserErrorException("failed to install the root POM with \"" + rootCommand + "\"");
+            }
+        }
+
+        for(int i = 0; i < levels.size(); i ++) {
+
+            List<MavenModule> level = levels.get(i);
+            List<String> commands = new ArrayList<>();
+
+            for(MavenModule m: level) {
+
+                //
+                // a single-module reactor gains nothing from more threads
+                //
+
+                String mc = MavenCommandLine.restrictToModule(command, m.getName(), !g.getDependents(m).isEmpty());
+                commands.add(MavenCommandLine.configureExecution(mc, c, 1));
+            }
+
+            List<NativeExecutionResult> results = execute(commands);
+
+            List<MavenModule> failed = new ArrayList<>();
+
+            for(int j = 0; j < level.size(); j ++) {
+
+                NativeExecutionResult er = results.get(j);
+
+                if (c.isVerbose()) {
+
+                    r.info(er.getStdout());
+                }
+
+                if (!er.isSuccess()) {
+
+                    failed.add(level.get(j));
+                    failures.put(level.get(j), er);
+                }
+            }
+
+            if (!failed.isEmpty()) {
+
+                log.debug("level " + i + " failed: " + failed);
+                return failed;
+            }
+        }
+
+        return new ArrayList<>();
+    }
+
+    int getParallelism() {
+
+        return parallelism;
+    }
+
+    /**
+     * @return the result of the failed execution of the command for the module, by the last execute() invocation, or
+     * null if the command did not fail for the module.
+     */
+    NativeExecutionResult getFailure(MavenModule m) {
+
+        return failures.get(m);
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Executes the commands concurrently, on a pool no larger than the parallelism.
+     *
+     * @return the results, in the order of the commands.
+     */
+    private List<NativeExecutionResult> execute(List<String> commands) throws Exception {
+
+        List<Callable<NativeExecutionResult>> tasks = new ArrayList<>(commands.size());
+
+        for(String command: commands) {
+
+            tasks.add(() -> OS.getInstance().execute(command));
+        }
+
+        return executeConcurrently(tasks, parallelism);
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -22,17 +22,25 @@ import org.slf4j.LoggerFactory;
 import io.novaordis.clad.application.ApplicationRuntime;
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.release.OutputUtil;
+import io.novaordis.release.VariableTemplate;
 import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.clad.ReleaseApplicationRuntime;
 import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.version.ReleaseTagFormat;
 import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
 import io.novaordis.utilities.UserErrorException;
 import io.novaordis.utilities.expressions.Scope;
 import io.novaordis.utilities.expressions.UndeclaredVariableException;
-import io.novaordis.utilities.expressions.VariableReferenceResolver;
 import io.novaordis.utilities.os.NativeExecutionResult;
 import io.novaordis.utilities.os.OS;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
  * @since 11/17/16
@@ -43,8 +51,24 @@ public class PublishSequence implements Sequence {
 
     private static final Logger log = LoggerFactory.getLogger(PublishSequence.class);
 
+    public static final String CURRENT_VERSION_REFERENCE = "${" + ConfigurationLabels.CURRENT_VERSION + "}";
+
+    public static final String DEFAULT_RELEASE_TAG = "release-" + CURRENT_VERSION_REFERENCE;
+
+    //
+    // context state markers for the completed steps, checkpointed with the context; a resumed sequence skips the steps
+    // that completed, so a release that failed on push does not deploy and tag again
+    //
+    static final String ARTIFACTS_PUBLISHED_KEY = "PUBLISH_ARTIFACTS_PUBLISHED";
+    static final String CODE_CHANGES_COMMITTED_KEY = "PUBLISH_CODE_CHANGES_COMMITTED";
+
     // Static ----------------------------------------------------------------------------------------------------------
 
+    //
+    // the configured commands and tag templates, compiled once; there are only a handful of them
+    //
+    private static final Map<String, VariableTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     /**
      * Decide whether to push the release artifacts to a remote repository or not, depending on the release type.
      *
@@ -65,34 +89,76 @@ public class PublishSequence implements Sequence {
     @SuppressWarnings("WeakerAccess")
     static boolean publishArtifacts(ApplicationRuntime r, Configuration c, boolean noPush) throws Exception {
 
-        Version currentVersion =
-                new Version((String)r.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+        return publishArtifacts(r, c, noPush, null);
+    }
 
-        MavenCommandLine mvnCL = new MavenCommandLine("jar:jar", "source:jar", "install:install");
+    /**
+     * @param modules the independently versioned modules being released. If not null, only their artifacts are
+     *                published: the dot-released modules are published remotely, the others only locally. Null if
+     *                the project is released as a whole.
+     */
+    @SuppressWarnings("WeakerAccess")
+    static boolean publishArtifacts(ApplicationRuntime r, Configuration c, boolean noPush, List<MavenModule> modules)
+            throws Exception {
 
-        boolean remotePublishing = isPublishRemotely(currentVersion);
+        return publishArtifacts(r, c, noPush, modules, 1);
+    }
+
+    /**
+     * @param reactorWidth the largest number of modules that can be published concurrently.
+     */
+    static boolean publishArtifacts(
+            ApplicationRuntime r, Configuration c, boolean noPush, List<MavenModule> modules, int reactorWidth)
+            throws Exception {
+
+        Version currentVersion = getCurrentVersion(r);
 
-        if (remotePublishing) {
+        boolean remotePublishing;
 
-            if (noPush) {
+        if (modules == null) {
+
+            remotePublishing = isPublishRemotely(currentVersion);
+
+            if (remotePublishing && noPush) {
 
                 throw new UserErrorException(
                         "cannot make a dot release without pushing externally the binary artifacts");
             }
 
-            mvnCL.append("deploy:deploy");
+            installAndDeploy(r, c, null, remotePublishing, reactorWidth);
+        }
+        else {
 
             //
-            // deploying externally may require setting a local truststore on command line if the remote repository
-            // has a self-signed certificate
+            // only the dot-released modules are deployed remotely, the snapshot modules are only installed locally
             //
-            mvnCL.configureLocalTruststore(c);
-        }
 
-        NativeExecutionResult er = OutputUtil.handleNativeCommandOutput(
-                OS.getInstance().execute(mvnCL.getCommandLine()), r, c);
+            List<String> localNames = new ArrayList<>();
+            List<String> remoteNames = new ArrayList<>();
 
-        if (er.isFailure()) { throw new UserErrorException("publishing failed"); }
+            for(MavenModule m: modules) {
+
+                (isPublishRemotely(m.getVersion()) ? remoteNames : localNames).add(m.getName());
+            }
+
+            remotePublishing = !remoteNames.isEmpty();
+
+            if (remotePublishing && noPush) {
+
+                throw new UserErrorException(
+                        "cannot make a dot release without pushing externally the binary artifacts");
+            }
+
+            if (!localNames.isEmpty()) {
+
+                installAndDeploy(r, c, localNames, false, Math.min(reactorWidth, localNames.size()));
+            }
+
+            if (!remoteNames.isEmpty()) {
+
+                installAndDeploy(r, c, remoteNames, true, Math.min(reactorWidth, remoteNames.size()));
+            }
+        }
 
         r.info(currentVersion + " local " + (remotePublishing ? "and remote " : "") + "publishing ok");
 
@@ -108,13 +174,35 @@ public class PublishSequence implements Sequence {
     @SuppressWarnings("WeakerAccess")
     static boolean publishCodeChanges(ApplicationRuntime r, Configuration c, boolean noPush) throws Exception {
 
+        return publishCodeChanges(r, c, noPush, null);
+    }
+
+    /**
+     * @param modules the independently versioned modules being released, each tagged with its own release tag. Null
+     *                if the project is released as a whole.
+     */
+    @SuppressWarnings("WeakerAccess")
+    static boolean publishCodeChanges(ApplicationRuntime r, Configuration c, boolean noPush, List<MavenModule> modules)
+            throws Exception {
+
         log.debug("publishing code changes into local repository ...");
 
         boolean stateChanged = false;
 
         //noinspection ConstantConditions
         stateChanged |= addAndCommitIntoLocalCodeRepository(r, c);
-        stateChanged |= tagLocalCodeRepository(r, c);
+
+        if (modules == null) {
+
+            stateChanged |= tagLocalCodeRepository(r, c);
+        }
+        else {
+
+            for(MavenModule m: modules) {
+
+                stateChanged |= tagLocalCodeRepository(r, c, m);
+            }
+        }
 
         if (noPush) {
 
@@ -132,8 +220,7 @@ public class PublishSequence implements Sequence {
 
         log.debug("adding and committing to the local code repository ...");
 
-        Version currentVersion =
-                new Version((String)r.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+        Version currentVersion = getCurrentVersion(r);
 
         String addCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_ADD_TO_LOCAL_SOURCE_REPOSITORY);
         String commitCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_COMMIT_TO_LOCAL_SOURCE_REPOSITORY);
@@ -157,8 +244,7 @@ public class PublishSequence implements Sequence {
             throw new UserErrorException("failed to add code to the local repository");
         }
 
-        commitCommand = new VariableReferenceResolver().
-                resolve(commitCommand, true, "current_version", currentVersion.getLiteral());
+        commitCommand = template(commitCommand).render(true, "current_version", currentVersion.getLiteral());
 
         er = OutputUtil.handleNativeCommandOutput(OS.getInstance().execute(commitCommand), r, c);
 
@@ -182,8 +268,7 @@ public class PublishSequence implements Sequence {
      */
     static boolean tagLocalCodeRepository(ApplicationRuntime r, Configuration c) throws Exception {
 
-        Version currentVersion =
-                new Version((String)r.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+        Version currentVersion = getCurrentVersion(r);
 
         if (currentVersion.isSnapshot()) {
 
@@ -203,8 +288,7 @@ public class PublishSequence implements Sequence {
 
         String tag = computeTag(c, r.getRootScope());
 
-        tagCommand = new VariableReferenceResolver().
-                resolve(tagCommand, true, "current_version", currentVersion.toString(), "tag", tag);
+        tagCommand = template(tagCommand).render(true, "current_version", currentVersion.toString(), "tag", tag);
 
         NativeExecutionResult er = OutputUtil.handleNativeCommandOutput(OS.getInstance().execute(tagCommand), r, c);
 
@@ -218,12 +302,51 @@ public class PublishSequence implements Sequence {
         return true;
     }
 
+    /**
+     * Tags an independently versioned module with its own release tag. We don't tag if the module version is a
+     * snapshot.
+     *
+     * @see ReleaseTagFormat#forModule(String)
+     */
+    static boolean tagLocalCodeRepository(ApplicationRuntime r, Configuration c, MavenModule m) throws Exception {
+
+        Version version = m.getVersion();
+
+        if (version.isSnapshot()) {
+
+            log.debug("module " + m + " will not be tagged because its version is a snapshot version");
+            return false;
+        }
+
+        String tagCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_TAG_LOCAL_SOURCE_REPOSITORY);
+
+        if (tagCommand == null) {
+
+            throw new UserErrorException(
+                    "the OS command to use to tag the local source repository was not configured for this project");
+        }
+
+        String tag = computeTagFormat(c, r.getRootScope()).forModule(m.getName()).toTag(version);
+
+        tagCommand = template(tagCommand).render(true, "current_version", version.toString(), "tag", tag);
+
+        NativeExecutionResult er = OutputUtil.handleNativeCommandOutput(OS.getInstance().execute(tagCommand), r, c);
+
+        if (er.isFailure()) {
+
+            throw new UserErrorException("failed to tag module " + m + " in the local source repository");
+        }
+
+        r.info(m + " " + version + " source tag ok");
+
+        return true;
+    }
+
     static boolean pushToRemoteCodeRepository(ApplicationRuntime r, Configuration c) throws Exception {
 
         log.debug("pushing to the remote code repository ...");
 
-        Version currentVersion =
-                new Version((String)r.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+        Version currentVersion = getCurrentVersion(r);
 
         String pushCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_PUSH_TO_REMOTE_SOURCE_REPOSITORY);
 
@@ -250,20 +373,53 @@ public class PublishSequence implements Sequence {
      */
     static String computeTag(Configuration c, Scope s) throws UserErrorException {
 
+        String tag = getTagTemplate(c);
+
+        return evaluate(tag, s);
+    }
+
+    /**
+     * Inverts the release tag template: the text that precedes and follows ${current.version} is evaluated, so the
+     * versions can be recovered from existing release tags.
+     *
+     * @exception UserErrorException if the template does not reference ${current.version}, or it references
+     * undefined variables.
+     */
+    public static ReleaseTagFormat computeTagFormat(Configuration c, Scope s) throws UserErrorException {
+
+        String tag = getTagTemplate(c);
+
+        int i = tag.indexOf(CURRENT_VERSION_REFERENCE);
+
+        if (i == -1) {
+
+            throw new UserErrorException(
+                    "cannot recover versions from release tags, the release tag template \"" + tag +
+                            "\" does not reference " + CURRENT_VERSION_REFERENCE);
+        }
+
+        String prefix = evaluate(tag.substring(0, i), s);
+        String suffix = evaluate(tag.substring(i + CURRENT_VERSION_REFERENCE.length()), s);
+
+        return new ReleaseTagFormat(prefix, suffix);
+    }
+
+    private static String getTagTemplate(Configuration c) {
+
         //
         // attempt first to use an externally configured tag
         //
 
         String tag = c.get(ConfigurationLabels.RELEASE_TAG);
 
-        if (tag == null) {
+        return tag == null ? DEFAULT_RELEASE_TAG : tag;
+    }
 
-            tag = "release-${current.version}";
-        }
+    private static String evaluate(String template, Scope s) throws UserErrorException {
 
         try {
 
-            return s.evaluate(tag, true);
+            return template(template).render(s, true);
         }
         catch(UndeclaredVariableException e) {
 
@@ -275,6 +431,54 @@ public class PublishSequence implements Sequence {
         }
     }
 
+    private static VariableTemplate template(String s) {
+
+        return TEMPLATES.computeIfAbsent(s, VariableTemplate::compile);
+    }
+
+    /**
+     * The current version, as exposed by the runtime variable. Repeated calls return the same canonical instance.
+     */
+    private static Version getCurrentVersion(ApplicationRuntime r) throws VersionFormatException {
+
+        return Version.valueOf((String)r.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+    }
+
+    /**
+     * Installs the artifacts into the local repository and, if requested, deploys them into the remote repository.
+     *
+     * @param moduleNames the modules whose artifacts to publish, or null for the whole project.
+     */
+    private static void installAndDeploy(
+            ApplicationRuntime r, Configuration c, List<String> moduleNames, boolean remote, int reactorWidth)
+            throws Exception {
+
+        MavenCommandLine mvnCL = new MavenCommandLine("jar:jar", "source:jar", "install:install");
+
+        if (moduleNames != null) {
+
+            mvnCL.append("-pl " + String.join(",", moduleNames));
+        }
+
+        if (remote) {
+
+            mvnCL.append("deploy:deploy");
+
+            //
+            // deploying externally may require setting a local truststore on command line if the remote repository
+            // has a self-signed certificate
+            //
+            mvnCL.configureLocalTruststore(c);
+        }
+
+        mvnCL.configureExecution(c, reactorWidth);
+
+        NativeExecutionResult er = OutputUtil.handleNativeCommandOutput(
+                OS.getInstance().execute(mvnCL.getCommandLine()), r, c);
+
+        if (er.isFailure()) { throw new UserErrorException("publishing failed"); }
+    }
+
     // Attributes ------------------------------------------------------------------------------------------------------
 
     private boolean executeChangedState;
@@ -299,9 +503,38 @@ public class PublishSequence implements Sequence {
 
         boolean noPush = (Boolean)r.getRootScope().getVariable(ConfigurationLabels.PUBLISH_NO_PUSH).get();
 
-        //noinspection ConstantConditions
-        stateChanged |= publishArtifacts(r, conf, noPush);
-        stateChanged |= publishCodeChanges(r, conf, noPush);
+        List<MavenModule> modules = c.getReleasedModules();
+
+        if (Boolean.TRUE.equals(c.get(ARTIFACTS_PUBLISHED_KEY))) {
+
+            r.info("artifacts already published, skipping");
+        }
+        else {
+
+            //noinspection ConstantConditions
+            stateChanged |= publishArtifacts(
+                    r, conf, noPush, modules, MavenCommandLine.getReactorWidth(c.getProject(), modules));
+            c.set(ARTIFACTS_PUBLISHED_KEY, true);
+        }
+
+        //
+        // commit and tag locally first, and push separately, so the local steps are not repeated on resume
+        //
+
+        if (Boolean.TRUE.equals(c.get(CODE_CHANGES_COMMITTED_KEY))) {
+
+            r.info("code changes already committed and tagged, skipping");
+        }
+        else {
+
+            stateChanged |= publishCodeChanges(r, conf, true, modules);
+            c.set(CODE_CHANGES_COMMITTED_KEY, true);
+        }
+
+        if (!noPush) {
+
+            stateChanged |= pushToRemoteCodeRepository(r, conf);
+        }
 
         this.executeChangedState = stateChanged;
         return stateChanged;
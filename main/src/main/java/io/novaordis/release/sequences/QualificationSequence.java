@@ -16,12 +16,22 @@
 
 package io.novaordis.release.sequences;
 
-import io.novaordis.clad.application.ApplicationRuntime;
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.release.ReleaseCommand;
 import io.novaordis.release.ReleaseMode;
+import io.novaordis.release.VariableTemplate;
+import io.novaordis.release.audit.DependencyAudit;
 import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.clad.ReleaseApplicationRuntime;
+import io.novaordis.release.model.Artifact;
 import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.ModuleChangeDetector;
+import io.novaordis.release.model.maven.ProjectVersioningModel;
+import io.novaordis.release.model.maven.VersionIndex;
+import io.novaordis.release.version.ReleaseTagFormat;
 import io.novaordis.release.version.Version;
 import io.novaordis.release.version.VersionUtil;
 import io.novaordis.utilities.UserErrorException;
@@ -30,6 +40,12 @@ import io.novaordis.utilities.os.OS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
  * @since 11/17/16
@@ -40,6 +56,11 @@ public class QualificationSequence implements Sequence {
 
     private static final Logger log = LoggerFactory.getLogger(QualificationSequence.class);
 
+    // context state marker for the version increment, checkpointed with the context; the increment is saved on disk
+    // before the tests run, so a resumed sequence finds the released version already in place and must not check for
+    // a snapshot version, or increment it again
+    static final String VERSION_INCREMENTED_KEY = "QUALIFICATION_VERSION_INCREMENTED";
+
     // Static ----------------------------------------------------------------------------------------------------------
 
     // Attributes ------------------------------------------------------------------------------------------------------
@@ -60,9 +81,35 @@ public class QualificationSequence implements Sequence {
 
         log.debug("executing the qualification sequence ...");
 
-        insureCurrentVersionIsSnapshot(context);
-        insureCustomReleaseHasCustomVersionLabel(context);
-        incrementCurrentVersionIfNecessary(context);
+        boolean resumed = Boolean.TRUE.equals(context.get(VERSION_INCREMENTED_KEY));
+
+        if (!resumed) {
+
+            detectChangedModules(context);
+            insureCurrentVersionIsSnapshot(context);
+            insureCustomReleaseHasCustomVersionLabel(context);
+        }
+
+        auditDependencies(context);
+
+        if (resumed) {
+
+            //
+            // the released modules, if any, and the current version were restored from the checkpoint
+            //
+
+            List<String> moduleNames = context.getReleasedModuleNames();
+
+            context.getRuntime().info(
+                    (moduleNames == null ? "version " + context.getCurrentVersion() : "versions of " + moduleNames) +
+                            " already in place, skipping the version increment");
+        }
+        else {
+
+            incrementCurrentVersionIfNecessary(context);
+            context.set(VERSION_INCREMENTED_KEY, true);
+        }
+
         failIfInstalledVersionIsEqualOrNewer(context);
 
         //
@@ -72,12 +119,38 @@ public class QualificationSequence implements Sequence {
         boolean executeTests = !(Boolean)context.getRuntime().getRootScope().
                 getVariable(ConfigurationLabels.QUALIFICATION_NO_TESTS).get();
 
-        if (executeTests) {
+        if (executeTests && BuildSequence.isFused(context.getConfiguration())) {
+
+            log.debug("fused build, the tests will be executed by the build sequence");
+        }
+        else if (executeTests) {
+
+            CachedQualification q = computeCachedQualification(context);
+
+            if (q != null && q.isQualified()) {
+
+                //
+                // the tests passed on this very tree already
+                //
+
+                context.setTestsExecuted(true);
+
+                context.getRuntime().info(
+                        context.getCurrentVersion() + " tests ok (cached qualification: the tree matches the last " +
+                                "qualified tree, delete " + q.getFile() + " to execute the tests)");
+
+                return executeChangedState;
+            }
 
             boolean testsPassed = executeTests(context);
 
             if (testsPassed) {
 
+                if (q != null) {
+
+                    q.record();
+                }
+
                 context.getRuntime().info(context.getCurrentVersion() + " tests ok");
             }
             else {
@@ -119,8 +192,80 @@ public class QualificationSequence implements Sequence {
 
     // Package protected -----------------------------------------------------------------------------------------------
 
+    /**
+     * For projects with independently versioned modules, establishes the modules that changed since their last
+     * release, and records them in the context as the modules being released. Noop for other projects.
+     *
+     * @exception UserErrorException if no module changed.
+     *
+     * @see ModuleChangeDetector
+     */
+    void detectChangedModules(SequenceExecutionContext context) throws Exception {
+
+        Project p = context.getProject();
+
+        if (!(p instanceof MavenProject) ||
+                !ProjectVersioningModel.MULTIPLE_MODULE_INDEPENDENT.equals(((MavenProject)p).getVersioningModel())) {
+
+            return;
+        }
+
+        log.debug("detecting the modules changed since their last release ...");
+
+        Configuration c = context.getConfiguration();
+        ReleaseApplicationRuntime r = context.getRuntime();
+
+        String listTagsCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_LIST_TAGS);
+        String listChangedFilesCommand = c.get(ConfigurationLabels.OS_COMMAND_TO_LIST_CHANGED_FILES);
+
+        if (listTagsCommand == null || listChangedFilesCommand == null) {
+
+            throw new UserErrorException(
+                    "the OS commands to list tags and changed files must be configured to release independently " +
+                            "versioned modules");
+        }
+
+        ReleaseTagFormat format = PublishSequence.computeTagFormat(c, r.getRootScope());
+
+        List<String> tags = readLines(r, listTagsCommand);
+
+        VariableTemplate t = VariableTemplate.compile(listChangedFilesCommand);
+
+        List<MavenModule> changed = new ModuleChangeDetector(format).getChangedModules(
+                (MavenProject)p, tags, tag -> readLines(r, t.render(true, "tag", tag)));
+
+        if (changed.isEmpty()) {
+
+            throw new UserErrorException("no module changed since its last release, there is nothing to release");
+        }
+
+        context.setReleasedModules(changed);
+
+        r.info("releasing " + changed.size() + " changed module(s): " + context.getReleasedModuleNames());
+    }
+
     void insureCurrentVersionIsSnapshot(SequenceExecutionContext context) throws Exception {
 
+        List<MavenModule> modules = context.getReleasedModules();
+
+        if (modules != null) {
+
+            log.debug("insuring the versions of the released modules are snapshot versions ...");
+
+            for(MavenModule m: modules) {
+
+                Version v = m.getVersion();
+
+                if (!v.isSnapshot()) {
+                    throw new UserErrorException(
+                            "the current version of module " + m + " (" + v +
+                                    ") is not a snapshot version, cannot start the release sequence");
+                }
+            }
+
+            return;
+        }
+
         log.debug("insuring the current version is a snapshot version ...");
 
         Version v = context.getCurrentVersion();
@@ -152,6 +297,41 @@ public class QualificationSequence implements Sequence {
         }
     }
 
+    /**
+     * Checks the dependencies declared by the project POMs against the configured dependency rules, and, for a dot
+     * release, fails on snapshot dependencies. This happens before anything is modified or built, instead of letting
+     * the deployment fail much later.
+     *
+     * @exception UserErrorException on audit violations.
+     */
+    void auditDependencies(SequenceExecutionContext context) throws Exception {
+
+        Project p = context.getProject();
+
+        if (!(p instanceof MavenProject)) {
+
+            log.debug("not a Maven project, skipping the dependency audit");
+            return;
+        }
+
+        DependencyAudit audit = DependencyAudit.fromConfiguration(
+                context.getConfiguration(), context.getReleaseMode().isDot());
+
+        List<DependencyAudit.Violation> violations = audit.audit((MavenProject)p);
+
+        if (violations.isEmpty()) {
+
+            return;
+        }
+
+        for(DependencyAudit.Violation v: violations) {
+
+            context.getRuntime().warn(v.toString());
+        }
+
+        throw new UserErrorException(violations.size() + " dependency audit violation(s), cannot release");
+    }
+
     /**
      * If the release is a dot release, or it is a custom release and the release string is different than the current
      * one, we increment/update version appropriately and we update it on the file system metadata, so tests can be run
@@ -167,6 +347,14 @@ public class QualificationSequence implements Sequence {
 
         ReleaseMode rm = context.getReleaseMode();
 
+        List<MavenModule> modules = context.getReleasedModules();
+
+        if (modules != null) {
+
+            incrementModuleVersionsIfNecessary(context, modules);
+            return;
+        }
+
         log.debug("attempting to increment the current version, if necessary, release mode " + rm);
 
         Version currentVersion = context.getCurrentVersion();
@@ -228,6 +416,62 @@ public class QualificationSequence implements Sequence {
         context.setCurrentVersion(nextVersion);
     }
 
+    /**
+     * The per-module equivalent of incrementCurrentVersionIfNecessary(): the next version is computed for each
+     * released module, from the module's own version. The project version is not changed.
+     *
+     * @exception UserErrorException if we attempt to update a module to a custom version that is older then its
+     * current version.
+     */
+    void incrementModuleVersionsIfNecessary(SequenceExecutionContext context, List<MavenModule> modules)
+            throws Exception {
+
+        ReleaseMode rm = context.getReleaseMode();
+
+        log.debug("attempting to increment the versions of " + modules + ", if necessary, release mode " + rm);
+
+        boolean changed = false;
+
+        for(MavenModule m: modules) {
+
+            Version currentVersion = m.getVersion();
+            Version nextVersion = null;
+
+            if (rm.isDot()) {
+
+                nextVersion = Version.nextVersion(currentVersion, rm);
+            }
+            else if (ReleaseMode.custom.equals(rm)) {
+
+                nextVersion = rm.getCustomVersion();
+            }
+
+            if (nextVersion == null || nextVersion.equals(currentVersion)) {
+
+                continue;
+            }
+
+            if (nextVersion.compareTo(currentVersion) < 0) {
+
+                throw new UserErrorException(
+                        "module " + m + " " + currentVersion + " cannot be changed to preceding " + nextVersion);
+            }
+
+            log.debug("updating the version of module " + m + " to " + nextVersion);
+
+            changed = m.setVersion(nextVersion) || changed;
+        }
+
+        if (changed) {
+
+            //
+            // we need the version changes on disk, so the tests can be executed in top of the changed versions
+            //
+
+            executeChangedState = context.getProject().save() || executeChangedState;
+        }
+    }
+
     /**
      * Execute tests. The current version (possibly changed by the previous steps) is available in the context.
      *
@@ -258,6 +502,52 @@ public class QualificationSequence implements Sequence {
                     "the OS command to use to execute all tests was not configured for this project");
         }
 
+        TestShardExecutor shardExecutor = TestShardExecutor.getInstance(context.getProject(), c);
+
+        if (shardExecutor != null) {
+
+            log.debug("executing tests in up to " + shardExecutor.getShardCount() + " shards with \"" +
+                    osCommandToExecuteAllTests + "\" ...");
+
+            boolean passed = shardExecutor.execute(
+                    context.getReleasedModules(), osCommandToExecuteAllTests, context.getRuntime(), c);
+
+            context.setTestsExecuted(true);
+
+            return passed;
+        }
+
+        ModuleLevelExecutor levelExecutor = ModuleLevelExecutor.getInstance(context.getProject(), c);
+
+        if (levelExecutor != null) {
+
+            log.debug("executing tests module by module with \"" + osCommandToExecuteAllTests + "\", " +
+                    levelExecutor.getParallelism() + " modules at a time ...");
+
+            List<MavenModule> failed = levelExecutor.execute(
+                    context.getReleasedModules(), osCommandToExecuteAllTests, context.getRuntime(), c);
+
+            context.setTestsExecuted(true);
+
+            if (!failed.isEmpty()) {
+
+                context.getRuntime().warn("tests failed for " + failed);
+            }
+
+            return failed.isEmpty();
+        }
+
+        List<String> moduleNames = context.getReleasedModuleNames();
+
+        if (moduleNames != null) {
+
+            osCommandToExecuteAllTests = MavenCommandLine.restrictToModules(osCommandToExecuteAllTests, moduleNames);
+        }
+
+        osCommandToExecuteAllTests = MavenCommandLine.configureExecution(
+                osCommandToExecuteAllTests, c,
+                MavenCommandLine.getReactorWidth(context.getProject(), context.getReleasedModules()));
+
         log.debug("executing all tests with \"" + osCommandToExecuteAllTests + "\" ...");
 
         NativeExecutionResult executionResult = OS.getInstance().execute(osCommandToExecuteAllTests);
@@ -286,8 +576,21 @@ public class QualificationSequence implements Sequence {
      */
     void failIfInstalledVersionIsEqualOrNewer(SequenceExecutionContext context) throws Exception {
 
+        warnIfPublishedVersionIsNewer(context);
+
+        if (context.getReleasedModules() != null) {
+
+            //
+            // the installed version is the version of the project, which is not released when the modules are
+            // released independently
+            //
+
+            log.debug("independently versioned modules are released, the installed version is not checked");
+            return;
+        }
+
         Configuration c = context.getConfiguration();
-        ApplicationRuntime r = context.getRuntime();
+        ReleaseApplicationRuntime r = context.getRuntime();
 
         String command = c.get(ConfigurationLabels.OS_COMMAND_TO_GET_INSTALLED_VERSION);
 
@@ -302,7 +605,11 @@ public class QualificationSequence implements Sequence {
             return;
         }
 
-        NativeExecutionResult executionResult = OS.getInstance().execute(command);
+        //
+        // only read the output up to the version line, some tools keep streaming after they print their version
+        //
+
+        NativeExecutionResult executionResult = r.executeVersionCommand(command);
 
         if (executionResult.isFailure()) {
 
@@ -326,7 +633,7 @@ public class QualificationSequence implements Sequence {
 
         try {
 
-            installedVersion = VersionUtil.fromCommandStdout(stdoutContent);
+            installedVersion = VersionUtil.scanCommandStdout(new StringReader(stdoutContent));
 
         }
         catch(Exception e) {
@@ -368,10 +675,125 @@ public class QualificationSequence implements Sequence {
                 versionBeingReleased + ")");
     }
 
+    /**
+     * Looks up the project's artifacts in the local artifact repository version index, and warns if the repository
+     * already contains a newer dot version than the dot version being released. This is advisory only: the local
+     * repository also holds what developers installed themselves, and what a previous, failed attempt of the same
+     * release installed before failing to push, so neither the same version nor snapshots are reported. Noop if the
+     * local artifact repository is not configured.
+     */
+    void warnIfPublishedVersionIsNewer(SequenceExecutionContext context) throws Exception {
+
+        Project p = context.getProject();
+
+        if (p == null) {
+
+            return;
+        }
+
+        VersionIndex index = context.getRuntime().getVersionIndex();
+
+        if (index == null) {
+
+            log.debug("local artifact repository not configured, won't check published versions");
+            return;
+        }
+
+        List<MavenModule> modules = context.getReleasedModules();
+
+        if (modules != null) {
+
+            for(MavenModule m: modules) {
+
+                warnIfPublishedVersionIsNewer(context.getRuntime(), index, m.getArtifact(), m.getVersion());
+            }
+
+            return;
+        }
+
+        Version versionBeingReleased = context.getCurrentVersion();
+
+        for(Artifact a: p.getArtifacts()) {
+
+            warnIfPublishedVersionIsNewer(context.getRuntime(), index, a, versionBeingReleased);
+        }
+    }
+
+    /**
+     * @return the fingerprint of the tree the tests are about to be executed on, or null if the tree cannot be
+     * fingerprinted, or the test command is not configured.
+     *
+     * @see CachedQualification
+     */
+    CachedQualification computeCachedQualification(SequenceExecutionContext context) throws Exception {
+
+        String command = context.getConfiguration().get(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS);
+
+        if (command == null) {
+
+            return null;
+        }
+
+        List<String> moduleNames = context.getReleasedModuleNames();
+
+        if (moduleNames != null) {
+
+            command = MavenCommandLine.restrictToModules(command, moduleNames);
+        }
+
+        return CachedQualification.compute(context.getProject(), command);
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    private static void warnIfPublishedVersionIsNewer(
+            ReleaseApplicationRuntime r, VersionIndex index, Artifact a, Version versionBeingReleased) throws Exception {
+
+        if (versionBeingReleased == null || versionBeingReleased.isSnapshot()) {
+
+            return;
+        }
+
+        Version published = index.getVersions(a).lastRelease();
+
+        if (published != null && published.compareTo(versionBeingReleased) > 0) {
+
+            r.warn("published version " + published + " is newer than the version being released (" +
+                    versionBeingReleased + "), in the local artifact repository (" + a.getRepositoryFile() + ")");
+        }
+    }
+
+    /**
+     * @return the lines of the command output, trimmed, without the empty lines.
+     */
+    private static List<String> readLines(ReleaseApplicationRuntime r, String command) throws Exception {
+
+        List<String> result = new ArrayList<>();
+
+        try (BufferedReader reader = r.executeAndStreamStdout(command)) {
+
+            String line;
+
+            while((line = reader.readLine()) != null) {
+
+                line = line.trim();
+
+                if (!line.isEmpty()) {
+
+                    result.add(line);
+                }
+            }
+        }
+        catch(IOException e) {
+
+            throw new UserErrorException("\"" + command + "\" failed: " + e.getMessage(), e);
+        }
+
+        return result;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
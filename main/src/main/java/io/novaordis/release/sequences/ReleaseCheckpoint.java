@@ -0,0 +1,645 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.ReleaseMode;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenArtifact;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.MavenProjectBuilder;
+import io.novaordis.release.model.maven.ModuleFingerprint;
+import io.novaordis.release.model.maven.NortState;
+import io.novaordis.release.model.maven.POM;
+import io.novaordis.release.version.Version;
+import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.expressions.Scope;
+import io.novaordis.utilities.expressions.Variable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The state of a release sequence run, saved in the project's .nort directory after each sequence, so a release that
+ * failed late - on push, for example - can be resumed from the sequence that failed, instead of being started over.
+ *
+ * The checkpoint contains:
+ *
+ * 1. The release mode and the release command options.
+ * 2. The sequences that completed successfully, and the execution history.
+ * 3. The context state: the current version, whether the tests were executed, the released modules, and the generic
+ *    entries whose keys are strings and whose values are strings, booleans or numbers. Sequences record the steps they
+ *    completed this way, so a resumed sequence does not repeat them.
+ * 4. The fingerprint of the project tree and the hashes of the built artifacts, so resuming can verify that the
+ *    working tree is still the one the checkpoint was saved for.
+ *
+ * The file is replaced atomically. It is discarded when a release completes successfully, or a new one starts.
+ *
+ * @see SequenceController#resume(io.novaordis.release.clad.ReleaseApplicationRuntime, Project, ReleaseCheckpoint)
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseCheckpoint {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ReleaseCheckpoint.class);
+
+    /**
+     * The checkpoint file name, relative to the .nort directory.
+     */
+    public static final String FILE_NAME = "checkpoint";
+
+    static final String FORMAT_VERSION = "1";
+
+    static final String FORMAT_KEY = "format";
+    static final String RELEASE_MODE_KEY = "release.mode";
+    static final String CUSTOM_VERSION_KEY = "release.custom.version";
+    static final String COMPLETED_KEY = "completed";
+    static final String HISTORY_KEY_PREFIX = "history.";
+    static final String CURRENT_VERSION_KEY = "current.version";
+    static final String RELEASED_MODULES_KEY = "released.modules";
+    static final String STATE_KEY_PREFIX = "state.";
+    static final String TREE_KEY = "tree";
+    static final String ARTIFACT_KEY_PREFIX = "artifact.";
+    static final String OPTION_KEY_PREFIX = "option.";
+
+    /**
+     * The runtime variables that carry the release command options, checkpointed so a resumed release runs with the
+     * options it was started with.
+     */
+    public static final List<String> OPTIONS = Arrays.asList(
+            ConfigurationLabels.QUALIFICATION_NO_TESTS,
+            ConfigurationLabels.PUBLISH_NO_PUSH,
+            ConfigurationLabels.INSTALL_NO_INSTALL);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the checkpoint of the given project, under its .nort directory. The file may not exist. Null if the
+     * project is not a Maven project backed by files.
+     */
+    public static ReleaseCheckpoint getInstance(Project p) {
+
+        if (!(p instanceof MavenProject) || ((MavenProject)p).getPOM() == null ||
+                ((MavenProject)p).getPOM().getFile() == null) {
+
+            return null;
+        }
+
+        File nortDirectory = new File(p.getBaseDirectory().getAbsoluteFile(), MavenProjectBuilder.NORT_DIRECTORY_NAME);
+        return new ReleaseCheckpoint(new File(nortDirectory, FILE_NAME));
+    }
+
+    /**
+     * @return the fingerprint of the project tree, or null if the project is not a Maven project backed by files.
+     */
+    static String fingerprintTree(Project p) throws IOException {
+
+        if (!(p instanceof MavenProject) || ((MavenProject)p).getPOM() == null ||
+                ((MavenProject)p).getPOM().getFile() == null) {
+
+            return null;
+        }
+
+        return ModuleFingerprint.computeTree((MavenProject)p, null).getValue();
+    }
+
+    /**
+     * @return the hashes of the artifacts present in the target directories of the project and of its modules, keyed
+     * by their path relative to the project directory. Empty if the project is not a Maven project backed by files.
+     */
+    static Map<String, String> hashArtifacts(Project p) throws Exception {
+
+        Map<String, String> result = new TreeMap<>();
+
+        if (fingerprintTree(p) == null) {
+
+            return result;
+        }
+
+        MavenProject mp = (MavenProject)p;
+
+        List<POM> poms = new ArrayList<>();
+        poms.add(mp.getPOM());
+
+        for(MavenModule m: mp.getModules()) {
+
+            poms.add(m.getPOM());
+        }
+
+        File base = mp.getBaseDirectory().getAbsoluteFile();
+
+        for(POM pom: poms) {
+
+            MavenArtifact a = pom.getArtifact();
+
+            if (a == null) {
+
+                continue;
+            }
+
+            File moduleDirectory = pom.getFile().getAbsoluteFile().getParentFile();
+            File f = new File(new File(moduleDirectory, ModuleFingerprint.TARGET_DIRECTORY_NAME),
+                    a.getLocalFile().getName());
+
+            if (f.isFile()) {
+
+                String path = base.toPath().relativize(f.toPath()).toString().replace(File.separatorChar, '/');
+                result.put(path, ModuleFingerprint.hash(f));
+            }
+        }
+
+        return result;
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File file;
+
+    // the content of the last saved or loaded checkpoint; empty if none
+    private Properties properties;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    public ReleaseCheckpoint(File file) {
+
+        if (file == null) {
+
+            throw new IllegalArgumentException("null checkpoint file");
+        }
+
+        this.file = file;
+        this.properties = new Properties();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public File getFile() {
+
+        return file;
+    }
+
+    public boolean exists() {
+
+        return file.isFile();
+    }
+
+    /**
+     * Discards the checkpoint file. Noop if it does not exist. Failures are not fatal.
+     */
+    public void delete() {
+
+        properties.clear();
+
+        try {
+
+            Files.deleteIfExists(file.toPath());
+        }
+        catch(IOException e) {
+
+            log.warn("failed to delete the release checkpoint " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @exception UserErrorException if there is no checkpoint, or it cannot be read.
+     */
+    public void load() throws UserErrorException {
+
+        if (!exists()) {
+
+            throw new UserErrorException("there is no release to resume, " + file + " does not exist");
+        }
+
+        Properties p = new Properties();
+
+        try (InputStream is = new FileInputStream(file)) {
+
+            p.load(is);
+        }
+        catch(IOException e) {
+
+            throw new UserErrorException("failed to read the release checkpoint " + file, e);
+        }
+
+        if (!FORMAT_VERSION.equals(p.getProperty(FORMAT_KEY))) {
+
+            throw new UserErrorException(
+                    "unsupported release checkpoint format " + p.getProperty(FORMAT_KEY) + " in " + file);
+        }
+
+        this.properties = p;
+    }
+
+    /**
+     * @return the release mode of the checkpointed release. Only valid after load().
+     *
+     * @exception UserErrorException on invalid checkpoint content.
+     */
+    public ReleaseMode getReleaseMode() throws UserErrorException {
+
+        String s = properties.getProperty(RELEASE_MODE_KEY);
+
+        try {
+
+            ReleaseMode rm = ReleaseMode.valueOf(s);
+
+            if (rm.isCustom()) {
+
+                rm.setCustomLabel(properties.getProperty(CUSTOM_VERSION_KEY));
+            }
+
+            return rm;
+        }
+        catch(Exception e) {
+
+            throw new UserErrorException("invalid release mode \"" + s + "\" in " + file, e);
+        }
+    }
+
+    /**
+     * @return the value of the release command option (one of the OPTIONS runtime variables) when the checkpointed
+     * release was started. Only valid after load().
+     */
+    public boolean getOption(String name) {
+
+        return Boolean.parseBoolean(properties.getProperty(OPTION_KEY_PREFIX + name));
+    }
+
+    /**
+     * @return the simple class names of the sequences that completed successfully, in execution order. Only valid
+     * after load().
+     */
+    public List<String> getCompletedSequences() {
+
+        String s = properties.getProperty(COMPLETED_KEY, "").trim();
+        return s.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(s.split(",")));
+    }
+
+    /**
+     * Verifies that the working tree is still the one the checkpoint was saved for: same sources and POMs, same built
+     * artifacts. Only valid after load().
+     *
+     * @exception UserErrorException if the working tree changed.
+     * @exception Exception on failure to read the project files.
+     */
+    public void validate(Project p) throws Exception {
+
+        String recordedTree = properties.getProperty(TREE_KEY);
+        String tree = fingerprintTree(p);
+
+        if (recordedTree != null && !recordedTree.equals(tree)) {
+
+            throw new UserErrorException(
+                    "the working tree changed since the release checkpoint was saved, the release cannot be resumed");
+        }
+
+        Map<String, String> artifacts = hashArtifacts(p);
+
+        for(String key: properties.stringPropertyNames()) {
+
+            if (!key.startsWith(ARTIFACT_KEY_PREFIX)) {
+
+                continue;
+            }
+
+            String path = key.substring(ARTIFACT_KEY_PREFIX.length());
+
+            if (!properties.getProperty(key).equals(artifacts.get(path))) {
+
+                throw new UserErrorException(
+                        "artifact " + path + " changed or is missing since the release checkpoint was saved, the " +
+                                "release cannot be resumed");
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return file.toString();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the checkpoint into a temporary file, which is then renamed over the checkpoint file. Failures are not
+     * fatal, they only prevent resuming.
+     *
+     * @param completed the sequences that completed successfully, in execution order.
+     */
+    void save(SequenceExecutionContext context, List<Sequence> completed) {
+
+        try {
+
+            Properties p = new Properties();
+
+            p.setProperty(FORMAT_KEY, FORMAT_VERSION);
+
+            ReleaseMode rm = context.getReleaseMode();
+            p.setProperty(RELEASE_MODE_KEY, rm.name());
+
+            if (rm.isCustom() && rm.getCustomVersion() != null) {
+
+                p.setProperty(CUSTOM_VERSION_KEY, rm.getCustomVersion().getLiteral());
+            }
+
+            Scope scope = context.getRuntime().getRootScope();
+
+            for(String o: OPTIONS) {
+
+                Variable v = scope.getVariable(o);
+                p.setProperty(OPTION_KEY_PREFIX + o, String.valueOf(v != null && Boolean.TRUE.equals(v.get())));
+            }
+
+            List<String> names = new ArrayList<>();
+
+            for(Sequence s: completed) {
+
+                names.add(s.getClass().getSimpleName());
+            }
+
+            p.setProperty(COMPLETED_KEY, String.join(",", names));
+
+            ExecutionHistory h = context.getHistory();
+
+            for(int i = 0; h != null && i < h.length(); i ++) {
+
+                SequenceOperation o = h.getOperation(i);
+
+                p.setProperty(HISTORY_KEY_PREFIX + i, o.getMethodName() + " " +
+                        o.getTarget().getClass().getSimpleName() + " " + o.wasSuccess() + " " + o.didChangeState());
+            }
+
+            Version v = context.getCurrentVersion();
+
+            if (v != null) {
+
+                p.setProperty(CURRENT_VERSION_KEY, v.getLiteral());
+            }
+
+            List<String> modules = context.getReleasedModuleNames();
+
+            if (modules != null) {
+
+                p.setProperty(RELEASED_MODULES_KEY, String.join(",", modules));
+            }
+
+            for(Map.Entry<String, String> e: encodeState(context).entrySet()) {
+
+                p.setProperty(STATE_KEY_PREFIX + e.getKey(), e.getValue());
+            }
+
+            Project project = context.getProject();
+
+            String tree = fingerprintTree(project);
+
+            if (tree != null) {
+
+                p.setProperty(TREE_KEY, tree);
+            }
+
+            for(Map.Entry<String, String> e: hashArtifacts(project).entrySet()) {
+
+                p.setProperty(ARTIFACT_KEY_PREFIX + e.getKey(), e.getValue());
+            }
+
+            write(p);
+
+            this.properties = p;
+
+            log.debug("saved release checkpoint " + file + " after " + names);
+        }
+        catch(Exception e) {
+
+            log.warn("failed to save the release checkpoint: " + e.getMessage());
+            log.debug("checkpoint failure", e);
+        }
+    }
+
+    /**
+     * Restores the checkpointed state into a new context, and the checkpointed operations into the history. Only
+     * valid after load().
+     *
+     * @param sequences the sequences of the controller, the history operations refer to them.
+     *
+     * @exception UserErrorException on invalid checkpoint content.
+     */
+    void restore(SequenceExecutionContext context, ExecutionHistory history, List<Sequence> sequences)
+            throws UserErrorException {
+
+        for(int i = 0; properties.getProperty(HISTORY_KEY_PREFIX + i) != null; i ++) {
+
+            String[] tokens = properties.getProperty(HISTORY_KEY_PREFIX + i).split(" ");
+
+            Sequence target = null;
+
+            for(Sequence s: sequences) {
+
+                if (s.getClass().getSimpleName().equals(tokens[1])) {
+
+                    target = s;
+                    break;
+                }
+            }
+
+            if (target == null || tokens.length != 4) {
+
+                throw new UserErrorException("invalid release checkpoint history entry " + Arrays.asList(tokens));
+            }
+
+            history.record(tokens[0], target, Boolean.parseBoolean(tokens[2]), Boolean.parseBoolean(tokens[3]));
+        }
+
+        String s = properties.getProperty(CURRENT_VERSION_KEY);
+
+        if (s != null) {
+
+            try {
+
+                context.setCurrentVersion(Version.valueOf(s));
+            }
+            catch(Exception e) {
+
+                throw new UserErrorException("invalid current version \"" + s + "\" in " + file, e);
+            }
+        }
+
+        s = properties.getProperty(RELEASED_MODULES_KEY);
+
+        if (s != null) {
+
+            if (!(context.getProject() instanceof MavenProject)) {
+
+                throw new UserErrorException("released modules checkpointed for a project without modules");
+            }
+
+            List<MavenModule> modules = new ArrayList<>();
+
+            for(String name: s.split(",")) {
+
+                MavenModule m = ((MavenProject)context.getProject()).getModule(name);
+
+                if (m == null) {
+
+                    throw new UserErrorException("released module " + name + " not found");
+                }
+
+                modules.add(m);
+            }
+
+            context.setReleasedModules(modules);
+        }
+
+        for(String key: properties.stringPropertyNames()) {
+
+            if (key.startsWith(STATE_KEY_PREFIX)) {
+
+                context.set(key.substring(STATE_KEY_PREFIX.length()), decode(properties.getProperty(key)));
+            }
+        }
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the generic entries that can be checkpointed, encoded as "<type>:<value>". The typed entries are
+     * checkpointed separately.
+     */
+    private static Map<String, String> encodeState(SequenceExecutionContext context) {
+
+        Map<String, String> result = new LinkedHashMap<>();
+
+        for(Map.Entry<Object, Object> e: context.getState().entrySet()) {
+
+            if (!(e.getKey() instanceof String)) {
+
+                continue;
+            }
+
+            String key = (String)e.getKey();
+
+            if (key.equals(SequenceExecutionContext.RELEASE_MODE_KEY) ||
+                    key.equals(SequenceExecutionContext.CURRENT_VERSION_KEY) ||
+                    key.equals(SequenceExecutionContext.RELEASED_MODULES_KEY)) {
+
+                continue;
+            }
+
+            Object value = e.getValue();
+
+            if (value instanceof Boolean) {
+
+                result.put(key, "boolean:" + value);
+            }
+            else if (value instanceof Integer) {
+
+                result.put(key, "int:" + value);
+            }
+            else if (value instanceof Long) {
+
+                result.put(key, "long:" + value);
+            }
+            else if (value instanceof String) {
+
+                result.put(key, "string:" + value);
+            }
+            else {
+
+                log.debug("context state " + key + " cannot be checkpointed");
+            }
+        }
+
+        return result;
+    }
+
+    private Object decode(String encoded) throws UserErrorException {
+
+        int i = encoded.indexOf(':');
+        String type = i == -1 ? "" : encoded.substring(0, i);
+        String value = encoded.substring(i + 1);
+
+        try {
+
+            switch(type) {
+
+                case "boolean":
+                    return Boolean.parseBoolean(value);
+                case "int":
+                    return Integer.parseInt(value);
+                case "long":
+                    return Long.parseLong(value);
+                case "string":
+                    return value;
+                default:
+                    throw new UserErrorException("invalid release checkpoint state \"" + encoded + "\" in " + file);
+            }
+        }
+        catch(NumberFormatException e) {
+
+            throw new UserErrorException("invalid release checkpoint state \"" + encoded + "\" in " + file, e);
+        }
+    }
+
+    private void write(Properties p) throws IOException {
+
+        File directory = file.getAbsoluteFile().getParentFile();
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+
+            throw new IOException("failed to create " + directory);
+        }
+
+        //
+        // the checkpoint is saved before the release commit, which must not include it
+        //
+
+        NortState.ignore(file);
+
+        File tmp = new File(directory, file.getName() + ".tmp");
+
+        try (OutputStream os = new FileOutputStream(tmp)) {
+
+            p.store(os, "nort release checkpoint");
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
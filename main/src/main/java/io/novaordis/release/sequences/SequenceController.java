@@ -19,6 +19,7 @@ package io.novaordis.release.sequences;
 import io.novaordis.release.ReleaseMode;
 import io.novaordis.release.clad.ReleaseApplicationRuntime;
 import io.novaordis.release.model.Project;
+import io.novaordis.utilities.UserErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,24 +99,75 @@ public class SequenceController {
      */
     public SequenceExecutionContext execute(ReleaseApplicationRuntime r, Project m) throws Exception {
 
+        return execute(r, m, null);
+    }
+
+    /**
+     * Execute all sequences in the order in which they were added, within a new context created specifically for this
+     * operation, and save the checkpoint after each sequence, whether it succeeded or not, so the run can be resumed.
+     *
+     * @param checkpoint may be null, in which case no checkpoint is saved.
+     *
+     * @return the SequenceExecutionContext for this operation.
+     *
+     * @see SequenceController#resume(ReleaseApplicationRuntime, Project, ReleaseCheckpoint)
+     */
+    public SequenceExecutionContext execute(ReleaseApplicationRuntime r, Project m, ReleaseCheckpoint checkpoint)
+            throws Exception {
+
         SequenceExecutionContext context = new SequenceExecutionContext(r, m, rm, history);
 
-        for(Sequence s: sequences) {
+        execute(context, new ArrayList<>(), checkpoint);
 
-            boolean success = false;
-            boolean stateChanged = false;
+        return context;
+    }
 
-            try {
+    /**
+     * Resumes a run from a loaded checkpoint: restores the context state and the history, skips the sequences that
+     * completed successfully and executes the rest, starting with the one that failed. The checkpoint is updated after
+     * each sequence, as during a regular execution.
+     *
+     * @return the SequenceExecutionContext for this operation.
+     *
+     * @exception UserErrorException if the checkpoint does not match the controller's sequences.
+     */
+    public SequenceExecutionContext resume(ReleaseApplicationRuntime r, Project m, ReleaseCheckpoint checkpoint)
+            throws Exception {
 
-                stateChanged = s.execute(context);
-                success = true;
-            }
-            finally {
+        if (checkpoint == null) {
 
-                updateHistory("execute", s, success, stateChanged);
+            throw new IllegalArgumentException("null checkpoint");
+        }
+
+        SequenceExecutionContext context = new SequenceExecutionContext(r, m, rm, history);
+
+        checkpoint.restore(context, history, sequences);
+
+        List<String> completedNames = checkpoint.getCompletedSequences();
+
+        if (completedNames.size() > sequences.size()) {
+
+            throw new UserErrorException("the release checkpoint does not match the release sequences");
+        }
+
+        List<Sequence> completed = new ArrayList<>();
+
+        for(int i = 0; i < completedNames.size(); i ++) {
+
+            Sequence s = sequences.get(i);
+
+            if (!s.getClass().getSimpleName().equals(completedNames.get(i))) {
+
+                throw new UserErrorException("the release checkpoint does not match the release sequences");
             }
+
+            completed.add(s);
         }
 
+        log.debug("resuming after " + completedNames);
+
+        execute(context, completed, checkpoint);
+
         return context;
     }
 
@@ -236,6 +288,43 @@ public class SequenceController {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * Executes the sequences that are not among the completed ones, in order.
+     *
+     * @param completed the sequences that already completed, updated as execution progresses.
+     * @param checkpoint may be null.
+     */
+    private void execute(SequenceExecutionContext context, List<Sequence> completed, ReleaseCheckpoint checkpoint)
+            throws Exception {
+
+        for(Sequence s: sequences) {
+
+            if (completed.contains(s)) {
+
+                continue;
+            }
+
+            boolean success = false;
+            boolean stateChanged = false;
+
+            try {
+
+                stateChanged = s.execute(context);
+                success = true;
+                completed.add(s);
+            }
+            finally {
+
+                updateHistory("execute", s, success, stateChanged);
+
+                if (checkpoint != null) {
+
+                    checkpoint.save(context, completed);
+                }
+            }
+        }
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
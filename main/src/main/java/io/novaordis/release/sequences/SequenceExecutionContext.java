@@ -21,12 +21,16 @@ import io.novaordis.release.ReleaseMode;
 import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.clad.ReleaseApplicationRuntime;
 import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenModule;
 import io.novaordis.release.version.Version;
 import io.novaordis.release.version.VersionFormatException;
 import io.novaordis.utilities.expressions.Scope;
 import io.novaordis.utilities.expressions.Variable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -54,6 +58,8 @@ public class SequenceExecutionContext {
 
     public static final String TESTS_WERE_EXECUTED_KEY = "TESTS_WERE_EXECUTED";
     public static final String RELEASE_MODE_KEY = "RELEASE_MODE";
+    public static final String CURRENT_VERSION_KEY = "CURRENT_VERSION";
+    public static final String RELEASED_MODULES_KEY = "RELEASED_MODULES";
 
     // Static ----------------------------------------------------------------------------------------------------------
 
@@ -172,14 +178,62 @@ public class SequenceExecutionContext {
             return null;
         }
 
+        //
+        // the variable is the authoritative storage, but it can be changed externally, so the typed instance is only
+        // used as long as it still matches the variable value; the literal is compared trimmed, as it is parsed
+        //
+
+        Version current = (Version)state.get(CURRENT_VERSION_KEY);
+
+        if (current != null && current.getLiteral().equals(s.trim())) {
+
+            return current;
+        }
+
         try {
 
-            return new Version(s);
+            current = Version.valueOf(s);
         }
         catch(Exception e) {
 
             throw new IllegalStateException(e);
         }
+
+        state.put(CURRENT_VERSION_KEY, current);
+
+        return current;
+    }
+
+    /**
+     * @return the modules being released, for projects with independently versioned modules; only the modules that
+     * changed since their last release are released. Null if the project is released as a whole.
+     */
+    public List<MavenModule> getReleasedModules() {
+
+        //noinspection unchecked
+        return (List<MavenModule>)state.get(RELEASED_MODULES_KEY);
+    }
+
+    /**
+     * @return the names of the modules being released, in order. Null if the project is released as a whole.
+     */
+    public List<String> getReleasedModuleNames() {
+
+        List<MavenModule> modules = getReleasedModules();
+
+        if (modules == null) {
+
+            return null;
+        }
+
+        List<String> result = new ArrayList<>();
+
+        for(MavenModule m: modules) {
+
+            result.add(m.getName());
+        }
+
+        return result;
     }
 
     // generic state access --------------------------------------------------------------------------------------------
@@ -244,6 +298,13 @@ public class SequenceExecutionContext {
             //noinspection unchecked
             rsv.set(literal);
         }
+
+        state.put(CURRENT_VERSION_KEY, v);
+    }
+
+    void setReleasedModules(List<MavenModule> modules) {
+
+        state.put(RELEASED_MODULES_KEY, modules == null ? null : Collections.unmodifiableList(modules));
     }
 
     void setReleaseMode(ReleaseMode rm) {
@@ -251,6 +312,16 @@ public class SequenceExecutionContext {
         state.put(RELEASE_MODE_KEY, rm);
     }
 
+    /**
+     * @return the underlying state storage, for checkpointing.
+     *
+     * @see ReleaseCheckpoint
+     */
+    Map<Object, Object> getState() {
+
+        return state;
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
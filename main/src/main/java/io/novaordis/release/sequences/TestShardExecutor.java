@@ -0,0 +1,604 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.clad.application.ApplicationRuntime;
+import io.novaordis.clad.configuration.Configuration;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.Project;
+import io.novaordis.release.model.maven.MavenCommandLine;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.TestTimings;
+import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.os.NativeExecutionResult;
+import io.novaordis.utilities.os.OS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Executes the tests of a Maven project in several parallel Maven processes - shards - each executing a subset of the
+ * test classes, selected with surefire's "test" parameter. The test classes are found by scanning the test source
+ * directories for surefire's default includes.
+ *
+ * The classes are assigned to shards so the shards take about the same time: the longest classes are assigned first,
+ * each to the shard with the least work so far. The durations are the ones recorded by the earlier runs; a class that
+ * was never timed is assumed to take as long as the average class. The durations measured by the current run are
+ * recorded for the next one.
+ *
+ * The shards share the modules' target directories, so the project is built once, with the tests skipped, before the
+ * shards start, and the shards run only surefire's "test" goal, which reads the compiled classes and does not write
+ * them. For a multi-module project the build installs the modules, so a shard resolves the modules it depends on from
+ * the local repository: a goal invoked outside the lifecycle does not resolve them from the reactor. For the same
+ * reason, commands whose lifecycle goes past "test" are rejected: the shards would package and install concurrently.
+ * The verdict is the aggregate of the shard verdicts: the tests pass only if all shards pass.
+ *
+ * The mode is enabled by configuring a number of test shards larger than 1.
+ *
+ * @see TestTimings
+ * @see ConfigurationLabels#TEST_SHARDS
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class TestShardExecutor {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(TestShardExecutor.class);
+
+    /**
+     * The shard count value that uses all available processors.
+     */
+    static final String AUTO_SHARDS = "auto";
+
+    /**
+     * The assumed duration of a test class, in milliseconds, when no test class was ever timed.
+     */
+    static final long DEFAULT_TEST_CLASS_DURATION = 1000L;
+
+    static final String TEST_SOURCE_DIRECTORY = "src/test/java";
+
+    static final String SUREFIRE_TEST_GOAL = "surefire:test";
+
+    /**
+     * The clean lifecycle and the default lifecycle phases up to and including "test". The shards drop them and run
+     * only surefire.
+     */
+    static final List<String> PHASES_UP_TO_TEST = Arrays.asList(
+            "pre-clean", "clean", "post-clean", "validate", "initialize", "generate-sources", "process-sources",
+            "generate-resources", "process-resources", "compile", "process-classes", "generate-test-sources",
+            "process-test-sources", "generate-test-resources", "process-test-resources", "test-compile",
+            "process-test-classes", "test");
+
+    static final List<String> PHASES_AFTER_TEST = Arrays.asList(
+            "prepare-package", "package", "pre-integration-test", "integration-test", "post-integration-test",
+            "verify", "install", "deploy", "pre-site", "site", "post-site", "site-deploy");
+
+    private static final List<String> CLEAN_PHASES = Arrays.asList("pre-clean", "clean", "post-clean");
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the configured number of test shards, or 1 if not configured.
+     *
+     * @exception UserErrorException if the configured value is not a positive integer or "auto".
+     */
+    static int getShardCount(Configuration c) throws UserErrorException {
+
+        String s = c.get(ConfigurationLabels.TEST_SHARDS);
+
+        if (s == null) {
+
+            return 1;
+        }
+
+        s = s.trim();
+
+        if (AUTO_SHARDS.equals(s)) {
+
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        try {
+
+            int i = Integer.parseInt(s);
+
+            if (i > 0) {
+
+                return i;
+            }
+        }
+        catch(NumberFormatException e) {
+
+            // fall through
+        }
+
+        throw new UserErrorException(
+                "invalid " + ConfigurationLabels.TEST_SHARDS + " \"" + s + "\", use a positive integer or \"" +
+                        AUTO_SHARDS + "\"");
+    }
+
+    /**
+     * @return an executor if the project is a Maven project backed by files and the configured number of test shards
+     * is larger than 1, or null if the tests should be executed by a single Maven invocation.
+     *
+     * @exception UserErrorException on invalid configuration.
+     */
+    static TestShardExecutor getInstance(Project p, Configuration c) throws UserErrorException {
+
+        int shards = getShardCount(c);
+
+        if (shards <= 1 || !(p instanceof MavenProject) || p.getBaseDirectory() == null) {
+
+            return null;
+        }
+
+        return new TestShardExecutor((MavenProject)p, shards);
+    }
+
+    /**
+     * @return the fully qualified names of the test classes under the module's test source directory that match
+     * surefire's default includes (Test*, *Test, *Tests, *TestCase), sorted. Empty if the module has no tests.
+     *
+     * @exception IOException on failure to read the directory.
+     */
+    static List<String> findTestClasses(File moduleDirectory) throws IOException {
+
+        Path root = new File(moduleDirectory, TEST_SOURCE_DIRECTORY).toPath();
+
+        if (!Files.isDirectory(root)) {
+
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> s = Files.walk(root)) {
+
+            return s.filter(Files::isRegularFile).
+                    map(p -> root.relativize(p).toString().replace(File.separatorChar, '/')).
+                    filter(TestShardExecutor::isTestClassFile).
+                    map(p -> p.substring(0, p.length() - ".java".length()).replace('/', '.')).
+                    sorted().
+                    collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Assigns the test classes to at most the given number of shards, longest classes first, each to the shard with
+     * the least estimated work so far.
+     *
+     * @return the shards, none of them empty. Within a shard, the classes are sorted.
+     */
+    static List<List<String>> partition(List<String> classes, TestTimings timings, int shards) {
+
+        if (shards < 1) {
+
+            throw new IllegalArgumentException("invalid shard count " + shards);
+        }
+
+        long average = timings.getAverage();
+        long unknown = average < 0 ? DEFAULT_TEST_CLASS_DURATION : average;
+
+        List<String> longestFirst = new ArrayList<>(classes);
+        longestFirst.sort(
+                Comparator.comparingLong((String s) -> estimate(s, timings, unknown)).reversed().
+                        thenComparing(Comparator.naturalOrder()));
+
+        int count = Math.min(shards, classes.size());
+
+        List<List<String>> result = new ArrayList<>(count);
+        long[] load = new long[count];
+
+        for(int i = 0; i < count; i ++) {
+
+            result.add(new ArrayList<>());
+        }
+
+        for(String s: longestFirst) {
+
+            int lightest = 0;
+
+            for(int i = 1; i < count; i ++) {
+
+                if (load[i] < load[lightest]) {
+
+                    lightest = i;
+                }
+            }
+
+            result.get(lightest).add(s);
+            load[lightest] += estimate(s, timings, unknown);
+        }
+
+        for(List<String> shard: result) {
+
+            Collections.sort(shard);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the surefire "test" parameter value that selects the given classes.
+     */
+    static String toTestParameter(List<String> classes) {
+
+        return classes.stream().map(s -> s.replace('.', '/') + ".java").collect(Collectors.joining(","));
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private MavenProject project;
+    private int shards;
+
+    // the shards of the last execute() invocation
+    private List<Shard> lastShards;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    TestShardExecutor(MavenProject project, int shards) {
+
+        if (project == null) {
+            throw new IllegalArgumentException("null project");
+        }
+
+        if (shards < 1) {
+            throw new IllegalArgumentException("invalid shard count " + shards);
+        }
+
+        this.project = project;
+        this.shards = shards;
+        this.lastShards = new ArrayList<>();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @param modules the modules whose tests to execute, together with the modules they depend on. Null for all
+     *                modules.
+     *
+     * @param command the command that executes all tests, as configured.
+     *
+     * @return true if the tests passed in all shards.
+     *
+     * @exception UserErrorException if the command is not a Maven command, or its lifecycle goes past "test".
+     * @exception Exception on native execution failures.
+     */
+    boolean execute(List<MavenModule> modules, String command, ApplicationRuntime r, Configuration c)
+            throws Exception {
+
+        MavenCommandLine parsed = MavenCommandLine.parse(command);
+
+        if (parsed == null) {
+
+            throw new UserErrorException(
+                    "\"" + command + "\" cannot be executed in shards, it is not a Maven command");
+        }
+
+        for(String phase: PHASES_AFTER_TEST) {
+
+            if (parsed.contains(phase)) {
+
+                throw new UserErrorException(
+                        "\"" + command + "\" cannot be executed in shards, its \"" + phase +
+                                "\" phase goes past \"test\"");
+            }
+        }
+
+        lastShards.clear();
+
+        List<File> moduleDirectories = getModuleDirectories(modules);
+
+        TreeSet<String> classes = new TreeSet<>();
+
+        for(File d: moduleDirectories) {
+
+            classes.addAll(findTestClasses(d));
+        }
+
+        List<String> moduleNames = modules == null ? null :
+                modules.stream().map(MavenModule::getName).collect(Collectors.toList());
+
+        int reactorWidth = MavenCommandLine.getReactorWidth(project, modules);
+
+        if (classes.isEmpty()) {
+
+            log.debug("no test classes found, executing \"" + command + "\" without shards");
+
+            String unsharded = MavenCommandLine.configureExecution(restrict(command, moduleNames), c, reactorWidth);
+
+            NativeExecutionResult er = OS.getInstance().execute(unsharded);
+
+            if (c.isVerbose()) {
+
+                r.info(er.getStdout());
+            }
+
+            return er.isSuccess();
+        }
+
+        //
+        // build once, so the shards find the classes compiled and do not compete writing them
+        //
+
+        MavenCommandLine compile = MavenCommandLine.parse(restrict(command, moduleNames));
+
+        for(String phase: PHASES_UP_TO_TEST) {
+
+            if (!CLEAN_PHASES.contains(phase)) {
+
+                compile.remove(phase);
+            }
+        }
+
+        compile.append(project.getModules().isEmpty() ? "test-compile" : "install");
+        compile.append("-DskipTests");
+        compile.configureExecution(c, reactorWidth);
+
+        log.debug("compiling with \"" + compile.getCommandLine() + "\" ...");
+
+        NativeExecutionResult er = OS.getInstance().execute(compile.getCommandLine());
+
+        if (c.isVerbose()) {
+
+            r.info(er.getStdout());
+        }
+
+        if (!er.isSuccess()) {
+
+            r.warn("failed to compile the tests with \"" + compile.getCommandLine() + "\"");
+            return false;
+        }
+
+        TestTimings timings = TestTimings.load(project);
+
+        List<List<String>> partition = partition(new ArrayList<>(classes), timings, shards);
+
+        List<Callable<Shard>> tasks = new ArrayList<>();
+
+        for(List<String> shardClasses: partition) {
+
+            //
+            // the shards must not clean or rebuild the classes compiled above, so they run surefire alone; the
+            // parallelism comes from the shards, so each shard runs a single-threaded reactor
+            //
+
+            MavenCommandLine cl = MavenCommandLine.parse(restrict(command, moduleNames));
+
+            for(String phase: PHASES_UP_TO_TEST) {
+
+                cl.remove(phase);
+            }
+
+            cl.append(SUREFIRE_TEST_GOAL);
+            cl.append("-Dtest=" + toTestParameter(shardClasses));
+            cl.append("-DfailIfNoTests=false");
+            cl.append("-Dsurefire.failIfNoSpecifiedTests=false");
+            cl.configureExecution(c, 1);
+
+            Shard shard = new Shard(lastShards.size() + 1, shardClasses, cl.getCommandLine());
+            lastShards.add(shard);
+            tasks.add(shard);
+        }
+
+        log.debug("executing " + classes.size() + " test class(es) in " + lastShards.size() + " shard(s) ...");
+
+        ModuleLevelExecutor.executeConcurrently(tasks, lastShards.size());
+
+        boolean success = true;
+
+        for(Shard shard: lastShards) {
+
+            if (c.isVerbose()) {
+
+                r.info(shard.getResult().getStdout());
+            }
+
+            r.info(String.format(
+                    "shard %d/%d: %d test class(es), %.1f s, %s", shard.getIndex(), lastShards.size(),
+                    shard.getClasses().size(), shard.getElapsed() / 1000d,
+                    shard.getResult().isSuccess() ? "ok" : "failed"));
+
+            success = success && shard.getResult().isSuccess();
+        }
+
+        recordTimings(timings, moduleDirectories);
+
+        return success;
+    }
+
+    int getShardCount() {
+
+        return shards;
+    }
+
+    /**
+     * @return the shards of the last execute() invocation, in execution order. Empty if no shards were executed.
+     */
+    List<Shard> getShards() {
+
+        return lastShards;
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static boolean isTestClassFile(String relativePath) {
+
+        if (!relativePath.endsWith(".java")) {
+
+            return false;
+        }
+
+        String name = relativePath.substring(relativePath.lastIndexOf('/') + 1, relativePath.length() - 5);
+
+        return name.startsWith("Test") || name.endsWith("Test") || name.endsWith("Tests") ||
+                name.endsWith("TestCase");
+    }
+
+    private static long estimate(String className, TestTimings timings, long unknown) {
+
+        Long t = timings.get(className);
+        return t == null ? unknown : t;
+    }
+
+    private static String restrict(String command, List<String> moduleNames) {
+
+        return moduleNames == null ? command : MavenCommandLine.restrictToModules(command, moduleNames);
+    }
+
+    /**
+     * @return the directories of the modules whose tests are executed, or the project directory for a single-module
+     * project.
+     */
+    private List<File> getModuleDirectories(List<MavenModule> modules) throws Exception {
+
+        List<File> result = new ArrayList<>();
+
+        if (project.getModules().isEmpty()) {
+
+            result.add(project.getBaseDirectory());
+            return result;
+        }
+
+        List<List<MavenModule>> levels =
+                modules == null ? project.getModuleGraph().getLevels() : project.getModuleGraph().getLevels(modules);
+
+        for(List<MavenModule> level: levels) {
+
+            for(MavenModule m: level) {
+
+                result.add(m.getPOM().getFile().getAbsoluteFile().getParentFile());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Failures to record the timings are not fatal, the timings only help the next run.
+     */
+    private void recordTimings(TestTimings timings, List<File> moduleDirectories) {
+
+        try {
+
+            int recorded = 0;
+
+            for(File d: moduleDirectories) {
+
+                recorded += timings.recordReports(d);
+            }
+
+            if (recorded > 0) {
+
+                timings.save();
+            }
+
+            log.debug("recorded the durations of " + recorded + " test class(es) in " + timings.getFile());
+        }
+        catch(IOException e) {
+
+            log.warn("failed to record the test durations: " + e.getMessage());
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    /**
+     * A subset of the test classes, executed by its own Maven process.
+     */
+    static class Shard implements Callable<Shard> {
+
+        private int index;
+        private List<String> classes;
+        private String command;
+        private NativeExecutionResult result;
+        private long elapsed;
+
+        Shard(int index, List<String> classes, String command) {
+
+            this.index = index;
+            this.classes = classes;
+            this.command = command;
+        }
+
+        @Override
+        public Shard call() throws Exception {
+
+            long start = System.currentTimeMillis();
+            result = OS.getInstance().execute(command);
+            elapsed = System.currentTimeMillis() - start;
+            return this;
+        }
+
+        /**
+         * @return the 1-based index of the shard.
+         */
+        int getIndex() {
+
+            return index;
+        }
+
+        List<String> getClasses() {
+
+            return classes;
+        }
+
+        String getCommand() {
+
+            return command;
+        }
+
+        /**
+         * @return null if the shard was not executed.
+         */
+        NativeExecutionResult getResult() {
+
+            return result;
+        }
+
+        /**
+         * @return the wall-clock duration of the shard execution, in milliseconds.
+         */
+        long getElapsed() {
+
+            return elapsed;
+        }
+
+        @Override
+        public String toString() {
+
+            return "shard " + index + " " + classes;
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The versions released so far, as recovered from the release tags. Only tags that match the release tag format are
+ * taken into account, everything else in the tag list is ignored.
+ *
+ * @see ReleaseTagFormat
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseHistory {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Reads the tag list, one tag per line, to the end. The lines are parsed in parallel, so repositories with many
+     * thousands of tags are processed at the rate the tag list can be read.
+     *
+     * @exception IOException on failure to read the tag list.
+     */
+    public static ReleaseHistory fromTags(BufferedReader tags, ReleaseTagFormat format) throws IOException {
+
+        if (format == null) {
+            throw new IllegalArgumentException("null tag format");
+        }
+
+        long[] packed;
+
+        try {
+
+            packed = tags.lines().parallel().mapToLong(format::toPackedVersion).filter(p -> p >= 0).toArray();
+        }
+        catch(UncheckedIOException e) {
+
+            throw e.getCause();
+        }
+
+        return new ReleaseHistory(VersionSet.fromPackedLongs(packed));
+    }
+
+    public static ReleaseHistory fromTags(Collection<String> tags, ReleaseTagFormat format) {
+
+        if (format == null) {
+            throw new IllegalArgumentException("null tag format");
+        }
+
+        long[] packed = tags.parallelStream().mapToLong(format::toPackedVersion).filter(p -> p >= 0).toArray();
+
+        return new ReleaseHistory(VersionSet.fromPackedLongs(packed));
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final VersionSet versions;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    public ReleaseHistory(VersionSet versions) {
+
+        if (versions == null) {
+            throw new IllegalArgumentException("null version set");
+        }
+
+        this.versions = versions;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return all released versions, in order. Do not modify.
+     */
+    public VersionSet getVersions() {
+
+        return versions;
+    }
+
+    /**
+     * @return the most recent dot release, or null if there was none.
+     */
+    public Version getLatestRelease() {
+
+        return versions.lastRelease();
+    }
+
+    /**
+     * @return the most recent snapshot release, or null if there was none. nort does not tag snapshot releases, so
+     * snapshots only show up in histories built from tags created by other means.
+     */
+    public Version getLatestSnapshot() {
+
+        return versions.lastSnapshot();
+    }
+
+    /**
+     * @return true if the version was already released, so releasing it again would collide with an existing tag.
+     * Typically used to validate the result of Version.nextVersion().
+     *
+     * @see Version#nextVersion
+     */
+    public boolean isReleased(Version v) {
+
+        return versions.contains(v);
+    }
+
+    /**
+     * Looks for holes in the release sequence: dot releases that skip a patch, minor or major version, and snapshot
+     * releases of the same version that skip a snapshot number.
+     *
+     * @return the gaps, in order. May return an empty list, but never null.
+     */
+    public List<Gap> getGaps() {
+
+        List<Gap> gaps = null;
+
+        Version previousDot = null;
+        Version previousSnapshot = null;
+
+        for(Version v: versions) {
+
+            Gap gap = null;
+
+            if (v.isDot()) {
+
+                if (previousDot != null && !isNextDot(previousDot, v)) {
+
+                    gap = new Gap(previousDot, v);
+                }
+
+                previousDot = v;
+            }
+            else {
+
+                if (previousSnapshot != null &&
+                        sameDotComponents(previousSnapshot, v) &&
+                        v.getSnapshot() != previousSnapshot.getSnapshot() + 1) {
+
+                    gap = new Gap(previousSnapshot, v);
+                }
+
+                previousSnapshot = v;
+            }
+
+            if (gap != null) {
+
+                if (gaps == null) {
+
+                    gaps = new ArrayList<>();
+                }
+
+                gaps.add(gap);
+            }
+        }
+
+        return gaps == null ? Collections.emptyList() : gaps;
+    }
+
+    @Override
+    public String toString() {
+
+        return versions.size() + " release(s)";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * A missing component is equivalent with 0.
+     */
+    private static int component(Integer i) {
+
+        return i == null ? 0 : i;
+    }
+
+    private static boolean sameDotComponents(Version v, Version v2) {
+
+        return component(v.getMajor()) == component(v2.getMajor()) &&
+                component(v.getMinor()) == component(v2.getMinor()) &&
+                component(v.getPatch()) == component(v2.getPatch());
+    }
+
+    /**
+     * @return true if 'next' is the dot release that immediately follows 'previous': the following patch of the
+     * same minor version, the first patch of the following minor version or the first release of the following major
+     * version.
+     */
+    private static boolean isNextDot(Version previous, Version next) {
+
+        int major = component(previous.getMajor());
+        int minor = component(previous.getMinor());
+        int patch = component(previous.getPatch());
+
+        int nextMajor = component(next.getMajor());
+        int nextMinor = component(next.getMinor());
+        int nextPatch = component(next.getPatch());
+
+        if (nextMajor == major) {
+
+            if (nextMinor == minor) {
+
+                return nextPatch == patch + 1;
+            }
+
+            return nextMinor == minor + 1 && nextPatch == 0;
+        }
+
+        return nextMajor == major + 1 && nextMinor == 0 && nextPatch == 0;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    /**
+     * Two consecutive releases of the same kind (dot or snapshot) with at least one version missing in between.
+     */
+    public static class Gap {
+
+        private final Version after;
+        private final Version before;
+
+        Gap(Version after, Version before) {
+
+            this.after = after;
+            this.before = before;
+        }
+
+        /**
+         * @return the last release before the gap.
+         */
+        public Version getAfter() {
+
+            return after;
+        }
+
+        /**
+         * @return the first release after the gap.
+         */
+        public Version getBefore() {
+
+            return before;
+        }
+
+        @Override
+        public String toString() {
+
+            return "between " + after + " and " + before;
+        }
+    }
+
+}
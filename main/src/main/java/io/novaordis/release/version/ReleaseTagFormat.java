@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+/**
+ * The inverse of the release tag template: the constant text that precedes and follows the version in a release tag.
+ * For the default template "release-${current.version}" the prefix is "release-" and the suffix is empty.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseTagFormat {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    public static final String MODULE_SEPARATOR = "-";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String prefix;
+    private final String suffix;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    public ReleaseTagFormat(String prefix, String suffix) {
+
+        if (prefix == null) {
+            throw new IllegalArgumentException("null prefix");
+        }
+
+        if (suffix == null) {
+            throw new IllegalArgumentException("null suffix");
+        }
+
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public String getPrefix() {
+
+        return prefix;
+    }
+
+    public String getSuffix() {
+
+        return suffix;
+    }
+
+    /**
+     * @return the format of the release tags of an independently versioned module: the module name, followed by a
+     * dash, followed by the project release tag. For the default template, "module1-release-1.2".
+     */
+    public ReleaseTagFormat forModule(String moduleName) {
+
+        if (moduleName == null) {
+            throw new IllegalArgumentException("null module name");
+        }
+
+        return new ReleaseTagFormat(moduleName + MODULE_SEPARATOR + prefix, suffix);
+    }
+
+    public String toTag(Version v) {
+
+        return prefix + v.getLiteral() + suffix;
+    }
+
+    /**
+     * @return the version the tag was created for, or null if the tag does not match the format or the text between
+     * the prefix and the suffix is not a version.
+     */
+    public Version toVersion(String tag) {
+
+        String literal = extractLiteral(tag);
+
+        if (literal == null) {
+
+            return null;
+        }
+
+        try {
+
+            return new Version(literal);
+        }
+        catch(VersionFormatException e) {
+
+            return null;
+        }
+    }
+
+    /**
+     * Allocation-light variant of toVersion(), for bulk tag processing.
+     *
+     * @return the packed version the tag was created for, or -1 if the tag does not match the format, the text
+     * between the prefix and the suffix is not a version or the version is not packable.
+     *
+     * @see Version#toPackedLong()
+     */
+    public long toPackedVersion(String tag) {
+
+        Version v = toVersion(tag);
+
+        return v == null || !v.isPackable() ? -1L : v.toPackedLong();
+    }
+
+    @Override
+    public String toString() {
+
+        return prefix + "<version>" + suffix;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return the text between prefix and suffix, or null if the tag does not match, or the text does not start with
+     * a digit - this weeds out most unrelated tags without the cost of a failed parse.
+     */
+    private String extractLiteral(String tag) {
+
+        if (tag == null) {
+
+            return null;
+        }
+
+        tag = tag.trim();
+
+        int end = tag.length() - suffix.length();
+
+        if (end <= prefix.length() || !tag.startsWith(prefix) || !tag.endsWith(suffix)) {
+
+            return null;
+        }
+
+        if (!Character.isDigit(tag.charAt(prefix.length()))) {
+
+            return null;
+        }
+
+        return tag.substring(prefix.length(), end);
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -33,8 +33,126 @@ public class Version implements Comparable<Version> {
 
     private static final Logger log = LoggerFactory.getLogger(Version.class);
 
+    //
+    // Packed representation, see toPackedLong(). From the most significant bit down: the sign bit (always 0), 16 bits
+    // major, 16 bits minor, 16 bits patch, 13 bits snapshot and two "component present" bits, for minor and patch.
+    // A dot version stores the all-ones snapshot value, so it sorts after any snapshot of the same major.minor.patch.
+    //
+
+    public static final int PACKED_COMPONENT_MAX = 0xFFFF;
+    public static final int PACKED_SNAPSHOT_MAX = 0x1FFE;
+
+    private static final int MAJOR_SHIFT = 47;
+    private static final int MINOR_SHIFT = 31;
+    private static final int PATCH_SHIFT = 15;
+    private static final int SNAPSHOT_SHIFT = 2;
+
+    private static final long COMPONENT_MASK = 0xFFFFL;
+    private static final long SNAPSHOT_MASK = 0x1FFFL;
+    private static final long NO_SNAPSHOT = SNAPSHOT_MASK;
+
+    private static final long MINOR_PRESENT = 0x2L;
+    private static final long PATCH_PRESENT = 0x1L;
+    private static final int PRESENCE_BITS = 2;
+
+    private static final long NOT_PACKABLE = -1L;
+
+    // the number of literals valueOf() keeps canonical instances for, per cache generation
+    private static final int VALUE_OF_CACHE_CAPACITY = 1024;
+
     // Static ----------------------------------------------------------------------------------------------------------
 
+    private static final VersionCache cache = new VersionCache(VALUE_OF_CACHE_CAPACITY);
+
+    /**
+     * Equivalent to new Version(literal), except that it returns a shared, canonical instance for literals that were
+     * recently parsed. Versions are immutable, so the instance can be safely reused by any number of threads. The
+     * cache is bounded, literals that fail to parse are not cached.
+     *
+     * @exception VersionFormatException if the literal is not a valid version.
+     */
+    public static Version valueOf(String literal) throws VersionFormatException {
+
+        if (literal == null) {
+
+            throw new IllegalArgumentException("null literal");
+        }
+
+        return cache.get(literal);
+    }
+
+    /**
+     * Rebuilds a Version from its packed representation. The minor and patch components that were absent when the
+     * version was packed are absent in the result.
+     *
+     * @see Version#toPackedLong()
+     *
+     * @exception IllegalArgumentException if the argument is not a valid packed version.
+     */
+    public static Version fromPackedLong(long packed) throws IllegalArgumentException {
+
+        if (packed < 0) {
+
+            throw new IllegalArgumentException("invalid packed version " + packed);
+        }
+
+        int major = (int)((packed >>> MAJOR_SHIFT) & COMPONENT_MASK);
+        int minor = (int)((packed >>> MINOR_SHIFT) & COMPONENT_MASK);
+        int patch = (int)((packed >>> PATCH_SHIFT) & COMPONENT_MASK);
+        long snapshot = (packed >>> SNAPSHOT_SHIFT) & SNAPSHOT_MASK;
+
+        boolean minorPresent = (packed & MINOR_PRESENT) != 0;
+        boolean patchPresent = (packed & PATCH_PRESENT) != 0;
+
+        if ((!minorPresent && minor != 0) || (!patchPresent && patch != 0)) {
+
+            throw new IllegalArgumentException("invalid packed version " + packed);
+        }
+
+        return new Version(
+                major,
+                minorPresent ? minor : null,
+                patchPresent ? patch : null,
+                snapshot == NO_SNAPSHOT ? null : (int)snapshot);
+    }
+
+    /**
+     * Compares two packed versions with the same semantics as Version.compareTo(), in a single comparison.
+     *
+     * @see Version#compareTo(Version)
+     * @see Version#toPackedLong()
+     */
+    public static int comparePacked(long packed, long otherPacked) {
+
+        //
+        // the "component present" bits do not participate in ordering: 1.2 and 1.2.0 are the same version
+        //
+
+        return Long.compare(orderingKey(packed), orderingKey(otherPacked));
+    }
+
+    /**
+     * Equivalent to fromPackedLong(packed).isSnapshot(), without creating the Version instance.
+     *
+     * @see Version#toPackedLong()
+     */
+    public static boolean isPackedSnapshot(long packed) {
+
+        return ((packed >>> SNAPSHOT_SHIFT) & SNAPSHOT_MASK) != NO_SNAPSHOT;
+    }
+
+    /**
+     * @return a non-negative value that preserves the version ordering under plain long comparison, and that is
+     * contiguous: there is no version between the versions with the keys k and k + 1. Used to compile version ranges
+     * into integer intervals.
+     *
+     * @see VersionRange
+     */
+    static long orderingKey(long packed) {
+
+        return packed >>> PRESENCE_BITS;
+    }
+
     /**
      * Computes the next logical version that should succeed the given version, for the given release mode. If it is
      * a major, minor, patch or snapshot release, the version is incremented. If it is a custom release, the custom
@@ -167,19 +285,188 @@ public class Version implements Comparable<Version> {
 
     // Attributes ------------------------------------------------------------------------------------------------------
 
-    private String literal;
-    private Integer major;
-    private Integer minor;
-    private Integer patch;
-    private Integer snapshot;
+    private final String literal;
+    private final Integer major;
+    private final Integer minor;
+    private final Integer patch;
+    private final Integer snapshot;
 
-    private VersionToken last;
+    // the packed representation, or NOT_PACKABLE if a component exceeds the packed range
+    private final long packed;
 
     // Constructors ----------------------------------------------------------------------------------------------------
 
-    public Version(String literal) throws VersionFormatException {
+    /**
+     * Single-pass scanner: walks the literal character by character and installs the components directly, without
+     * creating intermediate VersionToken instances. It accepts exactly the literals VersionTokenizer and the original
+     * token-based state machine accept, and fails with the same VersionFormatException messages.
+     *
+     * Prefer Version.valueOf() when the same literal is likely to be parsed repeatedly.
+     *
+     * @see Version#valueOf(String)
+     */
+    public Version(String origLiteral) throws VersionFormatException {
+
+        String literal = origLiteral.trim();
+
+        Integer major = null;
+        Integer minor = null;
+        Integer patch = null;
+        Integer snapshot = null;
+
+        int length = literal.length();
+        VersionComponentType nextComponentType = VersionComponentType.major;
+
+        //
+        // whether the previously scanned token was a separator (dot or snapshot separator)
+        //
+        boolean lastWasSeparator = false;
+
+        int i = 0;
+
+        while(i < length) {
+
+            if (nextComponentType == null) {
+                //
+                // we don't need more components, yet the literal has them
+                //
+                throw new VersionFormatException("too many version components");
+            }
+
+            char c = literal.charAt(i);
+
+            if (c == '.') {
+
+                i ++;
+
+                if (VersionComponentType.minor.equals(nextComponentType) ||
+                        VersionComponentType.patch.equals(nextComponentType)) {
+
+                    if (lastWasSeparator) {
+
+                        throw new VersionFormatException("empty version component");
+                    }
+
+                    // else ignore
+                }
+                else {
+
+                    throw new VersionFormatException("expecting a numeric component and got .");
+                }
+
+                lastWasSeparator = true;
+            }
+            else if (c == '-') {
+
+                //
+                // same as the tokenizer, a dash must start a full-length snapshot separator
+                //
+
+                if (length - i < SnapshotSeparatorVersionToken.LITERAL.length()) {
+
+                    throw new VersionFormatException("incomplete snapshot separator");
+                }
+
+                i += SnapshotSeparatorVersionToken.LITERAL.length();
+
+                if (VersionComponentType.major.equals(nextComponentType)) {
+
+                    throw new VersionFormatException(
+                            "expecting a numeric component and got " + SnapshotSeparatorVersionToken.LITERAL);
+                }
+
+                if (VersionComponentType.snapshot.equals(nextComponentType) && lastWasSeparator) {
+
+                    throw new VersionFormatException("empty version component");
+                }
+
+                nextComponentType = VersionComponentType.snapshot;
+                lastWasSeparator = true;
+            }
+            else {
+
+                //
+                // numeric component, accumulate the value while advancing to the next separator
+                //
+
+                int start = i;
+                int value = 0;
+                boolean plainDecimal = true;
+
+                for(; i < length; i ++) {
+
+                    c = literal.charAt(i);
+
+                    if (c == '.' || c == '-') {
+
+                        break;
+                    }
+
+                    if (plainDecimal) {
+
+                        int digit = c - '0';
+
+                        if (digit >= 0 && digit <= 9 && value <= (Integer.MAX_VALUE - digit) / 10) {
+
+                            value = value * 10 + digit;
+                        }
+                        else {
+
+                            plainDecimal = false;
+                        }
+                    }
+                }
+
+                if (!plainDecimal) {
+
+                    //
+                    // not a plain, in-range ASCII decimal: let the numeric token apply Integer.parseInt() semantics
+                    // and produce the error message. This is the only path that allocates, and it is rarely taken.
+                    //
+
+                    value = new NumericVersionToken(literal.substring(start, i)).getNumericValue();
+                }
+
+                //
+                // install the component and advance to the next one in line, or to null if we don't expect any more
+                //
+
+                if (VersionComponentType.major.equals(nextComponentType)) {
+
+                    major = value;
+                    nextComponentType = VersionComponentType.minor;
+                }
+                else if (VersionComponentType.minor.equals(nextComponentType)) {
+
+                    minor = value;
+                    nextComponentType = VersionComponentType.patch;
+                }
+                else if (VersionComponentType.patch.equals(nextComponentType)) {
+
+                    patch = value;
+                    nextComponentType = VersionComponentType.snapshot;
+                }
+                else {
+
+                    snapshot = value;
+                    nextComponentType = null;
+                }
+
+                lastWasSeparator = false;
+            }
+        }
+
+        if (major == null) {
+
+            throw new VersionFormatException("\"" + literal + "\" missing the major component");
+        }
 
-        parse(literal);
+        this.literal = literal;
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.snapshot = snapshot;
+        this.packed = pack(major, minor, patch, snapshot);
     }
 
     /**
@@ -219,6 +506,9 @@ public class Version implements Comparable<Version> {
         }
 
         this.snapshot = snapshot;
+
+        this.literal = render(major, minor, patch, snapshot);
+        this.packed = pack(major, minor, patch, snapshot);
     }
 
     // Comparable implementation ---------------------------------------------------------------------------------------
@@ -237,6 +527,11 @@ public class Version implements Comparable<Version> {
             return 0;
         }
 
+        if (packed != NOT_PACKABLE && o.packed != NOT_PACKABLE) {
+
+            return comparePacked(packed, o.packed);
+        }
+
         // negative if this version is less than o
 
         Integer thatMajor = o.major;
@@ -352,30 +647,6 @@ public class Version implements Comparable<Version> {
      */
     public String getLiteral() {
 
-        if (literal != null) {
-
-            return literal;
-        }
-
-        literal = "";
-
-        if (snapshot != null) {
-
-            literal = "-SNAPSHOT-" + snapshot;
-        }
-
-        if (patch != null) {
-
-            literal = patch + literal;
-        }
-
-        if (minor != null) {
-
-            literal = minor + (literal.length() > 0 ? "." : "") + literal;
-        }
-
-        literal = major + (literal.length() > 0 ? ( literal.startsWith("-") ? "" : ".") : "") + literal;
-
         return literal;
     }
 
@@ -398,6 +669,11 @@ public class Version implements Comparable<Version> {
                         snapshot == null;
     }
 
+    /**
+     * Consistent with compareTo(): two versions are equal if they compare as equal. Missing minor and patch
+     * components are equivalent to 0 ("1" equals "1.0.0"), but a missing snapshot is not equivalent to snapshot 0:
+     * "1.0.0-SNAPSHOT-0" precedes, and is not equal to, the dot version "1.0.0".
+     */
     @Override
     public boolean equals(Object o) {
 
@@ -411,34 +687,22 @@ public class Version implements Comparable<Version> {
 
         Version that = (Version)o;
 
-        if (!major.equals(that.major)) {
-            return false;
-        }
-
-        int minorAsInt = minor == null ? 0 : minor;
-        int thatMinorAsInt = that.minor == null ? 0 : that.minor;
+        if (packed != NOT_PACKABLE && that.packed != NOT_PACKABLE) {
 
-        if (minorAsInt != thatMinorAsInt) {
-            return false;
-        }
-
-        int patchAsInt = patch == null ? 0 : patch;
-        int thatPatchAsInt = that.patch == null ? 0 : that.patch;
-
-        if (patchAsInt != thatPatchAsInt) {
-            return false;
+            return comparePacked(packed, that.packed) == 0;
         }
 
-        int snapshotAsInt = snapshot == null ? 0 : snapshot;
-        int thatSnapshotAsInt = that.snapshot == null ? 0 : that.snapshot;
-
-        return snapshotAsInt == thatSnapshotAsInt;
-
+        return compareTo(that) == 0;
     }
 
     @Override
     public int hashCode() {
 
+        if (packed != NOT_PACKABLE) {
+
+            return Long.hashCode(packed >>> PRESENCE_BITS);
+        }
+
         return
                 7 +
                         major * 11 +
@@ -447,6 +711,43 @@ public class Version implements Comparable<Version> {
                         (snapshot == null ? 0 : snapshot) * 19;
     }
 
+    /**
+     * @return true if all components fit in the packed representation: major, minor and patch must not exceed
+     * PACKED_COMPONENT_MAX and the snapshot must not exceed PACKED_SNAPSHOT_MAX.
+     *
+     * @see Version#toPackedLong()
+     */
+    public boolean isPackable() {
+
+        return packed != NOT_PACKABLE;
+    }
+
+    /**
+     * Encodes the version into a non-negative long. Comparing the packed values with comparePacked() produces the
+     * same result as compareTo(), so large numbers of versions can be sorted and range-checked as primitive longs.
+     * The encoding also records whether minor and patch were present, so fromPackedLong() restores the components as
+     * they were (the literal, however, is re-rendered from components).
+     *
+     * @see Version#comparePacked(long, long)
+     * @see Version#fromPackedLong(long)
+     * @see VersionSet
+     *
+     * @exception IllegalStateException if the version is not packable.
+     *
+     * @see Version#isPackable()
+     */
+    public long toPackedLong() throws IllegalStateException {
+
+        if (packed == NOT_PACKABLE) {
+
+            throw new IllegalStateException(
+                    this + " cannot be packed, its components exceed " + PACKED_COMPONENT_MAX + "." +
+                            PACKED_COMPONENT_MAX + "." + PACKED_COMPONENT_MAX + "-SNAPSHOT-" + PACKED_SNAPSHOT_MAX);
+        }
+
+        return packed;
+    }
+
     @Override
     public String toString() {
 
@@ -459,154 +760,54 @@ public class Version implements Comparable<Version> {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
-    private void parse(String origLiteral) throws VersionFormatException {
-
-        literal = origLiteral.trim();
-
-        VersionTokenizer t = new VersionTokenizer(literal);
-        VersionComponentType nextComponentType = VersionComponentType.major;
-
-        while(t.hasNext()) {
-
-            if (nextComponentType == null) {
-                //
-                // we don't need more components, yet the literal has them
-                //
-                throw new VersionFormatException("too many version components");
-            }
+    /**
+     * @return the packed representation or NOT_PACKABLE if any component is out of the packed range.
+     */
+    private static long pack(Integer major, Integer minor, Integer patch, Integer snapshot) {
 
-            VersionToken crt = t.next();
-            nextComponentType = installComponent(nextComponentType, crt);
-            last = crt;
-        }
+        int minorValue = minor == null ? 0 : minor;
+        int patchValue = patch == null ? 0 : patch;
 
-        if (major == null) {
+        if (major > PACKED_COMPONENT_MAX || minorValue > PACKED_COMPONENT_MAX || patchValue > PACKED_COMPONENT_MAX ||
+                (snapshot != null && snapshot > PACKED_SNAPSHOT_MAX)) {
 
-            throw new VersionFormatException("\"" + literal + "\" missing the major component");
+            return NOT_PACKABLE;
         }
 
-        //
-        // cleanup
-        //
-        last = null;
+        return
+                ((long)major << MAJOR_SHIFT) |
+                        ((long)minorValue << MINOR_SHIFT) |
+                        ((long)patchValue << PATCH_SHIFT) |
+                        ((snapshot == null ? NO_SNAPSHOT : snapshot) << SNAPSHOT_SHIFT) |
+                        (minor == null ? 0 : MINOR_PRESENT) |
+                        (patch == null ? 0 : PATCH_PRESENT);
     }
 
     /**
-     * @return the next component in line after this installation or null if we don't expect any more components
+     * Renders the literal from components, for versions that were not created by parsing a literal.
      */
-    private VersionComponentType installComponent(VersionComponentType nextComponent, VersionToken token)
-            throws VersionFormatException {
-
-        if (token == null) {
-
-            throw new IllegalArgumentException("null version component");
-        }
-
-        if (VersionComponentType.major.equals(nextComponent)) {
-
-            if (major != null) {
-
-                throw new IllegalArgumentException("the major component already identified: " + major);
-            }
-
-            if (!token.isNumericComponent()) {
-
-                throw new VersionFormatException("expecting a numeric component and got " + token);
-            }
-
-            major = token.getNumericValue();
-            return VersionComponentType.minor;
-        }
-
-        // minor, patch or snapshot
-
-        if (VersionComponentType.minor.equals(nextComponent)) {
-
-            if (minor != null) {
-
-                throw new IllegalArgumentException("the minor component already identified: " + minor);
-            }
-
-            if (token.isDot()) {
-
-                if (last != null && last.isSeparator()) {
-
-                    throw new VersionFormatException("empty version component");
-                }
+    private static String render(Integer major, Integer minor, Integer patch, Integer snapshot) {
 
-                // else ignore
-                return VersionComponentType.minor;
-            }
-
-            if (token.isSnapshotSeparator()) {
+        StringBuilder sb = new StringBuilder();
 
-                return VersionComponentType.snapshot;
-            }
+        sb.append(major);
 
-            if (!token.isNumericComponent()) {
-
-                throw new VersionFormatException("expecting a numeric component and got " + token);
-            }
+        if (minor != null) {
 
-            minor = token.getNumericValue();
-            return VersionComponentType.patch;
+            sb.append('.').append(minor);
         }
 
-        if (VersionComponentType.patch.equals(nextComponent)) {
-
-            if (patch != null) {
-
-                throw new IllegalArgumentException("the patch component already identified: " + patch);
-            }
-
-            if (token.isDot()) {
-
-                if (last != null && last.isSeparator()) {
-
-                    throw new VersionFormatException("empty version component");
-                }
-
-                // else ignore
-                return VersionComponentType.patch;
-            }
-
-            if (token.isSnapshotSeparator()) {
-
-                return VersionComponentType.snapshot;
-            }
-
-            if (!token.isNumericComponent()) {
-
-                throw new VersionFormatException("expecting a numeric component and got " + token);
-            }
+        if (patch != null) {
 
-            patch = token.getNumericValue();
-            return VersionComponentType.snapshot;
+            sb.append('.').append(patch);
         }
 
-        if (VersionComponentType.snapshot.equals(nextComponent)) {
-
-            if (token.isSnapshotSeparator()) {
-
-                if (last != null && last.isSeparator()) {
-
-                    throw new VersionFormatException("empty version component");
-                }
-
-                // else ignore
-                return VersionComponentType.snapshot;
-            }
-
-            if (!token.isNumericComponent()) {
-
-                throw new VersionFormatException("expecting a numeric component and got " + token);
-            }
+        if (snapshot != null) {
 
-            snapshot = token.getNumericValue();
-            return null;
+            sb.append("-SNAPSHOT-").append(snapshot);
         }
 
-        return null;
+        return sb.toString();
     }
 
     // Inner classes ---------------------------------------------------------------------------------------------------
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded, thread-safe cache of parsed versions, keyed by literal. Backs Version.valueOf().
+ *
+ * The cache keeps two generations. Lookups check the current generation first, then the previous one, and promote
+ * previous generation hits. When the current generation fills up, it becomes the previous generation and the old
+ * previous generation is dropped. Recently used literals survive the rotation, and the cache never holds more than
+ * twice its capacity.
+ *
+ * Under contention two threads may parse the same literal concurrently and briefly return different (but equal)
+ * instances; one of them wins and is returned from then on.
+ *
+ * @see Version#valueOf(String)
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class VersionCache {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final int capacity;
+
+    private volatile Map<String, Version> current;
+    private volatile Map<String, Version> previous;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    /**
+     * @param capacity the number of entries per generation.
+     */
+    VersionCache(int capacity) {
+
+        if (capacity <= 0) {
+
+            throw new IllegalArgumentException("invalid capacity " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.current = new ConcurrentHashMap<>();
+        this.previous = new ConcurrentHashMap<>();
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Override
+    public String toString() {
+
+        return "VersionCache[" + size() + "/" + capacity + "]";
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    /**
+     * @return the canonical instance for the literal, parsing it if it is not cached.
+     *
+     * @exception VersionFormatException if the literal is not a valid version.
+     */
+    Version get(String literal) throws VersionFormatException {
+
+        Map<String, Version> c = current;
+
+        Version v = c.get(literal);
+
+        if (v != null) {
+
+            return v;
+        }
+
+        v = previous.get(literal);
+
+        if (v == null) {
+
+            v = new Version(literal);
+        }
+
+        if (c.size() >= capacity) {
+
+            rotate(c);
+            c = current;
+        }
+
+        Version existing = c.putIfAbsent(literal, v);
+
+        return existing == null ? v : existing;
+    }
+
+    /**
+     * @return the number of cached literals, across both generations. Literals present in both generations are
+     * counted twice.
+     */
+    int size() {
+
+        return current.size() + previous.size();
+    }
+
+    int getCapacity() {
+
+        return capacity;
+    }
+
+    void clear() {
+
+        synchronized (this) {
+
+            current = new ConcurrentHashMap<>();
+            previous = new ConcurrentHashMap<>();
+        }
+    }
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private void rotate(Map<String, Version> full) {
+
+        synchronized (this) {
+
+            if (current != full) {
+
+                //
+                // another thread already rotated
+                //
+                return;
+            }
+
+            previous = full;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
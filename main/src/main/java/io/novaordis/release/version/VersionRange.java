@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A version constraint. Supported syntax:
+ *
+ * <ul>
+ *     <li>Maven-style ranges: "[1.2,2.0)", "(,1.0]", "[1.5,)", "[1.0]" and unions such as "(,1.0],[1.2,)".</li>
+ *     <li>Wildcards: "1.3.*" matches all versions whose major and minor are 1 and 3, including snapshots; "*" matches
+ *     everything.</li>
+ *     <li>A bare version, which only matches itself (1.2 and 1.2.0 are the same version).</li>
+ * </ul>
+ *
+ * The ordering is the one defined by Version.compareTo(). A range is compiled into half-open intervals over the
+ * packed version ordering keys, so checking a packable version against it is a few long comparisons. Ranges whose
+ * bounds are not packable are evaluated with compareTo().
+ *
+ * Instances are immutable.
+ *
+ * @see Version#compareTo(Version)
+ * @see Version#toPackedLong()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionRange {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @exception VersionFormatException if the specification is not a valid range.
+     */
+    public static VersionRange parse(String spec) throws VersionFormatException {
+
+        if (spec == null) {
+
+            throw new IllegalArgumentException("null version range");
+        }
+
+        String s = spec.trim();
+
+        if (s.isEmpty()) {
+
+            throw new VersionFormatException("empty version range");
+        }
+
+        List<Interval> intervals = new ArrayList<>();
+
+        char first = s.charAt(0);
+
+        if (first != '[' && first != '(') {
+
+            intervals.add(s.endsWith("*") ? wildcard(spec, s) : exact(spec, s));
+            return new VersionRange(spec, intervals);
+        }
+
+        int i = 0;
+
+        while(i < s.length()) {
+
+            char open = s.charAt(i);
+
+            if (open != '[' && open != '(') {
+
+                throw new VersionFormatException(
+                        "invalid version range \"" + spec + "\": expected '[' or '(' at position " + i);
+            }
+
+            int close = i + 1;
+
+            while(close < s.length() && s.charAt(close) != ']' && s.charAt(close) != ')') {
+
+                close ++;
+            }
+
+            if (close == s.length()) {
+
+                throw new VersionFormatException("invalid version range \"" + spec + "\": missing ']' or ')'");
+            }
+
+            intervals.add(interval(spec, open, s.substring(i + 1, close), s.charAt(close)));
+
+            i = close + 1;
+
+            while(i < s.length() && Character.isWhitespace(s.charAt(i))) {
+
+                i ++;
+            }
+
+            if (i < s.length()) {
+
+                if (s.charAt(i) != ',') {
+
+                    throw new VersionFormatException(
+                            "invalid version range \"" + spec + "\": expected ',' at position " + i);
+                }
+
+                i ++;
+
+                while(i < s.length() && Character.isWhitespace(s.charAt(i))) {
+
+                    i ++;
+                }
+
+                if (i == s.length()) {
+
+                    throw new VersionFormatException("invalid version range \"" + spec + "\": trailing ','");
+                }
+            }
+        }
+
+        return new VersionRange(spec, intervals);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private final String spec;
+
+    private final Interval[] intervals;
+
+    // inclusive lower and exclusive upper ordering keys, pairwise, or null if any bound is not packable
+    private final long[] compiled;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private VersionRange(String spec, List<Interval> intervals) {
+
+        this.spec = spec;
+        this.intervals = intervals.toArray(new Interval[intervals.size()]);
+        this.compiled = compile(this.intervals);
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    public boolean contains(Version v) {
+
+        if (v == null) {
+
+            return false;
+        }
+
+        if (compiled != null && v.isPackable()) {
+
+            long key = Version.orderingKey(v.toPackedLong());
+
+            for(int i = 0; i < compiled.length; i += 2) {
+
+                if (compiled[i] <= key && key < compiled[i + 1]) {
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        for(Interval i: intervals) {
+
+            if (i.contains(v)) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if the range was compiled to packed intervals. For testing.
+     */
+    boolean isCompiled() {
+
+        return compiled != null;
+    }
+
+    @Override
+    public String toString() {
+
+        return spec;
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static Interval exact(String spec, String literal) throws VersionFormatException {
+
+        Version v = version(spec, literal);
+
+        return new Interval(v, true, v, true);
+    }
+
+    /**
+     * "1.3.*" is compiled to [1.3.0-SNAPSHOT-0, 1.4.0-SNAPSHOT-0), "*" to (,).
+     */
+    private static Interval wildcard(String spec, String s) throws VersionFormatException {
+
+        if (s.equals("*")) {
+
+            return new Interval(null, false, null, false);
+        }
+
+        if (!s.endsWith(".*")) {
+
+            throw new VersionFormatException("invalid version range \"" + spec + "\": invalid wildcard");
+        }
+
+        Version prefix = version(spec, s.substring(0, s.length() - 2));
+
+        if (prefix.isSnapshot()) {
+
+            throw new VersionFormatException("invalid version range \"" + spec + "\": wildcard after snapshot");
+        }
+
+        int major = prefix.getMajor();
+        Integer minor = prefix.getMinor();
+        Integer patch = prefix.getPatch();
+
+        Version lower;
+        Version upper;
+
+        if (minor == null) {
+
+            lower = new Version(major, 0, 0, 0);
+            upper = new Version(major + 1, 0, 0, 0);
+        }
+        else if (patch == null) {
+
+            lower = new Version(major, minor, 0, 0);
+            upper = new Version(major, minor + 1, 0, 0);
+        }
+        else {
+
+            lower = new Version(major, minor, patch, 0);
+            upper = new Version(major, minor, patch + 1, 0);
+        }
+
+        return new Interval(lower, true, upper, false);
+    }
+
+    private static Interval interval(String spec, char open, String content, char close)
+            throws VersionFormatException {
+
+        int comma = content.indexOf(',');
+
+        if (comma == -1) {
+
+            //
+            // "[1.0]" is the only valid single-bound form
+            //
+
+            if (open != '[' || close != ']') {
+
+                throw new VersionFormatException(
+                        "invalid version range \"" + spec + "\": a single version must be enclosed in [ ]");
+            }
+
+            return exact(spec, content.trim());
+        }
+
+        if (content.indexOf(',', comma + 1) != -1) {
+
+            throw new VersionFormatException("invalid version range \"" + spec + "\": too many bounds");
+        }
+
+        String l = content.substring(0, comma).trim();
+        String u = content.substring(comma + 1).trim();
+
+        Version lower = l.isEmpty() ? null : version(spec, l);
+        Version upper = u.isEmpty() ? null : version(spec, u);
+
+        if (lower != null && upper != null && lower.compareTo(upper) > 0) {
+
+            throw new VersionFormatException(
+                    "invalid version range \"" + spec + "\": lower bound " + lower + " is greater than upper bound " +
+                            upper);
+        }
+
+        return new Interval(lower, open == '[', upper, close == ']');
+    }
+
+    private static Version version(String spec, String literal) throws VersionFormatException {
+
+        try {
+
+            return Version.valueOf(literal);
+        }
+        catch(VersionFormatException e) {
+
+            throw new VersionFormatException(
+                    "invalid version range \"" + spec + "\": invalid version \"" + literal + "\"");
+        }
+    }
+
+    /**
+     * @return null if any bound is not packable.
+     */
+    private static long[] compile(Interval[] intervals) {
+
+        long[] result = new long[2 * intervals.length];
+
+        for(int i = 0; i < intervals.length; i ++) {
+
+            Interval in = intervals[i];
+
+            if ((in.lower != null && !in.lower.isPackable()) || (in.upper != null && !in.upper.isPackable())) {
+
+                return null;
+            }
+
+            //
+            // the ordering keys are contiguous, so the inclusive/exclusive distinction becomes a +1
+            //
+
+            result[2 * i] = in.lower == null ?
+                    0L : Version.orderingKey(in.lower.toPackedLong()) + (in.lowerInclusive ? 0L : 1L);
+
+            result[2 * i + 1] = in.upper == null ?
+                    Long.MAX_VALUE : Version.orderingKey(in.upper.toPackedLong()) + (in.upperInclusive ? 1L : 0L);
+        }
+
+        return result;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+    /**
+     * A null bound means unbounded.
+     */
+    private static class Interval {
+
+        private final Version lower;
+        private final boolean lowerInclusive;
+        private final Version upper;
+        private final boolean upperInclusive;
+
+        Interval(Version lower, boolean lowerInclusive, Version upper, boolean upperInclusive) {
+
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        boolean contains(Version v) {
+
+            if (lower != null) {
+
+                int c = lower.compareTo(v);
+
+                if (c > 0 || (c == 0 && !lowerInclusive)) {
+
+                    return false;
+                }
+            }
+
+            if (upper != null) {
+
+                int c = v.compareTo(upper);
+
+                if (c > 0 || (c == 0 && !upperInclusive)) {
+
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted set of versions, stored as packed longs in a primitive array. Versions are ordered as by
+ * Version.compareTo(), and of versions that are equal according to Version.equals() (1.2 and 1.2.0, for example) only
+ * one is retained.
+ *
+ * Bulk construction sorts once, and lookups are binary searches on the packed values, so sorting and range-checking
+ * large numbers of versions does not allocate Version instances. Version instances are only created when elements are
+ * returned.
+ *
+ * Only packable versions can be added. The implementation is not thread safe.
+ *
+ * @see Version#toPackedLong()
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionSet implements Iterable<Version> {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * Builds a set from packed versions, in any order.
+     *
+     * @exception IllegalArgumentException if any of the values is not a valid packed version.
+     */
+    public static VersionSet fromPackedLongs(long[] packedVersions) throws IllegalArgumentException {
+
+        long[] copy = Arrays.copyOf(packedVersions, packedVersions.length);
+
+        for(long p: copy) {
+
+            if (p < 0) {
+
+                throw new IllegalArgumentException("invalid packed version " + p);
+            }
+        }
+
+        return new VersionSet(copy, copy.length);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // sorted, no two elements compare equal; only the first 'size' positions are used
+    private long[] elements;
+    private int size;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    public VersionSet() {
+
+        this.elements = new long[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * @exception IllegalArgumentException if the collection contains a version that is not packable.
+     */
+    public VersionSet(Collection<Version> versions) throws IllegalArgumentException {
+
+        this(pack(versions), versions.size());
+    }
+
+    /**
+     * @param packed owned by the instance after the call, sorted and de-duplicated in place.
+     */
+    private VersionSet(long[] packed, int count) {
+
+        //
+        // ordering on the raw value is consistent with Version.comparePacked(), ties (same version, different
+        // "component present" bits) end up adjacent and are collapsed below
+        //
+
+        Arrays.sort(packed, 0, count);
+
+        int unique = 0;
+
+        for(int i = 0; i < count; i ++) {
+
+            if (unique == 0 || Version.comparePacked(packed[unique - 1], packed[i]) != 0) {
+
+                packed[unique ++] = packed[i];
+            }
+        }
+
+        this.elements = packed;
+        this.size = unique;
+    }
+
+    // Iterable implementation -----------------------------------------------------------------------------------------
+
+    /**
+     * Iterates in ascending order.
+     */
+    @Override
+    public Iterator<Version> iterator() {
+
+        return new Iterator<Version>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+
+                return next < size;
+            }
+
+            @Override
+            public Version next() {
+
+                if (next >= size) {
+
+                    throw new NoSuchElementException();
+                }
+
+                return Version.fromPackedLong(elements[next ++]);
+            }
+        };
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return true if the set did not already contain an equal version.
+     *
+     * @exception IllegalArgumentException if the version is not packable.
+     */
+    public boolean add(Version v) throws IllegalArgumentException {
+
+        long p = packOne(v);
+
+        int i = search(p);
+
+        if (i >= 0) {
+
+            return false;
+        }
+
+        int insertionPoint = -(i + 1);
+
+        if (size == elements.length) {
+
+            elements = Arrays.copyOf(elements, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+
+        System.arraycopy(elements, insertionPoint, elements, insertionPoint + 1, size - insertionPoint);
+        elements[insertionPoint] = p;
+        size ++;
+        return true;
+    }
+
+    public boolean contains(Version v) {
+
+        return v.isPackable() && search(v.toPackedLong()) >= 0;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * @return the lowest version, or null if the set is empty.
+     */
+    public Version first() {
+
+        return size == 0 ? null : Version.fromPackedLong(elements[0]);
+    }
+
+    /**
+     * @return the highest version, or null if the set is empty.
+     */
+    public Version last() {
+
+        return size == 0 ? null : Version.fromPackedLong(elements[size - 1]);
+    }
+
+    /**
+     * @return the highest dot (non-snapshot) version, or null if the set contains no dot versions.
+     */
+    public Version lastRelease() {
+
+        for(int i = size - 1; i >= 0; i --) {
+
+            if (!Version.isPackedSnapshot(elements[i])) {
+
+                return Version.fromPackedLong(elements[i]);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the highest snapshot version, or null if the set contains no snapshot versions.
+     */
+    public Version lastSnapshot() {
+
+        for(int i = size - 1; i >= 0; i --) {
+
+            if (Version.isPackedSnapshot(elements[i])) {
+
+                return Version.fromPackedLong(elements[i]);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the greatest version less than or equal to the given version, or null if there is no such version.
+     */
+    public Version floor(Version v) {
+
+        int i = search(packOne(v));
+
+        int index = i >= 0 ? i : -(i + 1) - 1;
+
+        return index < 0 ? null : Version.fromPackedLong(elements[index]);
+    }
+
+    /**
+     * @return the least version greater than or equal to the given version, or null if there is no such version.
+     */
+    public Version ceiling(Version v) {
+
+        int i = search(packOne(v));
+
+        int index = i >= 0 ? i : -(i + 1);
+
+        return index >= size ? null : Version.fromPackedLong(elements[index]);
+    }
+
+    /**
+     * @return the number of versions v for which from &lt;= v &lt; to.
+     */
+    public int countInRange(Version from, Version to) {
+
+        int start = search(packOne(from));
+        start = start >= 0 ? start : -(start + 1);
+
+        int end = search(packOne(to));
+        end = end >= 0 ? end : -(end + 1);
+
+        return Math.max(0, end - start);
+    }
+
+    /**
+     * @return a copy of the packed elements, in ascending order.
+     */
+    public long[] toPackedLongs() {
+
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("[");
+
+        for(int i = 0; i < size; i ++) {
+
+            if (i > 0) {
+
+                sb.append(", ");
+            }
+
+            sb.append(Version.fromPackedLong(elements[i]));
+        }
+
+        return sb.append("]").toString();
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static long[] pack(Collection<Version> versions) throws IllegalArgumentException {
+
+        long[] packed = new long[versions.size()];
+
+        int i = 0;
+
+        for(Version v: versions) {
+
+            packed[i ++] = packOne(v);
+        }
+
+        return packed;
+    }
+
+    private static long packOne(Version v) throws IllegalArgumentException {
+
+        if (v == null) {
+
+            throw new IllegalArgumentException("null version");
+        }
+
+        if (!v.isPackable()) {
+
+            throw new IllegalArgumentException(v + " cannot be added to a version set, it is not packable");
+        }
+
+        return v.toPackedLong();
+    }
+
+    /**
+     * Binary search with the same contract as Arrays.binarySearch(), using Version.comparePacked() ordering.
+     */
+    private int search(long packed) {
+
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+
+            int middle = (low + high) >>> 1;
+
+            int c = Version.comparePacked(elements[middle], packed);
+
+            if (c < 0) {
+
+                low = middle + 1;
+            }
+            else if (c > 0) {
+
+                high = middle - 1;
+            }
+            else {
+
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -19,6 +19,13 @@ package io.novaordis.release.version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
 /**
  * A collection of static version utilities.
  *
@@ -31,6 +38,13 @@ public class VersionUtil {
 
     private static final Logger log = LoggerFactory.getLogger(VersionUtil.class);
 
+    //
+    // the streaming variants give up if no version was found in this many lines
+    //
+    public static final int MAX_VERSION_COMMAND_OUTPUT_LINES = 1000;
+
+    private static final String VERSION_LINE_PREFIX = "version ";
+
     // Static ----------------------------------------------------------------------------------------------------------
 
 
@@ -72,6 +86,101 @@ public class VersionUtil {
         throw new VersionFormatException("invalid version content: " + multiLineString);
     }
 
+    /**
+     * Streaming alternative to fromCommandStdout(String): reads the command output line by line, and returns as soon as
+     * a line that contains a version is found, without reading the rest of the stream. A line contains a version if,
+     * trimmed, it is a canonical version or it starts with "version " followed by a canonical version. Banner lines
+     * preceding the version line are skipped.
+     *
+     * The reader is not closed.
+     *
+     * @see VersionUtil#fromCommandStdoutLine(String)
+     *
+     * @throws VersionFormatException if no version was found in the first MAX_VERSION_COMMAND_OUTPUT_LINES lines, or
+     * before the end of the stream.
+     * @throws IllegalArgumentException on null argument
+     */
+    public static Version scanCommandStdout(Reader r) throws IOException, VersionFormatException {
+
+        if (r == null) {
+
+            throw new IllegalArgumentException("null reader");
+        }
+
+        BufferedReader br = r instanceof BufferedReader ? (BufferedReader)r : new BufferedReader(r);
+
+        String line;
+        int lineCount = 0;
+
+        while((line = br.readLine()) != null) {
+
+            Version v = fromCommandStdoutLine(line);
+
+            if (v != null) {
+
+                return v;
+            }
+
+            if (++ lineCount >= MAX_VERSION_COMMAND_OUTPUT_LINES) {
+
+                throw new VersionFormatException(
+                        "no version found in the first " + MAX_VERSION_COMMAND_OUTPUT_LINES + " lines of output");
+            }
+        }
+
+        throw new VersionFormatException("no version found in output");
+    }
+
+    /**
+     * Same as scanCommandStdout(Reader), decoding the stream with the platform's default charset, which is what
+     * native processes use. The stream is not closed.
+     *
+     * @see VersionUtil#scanCommandStdout(Reader)
+     */
+    public static Version scanCommandStdout(InputStream is) throws IOException, VersionFormatException {
+
+        if (is == null) {
+
+            throw new IllegalArgumentException("null input stream");
+        }
+
+        return scanCommandStdout(new InputStreamReader(is, Charset.defaultCharset()));
+    }
+
+    /**
+     * Interprets a single line of version command output.
+     *
+     * @return the version, if the trimmed line is a canonical version or it has the form "version <canonical-version>",
+     * or null otherwise.
+     */
+    public static Version fromCommandStdoutLine(String line) {
+
+        String s = line.trim();
+
+        if (s.startsWith(VERSION_LINE_PREFIX)) {
+
+            s = s.substring(VERSION_LINE_PREFIX.length());
+        }
+
+        //
+        // cheap pre-check, most banner lines don't start with a digit and they would otherwise cost an exception
+        //
+
+        if (s.isEmpty() || !Character.isDigit(s.charAt(0))) {
+
+            return null;
+        }
+
+        try {
+
+            return Version.valueOf(s);
+        }
+        catch(VersionFormatException e) {
+
+            return null;
+        }
+    }
+
     /**
      * Attempts to trim the given string and directly convert it into a Version instance.
      *
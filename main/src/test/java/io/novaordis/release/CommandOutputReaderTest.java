@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Executes real native processes, it is skipped on Windows.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class CommandOutputReaderTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void start_NullCommand() throws Exception {
+
+        try {
+
+            CommandOutputReader.start(null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("null command", e.getMessage());
+        }
+    }
+
+    @Test
+    public void readToTheEnd() throws Exception {
+
+        assumeNotWindows();
+
+        try (CommandOutputReader r = CommandOutputReader.start("echo a; echo b")) {
+
+            assertEquals("a", r.readLine());
+            assertEquals("b", r.readLine());
+            assertNull(r.readLine());
+        }
+    }
+
+    @Test
+    public void close_CommandFailed() throws Exception {
+
+        assumeNotWindows();
+
+        CommandOutputReader r = CommandOutputReader.start("echo a; exit 5");
+
+        assertEquals("a", r.readLine());
+
+        try {
+
+            r.close();
+            fail("should have thrown exception");
+        }
+        catch(IOException e) {
+
+            assertEquals("\"echo a; exit 5\" failed with exit code 5", e.getMessage());
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static void assumeNotWindows() {
+
+        assumeFalse(System.getProperty("os.name", "").toLowerCase().startsWith("windows"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
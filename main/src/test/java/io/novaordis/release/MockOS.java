@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -69,7 +70,10 @@ public class MockOS implements OS {
 
         this.commandsThatFail = new ArrayList<>();
         this.commandsThatSucceed = new ArrayList<>();
-        this.executedCommands = new ArrayList<>();
+        //
+        // commands may be executed concurrently
+        //
+        this.executedCommands = Collections.synchronizedList(new ArrayList<>());
     }
 
     // OS implementation -----------------------------------------------------------------------------------------------
@@ -18,13 +18,20 @@ package io.novaordis.release;
 
 import io.novaordis.clad.configuration.Configuration;
 import io.novaordis.clad.option.Option;
+import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.clad.ReleaseApplicationRuntime;
+import io.novaordis.release.model.maven.MavenCommandLine;
 import io.novaordis.release.sequences.SequenceExecutionContext;
 import io.novaordis.utilities.NotYetImplementedException;
 import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.os.NativeExecutionResult;
+import io.novaordis.utilities.os.OS;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.StringReader;
 import java.util.Set;
 
 /**
@@ -41,6 +48,8 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
 
     private File currentDirectory;
 
+    private String infoContent;
+
     private String warningContent;
 
     private String binaryDistributionTopLevelDirectoryName;
@@ -54,6 +63,7 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
 
     public MockReleaseApplicationRuntime(Configuration c) throws UserErrorException {
 
+        this.infoContent = "";
         this.warningContent = "";
 
         this.binaryDistributionTopLevelDirectoryName = "mock-top-level-directory";
@@ -66,6 +76,30 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
 
     // ReleaseApplicationRuntime overrides -----------------------------------------------------------------------------
 
+    @Override
+    public void init(Configuration configuration) throws UserErrorException {
+
+        //
+        // do not depend on the Maven daemon being installed, or not, on the machine running the tests
+        //
+
+        if (configuration.get(ConfigurationLabels.MAVEN_EXECUTABLE) == null) {
+
+            configuration.set(ConfigurationLabels.MAVEN_EXECUTABLE, MavenCommandLine.MAVEN_EXECUTABLE);
+        }
+
+        super.init(configuration);
+    }
+
+    /**
+     * Tests do not persist per-user state.
+     */
+    @Override
+    public File getUserDirectory() {
+
+        return null;
+    }
+
     @Override
     public String getName() {
         throw new RuntimeException("getName() NOT YET IMPLEMENTED");
@@ -113,6 +147,7 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
     @Override
     public void info(String s) {
         System.out.println(s);
+        infoContent += s + "\n";
     }
 
     @Override
@@ -145,6 +180,25 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
         super.setLastExecutionContext(c);
     }
 
+    @Override
+    public NativeExecutionResult executeVersionCommand(String command) throws Exception {
+
+        return OS.getInstance().execute(command);
+    }
+
+    @Override
+    public BufferedReader executeAndStreamStdout(String command) throws Exception {
+
+        NativeExecutionResult r = OS.getInstance().execute(command);
+
+        if (r.isFailure()) {
+
+            throw new IOException("\"" + command + "\" failed with exit code " + r.getExitCode());
+        }
+
+        return new BufferedReader(new StringReader(r.getStdout() == null ? "" : r.getStdout()));
+    }
+
     @Override
     public ZipHandler getZipHandler() {
 
@@ -157,6 +211,10 @@ public class MockReleaseApplicationRuntime extends ReleaseApplicationRuntime {
         this.currentDirectory = d;
     }
 
+    public String getInfoContent() {
+        return infoContent;
+    }
+
     public String getWarningContent() {
         return warningContent;
     }
@@ -104,6 +104,19 @@ public class ReleaseCommandTest {
 
     // configure() -----------------------------------------------------------------------------------------------------
 
+    @Test
+    public void configure_audit() throws Exception {
+
+        ReleaseCommand c = new ReleaseCommand();
+
+        List<String> args = new ArrayList<>(Arrays.asList("audit"));
+
+        c.configure(0, args);
+
+        assertEquals(ReleaseMode.audit, c.getMode());
+        assertTrue(args.isEmpty());
+    }
+
     @Test
     public void configure_info() throws Exception {
 
@@ -331,6 +344,38 @@ public class ReleaseCommandTest {
         assertEquals("something", args.get(0));
     }
 
+    @Test
+    public void configure_History() throws Exception {
+
+        ReleaseCommand c = new ReleaseCommand();
+
+        assertFalse(c.isHistory());
+
+        List<String> args = new ArrayList<>(Arrays.asList("info", "--history"));
+
+        c.configure(0, args);
+
+        assertEquals(ReleaseMode.info, c.getMode());
+        assertTrue(c.isHistory());
+        assertTrue(args.isEmpty());
+    }
+
+    @Test
+    public void configure_Resume() throws Exception {
+
+        ReleaseCommand c = new ReleaseCommand();
+
+        assertFalse(c.isResume());
+
+        List<String> args = new ArrayList<>(Arrays.asList("--resume"));
+
+        c.configure(0, args);
+
+        assertNull(c.getMode());
+        assertTrue(c.isResume());
+        assertTrue(args.isEmpty());
+    }
+
     // info command ----------------------------------------------------------------------------------------------------
 
     @Test
@@ -360,6 +405,103 @@ public class ReleaseCommandTest {
         }
     }
 
+    @Test
+    public void info_History() throws Exception {
+
+        MockProject mp = new MockProject("1.2.1-SNAPSHOT-3");
+
+        MockProjectBuilder mpb = new MockProjectBuilder(mp);
+
+        ReleaseCommand command = new ReleaseCommand();
+        command.setProjectBuilder(mpb);
+        command.setMode(ReleaseMode.info);
+        command.setHistory(true);
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        String tags =
+                "release-1.0.0\n" +
+                "some-other-tag\n" +
+                "release-1.1.0\n" +
+                "release-1.2.1-SNAPSHOT-1\n" +
+                "release-1.2.1-SNAPSHOT-2\n" +
+                "release-1.2.0\n" +
+                "release-1.0.1\n" +
+                "release-1.0.3\n";
+
+        ((MockOS)OS.getInstance()).addToCommandsThatSucceed(
+                mc.get(ConfigurationLabels.OS_COMMAND_TO_LIST_TAGS), tags, "");
+
+        command.execute(mr);
+
+        String info = mr.getInfoContent();
+
+        assertTrue(info.startsWith("1.2.1-SNAPSHOT-3\n"));
+        assertTrue(info.contains("releases:        7\n"));
+        assertTrue(info.contains("latest release:  1.2.0\n"));
+        assertFalse(info.contains("latest snapshot"));
+        assertTrue(info.contains("gap between 1.0.1 and 1.0.3\n"));
+        assertTrue(info.contains("gap between 1.0.3 and 1.1.0\n"));
+
+        //
+        // info only needs the version, the project model must be built lazily
+        //
+
+        assertEquals(Boolean.TRUE, mpb.getLazy());
+    }
+
+    @Test
+    public void info_History_TagCommandFails() throws Exception {
+
+        ReleaseCommand command = new ReleaseCommand();
+        command.setProjectBuilder(new MockProjectBuilder(new MockProject("1")));
+        command.setMode(ReleaseMode.info);
+        command.setHistory(true);
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        ((MockOS)OS.getInstance()).addToCommandsThatFail(
+                mc.get(ConfigurationLabels.OS_COMMAND_TO_LIST_TAGS), "", "not a git repository");
+
+        try {
+
+            command.execute(mr);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith("failed to list the release tags"));
+        }
+    }
+
+    // resume ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void resume_NotAMavenProject() throws Exception {
+
+        ReleaseCommand command = new ReleaseCommand();
+        command.setProjectBuilder(new MockProjectBuilder(new MockProject("1.0.0-SNAPSHOT-1")));
+        command.setResume(true);
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+
+        try {
+
+            command.execute(mr);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith("the release cannot be resumed"));
+        }
+    }
+
     // release sequence ------------------------------------------------------------------------------------------------
 
     @Test
@@ -428,6 +570,12 @@ public class ReleaseCommandTest {
         assertFalse((Boolean) s.getVariable(ConfigurationLabels.PUBLISH_NO_PUSH).get());
         assertFalse((Boolean) s.getVariable(ConfigurationLabels.INSTALL_NO_INSTALL).get());
 
+        //
+        // a release needs the complete project model
+        //
+
+        assertEquals(Boolean.FALSE, mpb.getLazy());
+
         //
         // also make sure that all sequences are about to be executed
         //
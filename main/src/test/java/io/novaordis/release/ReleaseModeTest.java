@@ -59,6 +59,7 @@ public class ReleaseModeTest {
     public void isIncrement() throws Exception {
 
         assertFalse(ReleaseMode.info.isIncrement());
+        assertFalse(ReleaseMode.audit.isIncrement());
         assertTrue(ReleaseMode.major.isIncrement());
         assertTrue(ReleaseMode.minor.isIncrement());
         assertTrue(ReleaseMode.patch.isIncrement());
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release;
+
+import io.novaordis.utilities.expressions.Scope;
+import io.novaordis.utilities.expressions.ScopeImpl;
+import io.novaordis.utilities.expressions.UndeclaredVariableException;
+import io.novaordis.utilities.expressions.VariableReferenceResolver;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VariableTemplateTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(VariableTemplateTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void compile_Null() throws Exception {
+
+        try {
+
+            VariableTemplate.compile(null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertEquals("null template", msg);
+        }
+    }
+
+    @Test
+    public void literal() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("no variables here");
+
+        assertTrue(t.isLiteral());
+        assertFalse(t.isDelegated());
+        assertTrue(t.getVariableNames().isEmpty());
+        assertEquals("no variables here", t.render(new ScopeImpl(), true));
+        assertEquals("no variables here", t.toString());
+    }
+
+    @Test
+    public void literal_Empty() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("");
+
+        assertTrue(t.isLiteral());
+        assertEquals("", t.render(new ScopeImpl(), true));
+    }
+
+    @Test
+    public void literal_UnterminatedReference() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("a${b");
+
+        assertTrue(t.isLiteral());
+        assertEquals("a${b", t.render(new ScopeImpl(), true));
+    }
+
+    @Test
+    public void getVariableNames() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("${a}-${b.c}-${a}");
+
+        assertFalse(t.isLiteral());
+        assertEquals(Arrays.asList("a", "b.c", "a"), t.getVariableNames());
+    }
+
+    @Test
+    public void render() throws Exception {
+
+        Scope scope = new ScopeImpl();
+        scope.declare("current.version", "1.2.3");
+        scope.declare("color", "blue");
+
+        VariableTemplate t = VariableTemplate.compile("release-${current.version}");
+        assertEquals("release-1.2.3", t.render(scope, true));
+
+        VariableTemplate t2 = VariableTemplate.compile("${color}${color} and ${current.version}.");
+        assertEquals("blueblue and 1.2.3.", t2.render(scope, true));
+
+        //
+        // the same template renders against a different scope
+        //
+
+        Scope scope2 = new ScopeImpl();
+        scope2.declare("current.version", "4");
+        assertEquals("release-4", t.render(scope2, true));
+    }
+
+    @Test
+    public void render_UndeclaredVariable_NoFailure() throws Exception {
+
+        Scope scope = new ScopeImpl();
+        scope.declare("color", "blue");
+
+        VariableTemplate t = VariableTemplate.compile("${color}-${current.version}");
+
+        assertEquals("blue-${current.version}", t.render(scope, false));
+    }
+
+    @Test
+    public void render_UndeclaredVariable_Failure() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("release-${current.version}");
+
+        try {
+
+            t.render(new ScopeImpl(), true);
+            fail("should have thrown exception");
+        }
+        catch(UndeclaredVariableException e) {
+
+            assertEquals("current.version", e.getUndeclaredVariableName());
+        }
+    }
+
+    @Test
+    public void render_SameResultAsResolver() throws Exception {
+
+        Scope scope = new ScopeImpl();
+        scope.declare("a", "A");
+        scope.declare("b.c", "BC");
+
+        for(String s: Arrays.asList(
+                "", "x", "${a}", "${a}${b.c}", "-${a}-${b.c}-", "${a", "$a}", "${}", "${ a }", "${d}", "${a}${d}",
+                "$${a}", "${{a}}")) {
+
+            String expected = new VariableReferenceResolver().resolve(s, false, scope);
+            assertEquals(s, expected, VariableTemplate.compile(s).render(scope, false));
+        }
+    }
+
+    @Test
+    public void render_NameValuePairs() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("git tag ${tag} -m \"${current_version}\"");
+
+        assertEquals("git tag release-1 -m \"1\"", t.render(true, "current_version", "1", "tag", "release-1"));
+        assertEquals("git tag ${tag} -m \"1\"", t.render(false, "current_version", "1"));
+    }
+
+    @Test
+    public void render_NameValuePairs_UndeclaredVariable_Failure() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("git commit -m ${message}");
+
+        try {
+
+            t.render(true, "current_version", "1");
+            fail("should have thrown exception");
+        }
+        catch(UndeclaredVariableException e) {
+
+            assertEquals("message", e.getUndeclaredVariableName());
+        }
+    }
+
+    @Test
+    public void delegated() throws Exception {
+
+        VariableTemplate t = VariableTemplate.compile("${a b}");
+
+        assertTrue(t.isDelegated());
+        assertFalse(t.isLiteral());
+        assertEquals(Collections.emptyList(), t.getVariableNames());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release;
+
+import io.novaordis.utilities.os.NativeExecutionResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Executes real native processes, it is skipped on Windows.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionCommandExecutorTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void execute_VersionFound() throws Exception {
+
+        assumeNotWindows();
+
+        NativeExecutionResult r = VersionCommandExecutor.execute("echo 'Some Tool'; echo 'version 1.2.3'; echo after");
+
+        assertTrue(r.isSuccess());
+        assertEquals("Some Tool\nversion 1.2.3\n", r.getStdout());
+    }
+
+    @Test
+    public void execute_ProcessIsTerminatedAfterTheVersionLine() throws Exception {
+
+        assumeNotWindows();
+
+        long t0 = System.currentTimeMillis();
+
+        NativeExecutionResult r = VersionCommandExecutor.execute("echo 2.0; sleep 30");
+
+        long t1 = System.currentTimeMillis();
+
+        assertTrue(r.isSuccess());
+        assertEquals("2.0\n", r.getStdout());
+        assertTrue("took " + (t1 - t0) + " ms", t1 - t0 < 10000L);
+    }
+
+    @Test
+    public void execute_ProcessIgnoresTermination() throws Exception {
+
+        assumeNotWindows();
+
+        long t0 = System.currentTimeMillis();
+
+        NativeExecutionResult r = VersionCommandExecutor.execute("trap '' TERM; echo 2.0; sleep 30");
+
+        long t1 = System.currentTimeMillis();
+
+        assertTrue(r.isSuccess());
+        assertEquals("2.0\n", r.getStdout());
+        assertTrue("took " + (t1 - t0) + " ms", t1 - t0 < 10000L);
+    }
+
+    @Test
+    public void execute_NoVersion() throws Exception {
+
+        assumeNotWindows();
+
+        NativeExecutionResult r = VersionCommandExecutor.execute("echo something; echo problem 1>&2; exit 3");
+
+        assertTrue(r.isFailure());
+        assertEquals(3, r.getExitCode());
+        assertEquals("something\n", r.getStdout());
+        assertEquals("problem\n", r.getStderr());
+    }
+
+    @Test
+    public void execute_NoVersion_SuccessfulExit() throws Exception {
+
+        assumeNotWindows();
+
+        NativeExecutionResult r = VersionCommandExecutor.execute("echo something");
+
+        //
+        // the command succeeded, interpreting the output is up to the caller
+        //
+
+        assertTrue(r.isSuccess());
+        assertEquals("something\n", r.getStdout());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static void assumeNotWindows() {
+
+        assumeFalse(System.getProperty("os.name", "").toLowerCase().startsWith("windows"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release.audit;
+
+import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.Util;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.maven.MavenDependency;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class DependencyAuditTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        String projectBaseDirName = System.getProperty("basedir");
+        scratchDirectory = new File(projectBaseDirName, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void fromConfiguration() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.AUDIT_DEPENDENCY_RULES, "io.novaordis*:* [4.7.14,)\n\norg.slf4j:* 1.7.*\n");
+
+        DependencyAudit a = DependencyAudit.fromConfiguration(mc, true);
+
+        assertTrue(a.isNoSnapshots());
+        assertEquals(2, a.getRules().size());
+        assertEquals("org.slf4j:* 1.7.*", a.getRules().get(1).toString());
+    }
+
+    @Test
+    public void fromConfiguration_NoRules() throws Exception {
+
+        DependencyAudit a = DependencyAudit.fromConfiguration(new MockConfiguration(), false);
+
+        assertFalse(a.isNoSnapshots());
+        assertTrue(a.getRules().isEmpty());
+    }
+
+    @Test
+    public void fromConfiguration_InvalidRule() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.AUDIT_DEPENDENCY_RULES, "io.novaordis:* [4.7.14");
+
+        try {
+
+            DependencyAudit.fromConfiguration(mc, true);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            assertTrue(e.getMessage().contains("io.novaordis:* [4.7.14"));
+        }
+    }
+
+    @Test
+    public void check() throws Exception {
+
+        DependencyAudit a = new DependencyAudit(
+                Collections.singletonList(DependencyRule.parse("io.novaordis*:* [4.7.14,)")), true);
+
+        assertTrue(a.check(new MavenDependency("io.novaordis.utilities", "u", "4.7.14", false)).isEmpty());
+        assertTrue(a.check(new MavenDependency("io.novaordis.utilities", "u", null, false)).isEmpty());
+        assertTrue(a.check(new MavenDependency("org.slf4j", "slf4j-api", "1.0", false)).isEmpty());
+
+        assertEquals(
+                Collections.singletonList("version 4.7.13 does not satisfy rule \"io.novaordis*:* [4.7.14,)\""),
+                a.check(new MavenDependency("io.novaordis.utilities", "u", "4.7.13", false)));
+
+        List<String> violations = a.check(new MavenDependency("io.novaordis.utilities", "u", "4.6-SNAPSHOT", false));
+        assertEquals(2, violations.size());
+        assertEquals("snapshot dependency not allowed in a dot release", violations.get(0));
+        assertTrue(violations.get(1).startsWith("version \"4.6-SNAPSHOT\" cannot be checked against rule"));
+
+        assertTrue(a.check(new MavenDependency("io.novaordis.utilities", "u", "${x}", false)).get(0).
+                startsWith("unresolved version"));
+
+        DependencyAudit a2 = new DependencyAudit(Collections.emptyList(), false);
+        assertTrue(a2.check(new MavenDependency("g", "a", "1.0-SNAPSHOT", false)).isEmpty());
+    }
+
+    @Test
+    public void audit() throws Exception {
+
+        File dir = Util.cp("maven/dependency-audit-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(dir, "pom.xml"));
+
+        DependencyAudit a = new DependencyAudit(Arrays.asList(
+                DependencyRule.parse("io.novaordis*:novaordis-* [4.7.14,)"),
+                DependencyRule.parse("org.slf4j:* 1.7.*")), true);
+
+        List<DependencyAudit.Violation> violations = a.audit(p);
+
+        //
+        // the dependency on module2 is a snapshot, but it is one of our own modules
+        //
+
+        assertEquals(2, violations.size());
+
+        DependencyAudit.Violation v = violations.get(0);
+        assertEquals(new File(dir, "pom.xml").getAbsolutePath(), v.getPomFile().getAbsolutePath());
+        assertEquals("novaordis-utilities", v.getDependency().getArtifactId());
+        assertTrue(v.getMessage().startsWith("version 4.7.13 does not satisfy"));
+
+        v = violations.get(1);
+        assertEquals(new File(dir, "module2/pom.xml").getAbsolutePath(), v.getPomFile().getAbsolutePath());
+        assertEquals("org.example:example:2.0-SNAPSHOT", v.getDependency().toString());
+        assertEquals("snapshot dependency not allowed in a dot release", v.getMessage());
+    }
+
+    @Test
+    public void audit_SnapshotRelease() throws Exception {
+
+        File dir = Util.cp("maven/dependency-audit-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(dir, "pom.xml"));
+
+        assertTrue(new DependencyAudit(Collections.emptyList(), false).audit(p).isEmpty());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release.audit;
+
+import io.novaordis.release.model.maven.MavenDependency;
+import io.novaordis.release.version.Version;
+import io.novaordis.release.version.VersionFormatException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class DependencyRuleTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void parse() throws Exception {
+
+        DependencyRule r = DependencyRule.parse("  io.novaordis*:novaordis-* [4.7.14, 5)  ");
+
+        assertEquals("io.novaordis*:novaordis-* [4.7.14, 5)", r.toString());
+        assertEquals("[4.7.14, 5)", r.getRange().toString());
+
+        assertTrue(r.appliesTo(new MavenDependency("io.novaordis.utilities", "novaordis-utilities", "4.7.14", false)));
+        assertFalse(r.appliesTo(new MavenDependency("io.novaordis.utilities", "utilities", "4.7.14", false)));
+        assertFalse(r.appliesTo(new MavenDependency("org.slf4j", "novaordis-utilities", "4.7.14", false)));
+
+        assertTrue(r.getRange().contains(new Version("4.8")));
+        assertFalse(r.getRange().contains(new Version("4.7.13")));
+    }
+
+    @Test
+    public void parse_Invalid() throws Exception {
+
+        String[] invalid = new String[] {
+                "", "io.novaordis [1.0,)", "io.novaordis: [1.0,)", ":a [1.0,)", "a:b:c [1.0,)", "a:b", "a:b [1.0,"
+        };
+
+        for(String s: invalid) {
+
+            try {
+
+                DependencyRule.parse(s);
+                fail("should have thrown exception on \"" + s + "\"");
+            }
+            catch(VersionFormatException e) {
+
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void matches() throws Exception {
+
+        assertTrue(DependencyRule.matches("*", ""));
+        assertTrue(DependencyRule.matches("*", "anything"));
+        assertTrue(DependencyRule.matches("abc", "abc"));
+        assertFalse(DependencyRule.matches("abc", "abcd"));
+        assertTrue(DependencyRule.matches("a*c", "abbbc"));
+        assertTrue(DependencyRule.matches("a*c", "ac"));
+        assertFalse(DependencyRule.matches("a*c", "acb"));
+        assertTrue(DependencyRule.matches("*-api", "slf4j-api"));
+        assertTrue(DependencyRule.matches("io.*.utilities*", "io.novaordis.utilities"));
+        assertFalse(DependencyRule.matches("a", null));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -450,6 +450,9 @@ public class ReleaseApplicationRuntimeTest {
         String normalizedTruststoreFilePath = Files.normalizePath(truststoreFilePath);
         assertEquals(truststoreCopy.getAbsolutePath(), normalizedTruststoreFilePath);
         assertEquals("mock_truststore_passwd", mc.get(INTERNAL_KEY_TRUSTSTORE_PASSWORD));
+
+        value = mc.get(ConfigurationLabels.AUDIT_DEPENDENCY_RULES);
+        assertEquals("io.novaordis*:novaordis-* [4.7.14,)\norg.slf4j:* 1.7.*\n", value);
     }
 
     // extractString() -------------------------------------------------------------------------------------------------
@@ -41,6 +41,8 @@ public class MockInLineXMLEditor implements InLineXMLEditor {
 
     private Map<String, List<XMLElement>> paths;
 
+    private int getElementsInvocationCount;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     public MockInLineXMLEditor() {
@@ -83,6 +85,8 @@ public class MockInLineXMLEditor implements InLineXMLEditor {
     @Override
     public List<XMLElement> getElements(String path) {
 
+        getElementsInvocationCount ++;
+
         List<XMLElement> elements = paths.get(path);
 
         if (elements == null) {
@@ -109,6 +113,11 @@ public class MockInLineXMLEditor implements InLineXMLEditor {
 
     // Public ----------------------------------------------------------------------------------------------------------
 
+    public int getGetElementsInvocationCount() {
+
+        return getElementsInvocationCount;
+    }
+
     public void setElements(String path, XMLElement... elements) {
 
         if (elements == null) {
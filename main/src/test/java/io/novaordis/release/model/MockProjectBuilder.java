@@ -32,6 +32,8 @@ public class MockProjectBuilder implements ProjectBuilder {
 
     private MockProject project;
 
+    private Boolean lazy;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     public MockProjectBuilder(MockProject m) {
@@ -46,8 +48,23 @@ public class MockProjectBuilder implements ProjectBuilder {
         return project;
     }
 
+    @Override
+    public Project build(File currentDirectory, boolean lazy) throws Exception {
+
+        this.lazy = lazy;
+        return project;
+    }
+
     // Public ----------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return the "lazy" argument of the last build(File, boolean) invocation, or null if it was not invoked.
+     */
+    public Boolean getLazy() {
+
+        return lazy;
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------
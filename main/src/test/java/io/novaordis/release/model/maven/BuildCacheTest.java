@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class BuildCacheTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        File baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getInstance_NotConfigured() throws Exception {
+
+        assertNull(BuildCache.getInstance(new MockConfiguration()));
+    }
+
+    @Test
+    public void getInstance() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.BUILD_CACHE_DIRECTORY, "~/.nort/build-cache");
+        mc.set(ConfigurationLabels.BUILD_CACHE_MAX_SIZE, "10M");
+
+        BuildCache c = BuildCache.getInstance(mc);
+
+        assertEquals(new File(System.getProperty("user.home"), ".nort/build-cache"), c.getDirectory());
+        assertEquals(10L * 1024 * 1024, c.getMaxSize());
+    }
+
+    @Test
+    public void getInstance_DefaultMaxSize() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.BUILD_CACHE_DIRECTORY, "/tmp/build-cache");
+
+        BuildCache c = BuildCache.getInstance(mc);
+
+        assertEquals(new File("/tmp/build-cache"), c.getDirectory());
+        assertEquals(BuildCache.DEFAULT_MAX_SIZE, c.getMaxSize());
+    }
+
+    @Test
+    public void parseSize() throws Exception {
+
+        assertEquals(100L, BuildCache.parseSize("100"));
+        assertEquals(2048L, BuildCache.parseSize("2K"));
+        assertEquals(3L * 1024 * 1024, BuildCache.parseSize("3m"));
+        assertEquals(4L * 1024 * 1024 * 1024, BuildCache.parseSize(" 4 G "));
+    }
+
+    @Test
+    public void parseSize_Invalid() throws Exception {
+
+        for(String s: new String[] { "", "G", "-1", "0", "1T", "blah" }) {
+
+            try {
+
+                BuildCache.parseSize(s);
+                fail("should have thrown exception for \"" + s + "\"");
+            }
+            catch(UserErrorException e) {
+
+                String msg = e.getMessage();
+                assertTrue(msg.startsWith("invalid " + ConfigurationLabels.BUILD_CACHE_MAX_SIZE));
+            }
+        }
+    }
+
+    @Test
+    public void getEntryDirectory_InvalidKey() throws Exception {
+
+        BuildCache c = new BuildCache(new File(scratchDirectory, "cache"), 1000);
+
+        for(String key: new String[] { "", "..", "a/b" }) {
+
+            try {
+
+                c.getEntryDirectory(key);
+                fail("should have thrown exception for \"" + key + "\"");
+            }
+            catch(IllegalArgumentException e) {
+
+                String msg = e.getMessage();
+                assertEquals("invalid key \"" + key + "\"", msg);
+            }
+        }
+    }
+
+    @Test
+    public void storeAndRestore() throws Exception {
+
+        BuildCache c = new BuildCache(new File(scratchDirectory, "cache"), 1000);
+
+        File target = new File(scratchDirectory, "a/target");
+        assertTrue(new File(target, "classes").mkdirs());
+        assertTrue(Files.write(new File(target, "a-1.jar"), "jar content"));
+        assertTrue(Files.write(new File(target, "classes/A.class"), "class content"));
+        assertTrue(Files.write(new File(target, ModuleFingerprint.FILE_NAME), "fingerprint"));
+
+        assertFalse(c.contains("k1"));
+        assertFalse(c.restore("k1", new File(scratchDirectory, "b/target")));
+
+        c.store("k1", target, ModuleFingerprint.FILE_NAME);
+
+        assertTrue(c.contains("k1"));
+
+        //
+        // storing again is a noop
+        //
+
+        assertTrue(Files.write(new File(target, "a-1.jar"), "other jar content"));
+        c.store("k1", target, ModuleFingerprint.FILE_NAME);
+
+        File target2 = new File(scratchDirectory, "b/target");
+
+        assertTrue(c.restore("k1", target2));
+
+        assertEquals("jar content", Files.read(new File(target2, "a-1.jar")));
+
+        //
+        // only the files directly under target are cached, the excluded files are not
+        //
+
+        assertFalse(new File(target2, "classes").exists());
+        assertFalse(new File(target2, ModuleFingerprint.FILE_NAME).exists());
+
+        //
+        // no temporary files are left behind
+        //
+
+        String[] names = target2.list();
+        assertEquals(1, names.length);
+        names = new File(c.getDirectory(), BuildCache.TEMPORARY_DIRECTORY_NAME).list();
+        assertEquals(0, names.length);
+    }
+
+    @Test
+    public void eviction() throws Exception {
+
+        BuildCache c = new BuildCache(new File(scratchDirectory, "cache"), 25);
+
+        File target = new File(scratchDirectory, "a/target");
+        assertTrue(target.mkdirs());
+        File artifact = new File(target, "a-1.jar");
+
+        long now = System.currentTimeMillis();
+
+        for(String key: new String[] { "k1", "k2" }) {
+
+            assertTrue(Files.write(artifact, "0123456789"));
+            c.store(key, target);
+        }
+
+        //
+        // k1 was used most recently
+        //
+
+        assertTrue(c.getEntryDirectory("k2").setLastModified(now - 20000L));
+        assertTrue(c.getEntryDirectory("k1").setLastModified(now - 10000L));
+
+        assertTrue(c.contains("k1"));
+        assertTrue(c.contains("k2"));
+
+        //
+        // the third entry pushes the cache over its maximum size, the least recently used entry is evicted
+        //
+
+        c.store("k3", target);
+
+        assertTrue(c.contains("k1"));
+        assertFalse(c.contains("k2"));
+        assertTrue(c.contains("k3"));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
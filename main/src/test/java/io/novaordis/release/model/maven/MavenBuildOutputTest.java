@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class MavenBuildOutputTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void parse_Null() throws Exception {
+
+        MavenBuildOutput o = MavenBuildOutput.parse(null);
+
+        assertTrue(o.getExecutedGoals().isEmpty());
+        assertNull(o.getFailedGoal());
+        assertFalse(o.failedAfterTests());
+        assertEquals(-1, o.getTestsRun());
+        assertEquals(-1, o.getTestFailures());
+    }
+
+    @Test
+    public void parse_Success() throws Exception {
+
+        String output =
+                "[INFO] Reactor Build Order:\n" +
+                "[INFO] --- maven-clean-plugin:2.5:clean (default-clean) @ a ---\n" +
+                "[INFO] --- maven-compiler-plugin:3.1:compile (default-compile) @ a ---\n" +
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ a ---\n" +
+                "Running io.test.ATest\n" +
+                "Tests run: 2, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.02 sec\n" +
+                "Tests run: 2, Failures: 0, Errors: 0, Skipped: 0\n" +
+                "[INFO] --- maven-jar-plugin:2.4:jar (default-jar) @ a ---\n" +
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ b ---\n" +
+                "[INFO] Tests run: 5, Failures: 0, Errors: 0, Skipped: 1\n" +
+                "[INFO] --- maven-jar-plugin:2.4:jar (default-jar) @ b ---\n" +
+                "[INFO] BUILD SUCCESS\n";
+
+        MavenBuildOutput o = MavenBuildOutput.parse(output);
+
+        assertEquals(
+                Arrays.asList(
+                        "maven-clean-plugin:2.5:clean", "maven-compiler-plugin:3.1:compile",
+                        "maven-surefire-plugin:2.12.4:test", "maven-jar-plugin:2.4:jar",
+                        "maven-surefire-plugin:2.12.4:test", "maven-jar-plugin:2.4:jar"),
+                o.getExecutedGoals());
+
+        assertNull(o.getFailedGoal());
+        assertFalse(o.failedAfterTests());
+        assertEquals(7, o.getTestsRun());
+        assertEquals(0, o.getTestFailures());
+    }
+
+    @Test
+    public void parse_TestFailure() throws Exception {
+
+        String output =
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ a ---\n" +
+                "Tests run: 3, Failures: 1, Errors: 1, Skipped: 0\n" +
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-surefire-plugin:2.12.4:test " +
+                "(default-test) on project a: There are test failures.\n" +
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-surefire-plugin:2.12.4:test " +
+                "(default-test) on project b: There are test failures.\n";
+
+        MavenBuildOutput o = MavenBuildOutput.parse(output);
+
+        assertEquals("org.apache.maven.plugins:maven-surefire-plugin:2.12.4:test", o.getFailedGoal());
+        assertFalse(o.failedAfterTests());
+        assertEquals(3, o.getTestsRun());
+        assertEquals(2, o.getTestFailures());
+    }
+
+    @Test
+    public void parse_CompilationFailure() throws Exception {
+
+        String output =
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-compiler-plugin:3.1:compile " +
+                "(default-compile) on project a: Compilation failure\n";
+
+        MavenBuildOutput o = MavenBuildOutput.parse(output);
+
+        assertEquals("org.apache.maven.plugins:maven-compiler-plugin:3.1:compile", o.getFailedGoal());
+        assertFalse(o.failedAfterTests());
+    }
+
+    @Test
+    public void parse_PackagingFailure() throws Exception {
+
+        String output =
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ a ---\n" +
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-assembly-plugin:2.6:single " +
+                "(default) on project a: Error reading assemblies\n";
+
+        MavenBuildOutput o = MavenBuildOutput.parse(output);
+
+        assertEquals("org.apache.maven.plugins:maven-assembly-plugin:2.6:single", o.getFailedGoal());
+        assertTrue(o.failedAfterTests());
+        assertEquals(-1, o.getTestsRun());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -19,10 +19,19 @@ package io.novaordis.release.model.maven;
 import org.junit.Test;
 
 import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.Util;
 import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Ovidiu Feodorov <ovidiu@novaordis.com>
@@ -97,6 +106,242 @@ public class MavenCommandLineTest {
                 mvnCL.getCommandLine());
     }
 
+    // restrictToModule() ----------------------------------------------------------------------------------------------
+
+    @Test
+    public void restrictToModule() throws Exception {
+
+        assertEquals("mvn -pl module1 clean test",
+                MavenCommandLine.restrictToModule("mvn clean test", "module1", false));
+        assertEquals("git status", MavenCommandLine.restrictToModule("git status", "module1", true));
+    }
+
+    @Test
+    public void restrictToModule_Install_LastPhaseReplaced() throws Exception {
+
+        assertEquals("mvn -pl module1 clean install",
+                MavenCommandLine.restrictToModule("mvn clean test", "module1", true));
+        assertEquals("mvn -pl module1 -Dmaven.test.skip=true clean install",
+                MavenCommandLine.restrictToModule("mvn -Dmaven.test.skip=true clean package", "module1", true));
+        assertEquals("mvn -pl module1 clean install",
+                MavenCommandLine.restrictToModule("mvn clean install", "module1", true));
+    }
+
+    @Test
+    public void restrictToModules_MavenDaemon() throws Exception {
+
+        assertEquals("mvnd -pl a,b -am clean package",
+                MavenCommandLine.restrictToModules("mvnd clean package", Arrays.asList("a", "b")));
+        assertEquals("mvnd -pl a clean install", MavenCommandLine.restrictToModule("mvnd clean test", "a", true));
+    }
+
+    // parse() ---------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void parse() throws Exception {
+
+        MavenCommandLine cl = MavenCommandLine.parse("mvn  -Dmaven.test.skip=true clean package");
+
+        assertEquals("mvn", cl.getExecutable());
+        assertEquals(1, cl.getThreads());
+        assertEquals("mvn -Dmaven.test.skip=true clean package", cl.getCommandLine());
+
+        cl = MavenCommandLine.parse("mvnd clean");
+
+        assertEquals("mvnd", cl.getExecutable());
+        assertEquals("mvnd clean", cl.getCommandLine());
+    }
+
+    @Test
+    public void parse_NotAMavenCommand() throws Exception {
+
+        assertNull(MavenCommandLine.parse(null));
+        assertNull(MavenCommandLine.parse("git status"));
+        assertNull(MavenCommandLine.parse("mvnw clean"));
+    }
+
+    // configureExecution() --------------------------------------------------------------------------------------------
+
+    @Test
+    public void configureExecution_NotConfigured() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        assertEquals("mvn clean test", MavenCommandLine.configureExecution("mvn clean test", mc, 4));
+    }
+
+    @Test
+    public void configureExecution_NotAMavenCommand() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MAVEN_EXECUTABLE, "mvnd");
+        mc.set(ConfigurationLabels.MAVEN_THREADS, "4");
+
+        assertEquals("make test", MavenCommandLine.configureExecution("make test", mc, 4));
+    }
+
+    @Test
+    public void configureExecution() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MAVEN_EXECUTABLE, "mvnd");
+        mc.set(ConfigurationLabels.MAVEN_THREADS, "3");
+
+        assertEquals("mvnd -T 3 clean test", MavenCommandLine.configureExecution("mvn clean test", mc, 10));
+
+        //
+        // one thread does not add -T
+        //
+
+        mc.set(ConfigurationLabels.MAVEN_THREADS, "1");
+
+        assertEquals("mvnd clean test", MavenCommandLine.configureExecution("mvn clean test", mc, 10));
+    }
+
+    @Test
+    public void configureExecution_Auto() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MAVEN_THREADS, MavenCommandLine.AUTO_THREADS);
+
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), 2);
+
+        assertEquals(
+                threads > 1 ? "mvn -T " + threads + " clean test" : "mvn clean test",
+                MavenCommandLine.configureExecution("mvn clean test", mc, 2));
+
+        //
+        // a single-module reactor
+        //
+
+        assertEquals("mvn clean test", MavenCommandLine.configureExecution("mvn clean test", mc, 1));
+    }
+
+    @Test
+    public void configureExecution_ThreadsOnCommandLine() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MAVEN_THREADS, "8");
+
+        assertEquals("mvn -T 2C clean test", MavenCommandLine.configureExecution("mvn -T 2C clean test", mc, 10));
+    }
+
+    @Test
+    public void configureExecution_CompactThreadsOnCommandLine() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MAVEN_THREADS, "8");
+
+        assertEquals("mvn -T4 clean test", MavenCommandLine.configureExecution("mvn -T4 clean test", mc, 10));
+        assertEquals("mvn -T2C clean test", MavenCommandLine.configureExecution("mvn -T2C clean test", mc, 10));
+        assertEquals("mvn -T1.5C clean test", MavenCommandLine.configureExecution("mvn -T1.5C clean test", mc, 10));
+    }
+
+    @Test
+    public void configureExecution_ThreadsNotConfigured() throws Exception {
+
+        //
+        // multi-threaded builds are opt-in
+        //
+
+        MockConfiguration mc = new MockConfiguration();
+
+        assertEquals("mvn clean test", MavenCommandLine.configureExecution("mvn clean test", mc, 10));
+    }
+
+    @Test
+    public void configureExecution_InvalidThreads() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        for(String s: new String[] { "0", "-1", "blah" }) {
+
+            mc.set(ConfigurationLabels.MAVEN_THREADS, s);
+
+            try {
+
+                MavenCommandLine.configureExecution("mvn clean", mc, 2);
+                fail("should have thrown exception for \"" + s + "\"");
+            }
+            catch(UserErrorException e) {
+
+                String msg = e.getMessage();
+                assertTrue(msg.startsWith("invalid " + ConfigurationLabels.MAVEN_THREADS + " \"" + s + "\""));
+            }
+        }
+    }
+
+    @Test
+    public void computeThreads() throws Exception {
+
+        assertEquals(1, MavenCommandLine.computeThreads(8, 1));
+        assertEquals(3, MavenCommandLine.computeThreads(8, 3));
+        assertEquals(4, MavenCommandLine.computeThreads(4, 10));
+        assertEquals(1, MavenCommandLine.computeThreads(1, 0));
+    }
+
+    // findExecutable() ------------------------------------------------------------------------------------------------
+
+    @Test
+    public void findExecutable() throws Exception {
+
+        File scratchDirectory = new File(System.getProperty("basedir"), "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+
+        try {
+
+            File bin = new File(scratchDirectory, "bin");
+            assertTrue(bin.mkdirs());
+
+            String path =
+                    new File(scratchDirectory, "no-such-directory").getPath() + File.pathSeparator + bin.getPath();
+
+            assertEquals("mvn", MavenCommandLine.findExecutable(null));
+            assertEquals("mvn", MavenCommandLine.findExecutable(path));
+
+            File mvnd = new File(bin, "mvnd");
+            assertTrue(Files.write(mvnd, "#!/bin/sh\n"));
+            assertTrue(mvnd.setExecutable(true));
+
+            assertEquals("mvnd", MavenCommandLine.findExecutable(path));
+        }
+        finally {
+
+            assertTrue(Files.rmdir(scratchDirectory, false));
+        }
+    }
+
+    // getReactorWidth() -----------------------------------------------------------------------------------------------
+
+    @Test
+    public void getReactorWidth() throws Exception {
+
+        File baseDirectory = new File(System.getProperty("basedir"));
+        File scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+
+        try {
+
+            File projectDirectory = Util.cp(
+                    baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+            MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+            //
+            // "tools" and "impl" can be built concurrently
+            //
+
+            assertEquals(2, MavenCommandLine.getReactorWidth(p, null));
+            assertEquals(1, MavenCommandLine.getReactorWidth(p, Collections.singletonList(p.getModule("impl"))));
+            assertEquals(2, MavenCommandLine.getReactorWidth(p, Collections.singletonList(p.getModule("app"))));
+            assertEquals(1, MavenCommandLine.getReactorWidth(new MockMavenProject(), null));
+        }
+        finally {
+
+            assertTrue(Files.rmdir(scratchDirectory, false));
+        }
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------
@@ -167,6 +167,62 @@ public class MavenProjectTest extends ProjectTest {
         assertEquals(new Version("1.2.3"), model3.getVersion());
     }
 
+    @Test
+    public void save_undo_MultiModule_AllModulesRestored() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        File rootPom = new File(projectDirectory, "pom.xml");
+        File module1Pom = new File(projectDirectory, "module1/pom.xml");
+        File releasePom = new File(projectDirectory, "release/pom.xml");
+
+        String rootPomContent = Files.read(rootPom);
+        String module1PomContent = Files.read(module1Pom);
+        String releasePomContent = Files.read(releasePom);
+
+        MavenProject p = new MavenProject(rootPom);
+
+        assertTrue(p.setVersion(new Version("99")));
+        assertTrue(p.save());
+
+        //
+        // the transaction is journaled under .nort, and it is kept out of git
+        //
+
+        File journalDirectory = new File(projectDirectory, ".nort/" + POMJournal.DIRECTORY_NAME);
+        assertEquals(journalDirectory.getAbsoluteFile(), p.getJournal().getDirectory());
+        assertEquals(1, journalDirectory.listFiles(File::isDirectory).length);
+        assertEquals(NortState.getGitignoreContent(),
+                Files.read(new File(journalDirectory.getParentFile(), NortState.GITIGNORE_FILE_NAME)));
+
+        assertEquals("99", new BasicInLineXMLEditor(module1Pom).get("/project/parent/version"));
+
+        assertTrue(p.undo());
+
+        assertEquals(rootPomContent, Files.read(rootPom));
+        assertEquals(module1PomContent, Files.read(module1Pom));
+        assertEquals(releasePomContent, Files.read(releasePom));
+        assertEquals(0, journalDirectory.listFiles(File::isDirectory).length);
+
+        //
+        // the in-memory state was restored as well
+        //
+
+        assertEquals(new Version("88"), p.getVersion());
+        assertEquals(new Version("88"), p.getModule("module1").getPOM().getParentVersion());
+
+        assertFalse(p.undo());
+
+        //
+        // the project can be saved again after undo
+        //
+
+        assertTrue(p.setVersion(new Version("100")));
+        assertTrue(p.save());
+        assertEquals("100", new BasicInLineXMLEditor(releasePom).get("/project/parent/version"));
+    }
+
     // artifact management ---------------------------------------------------------------------------------------------
 
     @Test
@@ -283,6 +339,132 @@ public class MavenProjectTest extends ProjectTest {
         }
     }
 
+    @Test
+    public void constructor_MultiModules_SeveralModulesCannotBeResolved_FirstDeclaredIsReported() throws Exception {
+
+        //
+        // only module1 is present, module2 and release are missing
+        //
+
+        File pf = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project/pom.xml",
+                scratchDirectory, "pom.xml");
+
+        Util.cp(baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project/module1", scratchDirectory);
+
+        try {
+            new MavenProject(pf);
+            fail("should throw exception");
+        }
+        catch(UserErrorException e) {
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.matches("no module directory .*/module2"));
+        }
+    }
+
+    @Test
+    public void constructor_MultiModules_ModulesInDeclarationOrder() throws Exception {
+
+        File pd = Util.cp(baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(pd, "pom.xml"));
+
+        List<MavenModule> modules = p.getModules();
+        assertEquals(3, modules.size());
+        assertEquals("module1", modules.get(0).getName());
+        assertEquals("module2", modules.get(1).getName());
+        assertEquals("release", modules.get(2).getName());
+
+        for(MavenModule m: modules) {
+
+            assertEquals(p, m.getProject());
+            assertEquals(p.getPOM(), m.getPOM().getParent());
+        }
+    }
+
+    @Test
+    public void constructor_Lazy_ModulesAreNotLoadedUntilNeeded() throws Exception {
+
+        //
+        // no module directories, a lazy project can still be built and queried for its version
+        //
+
+        File pf = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project/pom.xml",
+                scratchDirectory, "pom.xml");
+
+        MavenProject p = new MavenProject(pf, true);
+
+        assertEquals("lockstep-multi-module-project", p.getName());
+        assertEquals(new Version("88"), p.getVersion());
+        assertEquals(ProjectVersioningModel.MULTIPLE_MODULE_LOCKSTEP, p.getVersioningModel());
+
+        try {
+            p.getModules();
+            fail("should throw exception");
+        }
+        catch(IllegalStateException e) {
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.matches("failed to load the modules of .*: no module directory .*/module1"));
+            assertTrue(e.getCause() instanceof UserErrorException);
+        }
+
+        try {
+            p.save();
+            fail("should throw exception");
+        }
+        catch(IOException e) {
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.matches("failed to load the modules of .*: no module directory .*/module1"));
+        }
+    }
+
+    @Test
+    public void constructor_Lazy_ModulesLoadedOnFirstAccess() throws Exception {
+
+        File pd = Util.cp(baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(pd, "pom.xml"), true);
+
+        List<Artifact> artifacts = p.getArtifacts();
+        assertEquals(3, artifacts.size());
+        assertEquals(ArtifactType.BINARY_DISTRIBUTION, artifacts.get(2).getType());
+        assertEquals(new File("io/test/release/88/release-88.tar.gz"), artifacts.get(2).getRepositoryFile());
+
+        List<MavenModule> modules = p.getModules();
+        assertEquals(3, modules.size());
+        assertEquals(modules.get(1), p.getModule("module2"));
+    }
+
+    @Test
+    public void constructor_POMCache() throws Exception {
+
+        File pd = Util.cp(baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+        File pf = new File(pd, "pom.xml");
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        MavenProject p = new MavenProject(pf, false, c);
+        assertEquals(4, c.getMisses());
+
+        MavenProject p2 = new MavenProject(pf, false, c);
+        assertEquals(4, c.getHits());
+
+        assertEquals(p.getVersion(), p2.getVersion());
+
+        List<Artifact> artifacts = p.getArtifacts();
+        List<Artifact> artifacts2 = p2.getArtifacts();
+        assertEquals(artifacts.size(), artifacts2.size());
+
+        for(int i = 0; i < artifacts.size(); i ++) {
+
+            assertEquals(artifacts.get(i).getRepositoryFile(), artifacts2.get(i).getRepositoryFile());
+        }
+    }
+
     @Test
     public void moduleRelatedAccessors() throws Exception {
 
@@ -388,6 +570,13 @@ public class MavenProjectTest extends ProjectTest {
             log.info(msg);
             assertTrue(msg.matches(
                     "we only support lockstep versioning mode, yet the project .* seems to contain independent module versions \\(.*\\)"));
+
+            //
+            // all modules have independent versions, the one declared first is reported, irrespective of the order in
+            // which the modules were loaded
+            //
+
+            assertTrue(msg.contains("module1" + File.separator + "pom.xml"));
         }
     }
 
@@ -420,6 +609,56 @@ public class MavenProjectTest extends ProjectTest {
         }
     }
 
+    @Test
+    public void getVersioningModel_MultiModuleMavenProject_IndependentDeclared() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/independent-version-multi-module-project",
+                scratchDirectory);
+
+        File pom = new File(projectDirectory, "pom.xml");
+        declareVersioningModel(pom, MavenProject.INDEPENDENT_VERSIONING_MODEL);
+
+        MavenProject p = new MavenProject(pom);
+
+        assertEquals(ProjectVersioningModel.MULTIPLE_MODULE_INDEPENDENT, p.getVersioningModel());
+
+        List<MavenModule> modules = p.getModules();
+        assertEquals(3, modules.size());
+
+        for(MavenModule m: modules) {
+
+            assertTrue(m.isIndependentlyVersioned());
+        }
+
+        assertEquals(new Version("1.0"), modules.get(0).getVersion());
+        assertEquals(new Version("2.0"), modules.get(1).getVersion());
+        assertEquals(new Version("3.0"), modules.get(2).getVersion());
+    }
+
+    @Test
+    public void getVersioningModel_MultiModuleMavenProject_UnknownModel() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/independent-version-multi-module-project",
+                scratchDirectory);
+
+        File pom = new File(projectDirectory, "pom.xml");
+        declareVersioningModel(pom, "something");
+
+        try {
+
+            new MavenProject(pom);
+            fail("should throw exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith("unknown " + MavenProject.VERSIONING_MODEL_PROPERTY + " \"something\""));
+        }
+    }
+
     // end-to-end ------------------------------------------------------------------------------------------------------
 
     @Test
@@ -495,6 +734,21 @@ public class MavenProjectTest extends ProjectTest {
         return new MavenProject(file);
     }
 
+    /**
+     * Declares the versioning model in the given root POM.
+     */
+    static void declareVersioningModel(File pom, String model) throws Exception {
+
+        String content = Files.read(pom);
+
+        content = content.replace(
+                "</packaging>",
+                "</packaging>\n\n    <properties>\n        <" + MavenProject.VERSIONING_MODEL_PROPERTY + ">" + model +
+                        "</" + MavenProject.VERSIONING_MODEL_PROPERTY + ">\n    </properties>");
+
+        assertTrue(Files.write(pom, content));
+    }
+
     // Protected -------------------------------------------------------------------------------------------------------
 
     // Private ---------------------------------------------------------------------------------------------------------
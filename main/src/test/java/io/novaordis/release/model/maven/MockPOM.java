@@ -71,6 +71,12 @@ public class MockPOM extends POM {
         return version;
     }
 
+    @Override
+    public Version getLocalVersion() throws VersionFormatException {
+
+        return version;
+    }
+
     @Override
     public boolean setVersion(Version version) {
 
@@ -82,6 +88,7 @@ public class MockPOM extends POM {
             }
 
             this.version = version;
+            invalidateScope();
             return true;
         }
         else {
@@ -92,6 +99,7 @@ public class MockPOM extends POM {
             }
 
             this.version = version;
+            invalidateScope();
             return true;
         }
     }
@@ -181,6 +189,14 @@ public class MockPOM extends POM {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    private void invalidateScope() {
+
+        if (scope != null) {
+
+            scope.invalidate();
+        }
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.release.version.ReleaseTagFormat;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleChangeDetectorTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleChangeDetectorTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void constructor_NullTagFormat() throws Exception {
+
+        try {
+
+            new ModuleChangeDetector(null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertEquals("null tag format", msg);
+        }
+    }
+
+    @Test
+    public void getLastReleaseTags() throws Exception {
+
+        ModuleChangeDetector d = new ModuleChangeDetector(new ReleaseTagFormat("release-", ""));
+
+        List<String> tags = Arrays.asList(
+                "release-5",
+                "module1-release-1.0",
+                "module1-release-1.10",
+                "module1-release-1.2",
+                "module1-release-1.11-SNAPSHOT-1",
+                "my-module-release-2",
+                "module3-release-1",
+                "something");
+
+        Map<String, String> lastReleaseTags =
+                d.getLastReleaseTags(Arrays.asList("module1", "my-module", "module2"), tags);
+
+        assertEquals(2, lastReleaseTags.size());
+        assertEquals("module1-release-1.10", lastReleaseTags.get("module1"));
+        assertEquals("my-module-release-2", lastReleaseTags.get("my-module"));
+        assertNull(lastReleaseTags.get("module2"));
+    }
+
+    @Test
+    public void getTopLevelDirectory() throws Exception {
+
+        assertEquals("module1", ModuleChangeDetector.getTopLevelDirectory("module1/pom.xml"));
+        assertEquals("module1", ModuleChangeDetector.getTopLevelDirectory("./module1/src/main/java/A.java"));
+        assertNull(ModuleChangeDetector.getTopLevelDirectory("pom.xml"));
+        assertNull(ModuleChangeDetector.getTopLevelDirectory("/pom.xml"));
+    }
+
+    @Test
+    public void getChangedModules() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/independent-version-multi-module-project",
+                scratchDirectory);
+
+        File pom = new File(projectDirectory, "pom.xml");
+        MavenProjectTest.declareVersioningModel(pom, MavenProject.INDEPENDENT_VERSIONING_MODEL);
+
+        MavenProject p = new MavenProject(pom);
+
+        ModuleChangeDetector d = new ModuleChangeDetector(new ReleaseTagFormat("release-", ""));
+
+        //
+        // module1 and module2 were released together, "release" was never released
+        //
+
+        List<String> tags = Arrays.asList("module1-release-1.0", "module2-release-2.0");
+
+        List<String> listed = new ArrayList<>();
+
+        List<MavenModule> changed = d.getChangedModules(p, tags, tag -> {
+
+            listed.add(tag);
+
+            return tag.startsWith("module1") ?
+                    Arrays.asList("module2/src/main/java/A.java", "pom.xml") :
+                    Collections.singletonList("module1/pom.xml");
+        });
+
+        //
+        // the changed files are listed once per tag
+        //
+
+        assertEquals(2, listed.size());
+
+        assertEquals(2, changed.size());
+        assertEquals("module2", changed.get(0).getName());
+        assertEquals("release", changed.get(1).getName());
+    }
+
+    @Test
+    public void getChangedModules_LockstepProject_NoCandidates() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        ModuleChangeDetector d = new ModuleChangeDetector(new ReleaseTagFormat("release-", ""));
+
+        List<MavenModule> changed = d.getChangedModules(p, Collections.emptyList(), tag -> {
+            throw new IllegalStateException("should not be invoked");
+        });
+
+        assertTrue(changed.isEmpty());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
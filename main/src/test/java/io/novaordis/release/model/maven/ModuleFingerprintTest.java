@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleFingerprintTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void compute_NullPOM() throws Exception {
+
+        try {
+
+            ModuleFingerprint.compute(null, "mvn clean package");
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            String msg = e.getMessage();
+            assertEquals("null pom", msg);
+        }
+    }
+
+    @Test
+    public void compute_Stable() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+        ModuleFingerprint f2 = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        assertEquals(f, f2);
+        assertEquals(f.hashCode(), f2.hashCode());
+        assertEquals(64, f.getValue().length());
+        assertEquals(pom.getFile().getAbsoluteFile().getParentFile(), f.getModuleDirectory());
+    }
+
+    @Test
+    public void compute_SourceChange() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        File source = new File(scratchDirectory, "simple-project/src/main/java/A.java");
+        assertTrue(Files.write(source, "class A { int i; }"));
+
+        assertNotEquals(f, ModuleFingerprint.compute(pom, "mvn clean package"));
+    }
+
+    @Test
+    public void compute_SourceAdded() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        File source = new File(scratchDirectory, "simple-project/src/main/java/B.java");
+        assertTrue(Files.write(source, "class B {}"));
+
+        assertNotEquals(f, ModuleFingerprint.compute(pom, "mvn clean package"));
+    }
+
+    @Test
+    public void compute_TargetChangeDoesNotMatter() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        File target = new File(scratchDirectory, "simple-project/target");
+        assertTrue(target.mkdirs());
+        assertTrue(Files.write(new File(target, "A.class"), "..."));
+
+        assertEquals(f, ModuleFingerprint.compute(pom, "mvn clean package"));
+    }
+
+    @Test
+    public void compute_DifferentCommand() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+        ModuleFingerprint f2 = ModuleFingerprint.compute(pom, "mvn -Dmaven.test.skip=true clean package");
+
+        assertNotEquals(f, f2);
+    }
+
+    @Test
+    public void compute_VersionChange() throws Exception {
+
+        POM pom = simpleProject();
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        File pomFile = pom.getFile();
+        String content = Files.read(pomFile).replace("<version>1.7</version>", "<version>1.8</version>");
+        assertTrue(Files.write(pomFile, content));
+
+        assertNotEquals(f, ModuleFingerprint.compute(new POM(pomFile), "mvn clean package"));
+    }
+
+    @Test
+    public void storeAndMatch() throws Exception {
+
+        POM pom = simpleProject();
+        File moduleDirectory = pom.getFile().getAbsoluteFile().getParentFile();
+
+        assertNull(ModuleFingerprint.readStored(moduleDirectory));
+
+        ModuleFingerprint f = ModuleFingerprint.compute(pom, "mvn clean package");
+
+        assertFalse(f.matchesStored());
+
+        f.store();
+
+        assertEquals(
+                new File(moduleDirectory, "target/" + ModuleFingerprint.FILE_NAME),
+                ModuleFingerprint.getFile(moduleDirectory));
+        assertEquals(f.getValue(), ModuleFingerprint.readStored(moduleDirectory));
+        assertTrue(f.matchesStored());
+
+        //
+        // a source change invalidates the stored fingerprint
+        //
+
+        File source = new File(moduleDirectory, "src/main/java/A.java");
+        assertTrue(Files.write(source, "class A { int i; }"));
+
+        assertFalse(ModuleFingerprint.compute(pom, "mvn clean package").matchesStored());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * A copy of simple-project in the scratch directory, with a source file.
+     */
+    private POM simpleProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/simple-project", scratchDirectory);
+
+        File sourceDirectory = new File(projectDirectory, "src/main/java");
+        assertTrue(sourceDirectory.mkdirs());
+        assertTrue(Files.write(new File(sourceDirectory, "A.java"), "class A {}"));
+
+        return new POM(new File(projectDirectory, "pom.xml"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleGraphTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleGraphTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void levels() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        ModuleGraph g = p.getModuleGraph();
+
+        assertSame(g, p.getModuleGraph());
+
+        assertEquals(
+                Arrays.asList(
+                        Collections.singletonList("parent"),
+                        Collections.singletonList("api"),
+                        Arrays.asList("tools", "impl"),
+                        Collections.singletonList("app")),
+                names(g.getLevels()));
+
+        assertEquals(0, g.getLevel(p.getModule("parent")));
+        assertEquals(2, g.getLevel(p.getModule("impl")));
+        assertEquals(3, g.getLevel(p.getModule("app")));
+    }
+
+    @Test
+    public void dependencies() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        ModuleGraph g = p.getModuleGraph();
+
+        //
+        // <parent> is a dependency
+        //
+
+        assertEquals(Collections.singletonList(p.getModule("parent")), g.getDependencies(p.getModule("api")));
+
+        //
+        // ${project.groupId} designates the module's group, external dependencies are ignored
+        //
+
+        assertEquals(Collections.singletonList(p.getModule("api")), g.getDependencies(p.getModule("impl")));
+
+        //
+        // managed dependencies are ignored
+        //
+
+        assertEquals(Collections.singletonList(p.getModule("api")), g.getDependencies(p.getModule("tools")));
+
+        assertEquals(Arrays.asList(p.getModule("tools"), p.getModule("impl")), g.getDependents(p.getModule("api")));
+        assertTrue(g.getDependents(p.getModule("app")).isEmpty());
+    }
+
+    @Test
+    public void criticalPath() throws Exception {
+
+        ModuleGraph g = moduleGraphProject().getModuleGraph();
+
+        assertEquals(4, g.getCriticalPathLength());
+
+        List<String> path = new ArrayList<>();
+
+        for(MavenModule m: g.getCriticalPath()) {
+
+            path.add(m.getName());
+        }
+
+        assertEquals(Arrays.asList("parent", "api", "impl", "app"), path);
+    }
+
+    @Test
+    public void levels_Subset_DependenciesIncluded() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        List<List<MavenModule>> levels = p.getModuleGraph().getLevels(Collections.singletonList(p.getModule("tools")));
+
+        assertEquals(
+                Arrays.asList(
+                        Collections.singletonList("parent"),
+                        Collections.singletonList("api"),
+                        Collections.singletonList("tools")),
+                names(levels));
+    }
+
+    @Test
+    public void singleModuleProject_EmptyGraph() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        ModuleGraph g = new MavenProject(f).getModuleGraph();
+
+        assertTrue(g.getLevels().isEmpty());
+        assertTrue(g.getCriticalPath().isEmpty());
+        assertEquals(0, g.getCriticalPathLength());
+    }
+
+    @Test
+    public void cycle() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        //
+        // api depends on app
+        //
+
+        File apiPom = new File(projectDirectory, "api/pom.xml");
+        assertTrue(Files.write(apiPom, Files.read(apiPom).replace(
+                "</packaging>",
+                "</packaging>\n<dependencies><dependency><groupId>io.test</groupId><artifactId>app</artifactId>" +
+                        "</dependency></dependencies>")));
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        try {
+
+            p.getModuleGraph();
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertEquals("the modules [app, tools, impl, api] form a dependency cycle", msg);
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private MavenProject moduleGraphProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        return new MavenProject(new File(projectDirectory, "pom.xml"));
+    }
+
+    private static List<List<String>> names(List<List<MavenModule>> levels) {
+
+        List<List<String>> result = new ArrayList<>();
+
+        for(List<MavenModule> level: levels) {
+
+            List<String> names = new ArrayList<>();
+
+            for(MavenModule m: level) {
+
+                names.add(m.getName());
+            }
+
+            result.add(names);
+        }
+
+        return result;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
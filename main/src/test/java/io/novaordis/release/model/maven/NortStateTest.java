@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class NortStateTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        scratchDirectory = new File(System.getProperty("basedir"), "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void ignore() throws Exception {
+
+        File nortDirectory = new File(scratchDirectory, MavenProjectBuilder.NORT_DIRECTORY_NAME);
+
+        NortState.ignore(new File(nortDirectory, "cache"));
+
+        File gitignore = new File(nortDirectory, NortState.GITIGNORE_FILE_NAME);
+        assertEquals("*\n!project.yaml\n!project.yml\n", Files.read(gitignore));
+        assertEquals(NortState.getGitignoreContent(), Files.read(gitignore));
+
+        //
+        // already ignored
+        //
+
+        NortState.ignore(new File(nortDirectory, "checkpoint"));
+        NortState.ignore(new File(nortDirectory, "cache"));
+        assertEquals(NortState.getGitignoreContent(), Files.read(gitignore));
+    }
+
+    @Test
+    public void ignore_ExistingGitignoreIsPreserved() throws Exception {
+
+        File gitignore = new File(scratchDirectory, NortState.GITIGNORE_FILE_NAME);
+        assertTrue(Files.write(gitignore, "*.log"));
+
+        NortState.ignore(new File(scratchDirectory, "qualified"));
+
+        assertEquals(NortState.getGitignoreContent() + "*.log", Files.read(gitignore));
+
+        NortState.ignore(new File(scratchDirectory, "journal"));
+
+        assertEquals(NortState.getGitignoreContent() + "*.log", Files.read(gitignore));
+    }
+
+    @Test
+    public void ignore_ExistingGitignoreAlreadyIgnoresAll() throws Exception {
+
+        File gitignore = new File(scratchDirectory, NortState.GITIGNORE_FILE_NAME);
+        assertTrue(Files.write(gitignore, "*\n"));
+
+        NortState.ignore(new File(scratchDirectory, "cache"));
+
+        assertEquals("*\n", Files.read(gitignore));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
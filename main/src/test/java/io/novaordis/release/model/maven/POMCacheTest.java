@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMCacheTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        String projectBaseDirName = System.getProperty("basedir");
+        scratchDirectory = new File(projectBaseDirName, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        assertTrue(baseDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getSummary_MissThenHit() throws Exception {
+
+        File f = Util.cp("maven/poms-with-variables/pom-with-variable-as-custom-property.xml", scratchDirectory);
+
+        File cacheDirectory = new File(scratchDirectory, "cache");
+
+        POMCache c = new POMCache(cacheDirectory);
+
+        POMSummary s = c.getSummary(f);
+        assertEquals(0, c.getHits());
+        assertEquals(1, c.getMisses());
+        assertEquals(POMSummary.read(f), s);
+        assertTrue(c.getEntryFile(f).isFile());
+
+        //
+        // the cache is kept out of the release commit
+        //
+
+        assertEquals(NortState.getGitignoreContent(),
+                Files.read(new File(scratchDirectory, NortState.GITIGNORE_FILE_NAME)));
+
+        //
+        // a new instance, as a subsequent invocation would create
+        //
+
+        POMCache c2 = new POMCache(cacheDirectory);
+
+        POMSummary s2 = c2.getSummary(f);
+        assertEquals(1, c2.getHits());
+        assertEquals(0, c2.getMisses());
+        assertEquals(s, s2);
+    }
+
+    @Test
+    public void getSummary_ContentChanged() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        //
+        // a file modified too recently for its modification time to be trusted
+        //
+
+        long lastModified = System.currentTimeMillis();
+        assertTrue(f.setLastModified(lastModified));
+        lastModified = f.lastModified();
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        assertEquals("1.2.3", c.getSummary(f).get(POMSummary.VERSION));
+
+        //
+        // same size, same modification time, different content
+        //
+
+        String content = new String(java.nio.file.Files.readAllBytes(f.toPath()), "UTF-8");
+        assertTrue(Files.write(f, content.replace("1.2.3", "1.2.4")));
+        assertTrue(f.setLastModified(lastModified));
+
+        assertEquals("1.2.4", c.getSummary(f).get(POMSummary.VERSION));
+        assertEquals(0, c.getHits());
+        assertEquals(2, c.getMisses());
+
+        assertEquals("1.2.4", c.getSummary(f).get(POMSummary.VERSION));
+        assertEquals(1, c.getHits());
+    }
+
+    @Test
+    public void getSummary_SizeChanged() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        c.getSummary(f);
+
+        String content = new String(java.nio.file.Files.readAllBytes(f.toPath()), "UTF-8");
+        assertTrue(Files.write(f, content.replace("1.2.3", "1.2.3-SNAPSHOT-1")));
+
+        assertEquals("1.2.3-SNAPSHOT-1", c.getSummary(f).get(POMSummary.VERSION));
+        assertEquals(2, c.getMisses());
+    }
+
+    @Test
+    public void getSummary_AssemblyDescriptorChanged() throws Exception {
+
+        File pd = Util.cp("maven/lockstep-multi-module-project", scratchDirectory);
+        File pom = new File(pd, "release/pom.xml");
+        File descriptor = new File(pd, "release/src/assembly/release.xml");
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        assertEquals(Collections.singletonList("tar.gz"), c.getSummary(pom).getAssemblyFormats());
+
+        String content = new String(java.nio.file.Files.readAllBytes(descriptor.toPath()), "UTF-8");
+        assertTrue(Files.write(descriptor, content.replace("tar.gz", "zip")));
+
+        assertEquals(Collections.singletonList("zip"), c.getSummary(pom).getAssemblyFormats());
+        assertEquals(0, c.getHits());
+        assertEquals(2, c.getMisses());
+    }
+
+    @Test
+    public void getSummary_CorruptedEntryIsIgnored() throws Exception {
+
+        File f = Util.cp("maven/pom-sample.xml", scratchDirectory);
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        POMSummary s = c.getSummary(f);
+
+        assertTrue(Files.write(c.getEntryFile(f), POMCache.FORMAT_HEADER + "\nsomething\tunexpected\n"));
+
+        assertEquals(s, c.getSummary(f));
+        assertEquals(0, c.getHits());
+        assertEquals(2, c.getMisses());
+
+        //
+        // the entry was rewritten
+        //
+
+        assertEquals(s, c.getSummary(f));
+        assertEquals(1, c.getHits());
+    }
+
+    @Test
+    public void getSummary_ValuesWithSpecialCharacters() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        assertTrue(Files.write(f,
+                "<project>\n" +
+                "  <groupId>g</groupId>\n" +
+                "  <artifactId>a</artifactId>\n" +
+                "  <properties>\n" +
+                "    <p1>a\tb\\c</p1>\n" +
+                "  </properties>\n" +
+                "</project>\n"));
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        POMSummary s = c.getSummary(f);
+        assertEquals("a\tb\\c", s.getProperties().get("p1"));
+
+        POMSummary s2 = new POMCache(new File(scratchDirectory, "cache")).getSummary(f);
+        assertEquals(s, s2);
+    }
+
+    @Test
+    public void getEntryFile_DifferentFiles() throws Exception {
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        assertNotEquals(c.getEntryFile(new File("a/pom.xml")), c.getEntryFile(new File("b/pom.xml")));
+        assertEquals(new File(scratchDirectory, "cache"), c.getEntryFile(new File("a/pom.xml")).getParentFile());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.release.version.Version;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMJournalTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(POMJournalTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+    private File journalDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+        journalDirectory = new File(scratchDirectory, ".nort/" + POMJournal.DIRECTORY_NAME);
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void constructor_NullDirectory() throws Exception {
+
+        try {
+
+            new POMJournal(null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertEquals("null journal directory", msg);
+        }
+    }
+
+    @Test
+    public void save_NothingModified() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        POM pom = new POM(f);
+
+        POMJournal j = new POMJournal(journalDirectory);
+
+        assertFalse(j.save(Collections.singletonList(pom)));
+
+        //
+        // nothing was written
+        //
+
+        assertFalse(journalDirectory.exists());
+        assertTrue(j.undo().isEmpty());
+    }
+
+    @Test
+    public void save_undo() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+        String original = Files.read(f);
+
+        POM pom = new POM(f);
+        assertTrue(pom.setVersion(new Version("3.2.1")));
+
+        POMJournal j = new POMJournal(journalDirectory);
+
+        assertTrue(j.save(Collections.singletonList(pom)));
+        assertFalse(pom.isModified());
+
+        String saved = Files.read(f);
+        assertEquals(original.replace("<version>1.2.3</version>", "<version>3.2.1</version>"), saved);
+        assertFalse(POMJournal.getTemporaryFile(f).exists());
+
+        //
+        // the committed transaction is kept
+        //
+
+        File[] transactions = journalDirectory.listFiles(File::isDirectory);
+        assertEquals(1, transactions.length);
+        File tx = transactions[0];
+        assertTrue(new File(tx, POMJournal.PREPARED_FILE_NAME).isFile());
+        assertTrue(new File(tx, POMJournal.COMMITTED_FILE_NAME).isFile());
+        assertEquals(original, Files.read(POMJournal.getBackupFile(tx, 0)));
+        assertEquals(Collections.singletonList(f.getAbsoluteFile()), POMJournal.readIndex(tx));
+
+        //
+        // a second save replaces the transaction
+        //
+
+        assertTrue(pom.setVersion(new Version("4")));
+        assertTrue(j.save(Collections.singletonList(pom)));
+
+        transactions = journalDirectory.listFiles(File::isDirectory);
+        assertEquals(1, transactions.length);
+        assertNotEquals(tx, transactions[0]);
+
+        List<File> restored = j.undo();
+
+        assertEquals(Collections.singletonList(f.getAbsoluteFile()), restored);
+        assertEquals(saved, Files.read(f));
+        assertEquals(0, journalDirectory.listFiles(File::isDirectory).length);
+
+        assertTrue(j.undo().isEmpty());
+    }
+
+    @Test
+    public void save_FileModifiedInTheMeanTime_NothingWritten() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+        File f2 = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom2.xml");
+
+        POM pom = new POM(f);
+        POM pom2 = new POM(f2);
+
+        assertTrue(pom.setVersion(new Version("3.2.1")));
+        assertTrue(pom2.setVersion(new Version("3.2.1")));
+
+        String modified = Files.read(f2).replace("<version>1.2.3</version>", "<version>7.7.7</version>");
+        assertTrue(Files.write(f2, modified));
+
+        String original = Files.read(f);
+
+        POMJournal j = new POMJournal(journalDirectory);
+
+        try {
+
+            j.save(Arrays.asList(pom, pom2));
+            fail("should have thrown exception");
+        }
+        catch(IOException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.endsWith("was modified since it was read"));
+        }
+
+        //
+        // neither file was touched, the transaction and the temporary files are gone
+        //
+
+        assertEquals(original, Files.read(f));
+        assertEquals(modified, Files.read(f2));
+        assertFalse(POMJournal.getTemporaryFile(f).exists());
+        assertFalse(POMJournal.getTemporaryFile(f2).exists());
+        assertEquals(0, journalDirectory.listFiles(File::isDirectory).length);
+        assertTrue(pom.isModified());
+    }
+
+    @Test
+    public void recover_Prepared_RolledBack() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        File f2 = new File(scratchDirectory, "pom2.xml");
+
+        //
+        // simulate a crash after the first file was renamed
+        //
+
+        File tx = transaction(f, f2);
+        assertTrue(Files.write(POMJournal.getBackupFile(tx, 0), "original"));
+        assertTrue(Files.write(POMJournal.getBackupFile(tx, 1), "original 2"));
+        assertTrue(Files.write(new File(tx, POMJournal.PREPARED_FILE_NAME), ""));
+        assertTrue(Files.write(f, "modified"));
+        assertTrue(Files.write(f2, "original 2"));
+        assertTrue(Files.write(POMJournal.getTemporaryFile(f2), "modified 2"));
+
+        List<File> restored = new POMJournal(journalDirectory).recover();
+
+        assertEquals(Arrays.asList(f, f2), restored);
+        assertEquals("original", Files.read(f));
+        assertEquals("original 2", Files.read(f2));
+        assertFalse(POMJournal.getTemporaryFile(f2).exists());
+        assertFalse(tx.exists());
+    }
+
+    @Test
+    public void recover_NotPrepared_Discarded() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        assertTrue(Files.write(f, "original"));
+
+        File tx = transaction(f);
+        assertTrue(Files.write(POMJournal.getBackupFile(tx, 0), "original"));
+        assertTrue(Files.write(POMJournal.getTemporaryFile(f), "modi"));
+
+        assertTrue(new POMJournal(journalDirectory).recover().isEmpty());
+
+        assertEquals("original", Files.read(f));
+        assertFalse(POMJournal.getTemporaryFile(f).exists());
+        assertFalse(tx.exists());
+    }
+
+    @Test
+    public void recover_Committed_Discarded() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        assertTrue(Files.write(f, "modified"));
+
+        File tx = transaction(f);
+        assertTrue(Files.write(POMJournal.getBackupFile(tx, 0), "original"));
+        assertTrue(Files.write(new File(tx, POMJournal.PREPARED_FILE_NAME), ""));
+        assertTrue(Files.write(new File(tx, POMJournal.COMMITTED_FILE_NAME), ""));
+
+        POMJournal j = new POMJournal(journalDirectory);
+
+        assertTrue(j.recover().isEmpty());
+
+        assertEquals("modified", Files.read(f));
+        assertFalse(tx.exists());
+
+        //
+        // a recovered transaction cannot be undone
+        //
+
+        assertTrue(j.undo().isEmpty());
+    }
+
+    @Test
+    public void recover_NoJournal() throws Exception {
+
+        assertTrue(new POMJournal(journalDirectory).recover().isEmpty());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a transaction directory with an index listing the given files.
+     */
+    private File transaction(File... files) throws Exception {
+
+        File tx = new File(journalDirectory, "0000000000001-0001");
+        assertTrue(tx.mkdirs());
+
+        StringBuilder sb = new StringBuilder(POMJournal.INDEX_HEADER).append('\n');
+
+        for(int i = 0; i < files.length; i ++) {
+
+            sb.append(i).append('\t').append(files[i].getPath()).append('\n');
+        }
+
+        assertTrue(Files.write(new File(tx, POMJournal.INDEX_FILE_NAME), sb.toString()));
+
+        return tx;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
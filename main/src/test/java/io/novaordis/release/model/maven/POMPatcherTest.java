@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMPatcherTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(POMPatcherTest.class);
+
+    private static final String POM =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n" +
+                    "<!-- <project><version>0</version></project> -->\r\n" +
+                    "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\r\n" +
+                    "    <parent>\r\n" +
+                    "        <groupId>io.test</groupId>\r\n" +
+                    "        <version>  88  </version>\r\n" +
+                    "    </parent>\r\n" +
+                    "    <artifactId a=\"1>2\">test</artifactId>\r\n" +
+                    "    <dependencies>\r\n" +
+                    "        <dependency><version>5</version></dependency>\r\n" +
+                    "    </dependencies>\r\n" +
+                    "    <description>caf\u00e9</description>\r\n" +
+                    "    <version>1.2.3</version>\r\n" +
+                    "    <empty/>\r\n" +
+                    "</project>\r\n";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        scratchDirectory = new File(System.getProperty("basedir"), "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void locate() throws Exception {
+
+        byte[] content = POM.getBytes(StandardCharsets.UTF_8);
+
+        Map<String, POMPatcher.Range> ranges = POMPatcher.locate(content, StandardCharsets.UTF_8);
+
+        assertEquals(2, ranges.size());
+
+        POMPatcher.Range r = ranges.get(POMSummary.VERSION);
+        assertEquals("1.2.3", r.getValue());
+        assertEquals("1.2.3", new String(content, (int)r.getStart(), (int)(r.getEnd() - r.getStart()), "UTF-8"));
+
+        POMPatcher.Range r2 = ranges.get(POMSummary.PARENT_VERSION);
+        assertEquals("88", r2.getValue());
+        assertEquals("88", new String(content, (int)r2.getStart(), (int)(r2.getEnd() - r2.getStart()), "UTF-8"));
+    }
+
+    @Test
+    public void locate_NotPatchable() throws Exception {
+
+        for(String version: new String[] {
+                "<![CDATA[1.0]]>", "1&#46;0", "<!-- x -->1.0", "${v}<x/>", "   "}) {
+
+            String pom = "<project><version>" + version + "</version></project>";
+
+            Map<String, POMPatcher.Range> ranges =
+                    POMPatcher.locate(pom.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+            assertTrue(version, ranges.isEmpty());
+        }
+    }
+
+    @Test
+    public void getCharset() throws Exception {
+
+        assertEquals(StandardCharsets.UTF_8, POMPatcher.getCharset("<project/>".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(StandardCharsets.UTF_8, POMPatcher.getCharset(POM.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(StandardCharsets.ISO_8859_1, POMPatcher.getCharset(
+                "<?xml version='1.0' encoding='iso-8859-1'?><project/>".getBytes(StandardCharsets.ISO_8859_1)));
+        assertNull(POMPatcher.getCharset(
+                "<?xml version=\"1.0\" encoding=\"UTF-16\"?><project/>".getBytes(StandardCharsets.UTF_16)));
+        assertNull(POMPatcher.getCharset(
+                "<?xml version=\"1.0\" encoding=\"EBCDIC\"?><project/>".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void set_NotPatchable() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        assertTrue(Files.write(f, "<project><version><![CDATA[1]]></version></project>"));
+
+        POMPatcher p = POMPatcher.create(f);
+
+        assertFalse(p.isPatchable(POMSummary.VERSION));
+        assertNull(p.get(POMSummary.VERSION));
+
+        try {
+
+            p.set(POMSummary.VERSION, "2");
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith(POMSummary.VERSION + " is not patchable"));
+        }
+    }
+
+    @Test
+    public void save_SameLength_InPlace() throws Exception {
+
+        File f = write(POM);
+
+        POMPatcher p = POMPatcher.create(f);
+
+        assertFalse(p.save());
+
+        assertFalse(p.set(POMSummary.VERSION, "1.2.3"));
+        assertTrue(p.set(POMSummary.VERSION, "3.2.1"));
+        assertEquals("3.2.1", p.get(POMSummary.VERSION));
+        assertEquals(1, p.getPending().size());
+
+        //
+        // not written until saved
+        //
+
+        assertEquals(POM, read(f));
+
+        assertTrue(p.save());
+        assertTrue(p.getPending().isEmpty());
+
+        assertEquals(POM.replace("<version>1.2.3</version>", "<version>3.2.1</version>"), read(f));
+    }
+
+    @Test
+    public void save_DifferentLength_SeveralPatches_Undo() throws Exception {
+
+        File f = write(POM);
+
+        POMPatcher p = POMPatcher.create(f);
+
+        assertTrue(p.set(POMSummary.VERSION, "1.2.4-SNAPSHOT"));
+        assertTrue(p.set(POMSummary.PARENT_VERSION, "9"));
+        assertTrue(p.save());
+
+        String expected = POM.
+                replace("<version>1.2.3</version>", "<version>1.2.4-SNAPSHOT</version>").
+                replace("<version>  88  </version>", "<version>  9  </version>");
+
+        assertEquals(expected, read(f));
+
+        //
+        // the ranges were updated, the file can be patched again
+        //
+
+        assertTrue(p.set(POMSummary.VERSION, "1.2.4"));
+        assertTrue(p.save());
+
+        assertEquals(expected.replace("1.2.4-SNAPSHOT", "1.2.4"), read(f));
+
+        assertTrue(p.set(POMSummary.PARENT_VERSION, "100"));
+        assertTrue(p.save());
+        assertEquals("100", p.get(POMSummary.PARENT_VERSION));
+        assertEquals("1.2.4", p.get(POMSummary.VERSION));
+
+        assertTrue(p.undo());
+
+        assertEquals(POM, read(f));
+        assertEquals("1.2.3", p.get(POMSummary.VERSION));
+        assertEquals("88", p.get(POMSummary.PARENT_VERSION));
+
+        assertFalse(p.undo());
+    }
+
+    @Test
+    public void set_BackToOriginal() throws Exception {
+
+        File f = write(POM);
+
+        POMPatcher p = POMPatcher.create(f);
+
+        assertTrue(p.set(POMSummary.VERSION, "2"));
+        assertTrue(p.set(POMSummary.VERSION, "1.2.3"));
+
+        assertTrue(p.getPending().isEmpty());
+        assertFalse(p.save());
+    }
+
+    @Test
+    public void undo_UnsavedChanges() throws Exception {
+
+        File f = write(POM);
+
+        POMPatcher p = POMPatcher.create(f);
+
+        assertTrue(p.set(POMSummary.VERSION, "2"));
+        assertTrue(p.undo());
+
+        assertEquals("1.2.3", p.get(POMSummary.VERSION));
+        assertFalse(p.save());
+        assertEquals(POM, read(f));
+    }
+
+    @Test
+    public void save_FileModifiedInTheMeanTime() throws Exception {
+
+        File f = write(POM);
+
+        POMPatcher p = POMPatcher.create(f);
+
+        String modified = POM.replace("<version>1.2.3</version>", "<version>7.7.7</version>");
+        write(modified);
+
+        assertTrue(p.set(POMSummary.VERSION, "3.2.1"));
+
+        try {
+
+            p.save();
+            fail("should have thrown exception");
+        }
+        catch(IOException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.endsWith("was modified since it was read"));
+        }
+
+        assertEquals(modified, read(f));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private File write(String content) throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        java.nio.file.Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+
+    private static String read(File f) throws Exception {
+
+        return new String(java.nio.file.Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
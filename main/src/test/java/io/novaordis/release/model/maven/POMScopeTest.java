@@ -33,6 +33,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -480,6 +481,98 @@ public class POMScopeTest {
         assertEquals(parent, s.getEnclosing());
     }
 
+    // memoization and invalidation ----------------------------------------------------------------------------------
+
+    @Test
+    public void getVariable_PropertiesIndexedOnce() throws Exception {
+
+        MockPOM mockPom = new MockPOM();
+        MockInLineXMLEditor mockEditor = new MockInLineXMLEditor();
+        mockEditor.setElements(
+                "/project/properties", new XMLElement("a", "1"), new XMLElement("b", "2"), new XMLElement("a", "3"));
+
+        POMScope s = new POMScope(mockPom, mockEditor);
+
+        assertEquals("1", s.getVariable("a").get());
+        assertEquals("2", s.getVariable("b").get());
+        assertNull(s.getVariable("c"));
+        assertEquals(2, s.getVariablesDeclaredInScope().size());
+
+        assertEquals(1, mockEditor.getGetElementsInvocationCount());
+
+        s.invalidate();
+
+        assertEquals("1", s.getVariable("a").get());
+        assertEquals(2, mockEditor.getGetElementsInvocationCount());
+    }
+
+    @Test
+    public void getVariable_Memoized() throws Exception {
+
+        MockPOM mockPom = new MockPOM();
+        POMScope s = new POMScope(mockPom, new MockInLineXMLEditor());
+        mockPom.setScope(s);
+        mockPom.setVersion(new Version("1.0"));
+
+        Variable v = s.getVariable(POMScope.VERSION_VARIABLE_NAME);
+        assertEquals("1.0", v.get());
+        assertSame(v, s.getVariable(POMScope.VERSION_VARIABLE_NAME));
+
+        //
+        // the version change invalidates the memoized value
+        //
+
+        mockPom.setVersion(new Version("2.0"));
+
+        Variable v2 = s.getVariable(POMScope.VERSION_VARIABLE_NAME);
+        assertEquals("2.0", v2.get());
+    }
+
+    @Test
+    public void getVariable_InvalidationPropagatesToEnclosedScopes() throws Exception {
+
+        MockPOM parentPom = new MockPOM();
+        POMScope parentScope = new POMScope(parentPom, new MockInLineXMLEditor());
+        parentPom.setScope(parentScope);
+        parentPom.setVersion(new Version("1.0"));
+
+        MockPOM pom = new MockPOM();
+        POMScope scope = new POMScope(pom, new MockInLineXMLEditor());
+        pom.setScope(scope);
+        pom.setParent(parentPom);
+
+        POMScope scope2 = new POMScope(new MockPOM(), new MockInLineXMLEditor());
+        scope.enclose(scope2);
+
+        assertEquals("1.0", scope2.getVariable(POMScope.PROJECT_VERSION_VARIABLE_NAME).get());
+
+        parentPom.setVersion(new Version("2.0"));
+
+        assertEquals("2.0", scope.getVariable(POMScope.PROJECT_VERSION_VARIABLE_NAME).get());
+        assertEquals("2.0", scope2.getVariable(POMScope.PROJECT_VERSION_VARIABLE_NAME).get());
+    }
+
+    @Test
+    public void getVariable_NotDeclared_SetParent() throws Exception {
+
+        MockPOM parentPom = new MockPOM();
+        MockInLineXMLEditor parentEditor = new MockInLineXMLEditor();
+        parentEditor.setElements("/project/properties", new XMLElement("color", "blue"));
+        POMScope parentScope = new POMScope(parentPom, parentEditor);
+
+        POMScope s = new POMScope(new MockPOM(), new MockInLineXMLEditor());
+
+        assertNull(s.getVariable("color"));
+
+        s.setParent(parentScope);
+
+        assertEquals("blue", s.getVariable("color").get());
+
+        s.setParent(null);
+
+        assertNull(s.getVariable("color"));
+    }
+
     // Public ----------------------------------------------------------------------------------------------------------
 
     // Package protected -----------------------------------------------------------------------------------------------
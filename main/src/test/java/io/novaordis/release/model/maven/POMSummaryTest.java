@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.Util;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class POMSummaryTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        String projectBaseDirName = System.getProperty("basedir");
+        scratchDirectory = new File(projectBaseDirName, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        assertTrue(baseDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void read_NullFile() throws Exception {
+
+        try {
+            POMSummary.read(null);
+            fail("should throw exception");
+        }
+        catch(IllegalArgumentException e) {
+            assertEquals("null pom file", e.getMessage());
+        }
+    }
+
+    @Test
+    public void read_RawValuesAndProperties() throws Exception {
+
+        File f = Util.cp("maven/poms-with-variables/pom-with-variable-as-custom-property.xml", scratchDirectory);
+
+        POMSummary s = POMSummary.read(f);
+
+        assertEquals("io.novaordis.example-group", s.get(POMSummary.GROUP_ID));
+        assertEquals("example-artifact", s.get(POMSummary.ARTIFACT_ID));
+        assertEquals("1.2.3", s.get(POMSummary.VERSION));
+        assertEquals("jar", s.get(POMSummary.PACKAGING));
+        assertNull(s.get(POMSummary.PARENT_VERSION));
+        assertTrue(s.getList(POMSummary.MODULE).isEmpty());
+
+        //
+        // variable references are not resolved
+        //
+
+        assertEquals("blah-${my.version}", s.get(POMSummary.FINAL_NAME));
+
+        Map<String, String> properties = s.getProperties();
+        assertEquals(2, properties.size());
+
+        Iterator<Map.Entry<String, String>> i = properties.entrySet().iterator();
+        Map.Entry<String, String> e = i.next();
+        assertEquals("my.version", e.getKey());
+        assertEquals("3.2.1", e.getValue());
+        e = i.next();
+        assertEquals("my.other.version", e.getKey());
+        assertEquals("3.2.2", e.getValue());
+
+        assertNull(s.getAssemblyFormats());
+        assertNull(s.getAssemblyDescriptor());
+    }
+
+    @Test
+    public void read_ModulesInOrder() throws Exception {
+
+        File pd = Util.cp("maven/lockstep-multi-module-project", scratchDirectory);
+
+        POMSummary s = POMSummary.read(new File(pd, "pom.xml"));
+
+        assertEquals(Arrays.asList("module1", "module2", "release"), s.getList(POMSummary.MODULE));
+        assertEquals("pom", s.get(POMSummary.PACKAGING));
+    }
+
+    @Test
+    public void read_ReleaseModule() throws Exception {
+
+        File pd = Util.cp("maven/lockstep-multi-module-project", scratchDirectory);
+        File releaseDirectory = new File(pd, "release");
+
+        POMSummary s = POMSummary.read(new File(releaseDirectory, "pom.xml"));
+
+        assertEquals("io.test", s.get(POMSummary.PARENT_GROUP_ID));
+        assertEquals("maven-root", s.get(POMSummary.PARENT_ARTIFACT_ID));
+        assertEquals("88", s.get(POMSummary.PARENT_VERSION));
+        assertNull(s.get(POMSummary.VERSION));
+        assertEquals(Collections.singletonList("maven-assembly-plugin"), s.getList(POMSummary.PLUGIN_ARTIFACT_ID));
+        assertEquals("binary-release-A", s.get(POMSummary.PLUGIN_FINAL_NAME));
+        assertEquals("src/assembly/release.xml", s.get(POMSummary.PLUGIN_DESCRIPTOR));
+
+        assertEquals(Collections.singletonList("tar.gz"), s.getAssemblyFormats());
+        assertEquals(new File(releaseDirectory, "src/assembly/release.xml"), s.getAssemblyDescriptor());
+    }
+
+    @Test
+    public void get_PathNotExtracted() throws Exception {
+
+        File f = Util.cp("maven/pom-sample.xml", scratchDirectory);
+
+        POMSummary s = POMSummary.read(f);
+
+        try {
+            s.get("/project/name");
+            fail("should throw exception");
+        }
+        catch(IllegalArgumentException e) {
+            assertEquals("path /project/name is not available in a POM summary", e.getMessage());
+        }
+    }
+
+    @Test
+    public void read_InvalidXML() throws Exception {
+
+        File f = new File(scratchDirectory, "pom.xml");
+        assertTrue(Files.write(f, "<project><version>1</project>"));
+
+        try {
+            POMSummary.read(f);
+            fail("should throw exception");
+        }
+        catch(IOException e) {
+            assertTrue(e.getMessage().startsWith("failed to parse " + f));
+        }
+    }
+
+    @Test
+    public void equalsAndHashCode() throws Exception {
+
+        File f = Util.cp("maven/pom-sample.xml", scratchDirectory);
+
+        POMSummary s = POMSummary.read(f);
+        POMSummary s2 = POMSummary.read(f);
+
+        assertEquals(s, s2);
+        assertEquals(s.hashCode(), s2.hashCode());
+
+        File f2 = Util.cp("maven/pom-sample-dot.xml", scratchDirectory);
+
+        assertFalse(s.equals(POMSummary.read(f2)));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -35,6 +35,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -161,6 +162,63 @@ public class POMTest {
                 a2.getRepositoryFile());
     }
 
+    @Test
+    public void versionPatchedInPlace_NoEditableRepresentation() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        POM p = new POM(f);
+
+        assertEquals("io.novaordis.example-group", p.getGroupId());
+        assertEquals(new Version("1.2.3"), p.getVersion());
+        assertNull(p.getParentVersion());
+        assertNotNull(p.getArtifact());
+
+        assertFalse(p.isEditable());
+
+        //
+        // nothing to save or undo
+        //
+
+        assertFalse(p.save());
+        assertFalse(p.undo());
+        assertFalse(p.isEditable());
+
+        String original = read(f);
+
+        assertTrue(p.setVersion(new Version("3.2.1")));
+        assertFalse(p.setVersion(new Version("3.2.1")));
+
+        //
+        // the version is patched in place, without an editable representation
+        //
+
+        assertFalse(p.isEditable());
+        assertEquals(new Version("3.2.1"), p.getVersion());
+        assertEquals(new File("io/novaordis/example-group/example-artifact/3.2.1/example-artifact-3.2.1.jar"),
+                p.getArtifact().getRepositoryFile());
+
+        assertTrue(p.save());
+        assertFalse(p.save());
+        assertEquals(new Version("3.2.1"), new POM(f).getVersion());
+
+        //
+        // everything else is preserved
+        //
+
+        String patched = read(f);
+        assertEquals(original.replaceFirst("<version>1.2.3</version>", "<version>3.2.1</version>"), patched);
+
+        assertTrue(p.setVersion(new Version("3.2.10-SNAPSHOT")));
+        assertTrue(p.save());
+        assertEquals(new Version("3.2.10-SNAPSHOT"), new POM(f).getVersion());
+
+        assertTrue(p.undo());
+        assertEquals(new Version("1.2.3"), p.getVersion());
+        assertEquals(original, read(f));
+        assertFalse(p.isEditable());
+    }
+
     @Test
     public void getVersion_NoVersionSpecifiedInPOM_NoParent() throws Exception {
 
@@ -424,6 +482,134 @@ public class POMTest {
         assertEquals("blah-9999", s);
     }
 
+    // dependencies ----------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getDependencies() throws Exception {
+
+        File dir = Util.cp("maven/dependency-audit-project", scratchDirectory);
+
+        POM root = new POM(new File(dir, "pom.xml"));
+
+        List<MavenDependency> dependencies = root.getDependencies();
+
+        assertEquals(2, dependencies.size());
+
+        MavenDependency d = dependencies.get(0);
+        assertEquals("org.slf4j", d.getGroupId());
+        assertEquals("slf4j-api", d.getArtifactId());
+        assertEquals("1.7.12", d.getVersion());
+        assertTrue(d.isManaged());
+
+        d = dependencies.get(1);
+        assertEquals("io.novaordis.utilities:novaordis-utilities:4.7.13", d.toString());
+        assertTrue(d.isManaged());
+
+        POM module1 = new POM(root, new File(dir, "module1/pom.xml"));
+
+        dependencies = module1.getDependencies();
+
+        assertEquals(3, dependencies.size());
+
+        d = dependencies.get(0);
+        assertEquals("io.test:module2:1.0.0-SNAPSHOT-1", d.toString());
+        assertFalse(d.isManaged());
+
+        d = dependencies.get(1);
+        assertEquals("slf4j-api", d.getArtifactId());
+        assertNull(d.getVersion());
+        assertFalse(d.isManaged());
+    }
+
+    @Test
+    public void getDependencies_NoDependencies() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        assertTrue(new POM(f).getDependencies().isEmpty());
+    }
+
+    // cache ---------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void cache_ReadOnlyInformation() throws Exception {
+
+        File f = Util.cp("maven/poms-with-variables/pom-with-variable-as-custom-property.xml", scratchDirectory);
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        POM p = new POM(null, f, c);
+
+        assertEquals(f, p.getFile());
+        assertEquals("io.novaordis.example-group", p.getGroupId());
+        assertEquals("example-artifact", p.getArtifactId());
+        assertEquals(new Version("1.2.3"), p.getVersion());
+        assertEquals(ArtifactType.JAR_LIBRARY, p.getArtifactType());
+        assertEquals("3.2.1", p.getScope().getVariable("my.version").get());
+        assertEquals("blah-3.2.1", p.getFinalName());
+        assertEquals(1, c.getMisses());
+
+        POM p2 = new POM(null, f, c);
+
+        assertEquals(1, c.getHits());
+        assertEquals(new Version("1.2.3"), p2.getVersion());
+        assertEquals("blah-3.2.1", p2.getFinalName());
+
+        //
+        // nothing was modified, nothing to save
+        //
+
+        assertFalse(p2.save());
+    }
+
+    @Test
+    public void cache_ReleaseModule() throws Exception {
+
+        File dir = Util.cp("maven/lockstep-multi-module-project", scratchDirectory);
+        File pomFile = new File(dir, "release/pom.xml");
+        MockPOM root = new MockPOM();
+        root.setVersion(new Version("33.33"));
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        new POM(root, pomFile, c);
+        POM pom = new POM(root, pomFile, c);
+        assertEquals(1, c.getHits());
+
+        assertEquals(ArtifactType.BINARY_DISTRIBUTION, pom.getArtifactType());
+        assertEquals("tar.gz", pom.getExtension());
+        assertEquals("binary-release-A", pom.getFinalName());
+        assertEquals(new File("io/test/release/33.33/release-33.33.tar.gz"), pom.getArtifact().getRepositoryFile());
+    }
+
+    @Test
+    public void cache_VersionChange() throws Exception {
+
+        File f = Util.cp(baseDirectory, "src/test/resources/data/maven/pom-sample.xml", scratchDirectory, "pom.xml");
+
+        POMCache c = new POMCache(new File(scratchDirectory, "cache"));
+
+        POM p = new POM(null, f, c);
+
+        assertEquals(new Version("1.2.3"), p.getVersion());
+
+        //
+        // the modification is applied to the editable representation, created on demand
+        //
+
+        assertTrue(p.setVersion(new Version("3.2.1")));
+        assertEquals(new Version("3.2.1"), p.getVersion());
+        assertTrue(p.save());
+
+        assertEquals(new Version("3.2.1"), new POM(f).getVersion());
+
+        //
+        // the cache entry is stale
+        //
+
+        assertEquals(new Version("3.2.1"), new POM(null, f, c).getVersion());
+        assertEquals(0, c.getHits());
+    }
 
     // Package protected -----------------------------------------------------------------------------------------------
 
@@ -431,6 +617,11 @@ public class POMTest {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    private static String read(File f) throws Exception {
+
+        return new String(java.nio.file.Files.readAllBytes(f.toPath()), "UTF-8");
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
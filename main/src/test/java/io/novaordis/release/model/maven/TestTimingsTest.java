@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class TestTimingsTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        scratchDirectory = new File(System.getProperty("basedir"), "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void load_NoFile() throws Exception {
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, "no-such-file"));
+
+        assertEquals(0, t.size());
+        assertEquals(-1, t.getAverage());
+        assertNull(t.get("a.BTest"));
+    }
+
+    @Test
+    public void saveAndLoad() throws Exception {
+
+        File f = new File(scratchDirectory, ".nort/" + TestTimings.FILE_NAME);
+
+        TestTimings t = TestTimings.load(f);
+        t.record("a.BTest", 1500L);
+        t.record("a.CTest", 500L);
+        t.save();
+
+        assertTrue(f.isFile());
+        assertEquals(NortState.getGitignoreContent(),
+                Files.read(new File(f.getParentFile(), NortState.GITIGNORE_FILE_NAME)));
+
+        TestTimings t2 = TestTimings.load(f);
+
+        assertEquals(2, t2.size());
+        assertEquals(1500L, t2.get("a.BTest").longValue());
+        assertEquals(500L, t2.get("a.CTest").longValue());
+        assertEquals(1000L, t2.getAverage());
+    }
+
+    @Test
+    public void load_InvalidLinesIgnored() throws Exception {
+
+        File f = new File(scratchDirectory, TestTimings.FILE_NAME);
+        assertTrue(Files.write(f, "a.BTest 10\nsomething\na.CTest ten\n"));
+
+        TestTimings t = TestTimings.load(f);
+
+        assertEquals(1, t.size());
+        assertEquals(10L, t.get("a.BTest").longValue());
+    }
+
+    @Test
+    public void recordReports() throws Exception {
+
+        File reports = new File(scratchDirectory, "m/target/" + TestTimings.SUREFIRE_REPORTS_DIRECTORY_NAME);
+        assertTrue(reports.mkdirs());
+
+        assertTrue(Files.write(new File(reports, "TEST-a.BTest.xml"),
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                        "<testsuite xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" name=\"a.BTest\" " +
+                        "time=\"2.345\" tests=\"3\" errors=\"0\" skipped=\"0\" failures=\"0\">\n" +
+                        "  <testcase name=\"t\" classname=\"a.BTest\" time=\"1.0\"/>\n" +
+                        "</testsuite>\n"));
+
+        assertTrue(Files.write(new File(reports, "TEST-a.CTest.xml"),
+                "<testsuite name=\"a.CTest\" time=\"1,234.5\" tests=\"1\"></testsuite>\n"));
+
+        //
+        // not a report
+        //
+
+        assertTrue(Files.write(new File(reports, "a.BTest.txt"), "Tests run: 3"));
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, TestTimings.FILE_NAME));
+
+        assertEquals(2, t.recordReports(new File(scratchDirectory, "m")));
+        assertEquals(2345L, t.get("a.BTest").longValue());
+        assertEquals(1234500L, t.get("a.CTest").longValue());
+    }
+
+    @Test
+    public void recordReports_NoReports() throws Exception {
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, TestTimings.FILE_NAME));
+
+        assertEquals(0, t.recordReports(scratchDirectory));
+    }
+
+    @Test
+    public void parseReportTime() throws Exception {
+
+        assertEquals(1500L, TestTimings.parseReportTime("1.5"));
+        assertEquals(1500L, TestTimings.parseReportTime("1,5"));
+        assertEquals(1234000L, TestTimings.parseReportTime("1,234.0"));
+        assertEquals(0L, TestTimings.parseReportTime("0"));
+        assertEquals(-1L, TestTimings.parseReportTime("n/a"));
+        assertEquals(-1L, TestTimings.parseReportTime(null));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.model.maven;
+
+import io.novaordis.release.version.Version;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionIndexTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // well in the past, so the modification times are trusted
+    private static final long OLD = System.currentTimeMillis() - 3600 * 1000L;
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File repository;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        String projectBaseDirName = System.getProperty("basedir");
+        scratchDirectory = new File(projectBaseDirName, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+
+        repository = new File(scratchDirectory, "repository");
+        assertTrue(repository.mkdirs());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void constructor_NullRoot() throws Exception {
+
+        try {
+
+            new VersionIndex(null, null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("null repository root", e.getMessage());
+        }
+    }
+
+    @Test
+    public void refresh_RootNotADirectory() throws Exception {
+
+        VersionIndex i = new VersionIndex(new File(scratchDirectory, "no-such-directory"), null);
+
+        try {
+
+            i.refresh();
+            fail("should have thrown exception");
+        }
+        catch(IOException e) {
+
+            assertTrue(e.getMessage().endsWith("is not a directory"));
+        }
+    }
+
+    @Test
+    public void queries() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0", "1.1-SNAPSHOT-1", "1.1", "1.1.1-SNAPSHOT-1", "1.1.1-SNAPSHOT-2");
+        mkdirs("io/novaordis/utilities/novaordis-utilities", "4.2.1", "4.2.2");
+        mkdirs("org/other/thing", "1.0-SNAPSHOT", "1.0.0.0");
+
+        VersionIndex i = new VersionIndex(repository, null, 2);
+        i.refresh();
+
+        assertEquals(
+                Arrays.asList("io/novaordis/nort/nort", "io/novaordis/utilities/novaordis-utilities"),
+                i.getArtifactPaths());
+
+        assertEquals(
+                "[1.0, 1.1-SNAPSHOT-1, 1.1, 1.1.1-SNAPSHOT-1, 1.1.1-SNAPSHOT-2]",
+                i.getVersions("io.novaordis.nort", "nort").toString());
+
+        assertEquals(new Version("1.1"), i.floor("io.novaordis.nort", "nort", new Version("1.1.1-SNAPSHOT-0")));
+        assertEquals(new Version("1.1"), i.floor("io.novaordis.nort", "nort", new Version("1.1.0")));
+        assertNull(i.floor("io.novaordis.nort", "nort", new Version("0.9")));
+        assertEquals(
+                new Version("1.1.1-SNAPSHOT-1"), i.ceiling("io.novaordis.nort", "nort", new Version("1.1.1-SNAPSHOT-0")));
+        assertNull(i.ceiling("io.novaordis.nort", "nort", new Version("1.1.1")));
+
+        assertEquals(new Version("1.1"), i.getLatestRelease("io.novaordis.nort", "nort"));
+        assertEquals(new Version("1.1.1-SNAPSHOT-2"), i.getLatestSnapshot("io.novaordis.nort", "nort"));
+
+        assertEquals(new Version("4.2.2"), i.getLatestRelease("io.novaordis.utilities", "novaordis-utilities"));
+        assertNull(i.getLatestSnapshot("io.novaordis.utilities", "novaordis-utilities"));
+
+        assertTrue(i.getVersions("org.other", "thing").isEmpty());
+        assertTrue(i.getVersions("no.such", "artifact").isEmpty());
+    }
+
+    @Test
+    public void getUserIndexFile() throws Exception {
+
+        File userDirectory = new File(scratchDirectory, "user");
+
+        File f = VersionIndex.getUserIndexFile(userDirectory, repository);
+
+        assertEquals(userDirectory, f.getParentFile());
+        assertTrue(f.getName().startsWith(VersionIndex.INDEX_FILE_NAME));
+
+        //
+        // the same repository, the same file; another repository, another file
+        //
+
+        assertEquals(f, VersionIndex.getUserIndexFile(userDirectory, new File(repository.getAbsolutePath())));
+        assertNotEquals(f, VersionIndex.getUserIndexFile(userDirectory, new File(scratchDirectory, "other")));
+    }
+
+    @Test
+    public void persistedIndex_UnchangedRepositoryIsNotListed() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0", "1.1");
+        mkdirs("io/novaordis/other/other", "2.0");
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        VersionIndex i = new VersionIndex(repository, indexFile);
+        i.refresh();
+
+        assertTrue(indexFile.isFile());
+        assertEquals(7, i.getDirectoriesListedDuringLastRefresh());
+
+        //
+        // a new instance starts from the persisted state
+        //
+
+        VersionIndex i2 = new VersionIndex(repository, indexFile);
+        i2.refresh();
+
+        assertEquals(0, i2.getDirectoriesListedDuringLastRefresh());
+        assertEquals("[1.0, 1.1]", i2.getVersions("io.novaordis.nort", "nort").toString());
+        assertEquals("[2.0]", i2.getVersions("io.novaordis.other", "other").toString());
+    }
+
+    @Test
+    public void persistedIndex_OnlyChangedDirectoriesAreListed() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0", "1.1");
+        mkdirs("io/novaordis/other/other", "2.0");
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        new VersionIndex(repository, indexFile).refresh();
+
+        //
+        // publish a new version
+        //
+
+        File artifactDirectory = new File(repository, "io/novaordis/nort/nort");
+        assertTrue(new File(artifactDirectory, "1.2-SNAPSHOT-1").mkdir());
+        assertTrue(artifactDirectory.setLastModified(OLD + 1000L));
+
+        VersionIndex i = new VersionIndex(repository, indexFile);
+        i.refresh();
+
+        assertEquals(1, i.getDirectoriesListedDuringLastRefresh());
+        assertEquals("[1.0, 1.1, 1.2-SNAPSHOT-1]", i.getVersions("io.novaordis.nort", "nort").toString());
+        assertEquals(new Version("1.2-SNAPSHOT-1"), i.getLatestSnapshot("io.novaordis.nort", "nort"));
+    }
+
+    @Test
+    public void persistedIndex_RecentlyModifiedDirectoriesAreListedAgain() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0");
+
+        //
+        // too recent to be trusted
+        //
+
+        assertTrue(new File(repository, "io/novaordis/nort/nort").setLastModified(System.currentTimeMillis()));
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        new VersionIndex(repository, indexFile).refresh();
+
+        VersionIndex i = new VersionIndex(repository, indexFile);
+        i.refresh();
+
+        assertEquals(1, i.getDirectoriesListedDuringLastRefresh());
+        assertEquals("[1.0]", i.getVersions("io.novaordis.nort", "nort").toString());
+    }
+
+    @Test
+    public void persistedIndex_RemovedArtifact() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0");
+        mkdirs("io/novaordis/other/other", "2.0");
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        new VersionIndex(repository, indexFile).refresh();
+
+        File novaordis = new File(repository, "io/novaordis");
+        assertTrue(new File(novaordis, "other/other/2.0").delete());
+        assertTrue(new File(novaordis, "other/other").delete());
+        assertTrue(new File(novaordis, "other").delete());
+        assertTrue(novaordis.setLastModified(OLD + 1000L));
+
+        VersionIndex i = new VersionIndex(repository, indexFile);
+        i.refresh();
+
+        assertEquals(Arrays.asList("io/novaordis/nort/nort"), i.getArtifactPaths());
+        assertTrue(i.getVersions("io.novaordis.other", "other").isEmpty());
+    }
+
+    @Test
+    public void persistedIndex_DifferentRepositoryIsIgnored() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0");
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        new VersionIndex(repository, indexFile).refresh();
+
+        File repository2 = new File(scratchDirectory, "repository2");
+        assertTrue(new File(repository2, "io/novaordis/nort/nort/2.0").mkdirs());
+
+        VersionIndex i = new VersionIndex(repository2, indexFile);
+        i.refresh();
+
+        assertEquals("[2.0]", i.getVersions("io.novaordis.nort", "nort").toString());
+    }
+
+    @Test
+    public void persistedIndex_CorruptedIndexIsRebuilt() throws Exception {
+
+        mkdirs("io/novaordis/nort/nort", "1.0");
+
+        File indexFile = new File(scratchDirectory, VersionIndex.INDEX_FILE_NAME);
+
+        java.nio.file.Files.write(indexFile.toPath(),
+                (VersionIndex.FORMAT_HEADER + "\nroot\t" + repository.getAbsolutePath() + "\nsomething\n").getBytes());
+
+        VersionIndex i = new VersionIndex(repository, indexFile);
+        i.refresh();
+
+        assertEquals("[1.0]", i.getVersions("io.novaordis.nort", "nort").toString());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates the version directories and sets the modification time of all directories on the path in the past.
+     */
+    private void mkdirs(String artifactPath, String... versions) throws Exception {
+
+        File artifactDirectory = new File(repository, artifactPath);
+
+        for(String v: versions) {
+
+            File d = new File(artifactDirectory, v);
+            assertTrue(d.mkdirs());
+            assertTrue(d.setLastModified(OLD));
+        }
+
+        for(File d = artifactDirectory; d != null; d = d.getParentFile()) {
+
+            assertTrue(d.setLastModified(OLD));
+
+            if (d.equals(repository)) {
+
+                break;
+            }
+        }
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -30,10 +30,12 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -286,6 +288,61 @@ public class BuildSequenceTest extends SequenceTest {
         assertEquals("mock build with tests", executedCommands.get(0));
     }
 
+    @Test
+    public void fusedBuild_Success() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        MockMavenProject mp = new MockMavenProject();
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.FUSED_BUILD, "true");
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_BUILD_WITH_TESTS, "mock build with tests");
+        mockOS.addToCommandsThatSucceed("mock build with tests");
+
+        BuildSequence s = new BuildSequence();
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, null, null);
+        c.setTestsExecuted(false);
+
+        s.execute(c);
+
+        assertTrue(c.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock build with tests"), mockOS.getHistory());
+
+        String info = mr.getInfoContent();
+        assertTrue(info.contains("tests ok"));
+        assertTrue(info.indexOf("tests ok") < info.indexOf("build ok"));
+    }
+
+    @Test
+    public void fusedBuild_TestFailure() throws Exception {
+
+        String output =
+                "[INFO] --- maven-compiler-plugin:3.1:testCompile (default-testCompile) @ a ---\n" +
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ a ---\n" +
+                "Tests run: 3, Failures: 1, Errors: 0, Skipped: 0\n" +
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-surefire-plugin:2.12.4:test " +
+                "(default-test) on project a: There are test failures.\n";
+
+        assertEquals("tests failed", fusedBuildFailure(output));
+    }
+
+    @Test
+    public void fusedBuild_PackagingFailure() throws Exception {
+
+        String output =
+                "[INFO] --- maven-surefire-plugin:2.12.4:test (default-test) @ a ---\n" +
+                "Tests run: 3, Failures: 0, Errors: 0, Skipped: 0\n" +
+                "[INFO] --- maven-assembly-plugin:2.6:single (default) @ a ---\n" +
+                "[ERROR] Failed to execute goal org.apache.maven.plugins:maven-assembly-plugin:2.6:single " +
+                "(default) on project a: Error reading assemblies\n";
+
+        assertEquals("build failed", fusedBuildFailure(output));
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------
@@ -298,6 +355,48 @@ public class BuildSequenceTest extends SequenceTest {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return the message of the failure of a fused build whose command produced the given output.
+     */
+    private String fusedBuildFailure(String output) throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        MockMavenProject mp = new MockMavenProject();
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.FUSED_BUILD, "true");
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_BUILD_WITH_TESTS, "mock build with tests");
+        mockOS.addToCommandsThatFail("mock build with tests", output, "");
+
+        BuildSequence s = new BuildSequence();
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, null, null);
+        c.setTestsExecuted(false);
+
+        String msg = null;
+
+        try {
+
+            s.execute(c);
+            fail("should throw Exception");
+        }
+        catch(UserErrorException e) {
+
+            msg = e.getMessage();
+        }
+
+        //
+        // the tests were executed, even if they did not pass
+        //
+
+        assertTrue(c.wereTestsExecuted());
+
+        return msg;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.Util;
+import io.novaordis.release.model.MockProject;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.MavenProjectBuilder;
+import io.novaordis.release.model.maven.NortState;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class CachedQualificationTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void compute_NotAMavenProject() throws Exception {
+
+        assertNull(CachedQualification.compute(new MockProject("1.0.0-SNAPSHOT-1"), "mvn clean test"));
+    }
+
+    @Test
+    public void recordAndMatch() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        CachedQualification q = CachedQualification.compute(p, "mvn clean test");
+
+        assertEquals(
+                new File(new File(p.getBaseDirectory().getAbsoluteFile(), MavenProjectBuilder.NORT_DIRECTORY_NAME),
+                        CachedQualification.FILE_NAME),
+                q.getFile());
+
+        assertFalse(q.isQualified());
+
+        q.record();
+
+        assertTrue(q.getFile().isFile());
+        assertTrue(q.isQualified());
+
+        //
+        // the record is machine-local, it must not be swept into the release commit
+        //
+
+        assertEquals(NortState.getGitignoreContent(),
+                Files.read(new File(q.getFile().getParentFile(), NortState.GITIGNORE_FILE_NAME)));
+
+        //
+        // same tree, same command
+        //
+
+        assertTrue(CachedQualification.compute(p, "mvn clean test").isQualified());
+
+        //
+        // different command
+        //
+
+        assertFalse(CachedQualification.compute(p, "mvn -pl module1 -am clean test").isQualified());
+    }
+
+    @Test
+    public void moduleSourceChange() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        CachedQualification q = CachedQualification.compute(p, "mvn clean test");
+        q.record();
+
+        File source = new File(p.getBaseDirectory(), "module2/src/test/java/BTest.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "class BTest {}"));
+
+        CachedQualification q2 = CachedQualification.compute(p, "mvn clean test");
+
+        assertNotEquals(q.getFingerprint(), q2.getFingerprint());
+        assertFalse(q2.isQualified());
+    }
+
+    @Test
+    public void rootPOMChange() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        CachedQualification.compute(p, "mvn clean test").record();
+
+        File pom = new File(p.getBaseDirectory(), "pom.xml");
+        assertTrue(Files.write(pom, Files.read(pom) + "\n<!-- change -->\n"));
+
+        assertFalse(CachedQualification.compute(p, "mvn clean test").isQualified());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private MavenProject multiModuleProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        return new MavenProject(new File(projectDirectory, "pom.xml"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
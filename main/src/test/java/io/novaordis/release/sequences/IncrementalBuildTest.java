@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.Util;
+import io.novaordis.release.model.maven.BuildCache;
+import io.novaordis.release.model.maven.MavenArtifact;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.MockMavenProject;
+import io.novaordis.utilities.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class IncrementalBuildTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final String COMMAND = "mvn clean package";
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void compute_ProjectWithoutFiles() throws Exception {
+
+        assertNull(IncrementalBuild.compute(new MockMavenProject(), null, COMMAND, null));
+    }
+
+    @Test
+    public void singleModuleProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/simple-project", scratchDirectory);
+        File source = new File(projectDirectory, "src/main/java/A.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "class A {}"));
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        IncrementalBuild b = IncrementalBuild.compute(p, null, COMMAND, null);
+
+        assertFalse(b.isUpToDate());
+        assertNull(b.getStaleModules());
+
+        //
+        // a successful build
+        //
+
+        b.recordBuild();
+        buildArtifact(projectDirectory, p.getPOM().getArtifact());
+
+        assertTrue(IncrementalBuild.compute(p, null, COMMAND, null).isUpToDate());
+
+        //
+        // a different command
+        //
+
+        assertFalse(IncrementalBuild.compute(p, null, "mvn clean install", null).isUpToDate());
+
+        //
+        // a missing artifact
+        //
+
+        File artifact = new File(projectDirectory, "target/" + p.getPOM().getArtifact().getLocalFile().getName());
+        assertTrue(artifact.delete());
+
+        assertFalse(IncrementalBuild.compute(p, null, COMMAND, null).isUpToDate());
+
+        buildArtifact(projectDirectory, p.getPOM().getArtifact());
+
+        //
+        // a source change
+        //
+
+        assertTrue(Files.write(source, "class A { int i; }"));
+
+        assertFalse(IncrementalBuild.compute(p, null, COMMAND, null).isUpToDate());
+    }
+
+    @Test
+    public void multiModuleProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        IncrementalBuild b = IncrementalBuild.compute(p, null, COMMAND, null);
+
+        //
+        // nothing was built, all modules are stale
+        //
+
+        assertFalse(b.isUpToDate());
+        assertNull(b.getStaleModules());
+
+        b.recordBuild();
+
+        for(MavenModule m: p.getModules()) {
+
+            buildArtifact(new File(projectDirectory, m.getName()), m.getPOM().getArtifact());
+        }
+
+        assertTrue(IncrementalBuild.compute(p, null, COMMAND, null).isUpToDate());
+
+        //
+        // a change in "impl" makes "impl" and the modules that depend on it stale
+        //
+
+        File source = new File(projectDirectory, "impl/src/main/java/Impl.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "class Impl {}"));
+
+        b = IncrementalBuild.compute(p, null, COMMAND, null);
+
+        assertFalse(b.isUpToDate());
+        assertEquals(Arrays.asList("app", "impl"), names(b.getStaleModules()));
+
+        //
+        // only the candidates are considered
+        //
+
+        b = IncrementalBuild.compute(p, Arrays.asList(p.getModule("api"), p.getModule("tools")), COMMAND, null);
+
+        assertTrue(b.isUpToDate());
+    }
+
+    @Test
+    public void buildCache() throws Exception {
+
+        BuildCache cache = new BuildCache(new File(scratchDirectory, "build-cache"), BuildCache.DEFAULT_MAX_SIZE);
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        IncrementalBuild b = IncrementalBuild.compute(p, null, COMMAND, cache);
+
+        assertEquals(0, b.getRestoredCount());
+        assertNull(b.getStaleModules());
+
+        for(MavenModule m: p.getModules()) {
+
+            buildArtifact(new File(projectDirectory, m.getName()), m.getPOM().getArtifact());
+        }
+
+        b.recordBuild();
+
+        //
+        // a different checkout of the same project is restored from the cache
+        //
+
+        File checkout = new File(scratchDirectory, "checkout");
+        assertTrue(checkout.mkdirs());
+        File projectDirectory2 = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", checkout);
+
+        MavenProject p2 = new MavenProject(new File(projectDirectory2, "pom.xml"));
+
+        b = IncrementalBuild.compute(p2, null, COMMAND, cache);
+
+        assertEquals(p2.getModules().size(), b.getRestoredCount());
+        assertTrue(b.isUpToDate());
+
+        MavenArtifact a = p2.getModule("impl").getPOM().getArtifact();
+        assertEquals("...", Files.read(new File(projectDirectory2, "impl/target/" + a.getLocalFile().getName())));
+
+        assertTrue(IncrementalBuild.compute(p2, null, COMMAND, cache).isUpToDate());
+
+        //
+        // a change in "api" cannot be restored, and it invalidates the cache keys of the modules that depend on it
+        //
+
+        File source = new File(projectDirectory2, "api/src/main/java/Api.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "interface Api {}"));
+
+        b = IncrementalBuild.compute(p2, null, COMMAND, cache);
+
+        assertEquals(0, b.getRestoredCount());
+        assertEquals(Arrays.asList("app", "tools", "impl", "api"), names(b.getStaleModules()));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static void buildArtifact(File moduleDirectory, MavenArtifact a) throws Exception {
+
+        if (a == null) {
+
+            return;
+        }
+
+        assertTrue(Files.write(new File(moduleDirectory, "target/" + a.getLocalFile().getName()), "..."));
+    }
+
+    private static List<String> names(List<MavenModule> modules) {
+
+        List<String> result = new ArrayList<>();
+
+        for(MavenModule m: modules) {
+
+            result.add(m.getName());
+        }
+
+        return result;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.MockOS;
+import io.novaordis.release.MockReleaseApplicationRuntime;
+import io.novaordis.release.Util;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.os.OS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ModuleLevelExecutorTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleLevelExecutorTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        System.setProperty("os.class", MockOS.class.getName());
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        ((MockOS) OS.getInstance()).reset();
+        System.clearProperty("os.class");
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getParallelism() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        assertEquals(1, ModuleLevelExecutor.getParallelism(mc));
+
+        mc.set(ConfigurationLabels.MODULE_PARALLELISM, "4");
+        assertEquals(4, ModuleLevelExecutor.getParallelism(mc));
+
+        mc.set(ConfigurationLabels.MODULE_PARALLELISM, ModuleLevelExecutor.AUTO_PARALLELISM);
+        assertEquals(Runtime.getRuntime().availableProcessors(), ModuleLevelExecutor.getParallelism(mc));
+    }
+
+    @Test
+    public void getParallelism_Invalid() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MODULE_PARALLELISM, "0");
+
+        try {
+
+            ModuleLevelExecutor.getParallelism(mc);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith("invalid " + ConfigurationLabels.MODULE_PARALLELISM + " \"0\""));
+        }
+    }
+
+    @Test
+    public void getInstance_NotConfigured() throws Exception {
+
+        assertNull(ModuleLevelExecutor.getInstance(moduleGraphProject(), new MockConfiguration()));
+    }
+
+    @Test
+    public void execute() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.MODULE_PARALLELISM, "2");
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        ModuleLevelExecutor e = ModuleLevelExecutor.getInstance(p, mc);
+
+        List<MavenModule> failed = e.execute(null, "mvn clean test", mr, mc);
+
+        assertTrue(failed.isEmpty());
+
+        List<String> history = mos.getHistory();
+
+        assertEquals(6, history.size());
+        assertEquals("mvn -pl . clean install", history.get(0));
+        assertEquals("mvn -pl parent clean install", history.get(1));
+        assertEquals("mvn -pl api clean install", history.get(2));
+
+        //
+        // the order within a level is not deterministic
+        //
+
+        assertEquals(
+                new HashSet<>(Arrays.asList("mvn -pl tools clean install", "mvn -pl impl clean install")),
+                new HashSet<>(history.subList(3, 5)));
+
+        //
+        // no module depends on "app"
+        //
+
+        assertEquals("mvn -pl app clean test", history.get(5));
+    }
+
+    @Test
+    public void execute_LevelFails_NextLevelsNotExecuted() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+        mos.addToCommandsThatFail("mvn -pl impl clean install");
+
+        ModuleLevelExecutor e = new ModuleLevelExecutor(p, 4);
+
+        List<MavenModule> failed = e.execute(null, "mvn clean test", mr, mc);
+
+        assertEquals(Collections.singletonList(p.getModule("impl")), failed);
+        assertEquals(5, mos.getHistory().size());
+        assertTrue(!mos.getHistory().contains("mvn -pl app clean test"));
+    }
+
+    @Test
+    public void execute_Subset() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        ModuleLevelExecutor e = new ModuleLevelExecutor(p, 4);
+
+        assertTrue(e.execute(Collections.singletonList(p.getModule("api")), "mvn clean package", mr, mc).isEmpty());
+
+        assertEquals(
+                Arrays.asList("mvn -pl . clean install", "mvn -pl parent clean install", "mvn -pl api clean install"),
+                mos.getHistory());
+    }
+
+    @Test
+    public void execute_NotAMavenCommand() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        ModuleLevelExecutor e = new ModuleLevelExecutor(moduleGraphProject(), 2);
+
+        try {
+
+            e.execute(null, "make all", new MockReleaseApplicationRuntime(mc), mc);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException ex) {
+
+            String msg = ex.getMessage();
+            log.info(msg);
+            assertEquals("\"make all\" cannot be executed module by module, it is not a Maven command", msg);
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private MavenProject moduleGraphProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        return new MavenProject(new File(projectDirectory, "pom.xml"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
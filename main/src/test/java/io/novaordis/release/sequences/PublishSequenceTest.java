@@ -16,6 +16,10 @@
 
 package io.novaordis.release.sequences;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.After;
@@ -27,9 +31,14 @@ import org.slf4j.LoggerFactory;
 import io.novaordis.release.MockConfiguration;
 import io.novaordis.release.MockOS;
 import io.novaordis.release.MockReleaseApplicationRuntime;
+import io.novaordis.release.Util;
 import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.maven.MavenModule;
+import io.novaordis.release.model.maven.MavenProject;
 import io.novaordis.release.model.maven.MockMavenProject;
+import io.novaordis.release.version.ReleaseTagFormat;
 import io.novaordis.release.version.Version;
+import io.novaordis.utilities.Files;
 import io.novaordis.utilities.UserErrorException;
 import io.novaordis.utilities.expressions.Scope;
 import io.novaordis.utilities.expressions.ScopeImpl;
@@ -54,6 +63,9 @@ public class PublishSequenceTest extends SequenceTest {
 
     // Attributes ------------------------------------------------------------------------------------------------------
 
+    private File baseDirectory;
+    private File scratchDirectory;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     // Public ----------------------------------------------------------------------------------------------------------
@@ -62,6 +74,10 @@ public class PublishSequenceTest extends SequenceTest {
     public void before() {
 
         System.setProperty("os.class", MockOS.class.getName());
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
     }
 
     @After
@@ -69,6 +85,12 @@ public class PublishSequenceTest extends SequenceTest {
 
         ((MockOS) io.novaordis.utilities.os.OS.getInstance()).reset();
         System.clearProperty("os.class");
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
     }
 
     @Test
@@ -368,6 +390,54 @@ public class PublishSequenceTest extends SequenceTest {
         assertEquals("release-1.2.3-SNAPSHOT-4", tag);
     }
 
+    // computeTagFormat() ----------------------------------------------------------------------------------------------
+
+    @Test
+    public void computeTagFormat_TemplateNotSet() throws Exception {
+
+        ReleaseTagFormat f = PublishSequence.computeTagFormat(new MockConfiguration(), new ScopeImpl());
+
+        assertEquals("release-", f.getPrefix());
+        assertEquals("", f.getSuffix());
+    }
+
+    @Test
+    public void computeTagFormat_TemplateSet() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        Scope s = new ScopeImpl();
+
+        mc.set(ConfigurationLabels.RELEASE_TAG, "${name}-${current.version}-final");
+        s.declare("name", "nort");
+
+        ReleaseTagFormat f = PublishSequence.computeTagFormat(mc, s);
+
+        assertEquals("nort-", f.getPrefix());
+        assertEquals("-final", f.getSuffix());
+
+        s.declare(ConfigurationLabels.CURRENT_VERSION, "1.2.3");
+        assertEquals(new Version("1.2.3"), f.toVersion(PublishSequence.computeTag(mc, s)));
+    }
+
+    @Test
+    public void computeTagFormat_TemplateDoesNotReferenceCurrentVersion() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.RELEASE_TAG, "latest");
+
+        try {
+
+            PublishSequence.computeTagFormat(mc, new ScopeImpl());
+            fail("should throw exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.contains("does not reference ${current.version}"));
+        }
+    }
+
     // pushToRemoteCodeRepository() ------------------------------------------------------------------------------------
 
     @Test
@@ -589,6 +659,81 @@ public class PublishSequenceTest extends SequenceTest {
         }
     }
 
+    // publishArtifacts() ----------------------------------------------------------------------------------------------
+
+    @Test
+    public void publishArtifacts_Modules_OnlyDotReleasedModulesPublishRemotely() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mockOS.allCommandsSucceedByDefault();
+
+        //
+        // the dot-released module is not the last one
+        //
+
+        List<MavenModule> modules = independentlyVersionedModules(mr, "module1", "module2");
+
+        assertTrue(PublishSequence.publishArtifacts(mr, mc, false, modules));
+
+        //
+        // the snapshot module is only installed locally
+        //
+
+        assertEquals(
+                Arrays.asList(
+                        "mvn jar:jar source:jar install:install -pl module2",
+                        "mvn jar:jar source:jar install:install -pl module1 deploy:deploy"),
+                mockOS.getHistory());
+
+        assertTrue(mr.getInfoContent().contains("local and remote publishing ok"));
+    }
+
+    @Test
+    public void publishArtifacts_Modules_AnyDotReleasedModule_NoPush() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mockOS.allCommandsSucceedByDefault();
+
+        List<MavenModule> modules = independentlyVersionedModules(mr, "module1", "module2");
+
+        try {
+
+            PublishSequence.publishArtifacts(mr, mc, true, modules);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.contains("cannot make a dot release without pushing externally the binary artifacts"));
+        }
+
+        assertTrue(mockOS.getHistory().isEmpty());
+    }
+
+    @Test
+    public void publishArtifacts_Modules_AllSnapshots() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mockOS.allCommandsSucceedByDefault();
+
+        List<MavenModule> modules = independentlyVersionedModules(mr, "module2");
+
+        assertTrue(PublishSequence.publishArtifacts(mr, mc, true, modules));
+
+        assertEquals(Collections.singletonList("mvn jar:jar source:jar install:install -pl module2"),
+                mockOS.getHistory());
+    }
+
     // isPublishRemotely() ---------------------------------------------------------------------------------------------
 
     @Test
@@ -627,6 +772,33 @@ public class PublishSequenceTest extends SequenceTest {
 
     // Private ---------------------------------------------------------------------------------------------------------
 
+    /**
+     * @return the given modules of a copy of the independently versioned project, where module1 is at the dot version
+     * 1.0 and module2 at the snapshot version 2.1-SNAPSHOT-1. The current version is 1.0.
+     */
+    private List<MavenModule> independentlyVersionedModules(MockReleaseApplicationRuntime mr, String... names)
+            throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/independent-version-multi-module-project",
+                scratchDirectory);
+
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        p.getModule("module2").setVersion(Version.valueOf("2.1-SNAPSHOT-1"));
+
+        new SequenceExecutionContext(mr, p, null, null).setCurrentVersion(Version.valueOf("1.0"));
+
+        List<MavenModule> modules = new ArrayList<>();
+
+        for(String name: names) {
+
+            modules.add(p.getModule(name));
+        }
+
+        return modules;
+    }
+
     // Inner classes ---------------------------------------------------------------------------------------------------
 
 }
@@ -22,6 +22,7 @@ import io.novaordis.release.MockReleaseApplicationRuntime;
 import io.novaordis.release.ReleaseMode;
 import io.novaordis.release.Util;
 import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.ArtifactType;
 import io.novaordis.release.model.MockProject;
 import io.novaordis.release.model.maven.MavenProject;
 import io.novaordis.release.version.Version;
@@ -35,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -219,6 +221,65 @@ public class QualificationSequenceTest extends SequenceTest {
         assertTrue(Files.identical(originalPom, actualPom));
     }
 
+    @Test
+    public void testsFailedAfterVersionIncrement_Resume() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        File crtDir = new File(scratchDirectory, "test");
+        assertTrue(Files.mkdir(crtDir));
+        File testPom = new File(crtDir, "test-pom.xml");
+        assertTrue(Files.cp(new File(baseDirectory, "src/test/resources/data/maven/pom-sample-snapshot.xml"), testPom));
+
+        MockOS mockOS = (MockOS)OS.getInstance();
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock all test execution");
+        mockOS.addToCommandsThatFail("mock all test execution");
+
+        ReleaseCheckpoint checkpoint = new ReleaseCheckpoint(new File(crtDir, ReleaseCheckpoint.FILE_NAME));
+
+        try {
+
+            new SequenceController(ReleaseMode.patch, new QualificationSequence()).execute(
+                    mr, new MavenProject(testPom), checkpoint);
+            fail("should throw Exception");
+        }
+        catch(UserErrorException e) {
+
+            assertEquals("tests failed", e.getMessage());
+        }
+
+        //
+        // the version was incremented on disk before the tests failed, and it stays incremented
+        //
+
+        assertEquals(new Version("1.2.3"), new MavenProject(testPom).getVersion());
+
+        //
+        // resume with a new controller, on the project as found on disk, after fixing the tests
+        //
+
+        mockOS.reset();
+        mockOS.addToCommandsThatSucceed("mock all test execution");
+
+        ReleaseCheckpoint loaded = new ReleaseCheckpoint(checkpoint.getFile());
+        loaded.load();
+
+        SequenceExecutionContext c = new SequenceController(ReleaseMode.patch, new QualificationSequence()).resume(
+                mr, new MavenProject(testPom), loaded);
+
+        //
+        // the version is not incremented again, and the tests are executed on the released version
+        //
+
+        assertEquals(new Version("1.2.3"), c.getCurrentVersion());
+        assertEquals(new Version("1.2.3"), new MavenProject(testPom).getVersion());
+        assertTrue(c.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock all test execution"), mockOS.getHistory());
+        assertTrue(mr.getInfoContent().contains("already in place, skipping the version increment"));
+    }
+
     @Test
     public void successfulExecution_SnapshotRelease_SnapshotCurrentVersion() throws Exception {
 
@@ -547,6 +608,212 @@ public class QualificationSequenceTest extends SequenceTest {
         assertFalse(c.wereTestsExecuted());
     }
 
+    @Test
+    public void fusedBuild_TestsLeftToTheBuild() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock successful command");
+        mc.set(ConfigurationLabels.FUSED_BUILD, "true");
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+
+        mr.init(mc);
+
+        MockProject mp = new MockProject("1.0.0-SNAPSHOT-1");
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.snapshot, null);
+
+        MockOS mockOS = (MockOS)OS.getInstance();
+        mockOS.allCommandsSucceedByDefault();
+
+        QualificationSequence s = new QualificationSequence();
+
+        boolean stateChanged = s.execute(c);
+
+        assertFalse(stateChanged);
+        assertFalse(c.wereTestsExecuted());
+        assertFalse(mockOS.getHistory().contains("mock successful command"));
+    }
+
+    @Test
+    public void executeTests_ShardsConfigured_NotAMavenProject() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock successful command");
+        mc.set(ConfigurationLabels.TEST_SHARDS, "4");
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+
+        mr.init(mc);
+
+        MockProject mp = new MockProject("1.0.0-SNAPSHOT-1");
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.snapshot, null);
+
+        MockOS mockOS = (MockOS)OS.getInstance();
+        mockOS.allCommandsSucceedByDefault();
+
+        QualificationSequence s = new QualificationSequence();
+
+        //
+        // the test classes of a project that is not a Maven project cannot be selected, the tests are executed by
+        // the configured command
+        //
+
+        assertTrue(s.executeTests(c));
+        assertTrue(c.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock successful command"), mockOS.getHistory());
+    }
+
+    // cached qualification --------------------------------------------------------------------------------------------
+
+    @Test
+    public void cachedQualification_SameTree_TestsNotExecutedAgain() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+        File testPom = new File(new File(scratchDirectory, "test"), "test-pom.xml");
+        assertTrue(Files.mkdir(testPom.getParentFile()));
+        assertTrue(Files.cp(new File(baseDirectory, "src/test/resources/data/maven/pom-sample-snapshot.xml"), testPom));
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock all test execution");
+        mockOS.addToCommandsThatSucceed("mock all test execution");
+
+        MavenProject mp = new MavenProject(testPom);
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.snapshot, null);
+
+        new QualificationSequence().execute(c);
+
+        assertTrue(c.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock all test execution"), mockOS.getHistory());
+
+        //
+        // retry on the same tree
+        //
+
+        MavenProject mp2 = new MavenProject(testPom);
+        SequenceExecutionContext c2 = new SequenceExecutionContext(mr, mp2, ReleaseMode.snapshot, null);
+
+        new QualificationSequence().execute(c2);
+
+        assertTrue(c2.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock all test execution"), mockOS.getHistory());
+        assertTrue(mr.getInfoContent().contains("cached qualification"));
+    }
+
+    @Test
+    public void cachedQualification_SourceChanged_TestsExecuted() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+        File testPom = new File(new File(scratchDirectory, "test"), "test-pom.xml");
+        assertTrue(Files.mkdir(testPom.getParentFile()));
+        assertTrue(Files.cp(new File(baseDirectory, "src/test/resources/data/maven/pom-sample-snapshot.xml"), testPom));
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock all test execution");
+        mockOS.addToCommandsThatSucceed("mock all test execution");
+
+        new QualificationSequence().execute(
+                new SequenceExecutionContext(mr, new MavenProject(testPom), ReleaseMode.snapshot, null));
+
+        File source = new File(testPom.getParentFile(), "src/main/java/A.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "class A {}"));
+
+        new QualificationSequence().execute(
+                new SequenceExecutionContext(mr, new MavenProject(testPom), ReleaseMode.snapshot, null));
+
+        assertEquals(2, mockOS.getHistory().size());
+        assertFalse(mr.getInfoContent().contains("cached qualification"));
+    }
+
+    @Test
+    public void cachedQualification_TestsFailed_NotRecorded() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+        File testPom = new File(new File(scratchDirectory, "test"), "test-pom.xml");
+        assertTrue(Files.mkdir(testPom.getParentFile()));
+        assertTrue(Files.cp(new File(baseDirectory, "src/test/resources/data/maven/pom-sample-snapshot.xml"), testPom));
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock all test execution");
+        mockOS.addToCommandsThatFail("mock all test execution");
+
+        SequenceExecutionContext c =
+                new SequenceExecutionContext(mr, new MavenProject(testPom), ReleaseMode.snapshot, null);
+
+        try {
+
+            new QualificationSequence().execute(c);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            assertEquals("tests failed", e.getMessage());
+        }
+
+        assertFalse(new QualificationSequence().computeCachedQualification(c).isQualified());
+    }
+
+    @Test
+    public void cachedQualification_SnapshotReleaseRetriedAfterLaterSequenceFailed() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+        File testPom = new File(new File(scratchDirectory, "test"), "test-pom.xml");
+        assertTrue(Files.mkdir(testPom.getParentFile()));
+        assertTrue(Files.cp(new File(baseDirectory, "src/test/resources/data/maven/pom-sample-snapshot.xml"), testPom));
+
+        MockOS mockOS = (MockOS) OS.getInstance();
+        mc.set(ConfigurationLabels.OS_COMMAND_TO_EXECUTE_ALL_TESTS, "mock all test execution");
+        mockOS.addToCommandsThatSucceed("mock all test execution");
+
+        //
+        // the first run qualifies the tree, then fails in a later sequence and is undone
+        //
+
+        MockSequence failing = new MockSequence();
+        failing.setExecutionBroken(true);
+
+        SequenceController first = new SequenceController(ReleaseMode.snapshot, new QualificationSequence(), failing);
+
+        try {
+
+            first.execute(mr, new MavenProject(testPom));
+            fail("should have thrown exception");
+        }
+        catch(MockSequenceExecutionException e) {
+
+            // expected
+        }
+
+        first.undo(mr, new MavenProject(testPom));
+
+        assertEquals(Collections.singletonList("mock all test execution"), mockOS.getHistory());
+
+        //
+        // the second run qualifies the same tree, the tests are not executed again
+        //
+
+        SequenceController second =
+                new SequenceController(ReleaseMode.snapshot, new QualificationSequence(), new MockSequence());
+
+        SequenceExecutionContext c = second.execute(mr, new MavenProject(testPom));
+
+        assertTrue(c.wereTestsExecuted());
+        assertEquals(Collections.singletonList("mock all test execution"), mockOS.getHistory());
+        assertTrue(mr.getInfoContent().contains("tests ok (cached qualification"));
+    }
+
     // failIfInstalledVersionIsEqualOrNewer() --------------------------------------------------------------------------------------------------
 
     @Test
@@ -749,6 +1016,155 @@ public class QualificationSequenceTest extends SequenceTest {
         assertTrue(warning.isEmpty());
     }
 
+    // warnIfPublishedVersionIsNewer() --------------------------------------------------------------------------------
+
+    @Test
+    public void warnIfPublishedVersionIsNewer_RepositoryNotConfigured() throws Exception {
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(new MockConfiguration());
+
+        MockProject mp = new MockProject("1.0.0");
+        mp.addArtifact(ArtifactType.JAR_LIBRARY, new File("io/novaordis/nort/nort/1.0.0/nort-1.0.0.jar"), null);
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.minor, null);
+
+        //
+        // noop
+        //
+        new QualificationSequence().warnIfPublishedVersionIsNewer(c);
+
+        assertTrue(Util.dropLineThatStartsWith("no default configuration file", mr.getWarningContent()).isEmpty());
+    }
+
+    @Test
+    public void warnIfPublishedVersionIsNewer_NewerVersionPublished() throws Exception {
+
+        File repository = new File(scratchDirectory, "repository");
+        assertTrue(new File(repository, "io/novaordis/nort/nort/1.0.0").mkdirs());
+        assertTrue(new File(repository, "io/novaordis/nort/nort/1.1.0").mkdirs());
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.LOCAL_ARTIFACT_REPOSITORY_ROOT, repository.getPath());
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        MockProject mp = new MockProject("1.0.1");
+        File repositoryFile = new File("io/novaordis/nort/nort/1.0.1/nort-1.0.1.jar");
+        mp.addArtifact(ArtifactType.JAR_LIBRARY, repositoryFile, null);
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.patch, null);
+
+        //
+        // advisory, does not fail
+        //
+        new QualificationSequence().warnIfPublishedVersionIsNewer(c);
+
+        String warning = Util.dropLineThatStartsWith("no default configuration file", mr.getWarningContent());
+        assertEquals(
+                "published version 1.1.0 is newer than the version being released (1.0.1), in the local artifact " +
+                        "repository (" + repositoryFile + ")\n", warning);
+    }
+
+    @Test
+    public void warnIfPublishedVersionIsNewer_SameVersionPublished() throws Exception {
+
+        //
+        // a previous attempt of the same release installed the artifact before failing to push
+        //
+
+        File repository = new File(scratchDirectory, "repository");
+        assertTrue(new File(repository, "io/novaordis/nort/nort/1.0.0").mkdirs());
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.LOCAL_ARTIFACT_REPOSITORY_ROOT, repository.getPath());
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        MockProject mp = new MockProject("1.0.0");
+        mp.addArtifact(ArtifactType.JAR_LIBRARY, new File("io/novaordis/nort/nort/1.0.0/nort-1.0.0.jar"), null);
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.minor, null);
+
+        new QualificationSequence().warnIfPublishedVersionIsNewer(c);
+
+        assertTrue(Util.dropLineThatStartsWith("no default configuration file", mr.getWarningContent()).isEmpty());
+    }
+
+    @Test
+    public void warnIfPublishedVersionIsNewer_SnapshotBeingReleased() throws Exception {
+
+        //
+        // the snapshot may have been installed by a developer, or by a previous attempt of the same release
+        //
+
+        File repository = new File(scratchDirectory, "repository");
+        assertTrue(new File(repository, "io/novaordis/nort/nort/1.0.0").mkdirs());
+        assertTrue(new File(repository, "io/novaordis/nort/nort/1.0.0-SNAPSHOT-3").mkdirs());
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.LOCAL_ARTIFACT_REPOSITORY_ROOT, repository.getPath());
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(mc);
+
+        MockProject mp = new MockProject("1.0.0-SNAPSHOT-3");
+        mp.addArtifact(ArtifactType.JAR_LIBRARY,
+                new File("io/novaordis/nort/nort/1.0.0-SNAPSHOT-3/nort-1.0.0-SNAPSHOT-3.jar"), null);
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, mp, ReleaseMode.snapshot, null);
+
+        new QualificationSequence().warnIfPublishedVersionIsNewer(c);
+
+        assertTrue(Util.dropLineThatStartsWith("no default configuration file", mr.getWarningContent()).isEmpty());
+    }
+
+    // auditDependencies() ---------------------------------------------------------------------------------------------
+
+    @Test
+    public void auditDependencies_DotRelease_SnapshotDependency() throws Exception {
+
+        File dir = Util.cp("maven/dependency-audit-project", scratchDirectory);
+        MavenProject p = new MavenProject(new File(dir, "pom.xml"));
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(new MockConfiguration());
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, p, ReleaseMode.minor, null);
+
+        try {
+
+            new QualificationSequence().auditDependencies(c);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertEquals("1 dependency audit violation(s), cannot release", msg);
+            assertTrue(mr.getWarningContent().contains(
+                    "org.example:example:2.0-SNAPSHOT: snapshot dependency not allowed in a dot release"));
+        }
+    }
+
+    @Test
+    public void auditDependencies_SnapshotRelease() throws Exception {
+
+        File dir = Util.cp("maven/dependency-audit-project", scratchDirectory);
+        MavenProject p = new MavenProject(new File(dir, "pom.xml"));
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime();
+        mr.init(new MockConfiguration());
+
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, p, ReleaseMode.snapshot, null);
+
+        new QualificationSequence().auditDependencies(c);
+
+        assertEquals("", mr.getWarningContent());
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------
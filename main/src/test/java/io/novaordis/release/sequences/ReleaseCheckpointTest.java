@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.MockReleaseApplicationRuntime;
+import io.novaordis.release.ReleaseMode;
+import io.novaordis.release.Util;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.MockProject;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.MavenProjectBuilder;
+import io.novaordis.release.model.maven.NortState;
+import io.novaordis.release.version.Version;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseCheckpointTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(ReleaseCheckpointTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getInstance_NotAMavenProject() throws Exception {
+
+        assertNull(ReleaseCheckpoint.getInstance(new MockProject("1.0.0-SNAPSHOT-1")));
+    }
+
+    @Test
+    public void getInstance() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        ReleaseCheckpoint c = ReleaseCheckpoint.getInstance(p);
+
+        assertEquals(
+                new File(new File(p.getBaseDirectory().getAbsoluteFile(), MavenProjectBuilder.NORT_DIRECTORY_NAME),
+                        ReleaseCheckpoint.FILE_NAME),
+                c.getFile());
+
+        assertFalse(c.exists());
+    }
+
+    @Test
+    public void load_NoCheckpoint() throws Exception {
+
+        ReleaseCheckpoint c = new ReleaseCheckpoint(new File(scratchDirectory, "no-such-checkpoint"));
+
+        try {
+
+            c.load();
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.contains("there is no release to resume"));
+        }
+    }
+
+    @Test
+    public void saveLoadRestore() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+
+        //noinspection unchecked
+        mr.getRootScope().getVariable(ConfigurationLabels.PUBLISH_NO_PUSH).set(true);
+
+        MockSequence s1 = new MockSequence();
+        MockSequence s2 = new MockSequence();
+        List<Sequence> sequences = Arrays.asList(s1, s2);
+
+        ExecutionHistory h = new ExecutionHistory();
+        h.record("execute", s1, true, true);
+        h.record("execute", s2, false, false);
+
+        SequenceExecutionContext context = new SequenceExecutionContext(mr, p, ReleaseMode.minor, h);
+        context.setTestsExecuted(true);
+        context.setCurrentVersion(Version.valueOf("1.3.0"));
+        context.set("SOME_STEP_DONE", true);
+        context.set("SOME_COUNT", 7);
+        context.set("SOME_LABEL", "something");
+        context.set("NOT_CHECKPOINTED", new Object());
+
+        ReleaseCheckpoint c = ReleaseCheckpoint.getInstance(p);
+        c.save(context, Collections.singletonList(s1));
+
+        assertTrue(c.exists());
+
+        //
+        // the checkpoint is machine-local, it must not be swept into the release commit
+        //
+
+        assertEquals(NortState.getGitignoreContent(),
+                Files.read(new File(c.getFile().getParentFile(), NortState.GITIGNORE_FILE_NAME)));
+
+        ReleaseCheckpoint c2 = ReleaseCheckpoint.getInstance(p);
+        c2.load();
+
+        assertEquals(ReleaseMode.minor, c2.getReleaseMode());
+        assertEquals(Collections.singletonList("MockSequence"), c2.getCompletedSequences());
+        assertTrue(c2.getOption(ConfigurationLabels.PUBLISH_NO_PUSH));
+        assertFalse(c2.getOption(ConfigurationLabels.INSTALL_NO_INSTALL));
+
+        c2.validate(p);
+
+        MockReleaseApplicationRuntime mr2 = new MockReleaseApplicationRuntime(new MockConfiguration());
+        ExecutionHistory h2 = new ExecutionHistory();
+        SequenceExecutionContext context2 = new SequenceExecutionContext(mr2, p, ReleaseMode.minor, h2);
+
+        c2.restore(context2, h2, sequences);
+
+        assertEquals(2, h2.length());
+        assertEquals("execute", h2.getOperation(0).getMethodName());
+        assertTrue(h2.getOperation(0).wasSuccess());
+        assertTrue(h2.getOperation(0).didChangeState());
+        assertFalse(h2.getOperation(1).wasSuccess());
+
+        assertTrue(context2.wereTestsExecuted());
+        assertEquals(Version.valueOf("1.3.0"), context2.getCurrentVersion());
+        assertEquals("1.3.0", mr2.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).get());
+        assertEquals(true, context2.get("SOME_STEP_DONE"));
+        assertEquals(7, context2.get("SOME_COUNT"));
+        assertEquals("something", context2.get("SOME_LABEL"));
+        assertNull(context2.get("NOT_CHECKPOINTED"));
+
+        c2.delete();
+
+        assertFalse(c2.exists());
+    }
+
+    @Test
+    public void validate_SourceChanged() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        ReleaseCheckpoint c = save(p);
+
+        File source = new File(p.getBaseDirectory(), "module2/src/test/java/BTest.java");
+        assertTrue(source.getParentFile().mkdirs());
+        assertTrue(Files.write(source, "class BTest {}"));
+
+        c.load();
+
+        try {
+
+            c.validate(p);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.contains("the working tree changed"));
+        }
+    }
+
+    @Test
+    public void validate_ArtifactChanged() throws Exception {
+
+        MavenProject p = multiModuleProject();
+
+        File module1Directory = new File(p.getBaseDirectory(), "module1");
+        File artifact = new File(new File(module1Directory, "target"),
+                p.getModule("module1").getPOM().getArtifact().getLocalFile().getName());
+        assertTrue(artifact.getParentFile().mkdirs());
+        assertTrue(Files.write(artifact, "built"));
+
+        ReleaseCheckpoint c = save(p);
+
+        c.load();
+        c.validate(p);
+
+        assertTrue(Files.write(artifact, "built again"));
+
+        try {
+
+            c.validate(p);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.contains("changed or is missing"));
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private MavenProject multiModuleProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/lockstep-multi-module-project", scratchDirectory);
+
+        return new MavenProject(new File(projectDirectory, "pom.xml"));
+    }
+
+    private ReleaseCheckpoint save(MavenProject p) throws Exception {
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+        SequenceExecutionContext context = new SequenceExecutionContext(mr, p, ReleaseMode.patch, null);
+
+        ReleaseCheckpoint c = ReleaseCheckpoint.getInstance(p);
+        c.save(context, Collections.emptyList());
+        assertTrue(c.exists());
+        return c;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -19,10 +19,17 @@ package io.novaordis.release.sequences;
 import io.novaordis.release.MockConfiguration;
 import io.novaordis.release.MockReleaseApplicationRuntime;
 import io.novaordis.release.ReleaseMode;
+import io.novaordis.release.model.MockProject;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -42,10 +49,29 @@ public class SequenceControllerTest {
 
     // Attributes ------------------------------------------------------------------------------------------------------
 
+    private File scratchDirectory;
+
     // Constructors ----------------------------------------------------------------------------------------------------
 
     // Public ----------------------------------------------------------------------------------------------------------
 
+    @Before
+    public void before() throws Exception {
+
+        scratchDirectory = new File(System.getProperty("basedir"), "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
     // add -------------------------------------------------------------------------------------------------------------
 
     @Test
@@ -278,6 +304,123 @@ public class SequenceControllerTest {
         assertTrue(s3.wasUndoInvoked());
     }
 
+    // checkpoint and resume -------------------------------------------------------------------------------------------
+
+    @Test
+    public void execute_Checkpoint() throws Exception {
+
+        MockSequence s1 = new MockSequence();
+        MockSequence s2 = new MockSequence();
+        s2.setExecutionBroken(true);
+
+        SequenceController c = new SequenceController(ReleaseMode.minor, s1, s2);
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+
+        ReleaseCheckpoint checkpoint = new ReleaseCheckpoint(new File(scratchDirectory, "checkpoint"));
+
+        try {
+            c.execute(mr, new MockProject("1.0.0-SNAPSHOT-1"), checkpoint);
+            fail("should have thrown exception");
+        }
+        catch(MockSequenceExecutionException e) {
+            log.info(e.getMessage());
+        }
+
+        //
+        // the checkpoint was saved after the failure too, and it only records the sequence that completed
+        //
+
+        assertTrue(checkpoint.exists());
+
+        ReleaseCheckpoint loaded = new ReleaseCheckpoint(checkpoint.getFile());
+        loaded.load();
+
+        assertEquals(1, loaded.getCompletedSequences().size());
+        assertEquals(ReleaseMode.minor, loaded.getReleaseMode());
+    }
+
+    @Test
+    public void resume() throws Exception {
+
+        ReleaseCheckpoint checkpoint = new ReleaseCheckpoint(new File(scratchDirectory, "checkpoint"));
+
+        MockSequence s1 = new MockSequence();
+        MockSequence s2 = new MockSequence();
+        s2.setExecutionBroken(true);
+        MockSequence s3 = new MockSequence();
+
+        SequenceController c = new SequenceController(ReleaseMode.minor, s1, s2, s3);
+
+        try {
+            c.execute(new MockReleaseApplicationRuntime(new MockConfiguration()), new MockProject("1.0.0-SNAPSHOT-1"),
+                    checkpoint);
+            fail("should have thrown exception");
+        }
+        catch(MockSequenceExecutionException e) {
+            log.info(e.getMessage());
+        }
+
+        //
+        // resume with new sequence instances, in a new controller
+        //
+
+        MockSequence s4 = new MockSequence();
+        MockSequence s5 = new MockSequence();
+        MockSequence s6 = new MockSequence();
+
+        SequenceController c2 = new SequenceController(ReleaseMode.minor, s4, s5, s6);
+
+        ReleaseCheckpoint loaded = new ReleaseCheckpoint(checkpoint.getFile());
+        loaded.load();
+
+        c2.resume(new MockReleaseApplicationRuntime(new MockConfiguration()), new MockProject("1.0.0-SNAPSHOT-1"),
+                loaded);
+
+        assertFalse(s4.wasExecuteInvoked());
+        assertTrue(s5.wasExecuteInvoked());
+        assertTrue(s6.wasExecuteInvoked());
+
+        //
+        // the restored history, followed by the resumed executions
+        //
+
+        ExecutionHistory h = c2.getHistory();
+        assertEquals(4, h.length());
+        assertTrue(h.getOperation(0).wasSuccess());
+        assertFalse(h.getOperation(1).wasSuccess());
+        assertEquals(s5, h.getOperation(2).getTarget());
+        assertTrue(h.getOperation(2).wasSuccess());
+        assertEquals(s6, h.getOperation(3).getTarget());
+
+        loaded.load();
+        assertEquals(3, loaded.getCompletedSequences().size());
+    }
+
+    @Test
+    public void resume_CheckpointDoesNotMatchSequences() throws Exception {
+
+        ReleaseCheckpoint checkpoint = new ReleaseCheckpoint(new File(scratchDirectory, "checkpoint"));
+
+        SequenceController c = new SequenceController(ReleaseMode.minor, new MockSequence(), new MockSequence());
+        c.execute(new MockReleaseApplicationRuntime(new MockConfiguration()), new MockProject("1.0.0-SNAPSHOT-1"),
+                checkpoint);
+
+        SequenceController c2 = new SequenceController(ReleaseMode.minor, new MockSequence());
+
+        ReleaseCheckpoint loaded = new ReleaseCheckpoint(checkpoint.getFile());
+        loaded.load();
+
+        try {
+            c2.resume(new MockReleaseApplicationRuntime(new MockConfiguration()),
+                    new MockProject("1.0.0-SNAPSHOT-1"), loaded);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+            log.info(e.getMessage());
+        }
+    }
+
     // history ---------------------------------------------------------------------------------------------------------
 
     @Test
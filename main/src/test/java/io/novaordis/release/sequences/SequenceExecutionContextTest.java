@@ -18,6 +18,7 @@ package io.novaordis.release.sequences;
 
 import io.novaordis.release.MockConfiguration;
 import io.novaordis.release.MockReleaseApplicationRuntime;
+import io.novaordis.release.clad.ConfigurationLabels;
 import io.novaordis.release.model.MockProject;
 import io.novaordis.release.version.Version;
 import org.junit.Test;
@@ -135,6 +136,55 @@ public class SequenceExecutionContextTest {
 
     // typed access - current version ----------------------------------------------------------------------------------
 
+    @Test
+    public void getCurrentVersion_ReturnsTheSameInstance() throws Exception {
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, null, null, null);
+
+        Version v = new Version("1.2.3");
+        c.setCurrentVersion(v);
+
+        assertTrue(v == c.getCurrentVersion());
+        assertTrue(v == c.getCurrentVersion());
+        assertTrue(v == c.get(SequenceExecutionContext.CURRENT_VERSION_KEY));
+    }
+
+    @Test
+    public void getCurrentVersion_VariableChangedExternally() throws Exception {
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, null, null, null);
+
+        c.setCurrentVersion(new Version("1.2.3"));
+
+        //noinspection unchecked
+        mr.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).set("1.2.4-SNAPSHOT-1");
+
+        Version v = c.getCurrentVersion();
+        assertEquals(new Version("1.2.4-SNAPSHOT-1"), v);
+        assertTrue(v == c.getCurrentVersion());
+    }
+
+    @Test
+    public void getCurrentVersion_VariableValueHasSurroundingWhitespace() throws Exception {
+
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(new MockConfiguration());
+        SequenceExecutionContext c = new SequenceExecutionContext(mr, null, null, null);
+
+        //noinspection unchecked
+        mr.getRootScope().getVariable(ConfigurationLabels.CURRENT_VERSION).set(" 1.2.4-SNAPSHOT-1 ");
+
+        Version v = c.getCurrentVersion();
+        assertEquals(new Version("1.2.4-SNAPSHOT-1"), v);
+
+        //
+        // the typed instance is reused, the value is not parsed again
+        //
+
+        assertTrue(v == c.getCurrentVersion());
+    }
+
 
     // Package protected -----------------------------------------------------------------------------------------------
 
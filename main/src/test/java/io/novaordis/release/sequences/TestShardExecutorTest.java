@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.sequences;
+
+import io.novaordis.release.MockConfiguration;
+import io.novaordis.release.MockOS;
+import io.novaordis.release.MockReleaseApplicationRuntime;
+import io.novaordis.release.Util;
+import io.novaordis.release.clad.ConfigurationLabels;
+import io.novaordis.release.model.maven.MavenProject;
+import io.novaordis.release.model.maven.TestTimings;
+import io.novaordis.utilities.Files;
+import io.novaordis.utilities.UserErrorException;
+import io.novaordis.utilities.os.OS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class TestShardExecutorTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final Logger log = LoggerFactory.getLogger(TestShardExecutorTest.class);
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private File scratchDirectory;
+    private File baseDirectory;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Before
+    public void before() throws Exception {
+
+        System.setProperty("os.class", MockOS.class.getName());
+
+        baseDirectory = new File(System.getProperty("basedir"));
+        scratchDirectory = new File(baseDirectory, "target/test-scratch");
+        assertTrue(scratchDirectory.isDirectory());
+    }
+
+    @After
+    public void after() throws Exception {
+
+        ((MockOS) OS.getInstance()).reset();
+        System.clearProperty("os.class");
+
+        //
+        // scratch directory cleanup
+        //
+
+        assertTrue(Files.rmdir(scratchDirectory, false));
+    }
+
+    // Tests -----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void getShardCount() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        assertEquals(1, TestShardExecutor.getShardCount(mc));
+
+        mc.set(ConfigurationLabels.TEST_SHARDS, "3");
+        assertEquals(3, TestShardExecutor.getShardCount(mc));
+
+        mc.set(ConfigurationLabels.TEST_SHARDS, TestShardExecutor.AUTO_SHARDS);
+        assertEquals(Runtime.getRuntime().availableProcessors(), TestShardExecutor.getShardCount(mc));
+    }
+
+    @Test
+    public void getShardCount_Invalid() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.TEST_SHARDS, "many");
+
+        try {
+
+            TestShardExecutor.getShardCount(mc);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException e) {
+
+            String msg = e.getMessage();
+            log.info(msg);
+            assertTrue(msg.startsWith("invalid " + ConfigurationLabels.TEST_SHARDS + " \"many\""));
+        }
+    }
+
+    @Test
+    public void getInstance_NotConfigured() throws Exception {
+
+        assertNull(TestShardExecutor.getInstance(moduleGraphProject(), new MockConfiguration()));
+    }
+
+    @Test
+    public void findTestClasses() throws Exception {
+
+        File module = new File(scratchDirectory, "m");
+
+        source(module, "a/b/CTest.java");
+        source(module, "a/b/CTests.java");
+        source(module, "a/b/CTestCase.java");
+        source(module, "a/TestD.java");
+        source(module, "a/Helper.java");
+        source(module, "a/notes.txt");
+
+        assertEquals(
+                Arrays.asList("a.TestD", "a.b.CTest", "a.b.CTestCase", "a.b.CTests"),
+                TestShardExecutor.findTestClasses(module));
+    }
+
+    @Test
+    public void findTestClasses_NoTests() throws Exception {
+
+        assertTrue(TestShardExecutor.findTestClasses(scratchDirectory).isEmpty());
+    }
+
+    @Test
+    public void partition_RecordedTimings() throws Exception {
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, TestTimings.FILE_NAME));
+        t.record("ATest", 10000L);
+        t.record("BTest", 6000L);
+        t.record("CTest", 5000L);
+        t.record("DTest", 4000L);
+
+        List<List<String>> shards = TestShardExecutor.partition(
+                Arrays.asList("ATest", "BTest", "CTest", "DTest"), t, 2);
+
+        assertEquals(2, shards.size());
+        assertEquals(Arrays.asList("ATest", "DTest"), shards.get(0));
+        assertEquals(Arrays.asList("BTest", "CTest"), shards.get(1));
+    }
+
+    @Test
+    public void partition_UnknownClassesTakeTheAverage() throws Exception {
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, TestTimings.FILE_NAME));
+        t.record("ATest", 9000L);
+        t.record("BTest", 3000L);
+
+        //
+        // CTest and DTest are assumed to take 6 seconds each
+        //
+
+        List<List<String>> shards = TestShardExecutor.partition(
+                Arrays.asList("ATest", "BTest", "CTest", "DTest"), t, 2);
+
+        assertEquals(Arrays.asList("ATest", "BTest"), shards.get(0));
+        assertEquals(Arrays.asList("CTest", "DTest"), shards.get(1));
+    }
+
+    @Test
+    public void partition_FewerClassesThanShards() throws Exception {
+
+        TestTimings t = TestTimings.load(new File(scratchDirectory, TestTimings.FILE_NAME));
+
+        List<List<String>> shards = TestShardExecutor.partition(Arrays.asList("ATest", "BTest"), t, 8);
+
+        assertEquals(2, shards.size());
+        assertEquals(Collections.singletonList("ATest"), shards.get(0));
+        assertEquals(Collections.singletonList("BTest"), shards.get(1));
+    }
+
+    @Test
+    public void toTestParameter() throws Exception {
+
+        String s = TestShardExecutor.toTestParameter(Arrays.asList("a.BTest", "a.b.CTest"));
+        assertEquals("a/BTest.java,a/b/CTest.java", s);
+    }
+
+    @Test
+    public void execute() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+        File projectDirectory = p.getBaseDirectory();
+
+        source(new File(projectDirectory, "api"), "a/ApiTest.java");
+        source(new File(projectDirectory, "api"), "a/Helper.java");
+        source(new File(projectDirectory, "app"), "b/AppTest.java");
+        source(new File(projectDirectory, "app"), "b/AppTests.java");
+
+        MockConfiguration mc = new MockConfiguration();
+        mc.set(ConfigurationLabels.TEST_SHARDS, "2");
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        TestShardExecutor e = TestShardExecutor.getInstance(p, mc);
+
+        assertTrue(e.execute(null, "mvn clean test", mr, mc));
+
+        List<String> history = mos.getHistory();
+
+        assertEquals(3, history.size());
+        assertEquals("mvn clean install -DskipTests", history.get(0));
+
+        String suffix = " -DfailIfNoTests=false -Dsurefire.failIfNoSpecifiedTests=false";
+
+        //
+        // the shards execute concurrently
+        //
+
+        assertEquals(
+                new HashSet<>(Arrays.asList(
+                        "mvn surefire:test -Dtest=a/ApiTest.java,b/AppTests.java" + suffix,
+                        "mvn surefire:test -Dtest=b/AppTest.java" + suffix)),
+                new HashSet<>(history.subList(1, 3)));
+
+        List<TestShardExecutor.Shard> shards = e.getShards();
+
+        assertEquals(2, shards.size());
+        assertEquals(1, shards.get(0).getIndex());
+        assertEquals(Arrays.asList("a.ApiTest", "b.AppTests"), shards.get(0).getClasses());
+        assertTrue(shards.get(0).getResult().isSuccess());
+        assertEquals(2, shards.get(1).getIndex());
+
+        String info = mr.getInfoContent();
+        assertTrue(info.contains("shard 1/2: 2 test class(es), "));
+        assertTrue(info.contains("shard 2/2: 1 test class(es), "));
+    }
+
+    @Test
+    public void execute_ShardFails() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        source(new File(p.getBaseDirectory(), "api"), "a/ApiTest.java");
+        source(new File(p.getBaseDirectory(), "app"), "b/AppTest.java");
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+        mos.addToCommandsThatFail(
+                "mvn surefire:test -Dtest=b/AppTest.java -DfailIfNoTests=false " +
+                        "-Dsurefire.failIfNoSpecifiedTests=false");
+
+        TestShardExecutor e = new TestShardExecutor(p, 2);
+
+        assertFalse(e.execute(null, "mvn clean test", mr, mc));
+
+        assertEquals(3, mos.getHistory().size());
+        assertTrue(mr.getInfoContent().contains("shard 2/2: 1 test class(es), "));
+        assertTrue(mr.getInfoContent().contains(", failed"));
+    }
+
+    @Test
+    public void execute_CompilationFails_ShardsNotExecuted() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        source(new File(p.getBaseDirectory(), "api"), "a/ApiTest.java");
+        source(new File(p.getBaseDirectory(), "app"), "b/AppTest.java");
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+        mos.addToCommandsThatFail("mvn clean install -DskipTests");
+
+        TestShardExecutor e = new TestShardExecutor(p, 2);
+
+        assertFalse(e.execute(null, "mvn clean test", mr, mc));
+
+        assertEquals(Collections.singletonList("mvn clean install -DskipTests"), mos.getHistory());
+        assertTrue(e.getShards().isEmpty());
+    }
+
+    @Test
+    public void execute_Subset() throws Exception {
+
+        MavenProject p = moduleGraphProject();
+
+        source(new File(p.getBaseDirectory(), "api"), "a/ApiTest.java");
+        source(new File(p.getBaseDirectory(), "app"), "b/AppTest.java");
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        TestShardExecutor e = new TestShardExecutor(p, 2);
+
+        //
+        // "app" is not a dependency of "api", so its tests are not executed
+        //
+
+        assertTrue(e.execute(Collections.singletonList(p.getModule("api")), "mvn clean test", mr, mc));
+
+        assertEquals(
+                Arrays.asList(
+                        "mvn -pl api -am clean install -DskipTests",
+                        "mvn -pl api -am surefire:test -Dtest=a/ApiTest.java -DfailIfNoTests=false " +
+                                "-Dsurefire.failIfNoSpecifiedTests=false"),
+                mos.getHistory());
+    }
+
+    @Test
+    public void execute_SingleModule() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/simple-project", scratchDirectory);
+        MavenProject p = new MavenProject(new File(projectDirectory, "pom.xml"));
+
+        source(projectDirectory, "a/ATest.java");
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        TestShardExecutor e = new TestShardExecutor(p, 2);
+
+        //
+        // no modules to resolve from the local repository, the build stops after compiling the tests
+        //
+
+        assertTrue(e.execute(null, "mvn clean test -Pci", mr, mc));
+
+        assertEquals(
+                Arrays.asList(
+                        "mvn clean -Pci test-compile -DskipTests",
+                        "mvn -Pci surefire:test -Dtest=a/ATest.java -DfailIfNoTests=false " +
+                                "-Dsurefire.failIfNoSpecifiedTests=false"),
+                mos.getHistory());
+    }
+
+    @Test
+    public void execute_CommandGoesPastTest() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        TestShardExecutor e = new TestShardExecutor(moduleGraphProject(), 2);
+
+        try {
+
+            e.execute(null, "mvn clean install", new MockReleaseApplicationRuntime(mc), mc);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException ex) {
+
+            String msg = ex.getMessage();
+            log.info(msg);
+            assertEquals("\"mvn clean install\" cannot be executed in shards, its \"install\" phase goes past \"test\"",
+                    msg);
+        }
+
+        assertTrue(mos.getHistory().isEmpty());
+    }
+
+    @Test
+    public void execute_NoTestClasses() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+        MockReleaseApplicationRuntime mr = new MockReleaseApplicationRuntime(mc);
+
+        MockOS mos = (MockOS)OS.getInstance();
+        mos.allCommandsSucceedByDefault();
+
+        TestShardExecutor e = new TestShardExecutor(moduleGraphProject(), 2);
+
+        assertTrue(e.execute(null, "mvn clean test", mr, mc));
+
+        assertEquals(Collections.singletonList("mvn clean test"), mos.getHistory());
+    }
+
+    @Test
+    public void execute_NotAMavenCommand() throws Exception {
+
+        MockConfiguration mc = new MockConfiguration();
+
+        TestShardExecutor e = new TestShardExecutor(moduleGraphProject(), 2);
+
+        try {
+
+            e.execute(null, "make test", new MockReleaseApplicationRuntime(mc), mc);
+            fail("should have thrown exception");
+        }
+        catch(UserErrorException ex) {
+
+            String msg = ex.getMessage();
+            log.info(msg);
+            assertEquals("\"make test\" cannot be executed in shards, it is not a Maven command", msg);
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private MavenProject moduleGraphProject() throws Exception {
+
+        File projectDirectory = Util.cp(
+                baseDirectory, "src/test/resources/data/maven/module-graph-project", scratchDirectory);
+
+        return new MavenProject(new File(projectDirectory, "pom.xml"));
+    }
+
+    private static void source(File moduleDirectory, String relativePath) throws Exception {
+
+        File f = new File(new File(moduleDirectory, TestShardExecutor.TEST_SOURCE_DIRECTORY), relativePath);
+        assertTrue(f.getParentFile().isDirectory() || f.getParentFile().mkdirs());
+        assertTrue(Files.write(f, "class " + f.getName() + " {}"));
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release.version;
+
+import io.novaordis.release.ReleaseMode;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseHistoryTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final ReleaseTagFormat FORMAT = new ReleaseTagFormat("release-", "");
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void fromTags_NoTags() throws Exception {
+
+        ReleaseHistory h = ReleaseHistory.fromTags(new BufferedReader(new StringReader("")), FORMAT);
+
+        assertTrue(h.getVersions().isEmpty());
+        assertNull(h.getLatestRelease());
+        assertNull(h.getLatestSnapshot());
+        assertTrue(h.getGaps().isEmpty());
+    }
+
+    @Test
+    public void fromTags_UnrelatedTagsAreIgnored() throws Exception {
+
+        String tags = "release-1.1\nv2.0\nrelease-1.0\nrelease-candidate\nrelease-1.1.1-SNAPSHOT-1\n\nrelease-1.0\n";
+
+        ReleaseHistory h = ReleaseHistory.fromTags(new BufferedReader(new StringReader(tags)), FORMAT);
+
+        assertEquals("[1.0, 1.1, 1.1.1-SNAPSHOT-1]", h.getVersions().toString());
+        assertEquals(new Version("1.1"), h.getLatestRelease());
+        assertEquals(new Version("1.1.1-SNAPSHOT-1"), h.getLatestSnapshot());
+    }
+
+    @Test
+    public void fromTags_ManyTags() throws Exception {
+
+        List<String> tags = new ArrayList<>();
+
+        for(int minor = 0; minor < 100; minor ++) {
+
+            for(int patch = 0; patch < 100; patch ++) {
+
+                tags.add("release-1." + minor + "." + patch);
+                tags.add("unrelated-" + minor + "-" + patch);
+            }
+        }
+
+        ReleaseHistory h = ReleaseHistory.fromTags(tags, FORMAT);
+
+        assertEquals(10000, h.getVersions().size());
+        assertEquals(new Version("1.99.99"), h.getLatestRelease());
+        assertTrue(h.getGaps().isEmpty());
+    }
+
+    @Test
+    public void isReleased() throws Exception {
+
+        ReleaseHistory h = ReleaseHistory.fromTags(Arrays.asList("release-1.0", "release-1.0.1-SNAPSHOT-1"), FORMAT);
+
+        Version next = Version.nextVersion(new Version("1.0"), ReleaseMode.snapshot);
+
+        assertTrue(h.isReleased(next));
+        assertTrue(h.isReleased(new Version("1.0.0")));
+        assertFalse(h.isReleased(new Version("1.0.1")));
+    }
+
+    @Test
+    public void getGaps_DotReleases() throws Exception {
+
+        ReleaseHistory h = ReleaseHistory.fromTags(Arrays.asList(
+                "release-1.0", "release-1.0.1", "release-1.0.3", "release-1.1", "release-1.3.0", "release-2.0",
+                "release-2.0.1", "release-4.0"), FORMAT);
+
+        List<ReleaseHistory.Gap> gaps = h.getGaps();
+
+        assertEquals(3, gaps.size());
+        assertEquals("between 1.0.1 and 1.0.3", gaps.get(0).toString());
+        assertEquals(new Version("1.1"), gaps.get(1).getAfter());
+        assertEquals(new Version("1.3.0"), gaps.get(1).getBefore());
+        assertEquals("between 2.0.1 and 4.0", gaps.get(2).toString());
+    }
+
+    @Test
+    public void getGaps_SnapshotReleases() throws Exception {
+
+        ReleaseHistory h = ReleaseHistory.fromTags(Arrays.asList(
+                "release-1.0.1-SNAPSHOT-1", "release-1.0.1-SNAPSHOT-2", "release-1.0.1-SNAPSHOT-4",
+                "release-1.0.1", "release-1.0.2-SNAPSHOT-3"), FORMAT);
+
+        List<ReleaseHistory.Gap> gaps = h.getGaps();
+
+        //
+        // snapshot numbering restarts for each version, the first snapshot of 1.0.2 is not a gap
+        //
+
+        assertEquals(1, gaps.size());
+        assertEquals("between 1.0.1-SNAPSHOT-2 and 1.0.1-SNAPSHOT-4", gaps.get(0).toString());
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release.version;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class ReleaseTagFormatTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void constructor_NullPrefix() throws Exception {
+
+        try {
+
+            new ReleaseTagFormat(null, "");
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("null prefix", e.getMessage());
+        }
+    }
+
+    @Test
+    public void toVersion() throws Exception {
+
+        ReleaseTagFormat f = new ReleaseTagFormat("release-", "");
+
+        assertEquals(new Version("1.2.3"), f.toVersion("release-1.2.3"));
+        assertEquals(new Version("1.2.3-SNAPSHOT-4"), f.toVersion("  release-1.2.3-SNAPSHOT-4 "));
+        assertNull(f.toVersion("release-"));
+        assertNull(f.toVersion("release-blah"));
+        assertNull(f.toVersion("release-1.blah"));
+        assertNull(f.toVersion("v1.2.3"));
+        assertNull(f.toVersion(null));
+    }
+
+    @Test
+    public void toVersion_PrefixAndSuffix() throws Exception {
+
+        ReleaseTagFormat f = new ReleaseTagFormat("nort-", "-final");
+
+        assertEquals(new Version("1.2"), f.toVersion("nort-1.2-final"));
+        assertNull(f.toVersion("nort-1.2"));
+        assertNull(f.toVersion("nort--final"));
+    }
+
+    @Test
+    public void toPackedVersion() throws Exception {
+
+        ReleaseTagFormat f = new ReleaseTagFormat("", "");
+
+        assertEquals(new Version("1.2").toPackedLong(), f.toPackedVersion("1.2"));
+        assertEquals(-1L, f.toPackedVersion("70000.1"));
+        assertEquals(-1L, f.toPackedVersion("something"));
+    }
+
+    @Test
+    public void toTag() throws Exception {
+
+        ReleaseTagFormat f = new ReleaseTagFormat("release-", "-x");
+
+        assertEquals("release-1.2.3-x", f.toTag(new Version("1.2.3")));
+        assertEquals(new Version("1.2.3"), f.toVersion(f.toTag(new Version("1.2.3"))));
+    }
+
+    @Test
+    public void forModule() throws Exception {
+
+        ReleaseTagFormat f = new ReleaseTagFormat("release-", "").forModule("module1");
+
+        assertEquals("module1-release-", f.getPrefix());
+        assertEquals("module1-release-1.2", f.toTag(new Version("1.2")));
+        assertEquals(new Version("1.2"), f.toVersion("module1-release-1.2"));
+        assertNull(f.toVersion("release-1.2"));
+        assertNull(f.toVersion("module2-release-1.2"));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+/**
+ * The original token-based version parsing logic: the literal is split into VersionTokens by a VersionTokenizer and
+ * the tokens are fed to a state machine that installs the components.
+ *
+ * Version no longer uses this path, it parses with a single-pass scanner that does not allocate tokens. The
+ * implementation is kept with the tests, as the reference the scanner is tested against.
+ *
+ * @see Version#Version(String)
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+class TokenizingVersionParser {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    /**
+     * @exception VersionFormatException with the same messages as Version(String).
+     */
+    static Version parse(String literal) throws VersionFormatException {
+
+        return new TokenizingVersionParser().parseLiteral(literal);
+    }
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    private Integer major;
+    private Integer minor;
+    private Integer patch;
+    private Integer snapshot;
+
+    private VersionToken last;
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    private TokenizingVersionParser() {
+    }
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private Version parseLiteral(String origLiteral) throws VersionFormatException {
+
+        String literal = origLiteral.trim();
+
+        VersionTokenizer t = new VersionTokenizer(literal);
+        VersionComponentType nextComponentType = VersionComponentType.major;
+
+        while(t.hasNext()) {
+
+            if (nextComponentType == null) {
+                //
+                // we don't need more components, yet the literal has them
+                //
+                throw new VersionFormatException("too many version components");
+            }
+
+            VersionToken crt = t.next();
+            nextComponentType = installComponent(nextComponentType, crt);
+            last = crt;
+        }
+
+        if (major == null) {
+
+            throw new VersionFormatException("\"" + literal + "\" missing the major component");
+        }
+
+        return new Version(major, minor, patch, snapshot);
+    }
+
+    /**
+     * @return the next component in line after this installation or null if we don't expect any more components
+     */
+    private VersionComponentType installComponent(VersionComponentType nextComponent, VersionToken token)
+            throws VersionFormatException {
+
+        if (token == null) {
+
+            throw new IllegalArgumentException("null version component");
+        }
+
+        if (VersionComponentType.major.equals(nextComponent)) {
+
+            if (major != null) {
+
+                throw new IllegalArgumentException("the major component already identified: " + major);
+            }
+
+            if (!token.isNumericComponent()) {
+
+                throw new VersionFormatException("expecting a numeric component and got " + token);
+            }
+
+            major = token.getNumericValue();
+            return VersionComponentType.minor;
+        }
+
+        // minor, patch or snapshot
+
+        if (VersionComponentType.minor.equals(nextComponent)) {
+
+            if (minor != null) {
+
+                throw new IllegalArgumentException("the minor component already identified: " + minor);
+            }
+
+            if (token.isDot()) {
+
+                if (last != null && last.isSeparator()) {
+
+                    throw new VersionFormatException("empty version component");
+                }
+
+                // else ignore
+                return VersionComponentType.minor;
+            }
+
+            if (token.isSnapshotSeparator()) {
+
+                return VersionComponentType.snapshot;
+            }
+
+            if (!token.isNumericComponent()) {
+
+                throw new VersionFormatException("expecting a numeric component and got " + token);
+            }
+
+            minor = token.getNumericValue();
+            return VersionComponentType.patch;
+        }
+
+        if (VersionComponentType.patch.equals(nextComponent)) {
+
+            if (patch != null) {
+
+                throw new IllegalArgumentException("the patch component already identified: " + patch);
+            }
+
+            if (token.isDot()) {
+
+                if (last != null && last.isSeparator()) {
+
+                    throw new VersionFormatException("empty version component");
+                }
+
+                // else ignore
+                return VersionComponentType.patch;
+            }
+
+            if (token.isSnapshotSeparator()) {
+
+                return VersionComponentType.snapshot;
+            }
+
+            if (!token.isNumericComponent()) {
+
+                throw new VersionFormatException("expecting a numeric component and got " + token);
+            }
+
+            patch = token.getNumericValue();
+            return VersionComponentType.snapshot;
+        }
+
+        if (VersionComponentType.snapshot.equals(nextComponent)) {
+
+            if (token.isSnapshotSeparator()) {
+
+                if (last != null && last.isSeparator()) {
+
+                    throw new VersionFormatException("empty version component");
+                }
+
+                // else ignore
+                return VersionComponentType.snapshot;
+            }
+
+            if (!token.isNumericComponent()) {
+
+                throw new VersionFormatException("expecting a numeric component and got " + token);
+            }
+
+            snapshot = token.getNumericValue();
+            return null;
+        }
+
+        return null;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies that the single-pass scanner used by Version(String) and the original token-based parser agree on every
+ * literal: either both produce the same components, or both fail with the same message.
+ *
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class TokenizingVersionParserTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    private static final String[] LITERALS = {
+
+            "0", "1", "1.2", "1.2.3", "1.0.2-SNAPSHOT-3", "1-SNAPSHOT-5", "1.2-SNAPSHOT-1", " 1.2.3 ", "01.002.0003",
+            "", "   ", "a", "1.a", "1.2.a", "-1", "1.-1", "1.2.-3", "1..2", "1.2..3", "1.", "1.2.", "1.2.3.",
+            ".1", "1.2.3.4", "1.2.3-blah", "1.2.3-SNAPSHOT-", "1.2.3-SNAPSHOT-4-SNAPSHOT-5", "1.2.3-SNAPSHOT-4.5",
+            "1.-SNAPSHOT-3", "1.2-SNAPSHOT--SNAPSHOT-1", "-SNAPSHOT-1", "1.0-RC12345678", "1-SNAPSHOT-",
+            "2147483647", "2147483648", "99999999999", "1.2147483647", "1.2.3-SNAPSHOT-2147483648", "+5", "1.+2",
+            "1. 2", "1.2 .3", "\u0661.\u0662", "1.2.3-SNAPSHOT-3x",
+    };
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void parse() throws Exception {
+
+        Version v = TokenizingVersionParser.parse("1.2.3-SNAPSHOT-4");
+
+        assertEquals(1, v.getMajor().intValue());
+        assertEquals(2, v.getMinor().intValue());
+        assertEquals(3, v.getPatch().intValue());
+        assertEquals(4, v.getSnapshot().intValue());
+    }
+
+    @Test
+    public void parse_InvalidLiteral() throws Exception {
+
+        try {
+
+            TokenizingVersionParser.parse("1..2");
+            fail("should have thrown exception");
+        }
+        catch(VersionFormatException e) {
+
+            assertEquals("empty version component", e.getMessage());
+        }
+    }
+
+    @Test
+    public void scannerAgreesWithTokenizer_KnownLiterals() throws Exception {
+
+        for(String s: LITERALS) {
+
+            assertSameOutcome(s);
+        }
+    }
+
+    @Test
+    public void scannerAgreesWithTokenizer_RandomLiterals() throws Exception {
+
+        String alphabet = "0123456789..--SNAPSHOT +a";
+
+        Random random = new Random(17L);
+
+        for(int i = 0; i < 20000; i ++) {
+
+            int length = random.nextInt(24);
+            StringBuilder sb = new StringBuilder(length);
+
+            for(int j = 0; j < length; j ++) {
+
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            assertSameOutcome(sb.toString());
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static void assertSameOutcome(String literal) throws Exception {
+
+        Version expected = null;
+        String expectedFailure = null;
+
+        try {
+
+            expected = TokenizingVersionParser.parse(literal);
+        }
+        catch(VersionFormatException e) {
+
+            expectedFailure = e.getMessage();
+        }
+
+        Version actual = null;
+        String actualFailure = null;
+
+        try {
+
+            actual = new Version(literal);
+        }
+        catch(VersionFormatException e) {
+
+            actualFailure = e.getMessage();
+        }
+
+        assertEquals("\"" + literal + "\"", expectedFailure, actualFailure);
+
+        if (expected == null) {
+
+            return;
+        }
+
+        assertEquals("\"" + literal + "\"", expected.getMajor(), actual.getMajor());
+        assertEquals("\"" + literal + "\"", expected.getMinor(), actual.getMinor());
+        assertEquals("\"" + literal + "\"", expected.getPatch(), actual.getPatch());
+        assertEquals("\"" + literal + "\"", expected.getSnapshot(), actual.getSnapshot());
+        assertEquals("\"" + literal + "\"", literal.trim(), actual.getLiteral());
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
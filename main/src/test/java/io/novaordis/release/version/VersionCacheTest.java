@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionCacheTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void constructor_InvalidCapacity() throws Exception {
+
+        try {
+
+            new VersionCache(0);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("invalid capacity 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void get() throws Exception {
+
+        VersionCache c = new VersionCache(10);
+
+        Version v = c.get("1.2.3");
+
+        assertEquals(new Version("1.2.3"), v);
+        assertTrue(v == c.get("1.2.3"));
+        assertEquals(1, c.size());
+    }
+
+    @Test
+    public void get_InvalidLiteralIsNotCached() throws Exception {
+
+        VersionCache c = new VersionCache(10);
+
+        try {
+
+            c.get("1.2.a");
+            fail("should have thrown exception");
+        }
+        catch(VersionFormatException e) {
+
+            // ok
+        }
+
+        assertEquals(0, c.size());
+    }
+
+    @Test
+    public void get_IsBounded() throws Exception {
+
+        VersionCache c = new VersionCache(4);
+
+        for(int i = 0; i < 100; i ++) {
+
+            c.get("1." + i);
+            assertTrue(c.size() <= 2 * c.getCapacity());
+        }
+    }
+
+    @Test
+    public void get_RecentlyUsedLiteralSurvivesRotation() throws Exception {
+
+        VersionCache c = new VersionCache(2);
+
+        Version v = c.get("1.0");
+        c.get("1.1");
+
+        //
+        // fills the current generation, "1.0" and "1.1" move to the previous generation
+        //
+        c.get("1.2");
+
+        //
+        // hit in the previous generation, promoted
+        //
+        assertTrue(v == c.get("1.0"));
+
+        //
+        // rotates again, the promoted "1.0" is still there
+        //
+        c.get("1.3");
+
+        assertTrue(v == c.get("1.0"));
+    }
+
+    @Test
+    public void get_LeastRecentlyUsedLiteralIsEvicted() throws Exception {
+
+        VersionCache c = new VersionCache(1);
+
+        Version v = c.get("1.0");
+        c.get("1.1");
+        c.get("1.2");
+
+        assertFalse(v == c.get("1.0"));
+        assertEquals(v, c.get("1.0"));
+    }
+
+    @Test
+    public void clear() throws Exception {
+
+        VersionCache c = new VersionCache(10);
+
+        Version v = c.get("1.0");
+        c.clear();
+
+        assertEquals(0, c.size());
+        assertFalse(v == c.get("1.0"));
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+
+        final VersionCache c = new VersionCache(8);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+
+            List<Future<Void>> futures = new ArrayList<>();
+
+            for(int t = 0; t < 4; t ++) {
+
+                futures.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() throws Exception {
+
+                        for(int i = 0; i < 10000; i ++) {
+
+                            String literal = "2." + (i % 32);
+                            assertEquals(literal, c.get(literal).getLiteral());
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            for(Future<Void> f: futures) {
+
+                f.get();
+            }
+        }
+        finally {
+
+            executor.shutdownNow();
+        }
+
+        //
+        // a generation may briefly overshoot its capacity under contention, but only by the number of threads
+        //
+        assertTrue(c.size() <= 2 * (c.getCapacity() + 4));
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
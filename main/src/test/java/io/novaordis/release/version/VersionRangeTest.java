@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.novaordis.release.version;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionRangeTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void halfOpen() throws Exception {
+
+        VersionRange r = VersionRange.parse("[1.2,2.0)");
+
+        assertTrue(r.isCompiled());
+        assertEquals("[1.2,2.0)", r.toString());
+
+        assertFalse(r.contains(new Version("1.1")));
+        assertFalse(r.contains(new Version("1.2-SNAPSHOT-7")));
+        assertTrue(r.contains(new Version("1.2")));
+        assertTrue(r.contains(new Version("1.2.0")));
+        assertTrue(r.contains(new Version("1.9.99")));
+        assertTrue(r.contains(new Version("2.0-SNAPSHOT-1")));
+        assertFalse(r.contains(new Version("2.0")));
+        assertFalse(r.contains(null));
+    }
+
+    @Test
+    public void exclusiveLowerInclusiveUpper() throws Exception {
+
+        VersionRange r = VersionRange.parse("(1.2, 2.0]");
+
+        assertFalse(r.contains(new Version("1.2")));
+        assertTrue(r.contains(new Version("1.2.1-SNAPSHOT-1")));
+        assertTrue(r.contains(new Version("2.0")));
+        assertFalse(r.contains(new Version("2.0.1-SNAPSHOT-1")));
+    }
+
+    @Test
+    public void unbounded() throws Exception {
+
+        VersionRange r = VersionRange.parse("[1.5,)");
+
+        assertFalse(r.contains(new Version("1.4.9")));
+        assertTrue(r.contains(new Version("1.5")));
+        assertTrue(r.contains(new Version("65535.0")));
+
+        VersionRange r2 = VersionRange.parse("(,1.0]");
+
+        assertTrue(r2.contains(new Version("0.1")));
+        assertTrue(r2.contains(new Version("1.0")));
+        assertFalse(r2.contains(new Version("1.0.1")));
+    }
+
+    @Test
+    public void union() throws Exception {
+
+        VersionRange r = VersionRange.parse("(,1.0],[1.2,)");
+
+        assertTrue(r.contains(new Version("1.0")));
+        assertFalse(r.contains(new Version("1.1")));
+        assertTrue(r.contains(new Version("1.2")));
+    }
+
+    @Test
+    public void exact() throws Exception {
+
+        VersionRange r = VersionRange.parse("[1.0]");
+
+        assertTrue(r.contains(new Version("1.0.0")));
+        assertFalse(r.contains(new Version("1.0.1")));
+        assertFalse(r.contains(new Version("1.0-SNAPSHOT-1")));
+
+        VersionRange r2 = VersionRange.parse("1.2-SNAPSHOT-3");
+
+        assertTrue(r2.contains(new Version("1.2-SNAPSHOT-3")));
+        assertFalse(r2.contains(new Version("1.2")));
+    }
+
+    @Test
+    public void wildcard() throws Exception {
+
+        VersionRange r = VersionRange.parse("1.3.*");
+
+        assertFalse(r.contains(new Version("1.2.99")));
+        assertTrue(r.contains(new Version("1.3-SNAPSHOT-1")));
+        assertTrue(r.contains(new Version("1.3")));
+        assertTrue(r.contains(new Version("1.3.7")));
+        assertFalse(r.contains(new Version("1.4-SNAPSHOT-1")));
+        assertFalse(r.contains(new Version("1.4")));
+
+        VersionRange r2 = VersionRange.parse("2.*");
+
+        assertTrue(r2.contains(new Version("2.9.1")));
+        assertFalse(r2.contains(new Version("3")));
+
+        assertTrue(VersionRange.parse("*").contains(new Version("0.0.1-SNAPSHOT-1")));
+    }
+
+    @Test
+    public void notPackableBounds() throws Exception {
+
+        VersionRange r = VersionRange.parse("[1.0,70000)");
+
+        assertFalse(r.isCompiled());
+        assertTrue(r.contains(new Version("1.0")));
+        assertTrue(r.contains(new Version("69999.1")));
+        assertFalse(r.contains(new Version("70000")));
+    }
+
+    @Test
+    public void notPackableVersion() throws Exception {
+
+        VersionRange r = VersionRange.parse("[1.0,)");
+
+        assertTrue(r.isCompiled());
+        assertTrue(r.contains(new Version("70000")));
+    }
+
+    @Test
+    public void invalid() throws Exception {
+
+        String[] invalid = new String[] {
+                "", "[", "[1.0", "[1.0,2.0,3.0]", "(1.0)", "[2.0,1.0]", "[1.0],", "[1.0] [2.0]", "[a,b]",
+                "1.*.2", "1*", "1.0-SNAPSHOT-1.*", "blah"
+        };
+
+        for(String s: invalid) {
+
+            try {
+
+                VersionRange.parse(s);
+                fail("should have thrown exception on \"" + s + "\"");
+            }
+            catch(VersionFormatException e) {
+
+                // ok
+            }
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 Nova Ordis LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.novaordis.release.version;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ovidiu Feodorov <ovidiu@novaordis.com>
+ * @since 10/17/26
+ */
+public class VersionSetTest {
+
+    // Constants -------------------------------------------------------------------------------------------------------
+
+    // Static ----------------------------------------------------------------------------------------------------------
+
+    // Attributes ------------------------------------------------------------------------------------------------------
+
+    // Constructors ----------------------------------------------------------------------------------------------------
+
+    // Public ----------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void emptySet() throws Exception {
+
+        VersionSet s = new VersionSet();
+
+        assertTrue(s.isEmpty());
+        assertEquals(0, s.size());
+        assertNull(s.first());
+        assertNull(s.last());
+        assertNull(s.floor(new Version("1.0")));
+        assertNull(s.ceiling(new Version("1.0")));
+        assertFalse(s.iterator().hasNext());
+        assertEquals("[]", s.toString());
+    }
+
+    @Test
+    public void constructor_SortsAndRemovesDuplicates() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.2", "1.0.1-SNAPSHOT-1", "1.1", "1.2.0", "1.0.1", "1.1"));
+
+        assertEquals(4, s.size());
+        assertEquals("[1.0.1-SNAPSHOT-1, 1.0.1, 1.1, 1.2]", s.toString());
+    }
+
+    @Test
+    public void constructor_NotPackable() throws Exception {
+
+        try {
+
+            new VersionSet(versions("1.2", "70000.1"));
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("70000.1 cannot be added to a version set, it is not packable", e.getMessage());
+        }
+    }
+
+    @Test
+    public void add() throws Exception {
+
+        VersionSet s = new VersionSet();
+
+        assertTrue(s.add(new Version("1.3")));
+        assertTrue(s.add(new Version("1.1")));
+        assertTrue(s.add(new Version("1.2-SNAPSHOT-2")));
+        assertFalse(s.add(new Version("1.1.0")));
+        assertTrue(s.add(new Version("1.2")));
+
+        assertEquals(4, s.size());
+        assertEquals("[1.1, 1.2-SNAPSHOT-2, 1.2, 1.3]", s.toString());
+    }
+
+    @Test
+    public void add_GrowsBeyondInitialCapacity() throws Exception {
+
+        List<Version> expected = new ArrayList<>();
+
+        for(int i = 0; i < 100; i ++) {
+
+            expected.add(new Version(1, i, null, null));
+        }
+
+        List<Version> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled, new Random(7L));
+
+        VersionSet s = new VersionSet();
+
+        for(Version v: shuffled) {
+
+            assertTrue(s.add(v));
+        }
+
+        assertEquals(100, s.size());
+
+        Iterator<Version> i = s.iterator();
+
+        for(Version v: expected) {
+
+            assertEquals(v, i.next());
+        }
+
+        assertFalse(i.hasNext());
+    }
+
+    @Test
+    public void contains() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.0", "1.1-SNAPSHOT-1", "1.1"));
+
+        assertTrue(s.contains(new Version("1.0.0")));
+        assertTrue(s.contains(new Version("1.1-SNAPSHOT-1")));
+        assertFalse(s.contains(new Version("1.1-SNAPSHOT-2")));
+        assertFalse(s.contains(new Version("70000")));
+    }
+
+    @Test
+    public void firstAndLast() throws Exception {
+
+        VersionSet s = new VersionSet(versions("2.0", "1.0-SNAPSHOT-3", "2.0.1-SNAPSHOT-1"));
+
+        assertEquals(new Version("1.0-SNAPSHOT-3"), s.first());
+        assertEquals(new Version("2.0.1-SNAPSHOT-1"), s.last());
+    }
+
+    @Test
+    public void lastReleaseAndLastSnapshot() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.0", "1.1-SNAPSHOT-1", "1.1", "1.1.1-SNAPSHOT-1", "1.1.1-SNAPSHOT-2"));
+
+        assertEquals(new Version("1.1"), s.lastRelease());
+        assertEquals(new Version("1.1.1-SNAPSHOT-2"), s.lastSnapshot());
+
+        VersionSet s2 = new VersionSet(versions("1.0", "1.1"));
+
+        assertEquals(new Version("1.1"), s2.lastRelease());
+        assertNull(s2.lastSnapshot());
+
+        VersionSet s3 = new VersionSet(versions("1.0-SNAPSHOT-1"));
+
+        assertNull(s3.lastRelease());
+        assertEquals(new Version("1.0-SNAPSHOT-1"), s3.lastSnapshot());
+
+        assertNull(new VersionSet().lastRelease());
+        assertNull(new VersionSet().lastSnapshot());
+    }
+
+    @Test
+    public void floorAndCeiling() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.0", "1.1-SNAPSHOT-1", "1.1", "1.3"));
+
+        assertNull(s.floor(new Version("0.9")));
+        assertEquals(new Version("1.0"), s.floor(new Version("1.0")));
+        assertEquals(new Version("1.0"), s.floor(new Version("1.1-SNAPSHOT-0")));
+        assertEquals(new Version("1.1"), s.floor(new Version("1.2")));
+        assertEquals(new Version("1.3"), s.floor(new Version("7")));
+
+        assertEquals(new Version("1.0"), s.ceiling(new Version("0.9")));
+        assertEquals(new Version("1.1-SNAPSHOT-1"), s.ceiling(new Version("1.0.1")));
+        assertEquals(new Version("1.1"), s.ceiling(new Version("1.1")));
+        assertEquals(new Version("1.3"), s.ceiling(new Version("1.2")));
+        assertNull(s.ceiling(new Version("1.3.1")));
+    }
+
+    @Test
+    public void countInRange() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.0", "1.1-SNAPSHOT-1", "1.1", "1.3", "2.0"));
+
+        assertEquals(3, s.countInRange(new Version("1.0"), new Version("1.3")));
+        assertEquals(4, s.countInRange(new Version("1.0"), new Version("1.3.1")));
+        assertEquals(2, s.countInRange(new Version("1.1-SNAPSHOT-1"), new Version("1.2")));
+        assertEquals(0, s.countInRange(new Version("3"), new Version("1")));
+    }
+
+    @Test
+    public void packedLongs_RoundTrip() throws Exception {
+
+        VersionSet s = new VersionSet(versions("1.2", "1.0.1-SNAPSHOT-1", "1.1"));
+
+        long[] packed = s.toPackedLongs();
+
+        assertEquals(3, packed.length);
+
+        VersionSet s2 = VersionSet.fromPackedLongs(new long[] { packed[2], packed[0], packed[1] });
+
+        assertEquals(s.toString(), s2.toString());
+    }
+
+    @Test
+    public void fromPackedLongs_Invalid() throws Exception {
+
+        try {
+
+            VersionSet.fromPackedLongs(new long[] { 1L, -1L });
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("invalid packed version -1", e.getMessage());
+        }
+    }
+
+    // Package protected -----------------------------------------------------------------------------------------------
+
+    // Protected -------------------------------------------------------------------------------------------------------
+
+    // Private ---------------------------------------------------------------------------------------------------------
+
+    private static List<Version> versions(String... literals) throws Exception {
+
+        List<Version> result = new ArrayList<>();
+
+        for(String s: Arrays.asList(literals)) {
+
+            result.add(new Version(s));
+        }
+
+        return result;
+    }
+
+    // Inner classes ---------------------------------------------------------------------------------------------------
+
+}
@@ -21,6 +21,12 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -634,6 +640,14 @@ public class VersionTest {
         assertEquals("1-SNAPSHOT-1", s);
     }
 
+    @Test
+    public void getLiteral_MinorAndSnapshot() throws Exception {
+
+        Version v = new Version(1, 2, null, 3);
+
+        assertEquals("1.2-SNAPSHOT-3", v.getLiteral());
+    }
+
     // isMajor() -------------------------------------------------------------------------------------------------------
 
     @Test
@@ -938,6 +952,297 @@ public class VersionTest {
         assertTrue(v.hashCode() != v2.hashCode());
     }
 
+    @Test
+    public void equals_SnapshotZeroIsNotTheDotVersion() throws Exception {
+
+        Version snapshot = new Version("1.0.0-SNAPSHOT-0");
+        Version dot = new Version("1.0.0");
+
+        assertFalse(snapshot.equals(dot));
+        assertFalse(dot.equals(snapshot));
+        assertTrue(snapshot.hashCode() != dot.hashCode());
+        assertTrue(snapshot.compareTo(dot) < 0);
+
+        //
+        // hash-based collections keep them apart
+        //
+
+        Set<Version> set = new HashSet<>(Arrays.asList(snapshot, dot));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(new Version("1.0.0-SNAPSHOT-0")));
+        assertTrue(set.contains(new Version("1")));
+    }
+
+    @Test
+    public void equals_SnapshotZero() throws Exception {
+
+        Version v = new Version("1.0-SNAPSHOT-0");
+        Version v2 = new Version("1.0.0-SNAPSHOT-0");
+
+        assertTrue(v.equals(v2));
+        assertEquals(v.hashCode(), v2.hashCode());
+        assertFalse(v.equals(new Version("1.0.0-SNAPSHOT-1")));
+    }
+
+    @Test
+    public void equals_NotPackable_SnapshotZeroIsNotTheDotVersion() throws Exception {
+
+        Version snapshot = new Version("70000.1.0-SNAPSHOT-0");
+        Version dot = new Version("70000.1.0");
+
+        assertFalse(snapshot.isPackable());
+        assertFalse(snapshot.equals(dot));
+        assertFalse(dot.equals(snapshot));
+        assertTrue(snapshot.compareTo(dot) < 0);
+
+        Version snapshot2 = new Version("70000.1-SNAPSHOT-0");
+        assertTrue(snapshot.equals(snapshot2));
+        assertEquals(snapshot.hashCode(), snapshot2.hashCode());
+    }
+
+    @Test
+    public void equals_NotPackable() throws Exception {
+
+        Version v = new Version("70000.1");
+        Version v2 = new Version("70000.1.0");
+
+        assertFalse(v.isPackable());
+        assertTrue(v.equals(v2));
+        assertEquals(v.hashCode(), v2.hashCode());
+        assertEquals(0, v.compareTo(v2));
+        assertTrue(v.compareTo(new Version("1.2")) > 0);
+        assertTrue(new Version("1.2").compareTo(v) < 0);
+    }
+
+    // packed representation -------------------------------------------------------------------------------------------
+
+    @Test
+    public void toPackedLong_RoundTrip() throws Exception {
+
+        String[] literals = {
+                "0", "1", "1.2", "1.2.3", "1.0.2-SNAPSHOT-3", "1-SNAPSHOT-5", "1.2-SNAPSHOT-1", "1.0", "1.0.0",
+                "65535.65535.65535-SNAPSHOT-8190", "65535.65535.65535",
+        };
+
+        for(String s: literals) {
+
+            Version v = new Version(s);
+            long packed = v.toPackedLong();
+            assertTrue(packed >= 0);
+
+            Version v2 = Version.fromPackedLong(packed);
+            assertEquals(v.getMajor(), v2.getMajor());
+            assertEquals(v.getMinor(), v2.getMinor());
+            assertEquals(v.getPatch(), v2.getPatch());
+            assertEquals(v.getSnapshot(), v2.getSnapshot());
+            assertEquals(s, v2.getLiteral());
+        }
+    }
+
+    @Test
+    public void toPackedLong_NotPackable() throws Exception {
+
+        String[] literals = { "65536", "1.65536", "1.2.65536", "1.2.3-SNAPSHOT-8191" };
+
+        for(String s: literals) {
+
+            Version v = new Version(s);
+            assertFalse(v.isPackable());
+
+            try {
+
+                v.toPackedLong();
+                fail("should have thrown exception");
+            }
+            catch(IllegalStateException e) {
+
+                log.info(e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void fromPackedLong_Negative() throws Exception {
+
+        try {
+
+            Version.fromPackedLong(-1L);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("invalid packed version -1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void fromPackedLong_AbsentComponentWithValue() throws Exception {
+
+        //
+        // minor is 1, but the "minor present" bit is not set
+        //
+
+        long packed = new Version("1.1").toPackedLong() & ~0x2L;
+
+        try {
+
+            Version.fromPackedLong(packed);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            log.info(e.getMessage());
+        }
+    }
+
+    @Test
+    public void isPackedSnapshot() throws Exception {
+
+        String[] literals = { "0", "1-SNAPSHOT-1", "1.0.0-SNAPSHOT-0", "1.2", "1.2.3", "1.2.3-SNAPSHOT-8190",
+                "65535.65535.65535" };
+
+        for(String s: literals) {
+
+            Version v = new Version(s);
+            assertEquals(s, v.isSnapshot(), Version.isPackedSnapshot(v.toPackedLong()));
+        }
+    }
+
+    @Test
+    public void comparePacked_SameOrderAsCompareTo() throws Exception {
+
+        //
+        // in ascending order, versions on the same row are equal
+        //
+
+        String[][] ordered = {
+                { "0" },
+                { "1.0.0-SNAPSHOT-0" },
+                { "1-SNAPSHOT-1", "1.0.0-SNAPSHOT-1" },
+                { "1.0.0-SNAPSHOT-2" },
+                { "1", "1.0", "1.0.0" },
+                { "1.0.1" },
+                { "1.1.0-SNAPSHOT-1" },
+                { "1.1", "1.1.0" },
+                { "1.2.3-SNAPSHOT-4" },
+                { "1.2.3" },
+                { "1.2.4-SNAPSHOT-1" },
+                { "2-SNAPSHOT-1" },
+                { "2" },
+                { "2.0.1" },
+                { "10.0" },
+                { "65535.65535.65535" },
+        };
+
+        for(int i = 0; i < ordered.length; i ++) {
+
+            for(String s: ordered[i]) {
+
+                for(int j = 0; j < ordered.length; j ++) {
+
+                    for(String s2: ordered[j]) {
+
+                        Version v = new Version(s);
+                        Version v2 = new Version(s2);
+
+                        int expected = Integer.signum(i - j);
+
+                        assertEquals(s + " vs " + s2, expected,
+                                Integer.signum(Version.comparePacked(v.toPackedLong(), v2.toPackedLong())));
+                        assertEquals(s + " vs " + s2, expected, Integer.signum(v.compareTo(v2)));
+                        assertEquals(s + " vs " + s2, expected == 0, v.equals(v2));
+
+                        if (expected == 0) {
+
+                            assertEquals(s + " vs " + s2, v.hashCode(), v2.hashCode());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // valueOf() -------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void valueOf() throws Exception {
+
+        Version v = Version.valueOf("3.4.5-SNAPSHOT-6");
+
+        assertEquals(new Version("3.4.5-SNAPSHOT-6"), v);
+        assertEquals("3.4.5-SNAPSHOT-6", v.getLiteral());
+    }
+
+    @Test
+    public void valueOf_SameLiteralReturnsSameInstance() throws Exception {
+
+        Version v = Version.valueOf("3.4.7");
+        Version v2 = Version.valueOf("3.4.7");
+
+        assertTrue(v == v2);
+    }
+
+    @Test
+    public void valueOf_EquivalentLiteralsAreDistinctInstances() throws Exception {
+
+        Version v = Version.valueOf("3.5");
+        Version v2 = Version.valueOf("3.5.0");
+
+        assertEquals(v, v2);
+        assertEquals("3.5", v.getLiteral());
+        assertEquals("3.5.0", v2.getLiteral());
+    }
+
+    @Test
+    public void valueOf_InvalidLiteral() throws Exception {
+
+        try {
+
+            Version.valueOf("1..2");
+            fail("should have thrown exception");
+        }
+        catch(VersionFormatException e) {
+
+            assertEquals("empty version component", e.getMessage());
+        }
+    }
+
+    @Test
+    public void valueOf_Null() throws Exception {
+
+        try {
+
+            Version.valueOf(null);
+            fail("should have thrown exception");
+        }
+        catch(IllegalArgumentException e) {
+
+            assertEquals("null literal", e.getMessage());
+        }
+    }
+
+    // immutability ----------------------------------------------------------------------------------------------------
+
+    @Test
+    public void literalIsComputedOnConstruction() throws Exception {
+
+        assertEquals("1.3", new Version(1, null, 3, null).getLiteral());
+        assertEquals("1-SNAPSHOT-2", new Version(1, null, null, 2).getLiteral());
+        assertEquals("1.2.3-SNAPSHOT-4", new Version(1, 2, 3, 4).getLiteral());
+    }
+
+    @Test
+    public void fieldsAreFinal() throws Exception {
+
+        for(Field f: Version.class.getDeclaredFields()) {
+
+            if (!Modifier.isStatic(f.getModifiers())) {
+
+                assertTrue(f.getName(), Modifier.isFinal(f.getModifiers()));
+            }
+        }
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------
@@ -20,7 +20,14 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -171,6 +178,122 @@ public class VersionUtilTest {
         }
     }
 
+    // scanCommandStdout() ---------------------------------------------------------------------------------------------
+
+    @Test
+    public void scanCommandStdout_Canonical() throws Exception {
+
+        Version v = VersionUtil.scanCommandStdout(new StringReader("1.2.3-SNAPSHOT-4\n"));
+        assertEquals(new Version("1.2.3-SNAPSHOT-4"), v);
+    }
+
+    @Test
+    public void scanCommandStdout_VersionCommandOutput() throws Exception {
+
+        Version v = VersionUtil.scanCommandStdout(
+                new StringReader("version 1.0.1-SNAPSHOT-3\nrelease date 12/05/16\n"));
+        assertEquals(new Version("1.0.1-SNAPSHOT-3"), v);
+    }
+
+    @Test
+    public void scanCommandStdout_BannerIsSkipped() throws Exception {
+
+        Version v = VersionUtil.scanCommandStdout(
+                new StringReader("Some Tool\n(c) 2016 Some Company\n\n   version 2.1\nmore\n"));
+        assertEquals(new Version("2.1"), v);
+    }
+
+    @Test
+    public void scanCommandStdout_StopsReadingAtTheVersionLine() throws Exception {
+
+        StringReader r = new StringReader("banner\n3.0\nthe rest of the output");
+
+        //
+        // must not buffer beyond what it needs; wrap into a reader that reads one character at a time
+        //
+
+        Reader oneCharacterAtATime = new Reader() {
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+
+                return r.read(cbuf, off, Math.min(len, 1));
+            }
+
+            @Override
+            public void close() throws IOException {
+
+                r.close();
+            }
+        };
+
+        assertEquals(new Version("3.0"), VersionUtil.scanCommandStdout(new BufferedReader(oneCharacterAtATime, 1)));
+
+        char[] rest = new char[100];
+        int n = r.read(rest);
+        assertEquals("the rest of the output", new String(rest, 0, n));
+    }
+
+    @Test
+    public void scanCommandStdout_NoVersion() throws Exception {
+
+        try {
+
+            VersionUtil.scanCommandStdout(new StringReader("this\nis not\na version\n"));
+            fail("should have thrown exception");
+        }
+        catch(VersionFormatException e) {
+
+            assertEquals("no version found in output", e.getMessage());
+        }
+    }
+
+    @Test
+    public void scanCommandStdout_GivesUpAfterMaxLines() throws Exception {
+
+        StringBuilder sb = new StringBuilder();
+
+        for(int i = 0; i < VersionUtil.MAX_VERSION_COMMAND_OUTPUT_LINES; i ++) {
+
+            sb.append("diagnostics\n");
+        }
+
+        sb.append("1.0\n");
+
+        try {
+
+            VersionUtil.scanCommandStdout(new StringReader(sb.toString()));
+            fail("should have thrown exception");
+        }
+        catch(VersionFormatException e) {
+
+            int max = VersionUtil.MAX_VERSION_COMMAND_OUTPUT_LINES;
+            assertEquals("no version found in the first " + max + " lines of output", e.getMessage());
+        }
+    }
+
+    @Test
+    public void scanCommandStdout_InputStream() throws Exception {
+
+        Version v = VersionUtil.scanCommandStdout(new ByteArrayInputStream("banner\nversion 7.8.9\n".getBytes()));
+        assertEquals(new Version("7.8.9"), v);
+    }
+
+    // fromCommandStdoutLine() -----------------------------------------------------------------------------------------
+
+    @Test
+    public void fromCommandStdoutLine() throws Exception {
+
+        assertEquals(new Version("1.2"), VersionUtil.fromCommandStdoutLine("1.2"));
+        assertEquals(new Version("1.2"), VersionUtil.fromCommandStdoutLine("  1.2  "));
+        assertEquals(new Version("1.2"), VersionUtil.fromCommandStdoutLine("version 1.2"));
+        assertNull(VersionUtil.fromCommandStdoutLine(""));
+        assertNull(VersionUtil.fromCommandStdoutLine("version"));
+        assertNull(VersionUtil.fromCommandStdoutLine("version 1.2 (build 7)"));
+        assertNull(VersionUtil.fromCommandStdoutLine("1.2.a"));
+        assertNull(VersionUtil.fromCommandStdoutLine("Some Tool 1.2"));
+    }
+
     // Package protected -----------------------------------------------------------------------------------------------
 
     // Protected -------------------------------------------------------------------------------------------------------